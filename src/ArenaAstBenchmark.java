@@ -0,0 +1,118 @@
+import java.io.StringReader;
+
+import ast.ArenaAst;
+import ast.Goal;
+import ast.NodeKind;
+import ast.visitor.ArenaVisitor;
+import ast.visitor.NodeCounterVisitor;
+
+/**
+ * Compara el AST de objetos con el ArenaAst sobre un programa sintético:
+ * memoria retenida por cada representación (medida como heap usado después
+ * de un GC) y tiempo de una pasada sobre el programa completo que suma los
+ * literales enteros, hecha con un Visitor sobre objetos, con un ArenaVisitor
+ * y con un ciclo directo sobre los índices.
+ *
+ * Antes de medir verifica que aGoal() reconstruya un árbol idéntico al
+ * original, incluidas líneas y spans.
+ *
+ * Uso: java ArenaAstBenchmark [-tamano=4MB] [-repeticiones=20]
+ */
+public class ArenaAstBenchmark {
+    private static long suma;
+
+    public static void main(String[] args) throws Exception {
+        long tamano = 4 * 1024 * 1024;
+        int repeticiones = 20;
+        for (String arg : args) {
+            if (arg.startsWith("-tamano=")) {
+                tamano = FrontEndBenchmark.leerTamano(arg.substring(8));
+            } else if (arg.startsWith("-repeticiones=")) {
+                repeticiones = Integer.parseInt(arg.substring(14));
+            } else {
+                System.err.println("Opcion desconocida: " + arg);
+                return;
+            }
+        }
+
+        String fuente = FrontEndBenchmark.generarPrograma(tamano);
+        PackedTokens tokens = PackedTokens.tokenizar(new Scanner(new StringReader(fuente)));
+        fuente = null;
+
+        long antes = heapUsado();
+        Goal g = new RecursiveDescentParser(tokens).parse();
+        long objetos = heapUsado() - antes;
+
+        antes = heapUsado();
+        ArenaAst arena = ArenaAst.desde(g);
+        long arreglos = heapUsado() - antes;
+
+        String diferencia = ParserDifferentialCheck.diferencia(g, arena.aGoal(), "Goal");
+        if (diferencia != null) {
+            System.out.println("DIFERENTE: " + diferencia);
+            return;
+        }
+        System.out.println("aGoal() reconstruye el mismo AST.");
+        System.out.println();
+        System.out.println(String.format("Nodos: %d (%d sin contar listas)", arena.size(), NodeCounterVisitor.contar(g)));
+        System.out.println(String.format("Memoria AST de objetos: %8.2f MB (%5.1f B/nodo)", objetos / 1e6, (double) objetos / arena.size()));
+        System.out.println(String.format("Memoria ArenaAst:       %8.2f MB (%5.1f B/nodo, %.2f MB en arreglos)",
+                arreglos / 1e6, (double) arreglos / arena.size(), arena.getBytesUsados() / 1e6));
+        System.out.println();
+
+        SumaLiterales visitante = new SumaLiterales();
+        ArenaVisitor sumaArena = (a, nodo) -> {
+            if (a.getTipo(nodo) == NodeKind.INTEGER_LITERAL) {
+                suma += a.getValor(nodo);
+            }
+            return true;
+        };
+        double[] tiempos = new double[3];
+        for (int vuelta = 0; vuelta < 2; vuelta++) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                visitante.visit(g);
+            }
+            long medio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                arena.recorrer(0, sumaArena);
+            }
+            long ciclo = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                for (int nodo = 0; nodo < arena.size(); nodo++) {
+                    if (arena.getTipo(nodo) == NodeKind.INTEGER_LITERAL) {
+                        suma += arena.getValor(nodo);
+                    }
+                }
+            }
+            long fin = System.nanoTime();
+            // La primera vuelta es calentamiento
+            tiempos[0] = (medio - inicio) / 1e6 / repeticiones;
+            tiempos[1] = (ciclo - medio) / 1e6 / repeticiones;
+            tiempos[2] = (fin - ciclo) / 1e6 / repeticiones;
+        }
+        System.out.println("Suma de literales (ms por pasada):");
+        System.out.println(String.format("  Visitor sobre objetos  %8.2f", tiempos[0]));
+        System.out.println(String.format("  ArenaVisitor           %8.2f", tiempos[1]));
+        System.out.println(String.format("  ciclo sobre indices    %8.2f", tiempos[2]));
+        // Se usan los resultados para que no se eliminen las pasadas
+        System.out.println("  (suma " + suma + ", " + tokens.size() + " tokens)");
+    }
+
+    private static long heapUsado() {
+        Runtime r = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return r.totalMemory() - r.freeMemory();
+    }
+
+    /**
+     * Suma los literales enteros recorriendo el AST de objetos.
+     */
+    private static class SumaLiterales extends NodeCounterVisitor {
+        public void visit(ast.IntegerLiteral n) {
+            suma += n.i;
+        }
+    }
+}
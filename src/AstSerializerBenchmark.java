@@ -0,0 +1,85 @@
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import ast.AstSerializer;
+import ast.Goal;
+
+/**
+ * Compara el costo de obtener el AST analizando el fuente (Scanner y
+ * RecursiveDescentParser) con el de cargarlo de un archivo escrito por
+ * AstSerializer, sobre programas sintéticos de distintos tamaños. Antes de
+ * medir verifica que el AST cargado sea idéntico al analizado.
+ *
+ * Uso: java AstSerializerBenchmark [-max=16MB] [-repeticiones=10]
+ */
+public class AstSerializerBenchmark {
+    private static final long KB = 1024;
+    private static final long MB = 1024 * KB;
+    // Los programas generados no vienen de un archivo; cualquier huella fija sirve
+    private static final byte[] HUELLA = new byte[32];
+
+    public static void main(String[] args) throws Exception {
+        long maximo = 16 * MB;
+        int repeticiones = 10;
+        for (String arg : args) {
+            if (arg.startsWith("-max=")) {
+                maximo = FrontEndBenchmark.leerTamano(arg.substring(5));
+            } else if (arg.startsWith("-repeticiones=")) {
+                repeticiones = Integer.parseInt(arg.substring(14));
+            } else {
+                System.err.println("Opcion desconocida: " + arg);
+                return;
+            }
+        }
+
+        Path archivo = Files.createTempFile("minijava", ".ast");
+        try {
+            System.out.println(String.format("%12s %12s %12s %12s %12s %8s",
+                    "fuente B", "serial B", "parseo ms", "guardar ms", "carga ms", "razon"));
+            for (long tamano = 64 * KB; tamano <= maximo; tamano *= 4) {
+                medir(FrontEndBenchmark.generarPrograma(tamano), archivo, repeticiones);
+            }
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    private static void medir(String fuente, Path archivo, int repeticiones) throws Exception {
+        Goal g = parsear(fuente);
+        AstSerializer.guardar(g, HUELLA, archivo);
+        String diferencia = ParserDifferentialCheck.diferencia(g, AstSerializer.cargar(archivo, HUELLA), "Goal");
+        if (diferencia != null) {
+            System.out.println("DIFERENTE: " + diferencia);
+            return;
+        }
+        double parseo = 0;
+        double guardar = 0;
+        double carga = 0;
+        for (int vuelta = 0; vuelta < 2; vuelta++) {
+            // La primera vuelta es calentamiento
+            long inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                parsear(fuente);
+            }
+            long medio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                AstSerializer.guardar(g, HUELLA, archivo);
+            }
+            long escrito = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                AstSerializer.cargar(archivo, HUELLA);
+            }
+            long fin = System.nanoTime();
+            parseo = (medio - inicio) / 1e6 / repeticiones;
+            guardar = (escrito - medio) / 1e6 / repeticiones;
+            carga = (fin - escrito) / 1e6 / repeticiones;
+        }
+        System.out.println(String.format("%12d %12d %12.2f %12.2f %12.2f %7.1fx",
+                fuente.length(), Files.size(archivo), parseo, guardar, carga, parseo / carga));
+    }
+
+    private static Goal parsear(String fuente) throws Exception {
+        return new RecursiveDescentParser(PackedTokens.tokenizar(new Scanner(new StringReader(fuente)))).parse();
+    }
+}
@@ -0,0 +1,233 @@
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import ast.AstSnapshot;
+import ast.Goal;
+import ast.Node;
+import ast.visitor.AlgebraicSimplificationVisitor;
+import ast.visitor.MiniJPrintVisitor;
+import ast.visitor.PassManager;
+import ast.visitor.ResultVisitorAdapter;
+import ast.visitor.RewritingVisitor;
+import ast.visitor.RuleCounter;
+
+/**
+ * Mide las instantáneas inmutables sobre un programa sintético: el costo de
+ * congelar el árbol, y la simplificación algebraica aplicada con derivar()
+ * frente a descongelar una copia completa y simplificarla en su lugar.
+ * Informa cuántos nodos del resultado son nuevos y cuántos se comparten con
+ * la instantánea original. Lo mismo para las pasadas de -O3 que tienen
+ * versión en copia al escribir (inlining, simplificación y variables no
+ * usadas), ejecutadas por PassManager sobre la instantánea frente a
+ * ejecutarlas en su lugar sobre una copia descongelada.
+ *
+ * Mientras se deriva la versión simplificada, varios hilos imprimen la
+ * instantánea original; se verifica que todos lean el mismo texto que una
+ * impresión secuencial, que las dos formas de simplificar y de ejecutar
+ * las pasadas den el mismo programa y los mismos mensajes, que la
+ * instantánea original no cambie y que la instantánea y su copia descongelada conserven los spans
+ * del árbol parseado.
+ *
+ * Uso: java AstSnapshotBenchmark [-tamano=4MB] [-repeticiones=10] [-hilos=4]
+ */
+public class AstSnapshotBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        long tamano = 4 * 1024 * 1024;
+        int repeticiones = 10;
+        int hilos = 4;
+        for (String arg : args) {
+            if (arg.startsWith("-tamano=")) {
+                tamano = FrontEndBenchmark.leerTamano(arg.substring(8));
+            } else if (arg.startsWith("-repeticiones=")) {
+                repeticiones = Integer.parseInt(arg.substring(14));
+            } else if (arg.startsWith("-hilos=")) {
+                hilos = Integer.parseInt(arg.substring(7));
+            } else {
+                System.err.println("Opcion desconocida: " + arg);
+                return;
+            }
+        }
+
+        Goal g = new RecursiveDescentParser(PackedTokens.tokenizar(
+                new Scanner(new StringReader(FrontEndBenchmark.generarPrograma(tamano))))).parse();
+        AstSnapshot original = AstSnapshot.de(g);
+        String texto = imprimir(original.getGoal());
+        List<Long> spans = spans(g);
+        if (!spans.equals(spans(original.getGoal())) || !spans.equals(spans(original.descongelar()))) {
+            System.out.println("DIFERENTE: la instantanea no conserva los spans del arbol parseado");
+            return;
+        }
+
+        // Lectores concurrentes de la instantánea mientras se deriva la versión simplificada
+        ExecutorService lectores = Executors.newFixedThreadPool(hilos);
+        Future<?>[] lecturas = new Future<?>[hilos];
+        for (int i = 0; i < hilos; i++) {
+            lecturas[i] = lectores.submit(() -> imprimir(original.getGoal()));
+        }
+        AstSnapshot simplificada = original.derivar(simplificador(), null);
+        for (Future<?> lectura : lecturas) {
+            if (!texto.equals(lectura.get())) {
+                System.out.println("DIFERENTE: un hilo leyo otra version de la instantanea");
+                lectores.shutdown();
+                return;
+            }
+        }
+        lectores.shutdown();
+        Goal enSuLugar = original.descongelar();
+        new AlgebraicSimplificationVisitor().reescribir(enSuLugar, null);
+        if (!imprimir(simplificada.getGoal()).equals(imprimir(enSuLugar))
+                || !texto.equals(imprimir(original.getGoal()))) {
+            System.out.println("DIFERENTE: la version derivada no coincide con la simplificada en su lugar");
+            return;
+        }
+
+        // Las pasadas sobre la instantánea y en su lugar deben decidir lo mismo
+        AstSnapshot[] optimizada = new AstSnapshot[1];
+        String mensajesDerivados = capturar(() -> optimizada[0] = pasadas().ejecutar(original, true));
+        Goal optimizadoEnSuLugar = original.descongelar();
+        String mensajesEnSuLugar = capturar(() -> pasadas().ejecutar(optimizadoEnSuLugar, true));
+        if (!imprimir(optimizada[0].getGoal()).equals(imprimir(optimizadoEnSuLugar))
+                || !mensajesDerivados.equals(mensajesEnSuLugar)
+                || !texto.equals(imprimir(original.getGoal()))) {
+            System.out.println("DIFERENTE: las pasadas sobre la instantanea no coinciden con las pasadas en su lugar");
+            return;
+        }
+
+        PrintStream salida = System.out;
+        PrintStream descartada = new PrintStream(OutputStream.nullOutputStream());
+        double[] tiempos = new double[5];
+        for (int vuelta = 0; vuelta < 2; vuelta++) {
+            // La primera vuelta es calentamiento
+            long inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                AstSnapshot.de(g);
+            }
+            tiempos[0] = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                original.derivar(simplificador(), null);
+            }
+            tiempos[1] = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                new AlgebraicSimplificationVisitor().reescribir(original.descongelar(), null);
+            }
+            tiempos[2] = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+
+            System.setOut(descartada);
+            try {
+                inicio = System.nanoTime();
+                for (int i = 0; i < repeticiones; i++) {
+                    pasadas().ejecutar(original, true);
+                }
+                tiempos[3] = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+
+                inicio = System.nanoTime();
+                for (int i = 0; i < repeticiones; i++) {
+                    pasadas().ejecutar(original.descongelar(), true);
+                }
+                tiempos[4] = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+            } finally {
+                System.setOut(salida);
+            }
+        }
+
+        Set<Node> previos = nodos(original.getGoal());
+        Set<Node> derivados = nodos(simplificada.getGoal());
+        Set<Node> optimizados = nodos(optimizada[0].getGoal());
+        System.out.println(String.format("Nodos (sin listas): %d en la original, %d en la derivada, %d nuevos",
+                previos.size(), derivados.size(), nuevos(previos, derivados)));
+        System.out.println(String.format("Nodos tras las pasadas: %d, %d nuevos",
+                optimizados.size(), nuevos(previos, optimizados)));
+        System.out.println(String.format("Congelar:                       %8.2f ms", tiempos[0]));
+        System.out.println(String.format("Simplificar con derivar():      %8.2f ms", tiempos[1]));
+        System.out.println(String.format("Descongelar y simplificar:      %8.2f ms", tiempos[2]));
+        System.out.println(String.format("Pasadas sobre la instantanea:   %8.2f ms", tiempos[3]));
+        System.out.println(String.format("Descongelar y pasadas:          %8.2f ms", tiempos[4]));
+    }
+
+    /**
+     * Pasadas de -O3 sin las que solo trabajan en su lugar, que
+     * ejecutar(AstSnapshot, ...) omitiría.
+     */
+    private static PassManager pasadas() {
+        PassManager pasadas = new PassManager(new RuleCounter());
+        pasadas.setNivel(3);
+        pasadas.deshabilitar("recursion-cola");
+        pasadas.deshabilitar("limites");
+        return pasadas;
+    }
+
+    /**
+     * Retorna lo que imprime la acción en la salida estándar.
+     */
+    private static String capturar(Runnable accion) {
+        ByteArrayOutputStream texto = new ByteArrayOutputStream();
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(texto, true));
+        try {
+            accion.run();
+        } finally {
+            System.setOut(original);
+        }
+        return new String(texto.toByteArray());
+    }
+
+    private static int nuevos(Set<Node> previos, Set<Node> derivados) {
+        int nuevos = 0;
+        for (Node n : derivados) {
+            if (!previos.contains(n)) {
+                nuevos++;
+            }
+        }
+        return nuevos;
+    }
+
+    private static AlgebraicSimplificationVisitor simplificador() {
+        return new AlgebraicSimplificationVisitor(new RuleCounter(), RewritingVisitor.Modo.COPIA_AL_ESCRIBIR);
+    }
+
+    private static String imprimir(Goal g) {
+        StringBuilder texto = new StringBuilder();
+        new MiniJPrintVisitor(texto).visit(g);
+        return texto.toString();
+    }
+
+    /**
+     * Retorna el span de cada nodo en el orden del recorrido.
+     */
+    private static List<Long> spans(Goal g) {
+        List<Long> spans = new ArrayList<>();
+        g.accept(new ResultVisitorAdapter<Void, Void>() {
+            protected Void porDefecto(Node n, Void contexto) {
+                spans.add(n.span);
+                return null;
+            }
+        }, null);
+        return spans;
+    }
+
+    private static Set<Node> nodos(Goal g) {
+        Set<Node> nodos = Collections.newSetFromMap(new IdentityHashMap<>());
+        g.accept(new ResultVisitorAdapter<Void, Void>() {
+            protected Void porDefecto(Node n, Void contexto) {
+                nodos.add(n);
+                return null;
+            }
+        }, null);
+        return nodos;
+    }
+}
@@ -0,0 +1,344 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import ast.Goal;
+import ast.visitor.NodeCounterVisitor;
+import java_cup.runtime.Symbol;
+
+/**
+ * Benchmark del front-end: mide el análisis léxico y sintáctico sobre los
+ * programas de SamplePrograms y sobre entradas sintéticas de 1 KB a 100 MB
+ * (muchas clases, expresiones profundas y listas largas de sentencias).
+ *
+ * Por cada entrada reporta tokens/s del Scanner solo, tokens/s y nodos del
+ * AST/s del Scanner con el parser, y los bytes asignados por token en ambos
+ * casos (medidos con ThreadMXBean). Cada medición se repite después de un
+ * calentamiento hasta acumular un tiempo mínimo.
+ *
+ * Con -arranque=N mide en cambio el costo de arranque del Scanner: lanza N
+ * JVM nuevas que cargan la clase Scanner (lo que desempaqueta sus tablas) y
+ * analizan un programa corto, y reporta la mediana de cada tiempo junto al
+ * tamaño de las tablas del autómata.
+ *
+ * Uso: java FrontEndBenchmark [-max=10MB] [-tiempo=1000] [-muestras=SamplePrograms] [-csv=archivo]
+ *      java FrontEndBenchmark -arranque=20
+ */
+public class FrontEndBenchmark {
+    private static final long KB = 1024;
+    private static final long MB = 1024 * KB;
+    private static final long[] TAMANOS = { KB, 64 * KB, MB, 10 * MB, 100 * MB };
+
+    // Tiempo mínimo de medición por entrada, en milisegundos
+    private static long tiempoMinimo = 1000;
+    private static com.sun.management.ThreadMXBean hilos;
+
+    /**
+     * Resultado de medir una entrada.
+     */
+    private static class Resultado {
+        String nombre;
+        long caracteres;
+        long tokens;
+        long nodos;
+        double tokensPorSegundoLexico;
+        double tokensPorSegundoParser;
+        double nodosPorSegundo;
+        double bytesPorTokenLexico;
+        double bytesPorTokenParser;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long maximo = 10 * MB;
+        String muestras = "SamplePrograms";
+        String csv = null;
+        for (String arg : args) {
+            if (arg.startsWith("-max=")) {
+                maximo = leerTamano(arg.substring(5));
+            } else if (arg.startsWith("-tiempo=")) {
+                tiempoMinimo = Long.parseLong(arg.substring(8));
+            } else if (arg.startsWith("-muestras=")) {
+                muestras = arg.substring(10);
+            } else if (arg.startsWith("-csv=")) {
+                csv = arg.substring(5);
+            } else if (arg.startsWith("-arranque=")) {
+                medirArranque(Integer.parseInt(arg.substring(10)));
+                return;
+            } else if (arg.equals("-arranque-hijo")) {
+                arranqueHijo();
+                return;
+            } else {
+                System.err.println("Opcion desconocida: " + arg);
+                return;
+            }
+        }
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (!hilos.isThreadAllocatedMemorySupported()) {
+                hilos = null;
+            } else {
+                hilos.setThreadAllocatedMemoryEnabled(true);
+            }
+        }
+
+        List<Resultado> resultados = new ArrayList<>();
+        File directorio = new File(muestras);
+        File[] archivos = directorio.listFiles((d, nombre) -> nombre.endsWith(".java"));
+        if (archivos == null) {
+            System.err.println("No se encontro el directorio de muestras " + muestras);
+        } else {
+            Arrays.sort(archivos);
+            for (File archivo : archivos) {
+                String fuente = new String(Files.readAllBytes(archivo.toPath()), StandardCharsets.UTF_8);
+                resultados.add(medir(archivo.getName(), fuente));
+            }
+        }
+        for (long tamano : TAMANOS) {
+            if (tamano <= maximo) {
+                resultados.add(medir("sintetico-" + formatearTamano(tamano), generarPrograma(tamano)));
+            }
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-22s %10s %10s %14s %14s %14s %10s %10s",
+                "entrada", "caracteres", "tokens", "lexico tok/s", "parser tok/s", "nodos/s", "B/tok lex", "B/tok parse"));
+        for (Resultado r : resultados) {
+            System.out.println(String.format("%-22s %10d %10d %14.0f %14.0f %14.0f %10s %10s",
+                    r.nombre, r.caracteres, r.tokens, r.tokensPorSegundoLexico, r.tokensPorSegundoParser,
+                    r.nodosPorSegundo, formatearBytes(r.bytesPorTokenLexico), formatearBytes(r.bytesPorTokenParser)));
+        }
+        if (csv != null) {
+            try (PrintWriter salida = new PrintWriter(csv, "UTF-8")) {
+                salida.println("entrada,caracteres,tokens,nodos,lexico_tok_s,parser_tok_s,nodos_s,bytes_tok_lexico,bytes_tok_parser");
+                for (Resultado r : resultados) {
+                    salida.println(r.nombre + "," + r.caracteres + "," + r.tokens + "," + r.nodos + ","
+                            + (long) r.tokensPorSegundoLexico + "," + (long) r.tokensPorSegundoParser + ","
+                            + (long) r.nodosPorSegundo + "," + r.bytesPorTokenLexico + "," + r.bytesPorTokenParser);
+                }
+            }
+        }
+    }
+
+    // ========== MEDICIÓN ==========
+
+    /**
+     * Mide una entrada: primero solo el Scanner y luego el Scanner con el parser.
+     */
+    private static Resultado medir(String nombre, String fuente) throws Exception {
+        System.out.println("Midiendo " + nombre + " (" + fuente.length() + " caracteres)");
+        Resultado r = new Resultado();
+        r.nombre = nombre;
+        r.caracteres = fuente.length();
+
+        // Calentamiento
+        for (int i = 0; i < 3 || (i < 20 && fuente.length() < MB); i++) {
+            r.tokens = contarTokens(fuente);
+            r.nodos = NodeCounterVisitor.contar(parsear(fuente));
+        }
+
+        int iteraciones = 0;
+        long nanos = 0;
+        long bytes = 0;
+        while (iteraciones == 0 || nanos < tiempoMinimo * 1000000L) {
+            long bytesAntes = bytesAsignados();
+            long inicio = System.nanoTime();
+            contarTokens(fuente);
+            nanos += System.nanoTime() - inicio;
+            bytes += bytesAsignados() - bytesAntes;
+            iteraciones++;
+        }
+        r.tokensPorSegundoLexico = r.tokens * iteraciones / (nanos / 1e9);
+        r.bytesPorTokenLexico = hilos == null ? -1 : (double) bytes / iteraciones / r.tokens;
+
+        iteraciones = 0;
+        nanos = 0;
+        bytes = 0;
+        while (iteraciones == 0 || nanos < tiempoMinimo * 1000000L) {
+            long bytesAntes = bytesAsignados();
+            long inicio = System.nanoTime();
+            parsear(fuente);
+            nanos += System.nanoTime() - inicio;
+            bytes += bytesAsignados() - bytesAntes;
+            iteraciones++;
+        }
+        double segundos = nanos / 1e9;
+        r.tokensPorSegundoParser = r.tokens * iteraciones / segundos;
+        r.nodosPorSegundo = r.nodos * iteraciones / segundos;
+        r.bytesPorTokenParser = hilos == null ? -1 : (double) bytes / iteraciones / r.tokens;
+        return r;
+    }
+
+    private static long contarTokens(String fuente) throws IOException {
+        Scanner s = new Scanner(new StringReader(fuente));
+        long tokens = 0;
+        while (s.next_token().sym != sym.EOF) {
+            tokens++;
+        }
+        return tokens;
+    }
+
+    private static Goal parsear(String fuente) throws Exception {
+        parser p = new parser(new Scanner(new StringReader(fuente)));
+        Symbol raiz = p.parse();
+        return (Goal) raiz.value;
+    }
+
+    private static long bytesAsignados() {
+        return hilos == null ? 0 : hilos.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // ========== ARRANQUE ==========
+
+    private static final String[] TABLAS = { "ZZ_CMAP_TOP", "ZZ_CMAP_BLOCKS", "ZZ_ACTION", "ZZ_ROWMAP", "ZZ_TRANS", "ZZ_ATTRIBUTE" };
+
+    /**
+     * Lanza JVM nuevas con -arranque-hijo y reporta la mediana de sus tiempos.
+     */
+    private static void medirArranque(int jvms) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        long[] carga = new long[jvms];
+        long[] primerAnalisis = new long[jvms];
+        String tablas = null;
+        for (int i = 0; i < jvms; i++) {
+            Process p = new ProcessBuilder(java, "-Xshare:auto", "-cp", System.getProperty("java.class.path"),
+                    "FrontEndBenchmark", "-arranque-hijo").redirectErrorStream(true).start();
+            try (BufferedReader salida = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+                String[] tiempos = salida.readLine().split(" ");
+                carga[i] = Long.parseLong(tiempos[0]);
+                primerAnalisis[i] = Long.parseLong(tiempos[1]);
+                tablas = salida.readLine();
+            }
+            p.waitFor();
+        }
+        Arrays.sort(carga);
+        Arrays.sort(primerAnalisis);
+        System.out.println("Tablas del Scanner (enteros): " + tablas);
+        System.out.println(String.format("Carga e inicializacion de Scanner: %.3f ms (mediana de %d JVM)", carga[jvms / 2] / 1e6, jvms));
+        System.out.println(String.format("Primer analisis de un programa corto: %.3f ms", primerAnalisis[jvms / 2] / 1e6));
+    }
+
+    /**
+     * Se ejecuta en una JVM nueva: imprime el tiempo de cargar Scanner y el de
+     * su primer análisis en nanosegundos, y luego el tamaño de cada tabla.
+     */
+    private static void arranqueHijo() throws Exception {
+        long inicio = System.nanoTime();
+        Class<?> clase = Class.forName("Scanner");
+        long cargado = System.nanoTime();
+        contarTokens(generarPrograma(KB));
+        long analizado = System.nanoTime();
+        System.out.println((cargado - inicio) + " " + (analizado - cargado));
+
+        StringBuilder sb = new StringBuilder();
+        int total = 0;
+        for (String nombre : TABLAS) {
+            Field campo = clase.getDeclaredField(nombre);
+            campo.setAccessible(true);
+            int largo = ((int[]) campo.get(null)).length;
+            total += largo;
+            sb.append(nombre).append('=').append(largo).append(' ');
+        }
+        System.out.println(sb.append("total=").append(total));
+    }
+
+    // ========== ENTRADAS SINTÉTICAS ==========
+
+    /**
+     * Genera un programa MiniJava válido de aproximadamente el tamaño dado,
+     * agregando clases hasta alcanzarlo. Cada clase combina un método con una
+     * lista larga de sentencias, uno con una expresión profundamente anidada y
+     * uno con ciclos, condicionales y llamadas.
+     */
+    static String generarPrograma(long tamano) {
+        StringBuilder sb = new StringBuilder((int) Math.min(tamano + 4096, Integer.MAX_VALUE - 16));
+        sb.append("public class Principal {\n");
+        sb.append("    public static void main(String[] a) {\n");
+        sb.append("        System.out.println(new C0().Lista(10));\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        int clase = 0;
+        while (sb.length() < tamano) {
+            generarClase(sb, clase++);
+        }
+        return sb.toString();
+    }
+
+    private static void generarClase(StringBuilder sb, int n) {
+        sb.append("public class C").append(n).append(" {\n");
+        sb.append("    int campo").append(n).append(";\n");
+        sb.append("    int[] numeros;\n");
+
+        // Lista larga de sentencias
+        sb.append("    public int Lista(int x) {\n");
+        sb.append("        int y;\n");
+        sb.append("        y = 0;\n");
+        for (int i = 0; i < 40; i++) {
+            sb.append("        y = y + x * ").append(i).append(" - (campo").append(n).append(" / 2);\n");
+        }
+        sb.append("        return y;\n");
+        sb.append("    }\n");
+
+        // Expresión profundamente anidada
+        sb.append("    public int Profunda(int x) {\n");
+        sb.append("        return ");
+        int profundidad = 30;
+        for (int i = 0; i < profundidad; i++) {
+            sb.append("(x + ").append(i).append(" * ");
+        }
+        sb.append("x");
+        for (int i = 0; i < profundidad; i++) {
+            sb.append(")");
+        }
+        sb.append(";\n");
+        sb.append("    }\n");
+
+        // Ciclos, condicionales, arreglos y llamadas
+        sb.append("    public int Ciclos(int n, int m) {\n");
+        sb.append("        int i;\n");
+        sb.append("        int total;\n");
+        sb.append("        numeros = new int[n];\n");
+        sb.append("        i = 0;\n");
+        sb.append("        total = 0;\n");
+        sb.append("        while (i < numeros.length) {\n");
+        sb.append("            numeros[i] = i * m;\n");
+        sb.append("            if ((total < 1000) && (i != m)) total = total + numeros[i];\n");
+        sb.append("            else total = total - this.Profunda(i);\n");
+        sb.append("            i = i + 1;\n");
+        sb.append("        }\n");
+        sb.append("        System.out.println(total);\n");
+        sb.append("        return total + this.Lista(m);\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+    }
+
+    // ========== FORMATO ==========
+
+    static long leerTamano(String texto) {
+        String t = texto.toUpperCase();
+        if (t.endsWith("MB")) {
+            return Long.parseLong(t.substring(0, t.length() - 2)) * MB;
+        }
+        if (t.endsWith("KB")) {
+            return Long.parseLong(t.substring(0, t.length() - 2)) * KB;
+        }
+        return Long.parseLong(t);
+    }
+
+    private static String formatearTamano(long bytes) {
+        return bytes >= MB ? (bytes / MB) + "MB" : (bytes / KB) + "KB";
+    }
+
+    private static String formatearBytes(double bytesPorToken) {
+        return bytesPorToken < 0 ? "n/d" : String.format("%.1f", bytesPorToken);
+    }
+}
@@ -0,0 +1,89 @@
+import java.io.StringReader;
+
+import ast.Goal;
+import ast.HashConsing;
+import ast.visitor.NodeCounterVisitor;
+
+/**
+ * Mide el efecto del hash-consing de expresiones sobre un programa
+ * sintético: memoria retenida por el AST (heap usado después de un GC) y
+ * tiempo del parser descendente con y sin tabla. Verifica que los dos árboles
+ * tengan la misma cantidad de nodos al recorrerlos.
+ *
+ * Uso: java HashConsingBenchmark [-tamano=4MB] [-repeticiones=10]
+ */
+public class HashConsingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        long tamano = 4 * 1024 * 1024;
+        int repeticiones = 10;
+        for (String arg : args) {
+            if (arg.startsWith("-tamano=")) {
+                tamano = FrontEndBenchmark.leerTamano(arg.substring(8));
+            } else if (arg.startsWith("-repeticiones=")) {
+                repeticiones = Integer.parseInt(arg.substring(14));
+            } else {
+                System.err.println("Opcion desconocida: " + arg);
+                return;
+            }
+        }
+
+        PackedTokens tokens = PackedTokens.tokenizar(new Scanner(new StringReader(FrontEndBenchmark.generarPrograma(tamano))));
+
+        long antes = heapUsado();
+        Goal g = parsear(tokens, null);
+        long sinTabla = heapUsado() - antes;
+        int nodos = NodeCounterVisitor.contar(g);
+        g = null;
+
+        antes = heapUsado();
+        HashConsing tabla = new HashConsing();
+        Goal compartido = parsear(tokens, tabla);
+        // La tabla solo hace falta mientras se construye el árbol; se mide con y sin ella
+        long conTabla = heapUsado() - antes;
+        tabla = null;
+        long tablaLiberada = heapUsado() - antes;
+        if (NodeCounterVisitor.contar(compartido) != nodos) {
+            System.out.println("DIFERENTE: " + NodeCounterVisitor.contar(compartido) + " nodos en vez de " + nodos);
+            return;
+        }
+        compartido = null;
+
+        double[] tiempos = new double[2];
+        for (int vuelta = 0; vuelta < 2; vuelta++) {
+            // La primera vuelta es calentamiento
+            for (int modo = 0; modo < 2; modo++) {
+                long inicio = System.nanoTime();
+                for (int i = 0; i < repeticiones; i++) {
+                    parsear(tokens, modo == 0 ? null : new HashConsing());
+                }
+                tiempos[modo] = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+            }
+        }
+
+        HashConsing estadisticas = new HashConsing();
+        parsear(tokens, estadisticas);
+        System.out.println(String.format("Nodos recorridos: %d", nodos));
+        System.out.println(String.format("Expresiones: %d, compartidas %d, distintas %d",
+                estadisticas.getConsultas(), estadisticas.getCompartidas(), estadisticas.size()));
+        System.out.println(String.format("Memoria AST sin hash-consing: %8.2f MB", sinTabla / 1e6));
+        System.out.println(String.format("Memoria AST con hash-consing: %8.2f MB (%.2f MB con la tabla)",
+                tablaLiberada / 1e6, conTabla / 1e6));
+        System.out.println(String.format("Parser sin tabla: %8.2f ms", tiempos[0]));
+        System.out.println(String.format("Parser con tabla: %8.2f ms", tiempos[1]));
+    }
+
+    private static Goal parsear(PackedTokens tokens, HashConsing tabla) throws Exception {
+        RecursiveDescentParser p = new RecursiveDescentParser(tokens);
+        p.setHashConsing(tabla);
+        return p.parse();
+    }
+
+    private static long heapUsado() {
+        Runtime r = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return r.totalMemory() - r.freeMemory();
+    }
+}
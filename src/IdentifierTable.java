@@ -0,0 +1,155 @@
+import java.util.Arrays;
+
+/**
+ * Tabla de identificadores del Scanner.
+ * Interna cada identificador directamente desde el buffer de caracteres del
+ * lexer: la primera aparición crea el String y le asigna un id denso, y las
+ * siguientes retornan el mismo String sin asignar memoria. También guarda una
+ * única instancia de Integer por cada valor de literal entero.
+ */
+public class IdentifierTable {
+    private static final int CAPACIDAD_INICIAL = 256;
+
+    // Tabla hash de direccionamiento abierto: id + 1 de cada entrada, 0 si está vacía
+    private int[] ranuras;
+    // Datos de cada identificador, indexados por id
+    private String[] nombres;
+    private int[] hashes;
+    private int cantidad;
+
+    // Cache de literales enteros, también de direccionamiento abierto
+    private int[] valoresEnteros;
+    private Integer[] enteros;
+    private int cantidadEnteros;
+
+    public IdentifierTable() {
+        ranuras = new int[CAPACIDAD_INICIAL];
+        nombres = new String[CAPACIDAD_INICIAL / 2];
+        hashes = new int[CAPACIDAD_INICIAL / 2];
+        valoresEnteros = new int[CAPACIDAD_INICIAL];
+        enteros = new Integer[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Retorna el id del identificador formado por buffer[inicio, inicio + largo),
+     * agregándolo a la tabla si no existía.
+     */
+    public int internar(char[] buffer, int inicio, int largo) {
+        int h = 0;
+        for (int i = 0; i < largo; i++) {
+            h = 31 * h + buffer[inicio + i];
+        }
+        int mascara = ranuras.length - 1;
+        int r = mezclar(h) & mascara;
+        while (ranuras[r] != 0) {
+            int id = ranuras[r] - 1;
+            if (hashes[id] == h && iguales(nombres[id], buffer, inicio, largo)) {
+                return id;
+            }
+            r = (r + 1) & mascara;
+        }
+        int id = cantidad++;
+        if (id == nombres.length) {
+            nombres = Arrays.copyOf(nombres, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+        }
+        nombres[id] = new String(buffer, inicio, largo);
+        hashes[id] = h;
+        ranuras[r] = id + 1;
+        // Se mantiene la tabla como mucho a la mitad de su capacidad
+        if (cantidad * 2 > ranuras.length) {
+            redimensionar();
+        }
+        return id;
+    }
+
+    /**
+     * Retorna el identificador con el id dado. Es la misma instancia para
+     * todas las apariciones del identificador.
+     */
+    public String nombre(int id) {
+        return nombres[id];
+    }
+
+    /**
+     * Retorna la cantidad de identificadores distintos.
+     */
+    public int size() {
+        return cantidad;
+    }
+
+    /**
+     * Retorna la instancia canónica de Integer para el valor de un literal.
+     */
+    public Integer entero(int valor) {
+        if (valor >= -128 && valor <= 127) {
+            return Integer.valueOf(valor);
+        }
+        int mascara = enteros.length - 1;
+        int r = mezclar(valor) & mascara;
+        while (enteros[r] != null) {
+            if (valoresEnteros[r] == valor) {
+                return enteros[r];
+            }
+            r = (r + 1) & mascara;
+        }
+        Integer nuevo = Integer.valueOf(valor);
+        valoresEnteros[r] = valor;
+        enteros[r] = nuevo;
+        cantidadEnteros++;
+        if (cantidadEnteros * 2 > enteros.length) {
+            redimensionarEnteros();
+        }
+        return nuevo;
+    }
+
+    private static boolean iguales(String nombre, char[] buffer, int inicio, int largo) {
+        if (nombre.length() != largo) {
+            return false;
+        }
+        for (int i = 0; i < largo; i++) {
+            if (nombre.charAt(i) != buffer[inicio + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Dispersa los bits del hash para que las claves parecidas no se agrupen.
+     */
+    private static int mezclar(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void redimensionar() {
+        ranuras = new int[ranuras.length * 2];
+        int mascara = ranuras.length - 1;
+        for (int id = 0; id < cantidad; id++) {
+            int r = mezclar(hashes[id]) & mascara;
+            while (ranuras[r] != 0) {
+                r = (r + 1) & mascara;
+            }
+            ranuras[r] = id + 1;
+        }
+    }
+
+    private void redimensionarEnteros() {
+        int[] valoresAnteriores = valoresEnteros;
+        Integer[] anteriores = enteros;
+        valoresEnteros = new int[anteriores.length * 2];
+        enteros = new Integer[anteriores.length * 2];
+        int mascara = enteros.length - 1;
+        for (int i = 0; i < anteriores.length; i++) {
+            if (anteriores[i] != null) {
+                int r = mezclar(valoresAnteriores[i]) & mascara;
+                while (enteros[r] != null) {
+                    r = (r + 1) & mascara;
+                }
+                valoresEnteros[r] = valoresAnteriores[i];
+                enteros[r] = anteriores[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import ast.ClassDecl;
+import ast.ClassDeclExtends;
+import ast.ClassDeclSimple;
+import ast.Fingerprint;
+import ast.Goal;
+import ast.MethodDecl;
+import ast.MethodDeclList;
+import ast.Node;
+import ast.visitor.PositionShiftVisitor;
+
+/**
+ * Parser incremental para editores y modo de observación. Mantiene el texto
+ * fuente, su AST y el rango de caracteres de cada clase y de cada uno de sus
+ * métodos. Ante una edición vuelve a analizar solo el método más interno que
+ * la contiene, o la clase si no cae dentro de un método; el resto de los
+ * subárboles se reutilizan tal cual. Si el fragmento ya no es un método o una
+ * clase válidos (por ejemplo, se agregó una llave), se analiza todo el archivo.
+ *
+ * Los fragmentos se analizan con el RecursiveDescentParser, por lo que el AST
+ * resultante es idéntico al de parsear el archivo completo, incluidas las
+ * líneas y los spans de los nodos que quedan después de la edición. Los
+ * nodos reutilizados conservan su huella (Fingerprint), que no depende de las
+ * posiciones; solo se descartan las de los ancestros del subárbol reemplazado.
+ */
+public class IncrementalParser {
+    private StringBuilder texto;
+    private Goal goal;
+    // Se reutiliza un solo Scanner (con yyreset) para no asignar su buffer en cada edición
+    private Scanner scanner;
+    // Falso si el último análisis completo falló; la próxima edición vuelve a analizar todo
+    private boolean valido;
+
+    // Por cada clase de goal.cl: rango [inicio, fin) en caracteres y líneas del primer y último token
+    private int[] inicioClase;
+    private int[] finClase;
+    private int[] lineaClase;
+    private int[] lineaFinClase;
+    // Lo mismo para los métodos de cada clase, en el orden de su MethodDeclList
+    private int[][] inicioMetodo;
+    private int[][] finMetodo;
+    private int[][] lineaMetodo;
+    private int[][] lineaFinMetodo;
+
+    // Estadísticas de las ediciones aplicadas
+    private int metodosReparseados;
+    private int clasesReparseadas;
+    private int archivosReparseados;
+
+    public IncrementalParser(String fuente) throws Exception {
+        this.texto = new StringBuilder(fuente);
+        this.scanner = new Scanner(new StringReader(""));
+        reparsearTodo();
+    }
+
+    public Goal getGoal() {
+        return goal;
+    }
+
+    public String getTexto() {
+        return texto.toString();
+    }
+
+    public int getMetodosReparseados() {
+        return metodosReparseados;
+    }
+
+    public int getClasesReparseadas() {
+        return clasesReparseadas;
+    }
+
+    public int getArchivosReparseados() {
+        return archivosReparseados;
+    }
+
+    /**
+     * Reemplaza los caracteres [desde, desde + eliminados) por el texto
+     * insertado y actualiza el AST. Si el archivo completo queda con un error
+     * de sintaxis se lanza la excepción del parser; el texto queda editado y
+     * el AST anterior se conserva hasta la próxima edición válida.
+     */
+    public void editar(int desde, int eliminados, String insertado) throws Exception {
+        int hasta = desde + eliminados;
+        int delta = insertado.length() - eliminados;
+        texto.replace(desde, hasta, insertado);
+        if (valido) {
+            // La edición debe quedar estrictamente dentro del rango para no tocar sus tokens de borde
+            int c = buscar(inicioClase, finClase, inicioClase.length, desde, hasta);
+            if (c >= 0) {
+                int m = buscar(inicioMetodo[c], finMetodo[c], inicioMetodo[c].length, desde, hasta);
+                if (m >= 0 && reparsearMetodo(c, m, delta)) {
+                    metodosReparseados++;
+                    return;
+                }
+                if (reparsearClase(c, delta)) {
+                    clasesReparseadas++;
+                    return;
+                }
+            }
+        }
+        reparsearTodo();
+    }
+
+    private static int buscar(int[] inicios, int[] fines, int cantidad, int desde, int hasta) {
+        int i = Arrays.binarySearch(inicios, 0, cantidad, desde);
+        // Se busca el último rango que empieza antes de desde
+        i = i >= 0 ? i - 1 : -i - 2;
+        if (i >= 0 && inicios[i] < desde && hasta < fines[i]) {
+            return i;
+        }
+        return -1;
+    }
+
+    // ========== REPARSEO ==========
+
+    private boolean reparsearMetodo(int c, int m, int delta) throws IOException {
+        int inicio = inicioMetodo[c][m];
+        PackedTokens tokens = tokenizar(inicio, finMetodo[c][m] + delta, lineaMetodo[c][m]);
+        MethodDecl nuevo;
+        try {
+            RecursiveDescentParser p = new RecursiveDescentParser(tokens);
+            p.setInformarErrores(false);
+            nuevo = p.parseMethodDecl();
+        } catch (Exception e) {
+            return false;
+        }
+        metodos(goal.cl.get(c)).set(m, nuevo);
+        // Los hermanos del método conservan su huella; solo cambian las de sus ancestros
+        Fingerprint.descartar(metodos(goal.cl.get(c)));
+        Fingerprint.descartar(goal.cl.get(c));
+        Fingerprint.descartar(goal.cl);
+        Fingerprint.descartar(goal);
+
+        int deltaLineas = tokens.getLinea(tokens.size() - 2) - lineaFinMetodo[c][m];
+        finMetodo[c][m] += delta;
+        lineaFinMetodo[c][m] += deltaLineas;
+        MethodDeclList ml = metodos(goal.cl.get(c));
+        PositionShiftVisitor mover = new PositionShiftVisitor(deltaLineas, delta);
+        for (int i = m + 1; i < ml.size(); i++) {
+            inicioMetodo[c][i] += delta;
+            finMetodo[c][i] += delta;
+            lineaMetodo[c][i] += deltaLineas;
+            lineaFinMetodo[c][i] += deltaLineas;
+            if (deltaLineas != 0 || delta != 0) {
+                mover.visit(ml.get(i));
+            }
+        }
+        extenderFin(goal.cl.get(c), delta);
+        extenderFin(ml, delta);
+        extenderFin(goal.cl, delta);
+        extenderFin(goal, delta);
+        finClase[c] += delta;
+        lineaFinClase[c] += deltaLineas;
+        moverClasesPosteriores(c, delta, deltaLineas);
+        return true;
+    }
+
+    private boolean reparsearClase(int c, int delta) throws IOException {
+        int inicio = inicioClase[c];
+        PackedTokens tokens = tokenizar(inicio, finClase[c] + delta, lineaClase[c]);
+        ClassDecl nueva;
+        try {
+            RecursiveDescentParser p = new RecursiveDescentParser(tokens);
+            p.setInformarErrores(false);
+            nueva = p.parseClassDecl();
+        } catch (Exception e) {
+            return false;
+        }
+        goal.cl.set(c, nueva);
+        Fingerprint.descartar(goal.cl);
+        Fingerprint.descartar(goal);
+        extenderFin(goal.cl, delta);
+        extenderFin(goal, delta);
+
+        int deltaLineas = tokens.getLinea(tokens.size() - 2) - lineaFinClase[c];
+        finClase[c] += delta;
+        lineaFinClase[c] += deltaLineas;
+        indexarClase(c, tokens, 0);
+        moverClasesPosteriores(c, delta, deltaLineas);
+        return true;
+    }
+
+    /**
+     * Corre el final del span de un nodo que contiene la edición.
+     */
+    private static void extenderFin(Node n, int delta) {
+        n.setSpan(n.getInicio(), n.getFin() + delta);
+    }
+
+    private void moverClasesPosteriores(int c, int delta, int deltaLineas) {
+        PositionShiftVisitor mover = new PositionShiftVisitor(deltaLineas, delta);
+        for (int i = c + 1; i < goal.cl.size(); i++) {
+            inicioClase[i] += delta;
+            finClase[i] += delta;
+            for (int j = 0; j < inicioMetodo[i].length; j++) {
+                inicioMetodo[i][j] += delta;
+                finMetodo[i][j] += delta;
+            }
+            lineaClase[i] += deltaLineas;
+            lineaFinClase[i] += deltaLineas;
+            for (int j = 0; j < lineaMetodo[i].length; j++) {
+                lineaMetodo[i][j] += deltaLineas;
+                lineaFinMetodo[i][j] += deltaLineas;
+            }
+            if (deltaLineas != 0 || delta != 0) {
+                mover.visit(goal.cl.get(i));
+            }
+        }
+    }
+
+    private void reparsearTodo() throws Exception {
+        archivosReparseados++;
+        valido = false;
+        PackedTokens tokens = tokenizar(0, texto.length(), 1);
+        goal = new RecursiveDescentParser(tokens).parse();
+        indexar(tokens);
+        valido = true;
+    }
+
+    /**
+     * Analiza el fragmento [inicio, fin) del texto. Las líneas y los
+     * desplazamientos de los tokens se corrigen para que cuenten desde el
+     * principio del archivo.
+     */
+    private PackedTokens tokenizar(int inicio, int fin, int linea) throws IOException {
+        scanner.yyreset(new StringReader(texto.substring(inicio, fin)));
+        PackedTokens tokens = PackedTokens.tokenizar(scanner);
+        if (linea != 1) {
+            tokens.desplazarLineas(linea - 1);
+        }
+        if (inicio != 0) {
+            tokens.desplazarInicios(inicio);
+        }
+        return tokens;
+    }
+
+    // ========== ÍNDICE DE RANGOS ==========
+
+    /**
+     * Calcula los rangos de todas las clases y métodos a partir de los tokens
+     * del archivo completo, contando llaves. La primera clase es la principal
+     * y no se indexa: una edición en ella analiza todo el archivo.
+     */
+    private void indexar(PackedTokens tokens) {
+        int n = goal.cl.size();
+        inicioClase = new int[n];
+        finClase = new int[n];
+        lineaClase = new int[n];
+        lineaFinClase = new int[n];
+        inicioMetodo = new int[n][];
+        finMetodo = new int[n][];
+        lineaMetodo = new int[n][];
+        lineaFinMetodo = new int[n][];
+        int i = cierre(tokens, 0) + 1;
+        for (int c = 0; c < n; c++) {
+            i = indexarClase(c, tokens, i) + 1;
+        }
+    }
+
+    /**
+     * Indexa la clase c cuyo primer token es el de índice i. Retorna el
+     * índice de la llave que cierra la clase.
+     */
+    private int indexarClase(int c, PackedTokens tokens, int i) {
+        int fin = cierre(tokens, i);
+        inicioClase[c] = tokens.getInicio(i);
+        finClase[c] = tokens.getInicio(fin) + 1;
+        lineaClase[c] = tokens.getLinea(i);
+        lineaFinClase[c] = tokens.getLinea(fin);
+
+        int cantidad = metodos(goal.cl.get(c)).size();
+        inicioMetodo[c] = new int[cantidad];
+        finMetodo[c] = new int[cantidad];
+        lineaMetodo[c] = new int[cantidad];
+        lineaFinMetodo[c] = new int[cantidad];
+        int m = 0;
+        int profundidad = 0;
+        for (int j = i; j < fin; j++) {
+            int tipo = tokens.getTipo(j);
+            if (tipo == sym.O_CBRACKET) {
+                profundidad++;
+            } else if (tipo == sym.C_CBRACKET) {
+                profundidad--;
+            } else if (tipo == sym.PUBLIC && profundidad == 1) {
+                int cierre = cierre(tokens, j);
+                inicioMetodo[c][m] = tokens.getInicio(j);
+                finMetodo[c][m] = tokens.getInicio(cierre) + 1;
+                lineaMetodo[c][m] = tokens.getLinea(j);
+                lineaFinMetodo[c][m] = tokens.getLinea(cierre);
+                m++;
+                j = cierre;
+            }
+        }
+        return fin;
+    }
+
+    /**
+     * Retorna el índice de la llave que cierra la primera llave abierta desde i.
+     */
+    private static int cierre(PackedTokens tokens, int i) {
+        while (tokens.getTipo(i) != sym.O_CBRACKET) {
+            i++;
+        }
+        int profundidad = 0;
+        for (;; i++) {
+            int tipo = tokens.getTipo(i);
+            if (tipo == sym.O_CBRACKET) {
+                profundidad++;
+            } else if (tipo == sym.C_CBRACKET && --profundidad == 0) {
+                return i;
+            }
+        }
+    }
+
+    private static MethodDeclList metodos(ClassDecl c) {
+        if (c instanceof ClassDeclExtends) {
+            return ((ClassDeclExtends) c).ml;
+        }
+        return ((ClassDeclSimple) c).ml;
+    }
+}
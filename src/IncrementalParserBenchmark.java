@@ -0,0 +1,196 @@
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+
+import ast.Goal;
+
+/**
+ * Benchmark del IncrementalParser sobre un programa sintético de al menos
+ * 10.000 líneas. Aplica ediciones pseudoaleatorias como las de un editor:
+ * cambiar un literal dentro de un método, agregar y borrar una línea (lo que
+ * obliga a corregir las líneas de todo lo que sigue) y renombrar un campo de
+ * una clase. Reporta el tiempo medio y el percentil 99 de cada tipo de edición
+ * junto al de volver a analizar el archivo completo.
+ *
+ * Antes de medir, verifica que el AST incremental sea idéntico al de un
+ * análisis completo después de cada una de las primeras ediciones, incluidas
+ * las huellas que cada nodo guarda: se piden antes de cada edición para que
+ * el parser incremental tenga que descartar las que cambian.
+ *
+ * Uso: java IncrementalParserBenchmark [-lineas=10000] [-ediciones=4000] [-verificar=300]
+ */
+public class IncrementalParserBenchmark {
+    private static final String[] TIPOS = { "literal", "agregar linea", "borrar linea", "campo" };
+    private static final String LINEA_NUEVA = "        y = y + 1;\n";
+
+    private static Random aleatorio = new Random(42);
+    private static StringBuilder espejo;
+
+    public static void main(String[] args) throws Exception {
+        int lineas = 10000;
+        int ediciones = 4000;
+        int verificar = 300;
+        for (String arg : args) {
+            if (arg.startsWith("-lineas=")) {
+                lineas = Integer.parseInt(arg.substring(8));
+            } else if (arg.startsWith("-ediciones=")) {
+                ediciones = Integer.parseInt(arg.substring(11));
+            } else if (arg.startsWith("-verificar=")) {
+                verificar = Integer.parseInt(arg.substring(11));
+            } else {
+                System.err.println("Opcion desconocida: " + arg);
+                return;
+            }
+        }
+
+        String fuente = generar(lineas);
+        System.out.println("Programa de " + contarLineas(fuente) + " lineas (" + fuente.length() + " caracteres)");
+        espejo = new StringBuilder(fuente);
+        IncrementalParser incremental = new IncrementalParser(fuente);
+
+        // Verificación contra el análisis completo
+        for (int i = 0; i < verificar; i++) {
+            incremental.getGoal().getFingerprint();
+            editar(incremental, i % TIPOS.length);
+            Goal completo = parsearCompleto(espejo.toString());
+            completo.getFingerprint();
+            incremental.getGoal().getFingerprint();
+            String diferencia = ParserDifferentialCheck.diferencia(completo, incremental.getGoal(), "Goal");
+            if (diferencia != null) {
+                System.out.println("DIFERENTE despues de la edicion " + i + " (" + TIPOS[i % TIPOS.length] + "): " + diferencia);
+                return;
+            }
+        }
+        System.out.println("Verificadas " + verificar + " ediciones: el AST incremental es igual al completo.");
+
+        // Medición de las ediciones
+        long[][] tiempos = new long[TIPOS.length][ediciones / TIPOS.length];
+        for (int vuelta = 0; vuelta < 2; vuelta++) {
+            // La primera vuelta es calentamiento
+            for (int i = 0; i < tiempos[0].length * TIPOS.length; i++) {
+                int tipo = i % TIPOS.length;
+                tiempos[tipo][i / TIPOS.length] = editar(incremental, tipo);
+            }
+        }
+
+        // Referencia: análisis completo del mismo texto
+        String actual = espejo.toString();
+        long[] completos = new long[50];
+        for (int i = 0; i < completos.length * 2; i++) {
+            long inicio = System.nanoTime();
+            parsearCompleto(actual);
+            completos[i % completos.length] = System.nanoTime() - inicio;
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-16s %12s %12s", "edicion", "media ms", "p99 ms"));
+        for (int t = 0; t < TIPOS.length; t++) {
+            imprimir(TIPOS[t], tiempos[t]);
+        }
+        imprimir("archivo completo", completos);
+        System.out.println();
+        System.out.println("Metodos reparseados: " + incremental.getMetodosReparseados()
+                + ", clases: " + incremental.getClasesReparseadas()
+                + ", archivo completo: " + incremental.getArchivosReparseados());
+    }
+
+    /**
+     * Aplica una edición del tipo dado al parser y al espejo del texto, y
+     * retorna lo que tardó el parser en nanosegundos.
+     */
+    private static long editar(IncrementalParser incremental, int tipo) throws Exception {
+        int desde;
+        int eliminados;
+        String insertado;
+        switch (tipo) {
+            case 0: {
+                // Cambia el número de una línea "y = y + x * N - ..."
+                desde = buscar(" + x * ") + 7;
+                int fin = desde;
+                while (Character.isDigit(espejo.charAt(fin))) {
+                    fin++;
+                }
+                eliminados = fin - desde;
+                insertado = Integer.toString(aleatorio.nextInt(1000));
+                break;
+            }
+            case 1:
+                desde = buscar("        y = 0;\n") + 15;
+                eliminados = 0;
+                insertado = LINEA_NUEVA;
+                break;
+            case 2:
+                desde = buscar(LINEA_NUEVA);
+                eliminados = LINEA_NUEVA.length();
+                insertado = "";
+                break;
+            default:
+                // Alterna el nombre del campo entre campoN y campoNx
+                desde = buscar("    int campo") + 13;
+                int fin = desde;
+                while (Character.isDigit(espejo.charAt(fin))) {
+                    fin++;
+                }
+                if (espejo.charAt(fin) == 'x') {
+                    desde = fin;
+                    eliminados = 1;
+                    insertado = "";
+                } else {
+                    desde = fin;
+                    eliminados = 0;
+                    insertado = "x";
+                }
+                break;
+        }
+        espejo.replace(desde, desde + eliminados, insertado);
+        long inicio = System.nanoTime();
+        incremental.editar(desde, eliminados, insertado);
+        return System.nanoTime() - inicio;
+    }
+
+    /**
+     * Busca el patrón desde una posición aleatoria, volviendo al principio si
+     * no aparece más adelante.
+     */
+    private static int buscar(String patron) {
+        int i = espejo.indexOf(patron, aleatorio.nextInt(espejo.length()));
+        return i >= 0 ? i : espejo.indexOf(patron);
+    }
+
+    private static Goal parsearCompleto(String fuente) throws Exception {
+        return new RecursiveDescentParser(PackedTokens.tokenizar(new Scanner(new StringReader(fuente)))).parse();
+    }
+
+    private static String generar(int lineas) {
+        long tamano = 32 * 1024;
+        String fuente = FrontEndBenchmark.generarPrograma(tamano);
+        while (contarLineas(fuente) < lineas) {
+            tamano = tamano * 5 / 4;
+            fuente = FrontEndBenchmark.generarPrograma(tamano);
+        }
+        // Cada método Lista recibe una línea agregada para que el borrado siempre tenga qué borrar
+        return fuente.replace("        y = 0;\n", "        y = 0;\n" + LINEA_NUEVA);
+    }
+
+    private static int contarLineas(String s) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) == '\n') {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private static void imprimir(String nombre, long[] tiempos) {
+        long[] ordenados = tiempos.clone();
+        Arrays.sort(ordenados);
+        double media = 0;
+        for (long t : ordenados) {
+            media += t;
+        }
+        media /= ordenados.length;
+        long p99 = ordenados[Math.min(ordenados.length - 1, (int) (ordenados.length * 0.99))];
+        System.out.println(String.format("%-16s %12.3f %12.3f", nombre, media / 1e6, p99 / 1e6));
+    }
+}
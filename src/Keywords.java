@@ -0,0 +1,68 @@
+/**
+ * Palabras reservadas de MiniJava. El Scanner reconoce todas las palabras con
+ * la regla de identificador y las clasifica aquí, en vez de tener una regla
+ * por palabra reservada que agranda las tablas del autómata.
+ *
+ * La búsqueda usa un hash perfecto sobre el primer carácter, el último y el
+ * largo: ninguna de las palabras colisiona en la tabla, así que basta con una
+ * comparación para decidir. Los coeficientes se eligieron para este conjunto
+ * de palabras; si se agrega una que colisiona, la clase falla al cargarse.
+ */
+public class Keywords {
+    private static final int TAMANO = 32;
+    private static final int LARGO_MINIMO = 2;
+    private static final int LARGO_MAXIMO = 7;
+
+    private static final String[] PALABRAS = {
+        "public", "static", "void", "main", "class", "extends", "int", "if",
+        "else", "while", "return", "this", "new", "String", "length"
+    };
+    private static final int[] TIPOS = {
+        sym.PUBLIC, sym.STATIC, sym.VOID, sym.MAIN, sym.CLASS, sym.EXTENDS, sym.INT, sym.IF,
+        sym.ELSE, sym.WHILE, sym.RETURN, sym.THIS, sym.NEW, sym.STRING, sym.LENGTH
+    };
+
+    private static final char[][] TABLA = new char[TAMANO][];
+    private static final int[] TABLA_TIPOS = new int[TAMANO];
+
+    static {
+        for (int i = 0; i < PALABRAS.length; i++) {
+            char[] palabra = PALABRAS[i].toCharArray();
+            int h = hash(palabra[0], palabra[palabra.length - 1], palabra.length);
+            if (TABLA[h] != null) {
+                throw new ExceptionInInitializerError("Colision en el hash de palabras reservadas: " + PALABRAS[i]);
+            }
+            TABLA[h] = palabra;
+            TABLA_TIPOS[h] = TIPOS[i];
+        }
+    }
+
+    private static int hash(char primero, char ultimo, int largo) {
+        return ((primero << 2) + (ultimo << 1) + largo) & (TAMANO - 1);
+    }
+
+    /**
+     * Retorna el tipo de token (constante de sym) de la palabra
+     * buffer[inicio, inicio + largo), o -1 si no es una palabra reservada.
+     */
+    public static int buscar(char[] buffer, int inicio, int largo) {
+        if (largo < LARGO_MINIMO || largo > LARGO_MAXIMO) {
+            return -1;
+        }
+        int h = hash(buffer[inicio], buffer[inicio + largo - 1], largo);
+        char[] palabra = TABLA[h];
+        if (palabra == null || palabra.length != largo) {
+            return -1;
+        }
+        for (int i = 1; i < largo - 1; i++) {
+            if (palabra[i] != buffer[inicio + i]) {
+                return -1;
+            }
+        }
+        // El primer y el último carácter también deben coincidir, no solo su hash
+        if (palabra[0] != buffer[inicio] || palabra[largo - 1] != buffer[inicio + largo - 1]) {
+            return -1;
+        }
+        return TABLA_TIPOS[h];
+    }
+}
@@ -1,11 +1,22 @@
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import ast.ClassDecl;
 import ast.ClassDeclExtends;
 import ast.ClassDeclSimple;
+import ast.AstSerializer;
 import ast.Goal;
+import ast.HashConsing;
+import ast.NodeNumbering;
+import ast.MethodDecl;
+import ast.visitor.CloneVisitor;
 import ast.visitor.MiniJPrintVisitor;
-import ast.visitor.OptimizationVisitor;
+import ast.visitor.PassManager;
+import ast.visitor.RuleCounter;
 import ast.visitor.ASTPrinterVisitor;
 import ast.visitor.SemanticAnalyzerVisitor;
 import ast.visitor.SemanticError;
@@ -21,24 +32,170 @@ import java.util.ArrayList;
 public class Main {
 
     public static void main(String[] args) {
-        InputStreamReader isr = new InputStreamReader(System.in);
-        Scanner s = new Scanner(isr);
-        parser p = new parser(s);
+        // Opciones de optimización: -O0 a -O3 y -fno-<pasada>
+        RuleCounter reglas = new RuleCounter();
+        PassManager pasadas = new PassManager(reglas);
         try {
-            Symbol root = p.parse();
-            Goal g = (Goal) root.value;
-            
-            System.out.println("======================");
-            System.out.println("  MINI-J CODE OUTPUT  ");
-            System.out.println("======================");
-            Visitor mj = new MiniJPrintVisitor();
-            mj.visit(g);
+            pasadas.configurar(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        // El argumento que no es una opción es la ruta del archivo fuente; sin ruta se lee la entrada estándar
+        // -pretokenize analiza todo el archivo a un PackedTokens antes de parsear
+        // -parser=rd usa el parser descendente recursivo (siempre sobre PackedTokens) en vez del de CUP
+        // -parser=parallel usa el descendente recursivo con una clase por tarea en varios hilos
+        // -cache=DIR guarda en DIR el AST de cada archivo sin errores de sintaxis y lo carga mientras el fuente no cambie
+        // -huellas imprime la huella estructural de cada clase y método (ver Fingerprint)
+        // -nodos numera los nodos del AST (ver NodeNumbering) e imprime cuántos son y la profundidad máxima
+        // -hashcons comparte las expresiones repetidas (ver HashConsing); las pasadas de optimización trabajan sobre una copia
+        // -print=none omite el código Mini-J y el árbol impresos; -print=ARCHIVO los escribe en ese archivo
+        String ruta = null;
+        String directorioCache = null;
+        boolean pretokenizar = false;
+        boolean descendente = false;
+        boolean paralelo = false;
+        HashConsing hashConsing = null;
+        boolean huellas = false;
+        boolean nodos = false;
+        String salidaImpresa = null;
+        for (String arg : args) {
+            if (arg.equals("-pretokenize")) {
+                pretokenizar = true;
+            } else if (arg.equals("-parser=rd")) {
+                descendente = true;
+                paralelo = false;
+                pretokenizar = true;
+            } else if (arg.equals("-parser=parallel")) {
+                descendente = true;
+                paralelo = true;
+                pretokenizar = true;
+            } else if (arg.equals("-parser=cup")) {
+                descendente = false;
+                paralelo = false;
+            } else if (arg.startsWith("-parser=")) {
+                System.err.println("Parser desconocido: " + arg.substring(8) + " (use rd, parallel o cup)");
+                return;
+            } else if (arg.startsWith("-cache=")) {
+                directorioCache = arg.substring(7);
+            } else if (arg.equals("-huellas")) {
+                huellas = true;
+            } else if (arg.equals("-nodos")) {
+                nodos = true;
+            } else if (arg.equals("-hashcons")) {
+                hashConsing = new HashConsing();
+            } else if (arg.startsWith("-print=")) {
+                salidaImpresa = arg.substring(7);
+            } else if (!arg.startsWith("-")) {
+                ruta = arg;
+            }
+        }
+        Path archivoCache = null;
+        byte[] huella = null;
+        Goal g = null;
+        if (directorioCache != null && ruta != null) {
+            try {
+                Path fuente = Paths.get(ruta).toAbsolutePath();
+                huella = AstSerializer.huella(fuente);
+                // El nombre incluye un hash de la ruta para que dos fuentes con el mismo nombre no se pisen
+                archivoCache = Paths.get(directorioCache, fuente.getFileName() + "-"
+                        + Integer.toHexString(fuente.toString().hashCode()) + ".ast");
+                g = AstSerializer.cargar(archivoCache, huella);
+            } catch (IOException e) {
+                System.err.println("No se pudo leer la cache de " + ruta + ": " + e.getMessage());
+            }
+        }
+        boolean desdeCache = g != null;
+        Scanner s = null;
+        if (!desdeCache) {
+            Reader entrada;
+            try {
+                entrada = ruta != null ? MappedSourceReader.abrir(ruta) : new InputStreamReader(System.in);
+            } catch (IOException e) {
+                System.err.println("No se pudo abrir el archivo " + ruta + ": " + e.getMessage());
+                return;
+            }
+            s = new Scanner(entrada);
+        }
+        try {
+            List<String> erroresSintaxis = new ArrayList<>();
+            if (desdeCache) {
+                System.out.println("AST cargado de " + archivoCache);
+            } else if (pretokenizar) {
+                PackedTokens tokens = PackedTokens.tokenizar(s);
+                System.out.println("Tokens: " + tokens.size() + " (" + tokens.getBytesUsados() + " bytes)");
+                if (paralelo) {
+                    ParallelParser p = new ParallelParser(Runtime.getRuntime().availableProcessors());
+                    try {
+                        g = p.parse(tokens);
+                    } finally {
+                        p.cerrar();
+                    }
+                } else if (descendente) {
+                    RecursiveDescentParser p = new RecursiveDescentParser(tokens);
+                    p.setHashConsing(hashConsing);
+                    g = p.parse();
+                } else {
+                    g = parsearCup(new parser(new PackedTokenScanner(tokens)), erroresSintaxis);
+                }
+            } else {
+                g = parsearCup(new parser(s), erroresSintaxis);
+            }
+            List<String> erroresLexicos = desdeCache ? new ArrayList<>() : s.getErrores();
+            if (archivoCache != null && !desdeCache && erroresLexicos.isEmpty() && erroresSintaxis.isEmpty()) {
+                Files.createDirectories(archivoCache.getParent());
+                AstSerializer.guardar(g, huella, archivoCache);
+            }
+            if (hashConsing != null && g != null) {
+                // El parser descendente ya compartió las expresiones al construirlas
+                if (hashConsing.getConsultas() == 0) {
+                    hashConsing.compartir(g);
+                }
+                System.out.println("Expresiones compartidas: " + hashConsing.getCompartidas() + " de "
+                        + hashConsing.getConsultas() + " (" + hashConsing.size() + " distintas)");
+            }
+            if (huellas && g != null) {
+                imprimirHuellas(g);
+            }
+            if (nodos && g != null) {
+                imprimirNodos(g);
+            }
+
+            if (!erroresLexicos.isEmpty()) {
+                System.out.println("======================");
+                System.out.println("    ERRORES LEXICOS    ");
+                System.out.println("======================");
+                for (String error : erroresLexicos) {
+                    System.out.println(error);
+                }
+                System.out.println("Total: " + erroresLexicos.size());
+                System.out.println();
+            }
+
+            // Se informan todos los errores de sintaxis; si el parser se recuperó se sigue con el AST parcial
+            if (!erroresSintaxis.isEmpty()) {
+                System.out.println("======================");
+                System.out.println("  ERRORES DE SINTAXIS  ");
+                System.out.println("======================");
+                for (String error : erroresSintaxis) {
+                    System.out.println(error);
+                }
+                System.out.println("Total: " + erroresSintaxis.size());
+                if (g == null) {
+                    System.out.println("No se pudo recuperar de los errores de sintaxis.");
+                    return;
+                }
+                System.out.println();
+            }
             
-            System.out.println("\n\n======================");
-            System.out.println("    AST TREE OUTPUT   ");
-            System.out.println("======================");
-            Visitor ast = new ASTPrinterVisitor();
-            ast.visit(g);
+            if (salidaImpresa == null) {
+                imprimirArbol(g, System.out);
+            } else if (!salidaImpresa.equals("none")) {
+                try (Writer w = Files.newBufferedWriter(Paths.get(salidaImpresa))) {
+                    imprimirArbol(g, w);
+                }
+                System.out.println("Codigo Mini-J y arbol escritos en " + salidaImpresa);
+            }
             
             // Análisis semántico
             System.out.println("\n======================");
@@ -51,18 +208,25 @@ public class Main {
             System.out.println("\n======================");
             System.out.println("  OPTIMIZACION  ");
             System.out.println("======================");
-            OptimizationVisitor optimizer = new OptimizationVisitor();
-            optimizer.visit(g);
-            System.out.println("Optimización completada sin advertencias.");
+            if (hashConsing != null && pasadas.getNivel() > 0) {
+                // Las pasadas reescriben el árbol en su lugar; la copia tiene un nodo por aparición
+                g = new CloneVisitor().clonar(g);
+            }
+            boolean sinErrores = errors.isEmpty() && erroresSintaxis.isEmpty() && erroresLexicos.isEmpty();
+            pasadas.ejecutar(g, sinErrores);
+            System.out.println("Optimización completada sin advertencias (-O" + pasadas.getNivel() + ").");
+            for (String linea : pasadas.getInforme()) {
+                System.out.println(linea);
+            }
 
-            // Solo generar código si no hay errores semánticos
-            if (errors.isEmpty()) {
+            // Solo generar código si no hay errores léxicos, de sintaxis ni semánticos
+            if (sinErrores) {
                 System.out.println("\n======================");
                 System.out.println("  GENERACION DE CODIGO  ");
                 System.out.println("======================");
 
-                // Generación de código Jasmin
-                JCodeGenVisitor codegen = new JCodeGenVisitor();
+                // Generación de código Jasmin; * y / por 2^k pasan a desplazamientos junto con la simplificación
+                JCodeGenVisitor codegen = new JCodeGenVisitor(reglas, pasadas.estaHabilitada("simplificacion"));
                 codegen.visit(g);
 
                 // Mostrar el contenido de cada archivo .j generado en consola
@@ -92,11 +256,25 @@ public class Main {
                     }
                 }
                 System.out.println("\nArchivos .j generados en el directorio actual.");
+
+                System.out.println("\n======================");
+                System.out.println("  REGLAS APLICADAS  ");
+                System.out.println("======================");
+                for (String regla : reglas.getContadores().keySet()) {
+                    System.out.println(regla + ": " + reglas.get(regla));
+                }
+                System.out.println("Total: " + reglas.getTotal());
             } else {
                 System.out.println("\n======================");
                 System.out.println("  NO SE GENERA CODIGO  ");
                 System.out.println("======================");
-                System.out.println("Como se detectaron errores semanticos, no se procederá a la generacion de codigo.");
+                if (!erroresLexicos.isEmpty()) {
+                    System.out.println("Como se detectaron errores lexicos, no se procederá a la generacion de codigo.");
+                } else if (erroresSintaxis.isEmpty()) {
+                    System.out.println("Como se detectaron errores semanticos, no se procederá a la generacion de codigo.");
+                } else {
+                    System.out.println("Como se detectaron errores de sintaxis, no se procederá a la generacion de codigo.");
+                }
             }
             
         } catch (Exception e) {
@@ -104,6 +282,80 @@ public class Main {
         }
     }
 
+    /**
+     * Imprime el programa como código Mini-J y como árbol, cada uno con su
+     * encabezado, en el destino dado.
+     */
+    private static void imprimirArbol(Goal g, Appendable destino) throws IOException {
+        String fin = System.lineSeparator();
+        destino.append("======================").append(fin);
+        destino.append("  MINI-J CODE OUTPUT  ").append(fin);
+        destino.append("======================").append(fin);
+        Visitor mj = new MiniJPrintVisitor(destino);
+        mj.visit(g);
+
+        destino.append("\n\n======================").append(fin);
+        destino.append("    AST TREE OUTPUT   ").append(fin);
+        destino.append("======================").append(fin);
+        Visitor ast = new ASTPrinterVisitor(destino);
+        ast.visit(g);
+    }
+
+    /**
+     * Imprime la huella de la clase principal, de cada clase y de cada
+     * método, que no cambia entre compilaciones mientras su código no cambie.
+     */
+    private static void imprimirHuellas(Goal g) {
+        System.out.println("Huellas estructurales:");
+        System.out.println("  " + g.m.getFingerprint() + "  " + g.m.i1.s);
+        for (int i = 0; i < g.cl.size(); i++) {
+            // ClassDeclExtends es subclase de ClassDeclSimple
+            ClassDeclSimple c = (ClassDeclSimple) g.cl.get(i);
+            System.out.println("  " + c.getFingerprint() + "  " + c.i.s);
+            for (int j = 0; j < c.ml.size(); j++) {
+                MethodDecl m = c.ml.get(j);
+                System.out.println("  " + m.getFingerprint() + "  " + c.i.s + "." + m.i.s);
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Numera el árbol y calcula la profundidad de cada nodo en un arreglo
+     * indexado por número: como la numeración es en preorden, el padre ya
+     * tiene la suya cuando se llega al hijo.
+     */
+    private static void imprimirNodos(Goal g) {
+        NodeNumbering numeracion = NodeNumbering.numerar(g);
+        int[] profundidad = new int[numeracion.size()];
+        int maxima = 0;
+        for (int id = 1; id < numeracion.size(); id++) {
+            profundidad[id] = profundidad[numeracion.getPadre(id)] + 1;
+            maxima = Math.max(maxima, profundidad[id]);
+        }
+        System.out.println("Nodos: " + numeracion.size() + ", profundidad maxima: " + maxima);
+        System.out.println();
+    }
+
+    /**
+     * Parsea con CUP recuperándose de los errores de sintaxis, que se agregan a
+     * errores. Retorna el Goal, posiblemente parcial, o null si el parser no
+     * pudo recuperarse.
+     */
+    private static Goal parsearCup(parser p, List<String> errores) throws Exception {
+        try {
+            Symbol root = p.parse();
+            return (Goal) root.value;
+        } catch (Exception e) {
+            if (p.getErrores().isEmpty()) {
+                throw e;
+            }
+            return null;
+        } finally {
+            errores.addAll(p.getErrores());
+        }
+    }
+
     public void report_error(String message, Object info) {
         System.err.print(message);
         System.err.flush();
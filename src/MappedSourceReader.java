@@ -0,0 +1,145 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lector de un archivo fuente mapeado en memoria con FileChannel.map.
+ * Decodifica UTF-8 (y su subconjunto ASCII) directamente desde el mapeo al
+ * arreglo de caracteres que le pasa el Scanner en cada recarga, sin los
+ * buffers intermedios de InputStreamReader ni un CharsetDecoder.
+ *
+ * Las secuencias UTF-8 inválidas se reemplazan por U+FFFD, igual que lo hace
+ * InputStreamReader.
+ */
+public class MappedSourceReader extends Reader {
+    private static final char REEMPLAZO = '\uFFFD';
+
+    private MappedByteBuffer bytes;
+    private int posicion;
+    private int limite;
+    // Segunda mitad de un par sustituto que no cupo en la lectura anterior, 0 si no hay
+    private char pendiente;
+
+    /**
+     * Mapea el archivo completo en memoria. El mapeo sigue siendo válido después
+     * de cerrar el canal.
+     */
+    public static MappedSourceReader abrir(String ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(ruta), StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano > Integer.MAX_VALUE) {
+                throw new IOException("El archivo supera los " + Integer.MAX_VALUE + " bytes: " + ruta);
+            }
+            return new MappedSourceReader(canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano));
+        }
+    }
+
+    public MappedSourceReader(MappedByteBuffer bytes) {
+        this.bytes = bytes;
+        this.posicion = 0;
+        this.limite = bytes.limit();
+        // Se omite la marca de orden de bytes de UTF-8
+        if (limite >= 3 && (bytes.get(0) & 0xFF) == 0xEF && (bytes.get(1) & 0xFF) == 0xBB
+                && (bytes.get(2) & 0xFF) == 0xBF) {
+            posicion = 3;
+        }
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (bytes == null) {
+            throw new IOException("Lector cerrado");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        int i = off;
+        int fin = off + len;
+        if (pendiente != 0) {
+            cbuf[i++] = pendiente;
+            pendiente = 0;
+        }
+        MappedByteBuffer b = bytes;
+        int p = posicion;
+        while (i < fin && p < limite) {
+            int c = b.get(p);
+            if (c >= 0) {
+                // Camino rápido: ASCII
+                cbuf[i++] = (char) c;
+                p++;
+                continue;
+            }
+            int lider = c & 0xFF;
+            int restantes;
+            int cp;
+            if (lider >= 0xC2 && lider <= 0xDF) {
+                restantes = 1;
+                cp = lider & 0x1F;
+            } else if (lider >= 0xE0 && lider <= 0xEF) {
+                restantes = 2;
+                cp = lider & 0x0F;
+            } else if (lider >= 0xF0 && lider <= 0xF4) {
+                restantes = 3;
+                cp = lider & 0x07;
+            } else {
+                cbuf[i++] = REEMPLAZO;
+                p++;
+                continue;
+            }
+            // Una secuencia incompleta se reemplaza por un único U+FFFD, como en InputStreamReader
+            int q = p + 1;
+            int leidos = 0;
+            while (leidos < restantes && q + leidos < limite
+                    && esContinuacion(lider, leidos, b.get(q + leidos) & 0xFF)) {
+                cp = (cp << 6) | (b.get(q + leidos) & 0x3F);
+                leidos++;
+            }
+            if (leidos < restantes) {
+                cbuf[i++] = REEMPLAZO;
+                p = q + leidos;
+                continue;
+            }
+            p = q + restantes;
+            if (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE) {
+                // Un sustituto codificado en UTF-8 es inválido y se reemplaza completo
+                cbuf[i++] = REEMPLAZO;
+            } else if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                cbuf[i++] = (char) cp;
+            } else {
+                cbuf[i++] = Character.highSurrogate(cp);
+                if (i < fin) {
+                    cbuf[i++] = Character.lowSurrogate(cp);
+                } else {
+                    pendiente = Character.lowSurrogate(cp);
+                }
+            }
+        }
+        posicion = p;
+        return i == off ? -1 : i - off;
+    }
+
+    /**
+     * Indica si el byte es una continuación válida en la posición dada de la secuencia.
+     * Los rangos del segundo byte excluyen las formas largas y los puntos de
+     * código mayores que U+10FFFF.
+     */
+    private static boolean esContinuacion(int lider, int indice, int valor) {
+        if (indice == 0) {
+            switch (lider) {
+                case 0xE0: return valor >= 0xA0 && valor <= 0xBF;
+                case 0xF0: return valor >= 0x90 && valor <= 0xBF;
+                case 0xF4: return valor >= 0x80 && valor <= 0x8F;
+                default: break;
+            }
+        }
+        return (valor & 0xC0) == 0x80;
+    }
+
+    @Override
+    public void close() {
+        bytes = null;
+    }
+}
@@ -0,0 +1,122 @@
+import java.io.StringReader;
+import java.util.IdentityHashMap;
+
+import ast.ArenaAst;
+import ast.Goal;
+import ast.Node;
+import ast.NodeNumbering;
+
+/**
+ * Mide la numeración de nodos sobre un programa sintético y la compara con
+ * la alternativa que reemplaza: guardar un dato por nodo (aquí la
+ * profundidad) en un IdentityHashMap en vez de en un int[] indexado por
+ * número. Verifica que la numeración coincida con el preorden de ArenaAst,
+ * nodo por nodo y padre por padre.
+ *
+ * Uso: java NodeNumberingBenchmark [-tamano=4MB] [-repeticiones=10]
+ */
+public class NodeNumberingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        long tamano = 4 * 1024 * 1024;
+        int repeticiones = 10;
+        for (String arg : args) {
+            if (arg.startsWith("-tamano=")) {
+                tamano = FrontEndBenchmark.leerTamano(arg.substring(8));
+            } else if (arg.startsWith("-repeticiones=")) {
+                repeticiones = Integer.parseInt(arg.substring(14));
+            } else {
+                System.err.println("Opcion desconocida: " + arg);
+                return;
+            }
+        }
+
+        Goal g = new RecursiveDescentParser(PackedTokens.tokenizar(
+                new Scanner(new StringReader(FrontEndBenchmark.generarPrograma(tamano))))).parse();
+        NodeNumbering numeracion = NodeNumbering.numerar(g);
+        String diferencia = comparar(numeracion, ArenaAst.desde(g));
+        if (diferencia != null) {
+            System.out.println("DIFERENTE: " + diferencia);
+            return;
+        }
+
+        double[] tiempos = new double[3];
+        long suma = 0;
+        for (int vuelta = 0; vuelta < 2; vuelta++) {
+            // La primera vuelta es calentamiento
+            long inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                numeracion = NodeNumbering.numerar(g);
+            }
+            tiempos[0] = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                suma += profundidadesEnArreglo(numeracion);
+            }
+            tiempos[1] = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                suma -= profundidadesEnMapa(numeracion);
+            }
+            tiempos[2] = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+        }
+        if (suma != 0) {
+            System.out.println("DIFERENTE: las profundidades no coinciden");
+            return;
+        }
+
+        System.out.println(String.format("Nodos numerados: %d", numeracion.size()));
+        System.out.println(String.format("Numeracion:                   %8.2f ms", tiempos[0]));
+        System.out.println(String.format("Profundidades en int[]:       %8.2f ms", tiempos[1]));
+        System.out.println(String.format("Profundidades en IdentityMap: %8.2f ms", tiempos[2]));
+    }
+
+    /**
+     * Retorna la primera diferencia entre la numeración y el arena, o null.
+     */
+    private static String comparar(NodeNumbering numeracion, ArenaAst arena) {
+        if (numeracion.size() != arena.size()) {
+            return numeracion.size() + " nodos numerados y " + arena.size() + " en el arena";
+        }
+        for (int i = 0; i < arena.size(); i++) {
+            Node n = numeracion.getNodo(i);
+            if (n.getId() != i || n.getKind() != arena.getTipo(i)) {
+                return "nodo " + i + ": " + n.getKind() + " y " + arena.getTipo(i) + " en el arena";
+            }
+            for (int j = 0; j < arena.getCantidadHijos(i); j++) {
+                int hijo = arena.getHijo(i, j);
+                if (hijo >= 0 && numeracion.getPadre(hijo) != i) {
+                    return "padre del nodo " + hijo + ": " + numeracion.getPadre(hijo) + " en vez de " + i;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Como el padre tiene un número menor, un recorrido por número ve siempre al padre antes
+
+    private static long profundidadesEnArreglo(NodeNumbering numeracion) {
+        int[] profundidad = new int[numeracion.size()];
+        long suma = 0;
+        for (int i = 1; i < numeracion.size(); i++) {
+            profundidad[i] = profundidad[numeracion.getPadre(i)] + 1;
+            suma += profundidad[i];
+        }
+        return suma;
+    }
+
+    private static long profundidadesEnMapa(NodeNumbering numeracion) {
+        IdentityHashMap<Node, Integer> profundidad = new IdentityHashMap<>();
+        profundidad.put(numeracion.getNodo(0), 0);
+        long suma = 0;
+        for (int i = 1; i < numeracion.size(); i++) {
+            Node n = numeracion.getNodo(i);
+            int p = profundidad.get(numeracion.getNodoPadre(n)) + 1;
+            profundidad.put(n, p);
+            suma += p;
+        }
+        return suma;
+    }
+}
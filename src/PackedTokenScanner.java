@@ -0,0 +1,31 @@
+import java_cup.runtime.Symbol;
+
+/**
+ * Adaptador que entrega al parser los tokens de un PackedTokens, como si
+ * vinieran del Scanner. Crea el Symbol de cada token solo cuando el parser lo pide.
+ */
+public class PackedTokenScanner implements java_cup.runtime.Scanner {
+    private PackedTokens tokens;
+    private int actual;
+
+    public PackedTokenScanner(PackedTokens tokens) {
+        this.tokens = tokens;
+        this.actual = 0;
+    }
+
+    /**
+     * Retorna el índice del próximo token a entregar.
+     */
+    public int getActual() {
+        return actual;
+    }
+
+    @Override
+    public Symbol next_token() {
+        // Después del EOF se sigue entregando EOF
+        if (actual == tokens.size() - 1) {
+            return tokens.getSymbol(actual);
+        }
+        return tokens.getSymbol(actual++);
+    }
+}
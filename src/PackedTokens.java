@@ -0,0 +1,185 @@
+import java.io.IOException;
+import java.util.Arrays;
+
+import java_cup.runtime.Symbol;
+
+/**
+ * Flujo de tokens de un archivo completo guardado en arreglos paralelos de
+ * tipos primitivos (estructura de arreglos), en vez de un objeto Symbol por
+ * token. Se llena con un pase del Scanner sobre toda la entrada y luego se
+ * puede recorrer cuantas veces se necesite: el parser lo consume a través de
+ * PackedTokenScanner, y los mensajes de error o las herramientas de edición
+ * pueden ubicar tokens por desplazamiento sin volver a analizar el archivo.
+ *
+ * El último token es siempre EOF.
+ */
+public class PackedTokens {
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    // Tipo del token (constantes de sym)
+    private byte[] tipos;
+    // Desplazamiento en caracteres del inicio del token y su largo
+    private int[] inicios;
+    private int[] largos;
+    // Línea y columna, ambas desde 1 (-1 en EOF, igual que el Scanner)
+    private int[] lineas;
+    private int[] columnas;
+    // Id en la tabla de identificadores, o el valor de un literal entero; -1 en el resto
+    private int[] ids;
+    private int cantidad;
+
+    private IdentifierTable identificadores;
+
+    private PackedTokens(IdentifierTable identificadores) {
+        this.tipos = new byte[CAPACIDAD_INICIAL];
+        this.inicios = new int[CAPACIDAD_INICIAL];
+        this.largos = new int[CAPACIDAD_INICIAL];
+        this.lineas = new int[CAPACIDAD_INICIAL];
+        this.columnas = new int[CAPACIDAD_INICIAL];
+        this.ids = new int[CAPACIDAD_INICIAL];
+        this.identificadores = identificadores;
+    }
+
+    /**
+     * Analiza toda la entrada del Scanner y guarda sus tokens.
+     */
+    public static PackedTokens tokenizar(Scanner s) throws IOException {
+        PackedTokens tokens = new PackedTokens(s.getIdentificadores());
+        int fin = 0;
+        Symbol t = s.next_token();
+        while (t.sym != sym.EOF) {
+            int id = -1;
+            if (t.sym == sym.IDENTIFIER) {
+                id = s.getUltimoId();
+            } else if (t.sym == sym.INTEGER_LITERAL) {
+                id = (Integer) t.value;
+            }
+            fin = s.getInicioToken() + s.yylength();
+            tokens.agregar(t.sym, s.getInicioToken(), s.yylength(), t.left, t.right, id);
+            t = s.next_token();
+        }
+        tokens.agregar(sym.EOF, fin, 0, t.left, t.right, -1);
+        return tokens;
+    }
+
+    private void agregar(int tipo, int inicio, int largo, int linea, int columna, int id) {
+        if (cantidad == tipos.length) {
+            int capacidad = cantidad * 2;
+            tipos = Arrays.copyOf(tipos, capacidad);
+            inicios = Arrays.copyOf(inicios, capacidad);
+            largos = Arrays.copyOf(largos, capacidad);
+            lineas = Arrays.copyOf(lineas, capacidad);
+            columnas = Arrays.copyOf(columnas, capacidad);
+            ids = Arrays.copyOf(ids, capacidad);
+        }
+        tipos[cantidad] = (byte) tipo;
+        inicios[cantidad] = inicio;
+        largos[cantidad] = largo;
+        lineas[cantidad] = linea;
+        columnas[cantidad] = columna;
+        ids[cantidad] = id;
+        cantidad++;
+    }
+
+    /**
+     * Retorna la cantidad de tokens, incluyendo el EOF final.
+     */
+    public int size() {
+        return cantidad;
+    }
+
+    public int getTipo(int i) {
+        return tipos[i];
+    }
+
+    public int getInicio(int i) {
+        return inicios[i];
+    }
+
+    public int getLargo(int i) {
+        return largos[i];
+    }
+
+    public int getLinea(int i) {
+        return lineas[i];
+    }
+
+    public int getColumna(int i) {
+        return columnas[i];
+    }
+
+    public int getId(int i) {
+        return ids[i];
+    }
+
+    public IdentifierTable getIdentificadores() {
+        return identificadores;
+    }
+
+    /**
+     * Retorna el valor que el Scanner asocia al token: el nombre de un
+     * identificador, el Integer de un literal, o null.
+     */
+    public Object getValor(int i) {
+        if (tipos[i] == sym.IDENTIFIER) {
+            return identificadores.nombre(ids[i]);
+        }
+        if (tipos[i] == sym.INTEGER_LITERAL) {
+            return identificadores.entero(ids[i]);
+        }
+        return null;
+    }
+
+    /**
+     * Crea el Symbol del token, idéntico al que produce el Scanner.
+     */
+    public Symbol getSymbol(int i) {
+        return new SpanSymbol(tipos[i], lineas[i], columnas[i], getValor(i), inicios[i], inicios[i] + largos[i]);
+    }
+
+    /**
+     * Retorna el índice del token que contiene el desplazamiento dado, o del
+     * primer token que comienza después si el desplazamiento cae en espacios
+     * o comentarios.
+     */
+    public int buscarPorDesplazamiento(int desplazamiento) {
+        int bajo = 0;
+        int alto = cantidad - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (inicios[medio] + largos[medio] <= desplazamiento) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Suma la cantidad dada a la línea de cada token, salvo al EOF. Se usa
+     * cuando los tokens vienen de un fragmento que no empieza en la línea 1.
+     */
+    public void desplazarLineas(int desplazamiento) {
+        for (int i = 0; i < cantidad - 1; i++) {
+            lineas[i] += desplazamiento;
+        }
+    }
+
+    /**
+     * Suma la cantidad dada al desplazamiento de cada token, incluido el EOF,
+     * para que los spans de un fragmento cuenten desde el inicio del archivo.
+     */
+    public void desplazarInicios(int desplazamiento) {
+        for (int i = 0; i < cantidad; i++) {
+            inicios[i] += desplazamiento;
+        }
+    }
+
+    /**
+     * Retorna los bytes ocupados por los arreglos de tokens.
+     */
+    public long getBytesUsados() {
+        return (long) tipos.length * (1 + 5 * 4);
+    }
+}
@@ -0,0 +1,137 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import ast.ClassDecl;
+import ast.ClassDeclList;
+import ast.Goal;
+import ast.MainClass;
+
+/**
+ * Parser que analiza en paralelo las declaraciones de clase de un archivo.
+ * Una vez que se conocen los rangos de llaves, cada clase es independiente:
+ * un recorrido de los tipos de token cuenta llaves y separa la clase
+ * principal y cada clase de nivel superior, y luego grupos contiguos de
+ * clases se analizan con el RecursiveDescentParser en hilos distintos. La
+ * ClassDeclList se arma en el orden del archivo, así que el AST es idéntico
+ * al del análisis secuencial.
+ *
+ * El análisis léxico sigue siendo secuencial: los límites de las clases solo
+ * se conocen después de separar comentarios y tokens.
+ *
+ * Si el recorrido de llaves no encuentra la estructura esperada o algún
+ * grupo tiene un error de sintaxis, se vuelve a analizar todo en forma
+ * secuencial para informar el mismo error que el parser secuencial.
+ */
+public class ParallelParser {
+    // Grupos por hilo, para repartir mejor las clases de tamaños distintos
+    private static final int GRUPOS_POR_HILO = 4;
+
+    private ExecutorService hilos;
+    private int cantidadHilos;
+
+    public ParallelParser(int cantidadHilos) {
+        this.cantidadHilos = cantidadHilos;
+        this.hilos = Executors.newFixedThreadPool(cantidadHilos, r -> {
+            Thread t = new Thread(r, "parser");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public Goal parse(PackedTokens tokens) throws Exception {
+        List<Integer> limites = separarClases(tokens);
+        if (limites == null) {
+            return new RecursiveDescentParser(tokens).parse();
+        }
+        int clases = limites.size() - 2;
+        int grupos = Math.max(1, Math.min(clases, cantidadHilos * GRUPOS_POR_HILO));
+        List<Future<ClassDecl[]>> resultados = new ArrayList<>();
+        for (int g = 0; g < grupos; g++) {
+            int primera = (int) ((long) clases * g / grupos);
+            int ultima = (int) ((long) clases * (g + 1) / grupos);
+            resultados.add(hilos.submit(() -> {
+                ClassDecl[] decls = new ClassDecl[ultima - primera];
+                for (int c = primera; c < ultima; c++) {
+                    RecursiveDescentParser p = new RecursiveDescentParser(tokens, limites.get(c + 1), limites.get(c + 2));
+                    p.setInformarErrores(false);
+                    decls[c - primera] = p.parseClassDecl();
+                }
+                return decls;
+            }));
+        }
+
+        // La clase principal se analiza en este hilo mientras tanto
+        MainClass mc;
+        ClassDeclList cdl = new ClassDeclList(clases > 0 ? tokens.getLinea(limites.get(1)) : tokens.getLinea(0));
+        try {
+            RecursiveDescentParser p = new RecursiveDescentParser(tokens, 0, limites.get(1));
+            p.setInformarErrores(false);
+            mc = p.parseMainClass();
+            for (Future<ClassDecl[]> resultado : resultados) {
+                for (ClassDecl c : resultado.get()) {
+                    cdl.add(c);
+                }
+            }
+        } catch (Exception e) {
+            for (Future<ClassDecl[]> resultado : resultados) {
+                resultado.cancel(false);
+            }
+            return new RecursiveDescentParser(tokens).parse();
+        }
+        int ultimo = limites.get(limites.size() - 1) - 1;
+        int fin = tokens.getInicio(ultimo) + tokens.getLargo(ultimo);
+        if (clases > 0) {
+            cdl.setSpan(tokens.getInicio(limites.get(1)), fin);
+        }
+        Goal g = new Goal(mc, cdl, tokens.getLinea(0));
+        g.setSpan(tokens.getInicio(0), fin);
+        return g;
+    }
+
+    /**
+     * Retorna los índices de token donde empieza cada clase, seguidos del
+     * índice del EOF, o null si el archivo no tiene la forma esperada (cada
+     * clase de nivel superior empieza con PUBLIC y sus llaves se cierran).
+     */
+    static List<Integer> separarClases(PackedTokens tokens) {
+        List<Integer> limites = new ArrayList<>();
+        int eof = tokens.size() - 1;
+        int profundidad = 0;
+        for (int i = 0; i < eof; i++) {
+            int tipo = tokens.getTipo(i);
+            if (profundidad == 0) {
+                if (tipo != sym.PUBLIC) {
+                    return null;
+                }
+                limites.add(i);
+                // Se avanza hasta la primera llave de la clase
+                while (i < eof && tokens.getTipo(i) != sym.O_CBRACKET) {
+                    i++;
+                }
+                if (i == eof) {
+                    return null;
+                }
+                profundidad = 1;
+            } else if (tipo == sym.O_CBRACKET) {
+                profundidad++;
+            } else if (tipo == sym.C_CBRACKET) {
+                profundidad--;
+            }
+        }
+        if (profundidad != 0 || limites.isEmpty()) {
+            return null;
+        }
+        limites.add(eof);
+        return limites;
+    }
+
+    /**
+     * Termina los hilos del parser.
+     */
+    public void cerrar() {
+        hilos.shutdown();
+    }
+}
@@ -0,0 +1,226 @@
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import ast.Goal;
+import ast.HashConsing;
+import ast.Node;
+import ast.visitor.CloneVisitor;
+import ast.visitor.PassManager;
+import ast.visitor.RuleCounter;
+import ast.visitor.SemanticAnalyzerVisitor;
+
+/**
+ * Compara el AST del parser de CUP con el del RecursiveDescentParser y el del
+ * ParallelParser sobre los
+ * programas dados (archivos o directorios; por defecto SamplePrograms y
+ * ValidCode.java) y sobre programas sintéticos de FrontEndBenchmark. Los
+ * árboles se recorren por reflexión campo por campo, incluyendo los números
+ * de línea, y se informa la primera diferencia de cada programa. También
+ * verifica que el análisis semántico y las pasadas de optimización impriman
+ * lo mismo sobre el árbol del parser descendente con y sin hash-consing.
+ *
+ * Al final mide el tiempo de parseo de cada uno sobre los mismos tokens, con
+ * el parser paralelo en 1, 2, 4 y 8 hilos.
+ */
+public class ParserDifferentialCheck {
+
+    private static ParallelParser paralelo;
+
+    public static void main(String[] args) throws Exception {
+        paralelo = new ParallelParser(Runtime.getRuntime().availableProcessors());
+        List<File> archivos = new ArrayList<>();
+        String[] rutas = args.length > 0 ? args : new String[] { "SamplePrograms", "ValidCode.java" };
+        for (String ruta : rutas) {
+            File f = new File(ruta);
+            File[] contenido = f.listFiles((d, nombre) -> nombre.endsWith(".java"));
+            if (contenido != null) {
+                Arrays.sort(contenido);
+                archivos.addAll(Arrays.asList(contenido));
+            } else if (f.isFile()) {
+                archivos.add(f);
+            }
+        }
+
+        int diferencias = 0;
+        for (File archivo : archivos) {
+            String fuente = new String(Files.readAllBytes(archivo.toPath()), StandardCharsets.UTF_8);
+            diferencias += comparar(archivo.getName(), fuente);
+        }
+        String sintetico = FrontEndBenchmark.generarPrograma(256 * 1024);
+        diferencias += comparar("sintetico-256KB", sintetico);
+        System.out.println(diferencias == 0 ? "Todos los AST son iguales." : diferencias + " programa(s) con diferencias.");
+
+        paralelo.cerrar();
+
+        medir(sintetico);
+        medirParalelo(FrontEndBenchmark.generarPrograma(16 * 1024 * 1024));
+    }
+
+    /**
+     * Parsea la fuente con ambos parsers y retorna 1 si los AST difieren.
+     */
+    private static int comparar(String nombre, String fuente) throws Exception {
+        Goal cup = parsearCup(fuente);
+        PackedTokens tokens = tokenizar(fuente);
+        Goal rd = new RecursiveDescentParser(tokens).parse();
+        String diferencia = diferencia(cup, rd, "Goal");
+        if (diferencia == null) {
+            diferencia = diferencia(cup, paralelo.parse(tokens), "Goal (paralelo)");
+        }
+        if (diferencia == null) {
+            RecursiveDescentParser p = new RecursiveDescentParser(tokens);
+            p.setHashConsing(new HashConsing());
+            String sinTabla = salidaAnalisis(rd, false);
+            String conTabla = salidaAnalisis(p.parse(), true);
+            if (!sinTabla.equals(conTabla)) {
+                diferencia = "salida con hash-consing:\n" + conTabla + "\nsin hash-consing:\n" + sinTabla;
+            }
+        }
+        if (diferencia == null) {
+            System.out.println("IGUAL      " + nombre);
+            return 0;
+        }
+        System.out.println("DIFERENTE  " + nombre + ": " + diferencia);
+        return 1;
+    }
+
+    /**
+     * Retorna la ruta y descripción de la primera diferencia entre a y b, o
+     * null si son iguales.
+     */
+    static String diferencia(Object a, Object b, String ruta) throws IllegalAccessException {
+        if (a == null || b == null) {
+            return a == b ? null : ruta + ": " + a + " / " + b;
+        }
+        if (a.getClass() != b.getClass()) {
+            return ruta + ": " + a.getClass().getSimpleName() + " / " + b.getClass().getSimpleName();
+        }
+        if (a instanceof List) {
+            List<?> la = (List<?>) a;
+            List<?> lb = (List<?>) b;
+            if (la.size() != lb.size()) {
+                return ruta + ".size: " + la.size() + " / " + lb.size();
+            }
+            for (int i = 0; i < la.size(); i++) {
+                String d = diferencia(la.get(i), lb.get(i), ruta + "[" + i + "]");
+                if (d != null) {
+                    return d;
+                }
+            }
+            return null;
+        }
+        if (!(a instanceof Node)) {
+            return a.equals(b) ? null : ruta + ": " + a + " / " + b;
+        }
+        for (Class<?> c = a.getClass(); c != Object.class; c = c.getSuperclass()) {
+            for (Field campo : c.getDeclaredFields()) {
+                if (Modifier.isStatic(campo.getModifiers())) {
+                    continue;
+                }
+                campo.setAccessible(true);
+                String d = diferencia(campo.get(a), campo.get(b), ruta + "." + campo.getName());
+                if (d != null) {
+                    return d;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retorna lo que imprimen el análisis semántico y las pasadas del nivel
+     * por defecto sobre el programa. Un árbol compartido se copia antes de las
+     * pasadas, como en Main, porque estas lo reescriben en su lugar.
+     */
+    private static String salidaAnalisis(Goal g, boolean compartido) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(salida, true));
+        try {
+            boolean valido = new SemanticAnalyzerVisitor().analyze(g).isEmpty();
+            if (compartido) {
+                g = new CloneVisitor().clonar(g);
+            }
+            new PassManager(new RuleCounter()).ejecutar(g, valido);
+        } finally {
+            System.setOut(original);
+        }
+        return new String(salida.toByteArray());
+    }
+
+    private static Goal parsearCup(String fuente) throws Exception {
+        return (Goal) new parser(new Scanner(new StringReader(fuente))).parse().value;
+    }
+
+    private static PackedTokens tokenizar(String fuente) throws Exception {
+        return PackedTokens.tokenizar(new Scanner(new StringReader(fuente)));
+    }
+
+    /**
+     * Compara el parser descendente secuencial con el paralelo en distintas
+     * cantidades de hilos.
+     */
+    private static void medirParalelo(String fuente) throws Exception {
+        PackedTokens tokens = tokenizar(fuente);
+        System.out.println(String.format("Parseo de %d tokens con %d procesador(es):",
+                tokens.size(), Runtime.getRuntime().availableProcessors()));
+        System.out.println(String.format("  secuencial   %8.2f ms", tiempo(() -> new RecursiveDescentParser(tokens).parse())));
+        for (int hilos = 1; hilos <= 8; hilos *= 2) {
+            ParallelParser p = new ParallelParser(hilos);
+            System.out.println(String.format("  %d hilo(s)    %8.2f ms", hilos, tiempo(() -> p.parse(tokens))));
+            p.cerrar();
+        }
+    }
+
+    private interface Parseo {
+        Goal ejecutar() throws Exception;
+    }
+
+    /**
+     * Retorna el tiempo medio en milisegundos de un parseo, después de calentar.
+     */
+    private static double tiempo(Parseo parseo) throws Exception {
+        int repeticiones = 10;
+        for (int i = 0; i < repeticiones; i++) {
+            parseo.ejecutar();
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < repeticiones; i++) {
+            parseo.ejecutar();
+        }
+        return (System.nanoTime() - inicio) / 1e6 / repeticiones;
+    }
+
+    /**
+     * Mide solo el parseo: ambos parsers leen los mismos tokens ya analizados.
+     */
+    private static void medir(String fuente) throws Exception {
+        PackedTokens tokens = tokenizar(fuente);
+        long cup = 0;
+        long rd = 0;
+        int repeticiones = 30;
+        for (int i = 0; i < repeticiones * 2; i++) {
+            long inicio = System.nanoTime();
+            new parser(new PackedTokenScanner(tokens)).parse();
+            long medio = System.nanoTime();
+            new RecursiveDescentParser(tokens).parse();
+            long fin = System.nanoTime();
+            // La primera mitad es calentamiento
+            if (i >= repeticiones) {
+                cup += medio - inicio;
+                rd += fin - medio;
+            }
+        }
+        System.out.println(String.format("Parseo de %d tokens: CUP %.2f ms, descendente recursivo %.2f ms (%.1fx)",
+                tokens.size(), cup / 1e6 / repeticiones, rd / 1e6 / repeticiones, (double) cup / rd));
+    }
+}
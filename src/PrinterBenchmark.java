@@ -0,0 +1,81 @@
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import ast.Goal;
+import ast.visitor.ASTPrinterVisitor;
+import ast.visitor.MiniJPrintVisitor;
+import ast.visitor.Visitor;
+
+/**
+ * Mide cuánto tardan MiniJPrintVisitor y ASTPrinterVisitor en imprimir un
+ * programa sintético, escribiendo en un PrintStream sobre un archivo (como
+ * System.out redirigido) y en un BufferedWriter. Informa el tiempo y los MB
+ * por segundo de texto producido.
+ *
+ * Uso: java PrinterBenchmark [-tamano=4MB] [-repeticiones=10]
+ */
+public class PrinterBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        long tamano = 4 * 1024 * 1024;
+        int repeticiones = 10;
+        for (String arg : args) {
+            if (arg.startsWith("-tamano=")) {
+                tamano = FrontEndBenchmark.leerTamano(arg.substring(8));
+            } else if (arg.startsWith("-repeticiones=")) {
+                repeticiones = Integer.parseInt(arg.substring(14));
+            } else {
+                System.err.println("Opcion desconocida: " + arg);
+                return;
+            }
+        }
+
+        Goal g = new RecursiveDescentParser(PackedTokens.tokenizar(
+                new Scanner(new StringReader(FrontEndBenchmark.generarPrograma(tamano))))).parse();
+        Path archivo = Files.createTempFile("impresion", ".txt");
+        try {
+            for (String visitante : new String[] { "MiniJPrint", "ASTPrinter" }) {
+                double[] tiempos = new double[2];
+                long bytes = 0;
+                for (int vuelta = 0; vuelta < 2; vuelta++) {
+                    // La primera vuelta es calentamiento
+                    for (int modo = 0; modo < 2; modo++) {
+                        long inicio = System.nanoTime();
+                        for (int i = 0; i < repeticiones; i++) {
+                            imprimir(g, visitante, modo, archivo);
+                        }
+                        tiempos[modo] = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+                        bytes = Files.size(archivo);
+                    }
+                }
+                System.out.println(String.format("%-10s  %8.2f MB de texto", visitante, bytes / 1e6));
+                System.out.println(String.format("  PrintStream:    %8.2f ms  %8.1f MB/s", tiempos[0],
+                        bytes / 1e3 / tiempos[0]));
+                System.out.println(String.format("  BufferedWriter: %8.2f ms  %8.1f MB/s", tiempos[1],
+                        bytes / 1e3 / tiempos[1]));
+            }
+        } finally {
+            Files.delete(archivo);
+        }
+    }
+
+    private static void imprimir(Goal g, String visitante, int modo, Path archivo) throws Exception {
+        if (modo == 0) {
+            try (PrintStream destino = new PrintStream(new FileOutputStream(archivo.toFile()), false)) {
+                crear(visitante, destino).visit(g);
+            }
+        } else {
+            try (Writer destino = Files.newBufferedWriter(archivo)) {
+                crear(visitante, destino).visit(g);
+            }
+        }
+    }
+
+    private static Visitor crear(String visitante, Appendable destino) {
+        return visitante.equals("MiniJPrint") ? new MiniJPrintVisitor(destino) : new ASTPrinterVisitor(destino);
+    }
+}
@@ -0,0 +1,568 @@
+import ast.*;
+
+/**
+ * Parser descendente recursivo escrito a mano para la gramática de
+ * ParserDefinition.cup. Las expresiones se analizan por precedencia (Pratt)
+ * con los mismos niveles y asociatividad que declara la gramática.
+ *
+ * Lee los tokens de un PackedTokens y construye exactamente el mismo AST que
+ * el parser de CUP, incluyendo los números de línea: CUP asigna a cada no
+ * terminal la línea de su primer token, por lo que aquí se guarda la línea
+ * de inicio de cada expresión aparte de la línea del nodo. Los spans siguen
+ * las mismas reglas que SpanSymbolFactory.
+ */
+public class RecursiveDescentParser {
+    // Precedencia de los operadores binarios; 0 si el token no es un operador
+    private static final int[] PRECEDENCIA = new int[sym.terminalNames.length];
+    private static final int PRECEDENCIA_POSFIJA = 7;
+
+    static {
+        PRECEDENCIA[sym.OR] = 1;
+        PRECEDENCIA[sym.AND] = 2;
+        PRECEDENCIA[sym.EQUAL] = 3;
+        PRECEDENCIA[sym.NOTEQ] = 3;
+        PRECEDENCIA[sym.LT] = 4;
+        PRECEDENCIA[sym.GT] = 4;
+        PRECEDENCIA[sym.PLUS] = 5;
+        PRECEDENCIA[sym.MINUS] = 5;
+        PRECEDENCIA[sym.MULT] = 6;
+        PRECEDENCIA[sym.DIV] = 6;
+        PRECEDENCIA[sym.DOT] = PRECEDENCIA_POSFIJA;
+        PRECEDENCIA[sym.O_SBRACKET] = PRECEDENCIA_POSFIJA;
+    }
+
+    private PackedTokens tokens;
+    private int actual;
+    // Índice del primer token que no se analiza; desde ahí se ve un EOF
+    private int fin;
+    // Si es falso los errores solo lanzan la excepción, sin mensajes en System.err
+    private boolean informarErrores;
+    // Tabla donde se comparten las expresiones repetidas, o null para crear un nodo por aparición
+    private HashConsing hashConsing;
+
+    public RecursiveDescentParser(PackedTokens tokens) {
+        this(tokens, 0, tokens.size() - 1);
+    }
+
+    /**
+     * Crea un parser que solo ve los tokens [desde, hasta), seguidos de un EOF.
+     */
+    public RecursiveDescentParser(PackedTokens tokens, int desde, int hasta) {
+        this.tokens = tokens;
+        this.actual = desde;
+        this.fin = hasta;
+        this.informarErrores = true;
+    }
+
+    public void setInformarErrores(boolean informarErrores) {
+        this.informarErrores = informarErrores;
+    }
+
+    public void setHashConsing(HashConsing hashConsing) {
+        this.hashConsing = hashConsing;
+    }
+
+    /**
+     * Analiza la entrada completa. Ante un error de sintaxis lo informa igual
+     * que el parser de CUP y lanza una excepción.
+     */
+    public Goal parse() throws Exception {
+        int lineaMain = linea();
+        int inicio = inicioToken();
+        MainClass mc = mainClass();
+        ClassDeclList cdl = new ClassDeclList(tipo() == sym.PUBLIC ? linea() : lineaMain);
+        int inicioClases = inicioToken();
+        while (tipo() == sym.PUBLIC) {
+            cdl.add(classDecl());
+        }
+        if (cdl.size() > 0) {
+            cdl.setSpan(inicioClases, finAnterior());
+        }
+        Goal g = conSpan(new Goal(mc, cdl, lineaMain), inicio);
+        esperar(sym.EOF);
+        return g;
+    }
+
+    /**
+     * Analiza una entrada que contiene solo la clase principal.
+     */
+    public MainClass parseMainClass() throws Exception {
+        MainClass mc = mainClass();
+        esperar(sym.EOF);
+        return mc;
+    }
+
+    /**
+     * Analiza una entrada que contiene solo una declaración de clase (que no
+     * es la clase principal). Sirve para volver a parsear un fragmento.
+     */
+    public ClassDecl parseClassDecl() throws Exception {
+        ClassDecl c = classDecl();
+        esperar(sym.EOF);
+        return c;
+    }
+
+    /**
+     * Analiza una entrada que contiene solo una declaración de método.
+     */
+    public MethodDecl parseMethodDecl() throws Exception {
+        MethodDecl m = methodDecl();
+        esperar(sym.EOF);
+        return m;
+    }
+
+    // ========== DECLARACIONES ==========
+
+    private MainClass mainClass() throws Exception {
+        int inicio = inicioToken();
+        esperar(sym.PUBLIC);
+        esperar(sym.CLASS);
+        Identifier classId = identifier();
+        esperar(sym.O_CBRACKET);
+        esperar(sym.PUBLIC);
+        esperar(sym.STATIC);
+        esperar(sym.VOID);
+        esperar(sym.MAIN);
+        esperar(sym.O_PAREN);
+        esperar(sym.STRING);
+        esperar(sym.O_SBRACKET);
+        esperar(sym.C_SBRACKET);
+        Identifier argId = identifier();
+        esperar(sym.C_PAREN);
+        esperar(sym.O_CBRACKET);
+        VarDeclList vdl = varDeclList(classId.line);
+        StatementList sl = statementList(classId.line);
+        esperar(sym.C_CBRACKET);
+        esperar(sym.C_CBRACKET);
+        return conSpan(new MainClass(classId, argId, vdl, sl, classId.line), inicio);
+    }
+
+    private ClassDecl classDecl() throws Exception {
+        int inicio = inicioToken();
+        esperar(sym.PUBLIC);
+        esperar(sym.CLASS);
+        Identifier id = identifier();
+        Identifier padre = null;
+        if (tipo() == sym.EXTENDS) {
+            actual++;
+            padre = identifier();
+        }
+        esperar(sym.O_CBRACKET);
+        // En una clase todo lo que no empieza con PUBLIC es una declaración de variable
+        VarDeclList vdl = new VarDeclList(tipo() != sym.PUBLIC ? linea() : id.line);
+        int inicioLista = inicioToken();
+        while (tipo() != sym.PUBLIC && tipo() != sym.C_CBRACKET) {
+            vdl.add(varDecl());
+        }
+        if (vdl.size() > 0) {
+            vdl.setSpan(inicioLista, finAnterior());
+        }
+        MethodDeclList mdl = new MethodDeclList(tipo() == sym.PUBLIC ? linea() : id.line);
+        inicioLista = inicioToken();
+        while (tipo() == sym.PUBLIC) {
+            mdl.add(methodDecl());
+        }
+        if (mdl.size() > 0) {
+            mdl.setSpan(inicioLista, finAnterior());
+        }
+        // La gramática exige variables y métodos en una clase que extiende a otra
+        if (padre != null && (vdl.size() == 0 || mdl.size() == 0)) {
+            error();
+        }
+        esperar(sym.C_CBRACKET);
+        if (padre != null) {
+            return conSpan(new ClassDeclExtends(id, padre, vdl, mdl, id.line), inicio);
+        }
+        return conSpan(new ClassDeclSimple(id, vdl, mdl, id.line), inicio);
+    }
+
+    /**
+     * Analiza las declaraciones de variables al comienzo de un cuerpo. La
+     * lista vacía toma la línea dada, como en las producciones sin VarDeclList.
+     */
+    private VarDeclList varDeclList(int lineaVacia) throws Exception {
+        VarDeclList vdl = new VarDeclList(esVarDecl() ? linea() : lineaVacia);
+        int inicio = inicioToken();
+        while (esVarDecl()) {
+            vdl.add(varDecl());
+        }
+        if (vdl.size() > 0) {
+            vdl.setSpan(inicio, finAnterior());
+        }
+        return vdl;
+    }
+
+    /**
+     * Distingue "Tipo id" de una sentencia que empieza con un identificador.
+     */
+    private boolean esVarDecl() {
+        return tipo() == sym.INT || (tipo() == sym.IDENTIFIER && tipo(actual + 1) == sym.IDENTIFIER);
+    }
+
+    private VarDecl varDecl() throws Exception {
+        int inicio = inicioToken();
+        Type t = type();
+        Identifier id = identifier();
+        if (tipo() == sym.EQ) {
+            actual++;
+            Expr e = expr();
+            esperar(sym.SEMICOLON);
+            return conSpan(new VarDeclAssign(t, id, e, t.line), inicio);
+        }
+        esperar(sym.SEMICOLON);
+        return conSpan(new VarDeclSimple(t, id, t.line), inicio);
+    }
+
+    private MethodDecl methodDecl() throws Exception {
+        int inicio = inicioToken();
+        esperar(sym.PUBLIC);
+        Type t = type();
+        Identifier id = identifier();
+        esperar(sym.O_PAREN);
+        // ParamList admite la lista vacía seguida de ", Param", igual que la gramática;
+        // en ese caso su span empieza donde termina el paréntesis, como la producción vacía en CUP
+        ParamList pl;
+        int inicioParametros;
+        if (tipo() == sym.C_PAREN || tipo() == sym.COMMA) {
+            inicioParametros = finAnterior();
+            pl = new ParamList(0);
+        } else {
+            inicioParametros = inicioToken();
+            Param p = param();
+            pl = new ParamList(p.line);
+            pl.add(p);
+        }
+        while (tipo() == sym.COMMA) {
+            actual++;
+            pl.add(param());
+        }
+        if (pl.size() > 0) {
+            pl.setSpan(inicioParametros, finAnterior());
+        }
+        esperar(sym.C_PAREN);
+        esperar(sym.O_CBRACKET);
+        VarDeclList vdl = varDeclList(t.line);
+        StatementList sl = statementList(t.line);
+        esperar(sym.RETURN);
+        Expr e = expr();
+        esperar(sym.SEMICOLON);
+        esperar(sym.C_CBRACKET);
+        return conSpan(new MethodDecl(t, id, pl, vdl, sl, e, t.line), inicio);
+    }
+
+    private Param param() throws Exception {
+        int inicio = inicioToken();
+        Type t = type();
+        Identifier id = identifier();
+        return conSpan(new Param(t, id, t.line), inicio);
+    }
+
+    private Type type() throws Exception {
+        int ln = linea();
+        int inicio = inicioToken();
+        if (tipo() == sym.IDENTIFIER) {
+            String nombre = (String) tokens.getValor(actual++);
+            return conSpan(new ClassType(ln, nombre), inicio);
+        }
+        esperar(sym.INT);
+        if (tipo() == sym.O_SBRACKET) {
+            actual++;
+            esperar(sym.C_SBRACKET);
+            return conSpan(new IntArrayType(ln), inicio);
+        }
+        return conSpan(new IntType(ln), inicio);
+    }
+
+    private Identifier identifier() throws Exception {
+        if (tipo() != sym.IDENTIFIER) {
+            error(sym.IDENTIFIER);
+        }
+        int ln = linea();
+        int inicio = inicioToken();
+        return conSpan(new Identifier((String) tokens.getValor(actual++), ln), inicio);
+    }
+
+    // ========== SENTENCIAS ==========
+
+    private boolean esInicioSentencia() {
+        switch (tipo()) {
+            case sym.O_CBRACKET:
+            case sym.IF:
+            case sym.WHILE:
+            case sym.PRINT:
+            case sym.IDENTIFIER:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private StatementList statementList(int lineaVacia) throws Exception {
+        StatementList sl = new StatementList(esInicioSentencia() ? linea() : lineaVacia);
+        int inicio = inicioToken();
+        while (esInicioSentencia()) {
+            sl.add(statement());
+        }
+        if (sl.size() > 0) {
+            sl.setSpan(inicio, finAnterior());
+        }
+        return sl;
+    }
+
+    private Statement statement() throws Exception {
+        int inicio = inicioToken();
+        switch (tipo()) {
+            case sym.O_CBRACKET: {
+                actual++;
+                // Un bloque no puede estar vacío
+                if (!esInicioSentencia()) {
+                    error(sym.O_CBRACKET, sym.IF, sym.WHILE, sym.PRINT, sym.IDENTIFIER);
+                }
+                StatementList sl = statementList(0);
+                esperar(sym.C_CBRACKET);
+                return conSpan(new Block(sl, sl.line), inicio);
+            }
+            case sym.IF: {
+                actual++;
+                esperar(sym.O_PAREN);
+                int ln = linea();
+                Expr e = expr();
+                esperar(sym.C_PAREN);
+                Statement s1 = statement();
+                esperar(sym.ELSE);
+                Statement s2 = statement();
+                return conSpan(new If(e, s1, s2, ln), inicio);
+            }
+            case sym.WHILE: {
+                actual++;
+                esperar(sym.O_PAREN);
+                int ln = linea();
+                Expr e = expr();
+                esperar(sym.C_PAREN);
+                Statement s = statement();
+                return conSpan(new While(e, s, ln), inicio);
+            }
+            case sym.PRINT: {
+                actual++;
+                esperar(sym.O_PAREN);
+                int ln = linea();
+                Expr e = expr();
+                esperar(sym.C_PAREN);
+                esperar(sym.SEMICOLON);
+                return conSpan(new Print(e, ln), inicio);
+            }
+            case sym.IDENTIFIER: {
+                Identifier id = identifier();
+                if (tipo() == sym.O_SBRACKET) {
+                    actual++;
+                    Expr indice = expr();
+                    esperar(sym.C_SBRACKET);
+                    esperar(sym.EQ);
+                    Expr valor = expr();
+                    esperar(sym.SEMICOLON);
+                    return conSpan(new ArrayAssign(id, indice, valor, id.line), inicio);
+                }
+                esperar(sym.EQ);
+                Expr e = expr();
+                esperar(sym.SEMICOLON);
+                return conSpan(new Assign(id, e, id.line), inicio);
+            }
+            default:
+                error(sym.O_CBRACKET, sym.IF, sym.WHILE, sym.PRINT, sym.IDENTIFIER);
+                return null;
+        }
+    }
+
+    // ========== EXPRESIONES ==========
+
+    private Expr expr() throws Exception {
+        return expr(1);
+    }
+
+    /**
+     * Analiza una expresión cuyos operadores tienen al menos la precedencia
+     * dada. Todos los operadores son asociativos a la izquierda, así que cada
+     * nodo que se arma aquí empieza en el primer token de la expresión y toma
+     * esa línea y ese inicio.
+     */
+    private Expr expr(int minima) throws Exception {
+        int ln = linea();
+        int inicio = inicioToken();
+        Expr izq = primaria();
+        while (true) {
+            int op = tipo();
+            int prec = PRECEDENCIA[op];
+            if (prec < minima || prec == 0) {
+                return izq;
+            }
+            actual++;
+            switch (op) {
+                case sym.DOT:
+                    if (tipo() == sym.LENGTH) {
+                        actual++;
+                        izq = expresion(new ArrayLength(izq, ln), inicio);
+                    } else {
+                        Identifier id = identifier();
+                        esperar(sym.O_PAREN);
+                        ExprList el;
+                        if (tipo() == sym.C_PAREN) {
+                            el = new ExprList(ln);
+                        } else {
+                            el = new ExprList(linea());
+                            int inicioArgumentos = inicioToken();
+                            el.add(expr());
+                            while (tipo() == sym.COMMA) {
+                                actual++;
+                                el.add(expr());
+                            }
+                            el.setSpan(inicioArgumentos, finAnterior());
+                        }
+                        esperar(sym.C_PAREN);
+                        izq = expresion(new Call(izq, id, el, ln), inicio);
+                    }
+                    break;
+                case sym.O_SBRACKET: {
+                    Expr indice = expr();
+                    esperar(sym.C_SBRACKET);
+                    izq = expresion(new ArrayLookup(izq, indice, ln), inicio);
+                    break;
+                }
+                default:
+                    izq = expresion(binaria(op, izq, expr(prec + 1), ln), inicio);
+                    break;
+            }
+        }
+    }
+
+    private static Expr binaria(int op, Expr e1, Expr e2, int ln) {
+        switch (op) {
+            case sym.LT: return new LessThan(e1, e2, ln);
+            case sym.GT: return new MoreThan(e1, e2, ln);
+            case sym.EQUAL: return new Equal(ln, e1, e2);
+            case sym.NOTEQ: return new NotEqual(ln, e1, e2);
+            case sym.AND: return new And(ln, e1, e2);
+            case sym.OR: return new Or(ln, e1, e2);
+            case sym.PLUS: return new Plus(e1, e2, ln);
+            case sym.MINUS: return new Minus(e1, e2, ln);
+            case sym.MULT: return new Mult(e1, e2, ln);
+            default: return new Div(e1, e2, ln);
+        }
+    }
+
+    private Expr primaria() throws Exception {
+        int ln = linea();
+        int inicio = inicioToken();
+        switch (tipo()) {
+            case sym.INTEGER_LITERAL:
+                // El id de un literal es su valor; no se pasa por el cache de Integer de la tabla
+                return expresion(new IntegerLiteral(tokens.getId(actual++), ln), inicio);
+            case sym.IDENTIFIER:
+                return expresion(new IdentifierExpr((String) tokens.getValor(actual++), ln), inicio);
+            case sym.THIS:
+                actual++;
+                return expresion(new This(ln), inicio);
+            case sym.O_PAREN: {
+                // Los paréntesis no generan nodo
+                actual++;
+                Expr e = expr();
+                esperar(sym.C_PAREN);
+                return e;
+            }
+            case sym.NEW:
+                actual++;
+                if (tipo() == sym.INT) {
+                    actual++;
+                    esperar(sym.O_SBRACKET);
+                    int lnTamano = linea();
+                    Expr tamano = expr();
+                    esperar(sym.C_SBRACKET);
+                    return expresion(new NewArray(tamano, lnTamano), inicio);
+                }
+                Identifier id = identifier();
+                esperar(sym.O_PAREN);
+                esperar(sym.C_PAREN);
+                return expresion(new NewObject(id, id.line), inicio);
+            default:
+                error(sym.INTEGER_LITERAL, sym.IDENTIFIER, sym.THIS, sym.O_PAREN, sym.NEW);
+                return null;
+        }
+    }
+
+    // ========== TOKENS Y ERRORES ==========
+
+    private int tipo() {
+        return tipo(actual);
+    }
+
+    private int tipo(int i) {
+        return i < fin ? tokens.getTipo(i) : sym.EOF;
+    }
+
+    private int linea() {
+        return tokens.getLinea(actual);
+    }
+
+    private int inicioToken() {
+        return tokens.getInicio(actual);
+    }
+
+    /**
+     * Retorna el desplazamiento donde termina el último token consumido.
+     */
+    private int finAnterior() {
+        return tokens.getInicio(actual - 1) + tokens.getLargo(actual - 1);
+    }
+
+    /**
+     * Asigna al nodo el rango que va de inicio al final del último token consumido.
+     */
+    private <T extends Node> T conSpan(T n, int inicio) {
+        n.setSpan(inicio, finAnterior());
+        return n;
+    }
+
+    /**
+     * Asigna el span a una expresión recién armada y, si hay tabla de
+     * hash-consing, retorna su instancia canónica.
+     */
+    private Expr expresion(Expr e, int inicio) {
+        conSpan(e, inicio);
+        return hashConsing != null ? hashConsing.compartir(e) : e;
+    }
+
+    private void esperar(int tipo) throws Exception {
+        if (tipo() != tipo) {
+            error(tipo);
+        }
+        actual++;
+    }
+
+    /**
+     * Informa un error de sintaxis en el token actual con los mismos mensajes
+     * que el parser de CUP cuando no puede recuperarse, indicando los tokens esperados.
+     */
+    private void error(int... esperados) throws Exception {
+        if (!informarErrores) {
+            throw new Exception("Syntax error at line " + linea());
+        }
+        reportar("Syntax error");
+        if (esperados.length > 0) {
+            StringBuilder sb = new StringBuilder();
+            for (int t : esperados) {
+                sb.append(sb.length() == 0 ? "" : ", ").append(sym.terminalNames[t]);
+            }
+            System.err.println("instead expected token classes are [" + sb + "]");
+        }
+        reportar("Couldn't repair and continue parse");
+        throw new Exception("Can't recover from previous error(s)");
+    }
+
+    private void reportar(String mensaje) {
+        System.err.print(mensaje);
+        if (linea() != -1) {
+            System.err.println(" at line " + linea() + " of input");
+        } else {
+            System.err.println("");
+        }
+    }
+}
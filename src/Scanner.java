@@ -12,7 +12,7 @@ public class Scanner implements java_cup.runtime.Scanner {
   public static final int YYEOF = -1;
 
   /** Initial size of the lookahead buffer. */
-  private static final int ZZ_BUFFERSIZE = 16384;
+  private static final int ZZ_BUFFERSIZE = 65536;
 
   // Lexical states.
   public static final int YYINITIAL = 0;
@@ -65,11 +65,10 @@ public class Scanner implements java_cup.runtime.Scanner {
     "\1\6\4\0\1\7\1\0\1\10\1\11\1\12\1\13"+
     "\1\14\1\15\1\16\1\17\12\20\1\0\1\21\1\22"+
     "\1\23\1\24\2\0\22\25\1\26\7\25\1\27\1\0"+
-    "\1\30\1\0\1\31\1\0\1\32\1\33\1\34\1\35"+
-    "\1\36\1\37\1\40\1\41\1\42\2\25\1\43\1\44"+
-    "\1\45\1\46\1\47\1\25\1\50\1\51\1\52\1\53"+
-    "\1\54\1\55\1\56\1\57\1\25\1\60\1\61\1\62"+
-    "\7\0\1\3\u01a2\0\2\3\326\0\u0100\3";
+    "\1\30\1\0\1\31\1\0\4\25\1\32\3\25\1\33"+
+    "\2\25\1\34\1\35\1\36\1\37\1\40\1\25\1\41"+
+    "\1\42\1\43\1\44\3\25\1\45\1\25\1\46\1\47"+
+    "\1\50\7\0\1\3\u01a2\0\2\3\326\0\u0100\3";
 
   private static int [] zzUnpackcmap_blocks() {
     int [] result = new int[1024];
@@ -98,15 +97,12 @@ public class Scanner implements java_cup.runtime.Scanner {
   private static final String ZZ_ACTION_PACKED_0 =
     "\1\0\1\1\2\2\2\1\1\3\1\4\1\5\1\6"+
     "\1\7\1\10\1\11\1\12\1\13\1\14\1\15\1\16"+
-    "\1\17\2\20\1\21\1\22\14\20\1\23\1\1\1\24"+
-    "\1\25\1\26\1\0\1\27\1\30\5\20\1\31\12\20"+
-    "\1\32\2\0\5\20\1\33\2\20\1\34\6\20\1\0"+
-    "\1\35\3\20\1\36\2\20\1\37\3\20\1\40\1\41"+
-    "\3\20\1\42\5\20\1\43\1\44\2\20\1\45\1\46"+
-    "\1\47\1\50\1\0\1\51\12\0\1\52";
+    "\1\17\2\20\1\21\1\22\1\23\1\1\1\24\1\25"+
+    "\1\26\1\0\1\27\1\30\1\20\1\31\2\0\1\20"+
+    "\1\0\1\32\3\20\13\0\1\33";
 
   private static int [] zzUnpackAction() {
-    int [] result = new int[121];
+    int [] result = new int[53];
     int offset = 0;
     offset = zzUnpackAction(ZZ_ACTION_PACKED_0, offset, result);
     return result;
@@ -131,25 +127,16 @@ public class Scanner implements java_cup.runtime.Scanner {
   private static final int [] ZZ_ROWMAP = zzUnpackRowMap();
 
   private static final String ZZ_ROWMAP_PACKED_0 =
-    "\0\0\0\63\0\63\0\146\0\231\0\314\0\63\0\63"+
-    "\0\63\0\63\0\63\0\63\0\63\0\377\0\u0132\0\63"+
-    "\0\63\0\u0165\0\63\0\u0198\0\u01cb\0\63\0\63\0\u01fe"+
-    "\0\u0231\0\u0264\0\u0297\0\u02ca\0\u02fd\0\u0330\0\u0363\0\u0396"+
-    "\0\u03c9\0\u03fc\0\u042f\0\63\0\u0462\0\63\0\63\0\63"+
-    "\0\u0495\0\u04c8\0\63\0\u04fb\0\u052e\0\u0561\0\u0594\0\u05c7"+
-    "\0\u0198\0\u05fa\0\u062d\0\u0660\0\u0693\0\u06c6\0\u06f9\0\u072c"+
-    "\0\u075f\0\u0792\0\u07c5\0\63\0\u07f8\0\u082b\0\u085e\0\u0891"+
-    "\0\u08c4\0\u08f7\0\u092a\0\u0198\0\u095d\0\u0990\0\u0198\0\u09c3"+
-    "\0\u09f6\0\u0a29\0\u0a5c\0\u0a8f\0\u0ac2\0\u0af5\0\63\0\u0b28"+
-    "\0\u0b5b\0\u0b8e\0\u0198\0\u0bc1\0\u0bf4\0\u0198\0\u0c27\0\u0c5a"+
-    "\0\u0c8d\0\u0198\0\u0198\0\u0cc0\0\u0cf3\0\u0d26\0\u0198\0\u0d59"+
-    "\0\u0d8c\0\u0dbf\0\u0df2\0\u0e25\0\u0198\0\u0198\0\u0e58\0\u0e8b"+
-    "\0\u0198\0\u0198\0\u0198\0\u0198\0\u0ebe\0\u0198\0\u0ef1\0\u0f24"+
-    "\0\u0f57\0\u0f8a\0\u0fbd\0\u0ff0\0\u1023\0\u1056\0\u1089\0\u10bc"+
-    "\0\63";
+    "\0\0\0\51\0\51\0\122\0\173\0\244\0\51\0\51"+
+    "\0\51\0\51\0\51\0\51\0\51\0\315\0\366\0\51"+
+    "\0\51\0\u011f\0\51\0\u0148\0\u0171\0\51\0\51\0\51"+
+    "\0\u019a\0\51\0\51\0\51\0\u01c3\0\u01ec\0\51\0\u0215"+
+    "\0\51\0\u023e\0\u0267\0\u0290\0\u02b9\0\51\0\u02e2\0\u030b"+
+    "\0\u0334\0\u035d\0\u0386\0\u03af\0\u03d8\0\u0401\0\u042a\0\u0453"+
+    "\0\u047c\0\u04a5\0\u04ce\0\u04f7\0\51";
 
   private static int [] zzUnpackRowMap() {
-    int [] result = new int[121];
+    int [] result = new int[53];
     int offset = 0;
     offset = zzUnpackRowMap(ZZ_ROWMAP_PACKED_0, offset, result);
     return result;
@@ -175,80 +162,24 @@ public class Scanner implements java_cup.runtime.Scanner {
     "\1\2\2\3\1\0\1\3\1\4\1\5\1\6\1\7"+
     "\1\10\1\11\1\12\1\13\1\14\1\15\1\16\1\17"+
     "\1\20\1\21\1\22\1\23\1\24\1\25\1\26\1\27"+
-    "\1\2\2\24\1\30\1\24\1\31\3\24\1\32\1\33"+
-    "\1\34\1\35\1\24\1\36\1\37\1\40\1\41\1\24"+
-    "\1\42\1\43\2\24\1\44\1\45\1\46\65\0\1\3"+
-    "\103\0\1\47\46\0\1\50\65\0\1\51\4\0\1\52"+
-    "\63\0\1\17\65\0\1\53\57\0\1\24\4\0\2\24"+
-    "\2\0\27\24\23\0\1\24\4\0\2\24\2\0\21\24"+
-    "\1\54\4\24\1\55\23\0\1\24\4\0\2\24\2\0"+
-    "\12\24\1\56\14\24\23\0\1\24\4\0\2\24\2\0"+
-    "\12\24\1\57\12\24\1\60\1\24\23\0\1\24\4\0"+
-    "\2\24\2\0\6\24\1\61\5\24\1\62\12\24\23\0"+
-    "\1\24\4\0\2\24\2\0\5\24\1\63\21\24\23\0"+
-    "\1\24\4\0\2\24\2\0\1\24\1\64\25\24\23\0"+
-    "\1\24\4\0\2\24\2\0\5\24\1\65\21\24\23\0"+
-    "\1\24\4\0\2\24\2\0\22\24\1\66\4\24\23\0"+
-    "\1\24\4\0\2\24\2\0\5\24\1\67\21\24\23\0"+
-    "\1\24\4\0\2\24\2\0\21\24\1\70\5\24\23\0"+
-    "\1\24\4\0\2\24\2\0\10\24\1\71\16\24\23\0"+
-    "\1\24\4\0\2\24\2\0\15\24\1\72\11\24\23\0"+
-    "\1\24\4\0\2\24\2\0\10\24\1\73\16\24\64\0"+
-    "\1\74\1\0\12\75\1\76\50\75\2\52\4\0\55\52"+
-    "\20\0\1\24\4\0\2\24\2\0\17\24\1\77\7\24"+
-    "\23\0\1\24\4\0\2\24\2\0\20\24\1\100\6\24"+
-    "\23\0\1\24\4\0\2\24\2\0\1\24\1\101\25\24"+
-    "\23\0\1\24\4\0\2\24\2\0\20\24\1\102\6\24"+
-    "\23\0\1\24\4\0\2\24\2\0\21\24\1\103\5\24"+
-    "\23\0\1\24\4\0\2\24\2\0\21\24\1\104\5\24"+
-    "\23\0\1\24\4\0\2\24\2\0\14\24\1\105\12\24"+
-    "\23\0\1\24\4\0\2\24\2\0\11\24\1\106\15\24"+
-    "\23\0\1\24\4\0\2\24\2\0\24\24\1\107\2\24"+
-    "\23\0\1\24\4\0\2\24\2\0\2\24\1\110\24\24"+
-    "\23\0\1\24\4\0\2\24\2\0\21\24\1\111\5\24"+
-    "\23\0\1\24\4\0\2\24\2\0\1\24\1\112\25\24"+
-    "\23\0\1\24\4\0\2\24\2\0\11\24\1\113\15\24"+
-    "\23\0\1\24\4\0\2\24\2\0\11\24\1\114\15\24"+
-    "\23\0\1\24\4\0\2\24\2\0\11\24\1\115\15\24"+
-    "\3\0\12\75\1\116\50\75\12\0\1\76\4\0\1\117"+
-    "\63\0\1\24\4\0\2\24\2\0\11\24\1\120\15\24"+
-    "\23\0\1\24\4\0\2\24\2\0\21\24\1\121\5\24"+
-    "\23\0\1\24\4\0\2\24\2\0\20\24\1\122\6\24"+
-    "\23\0\1\24\4\0\2\24\2\0\5\24\1\123\21\24"+
-    "\23\0\1\24\4\0\2\24\2\0\5\24\1\124\21\24"+
-    "\23\0\1\24\4\0\2\24\2\0\7\24\1\125\17\24"+
-    "\23\0\1\24\4\0\2\24\2\0\14\24\1\126\12\24"+
-    "\23\0\1\24\4\0\2\24\2\0\12\24\1\127\14\24"+
-    "\23\0\1\24\4\0\2\24\2\0\22\24\1\130\4\24"+
-    "\23\0\1\24\4\0\2\24\2\0\21\24\1\131\5\24"+
-    "\23\0\1\24\4\0\2\24\2\0\20\24\1\132\6\24"+
-    "\23\0\1\24\4\0\2\24\2\0\4\24\1\133\22\24"+
-    "\23\0\1\24\4\0\2\24\2\0\12\24\1\134\14\24"+
-    "\3\0\12\75\1\116\4\75\1\117\43\75\20\0\1\24"+
-    "\4\0\2\24\2\0\14\24\1\135\12\24\23\0\1\24"+
-    "\4\0\2\24\2\0\5\24\1\136\21\24\23\0\1\24"+
-    "\4\0\2\24\2\0\20\24\1\137\6\24\23\0\1\24"+
-    "\4\0\2\24\2\0\14\24\1\140\12\24\23\0\1\24"+
-    "\4\0\2\24\2\0\21\24\1\141\5\24\23\0\1\24"+
-    "\4\0\2\24\2\0\11\24\1\142\15\24\23\0\1\24"+
-    "\4\0\2\24\2\0\17\24\1\143\7\24\23\0\1\24"+
-    "\4\0\2\24\2\0\11\24\1\144\15\24\23\0\1\24"+
-    "\4\0\2\24\2\0\5\24\1\145\21\24\23\0\1\24"+
-    "\4\0\2\24\2\0\7\24\1\146\17\24\23\0\1\24"+
-    "\4\0\2\24\2\0\13\24\1\147\13\24\23\0\1\24"+
-    "\4\0\2\24\2\0\4\24\1\150\22\24\23\0\1\24"+
-    "\4\0\2\24\2\0\10\24\1\151\16\24\23\0\1\24"+
-    "\4\0\2\24\2\0\3\24\1\152\23\24\23\0\1\24"+
-    "\4\0\2\24\2\0\14\24\1\153\12\24\23\0\1\24"+
-    "\4\0\2\24\2\0\3\24\1\154\23\24\21\0\1\155"+
-    "\1\0\1\24\4\0\2\24\2\0\27\24\23\0\1\24"+
-    "\4\0\2\24\2\0\20\24\1\156\6\24\51\0\1\157"+
-    "\67\0\1\160\61\0\1\161\26\0\1\162\113\0\1\163"+
-    "\63\0\1\164\54\0\1\165\65\0\1\166\67\0\1\167"+
-    "\53\0\1\170\64\0\1\171\15\0";
+    "\1\2\14\24\1\30\1\31\1\32\53\0\1\3\71\0"+
+    "\1\33\34\0\1\34\53\0\1\35\4\0\1\36\51\0"+
+    "\1\17\53\0\1\37\45\0\1\24\4\0\2\24\2\0"+
+    "\15\24\23\0\1\24\4\0\2\24\2\0\14\24\1\40"+
+    "\52\0\1\41\1\0\12\42\1\43\36\42\2\36\4\0"+
+    "\43\36\20\0\1\24\4\0\2\24\2\0\11\24\1\44"+
+    "\3\24\3\0\12\42\1\45\36\42\12\0\1\43\4\0"+
+    "\1\46\51\0\1\24\4\0\2\24\2\0\12\24\1\47"+
+    "\2\24\3\0\12\42\1\45\4\42\1\46\31\42\20\0"+
+    "\1\24\4\0\2\24\2\0\1\24\1\50\13\24\23\0"+
+    "\1\24\4\0\2\24\2\0\4\24\1\51\10\24\21\0"+
+    "\1\52\1\0\1\24\4\0\2\24\2\0\15\24\42\0"+
+    "\1\53\55\0\1\54\47\0\1\55\23\0\1\56\72\0"+
+    "\1\57\51\0\1\60\42\0\1\61\53\0\1\62\55\0"+
+    "\1\63\41\0\1\64\52\0\1\65\12\0";
 
   private static int [] zzUnpacktrans() {
-    int [] result = new int[4335];
+    int [] result = new int[1312];
     int offset = 0;
     offset = zzUnpacktrans(ZZ_TRANS_PACKED_0, offset, result);
     return result;
@@ -292,12 +223,11 @@ public class Scanner implements java_cup.runtime.Scanner {
 
   private static final String ZZ_ATTRIBUTE_PACKED_0 =
     "\1\0\2\11\3\1\7\11\2\1\2\11\1\1\1\11"+
-    "\2\1\2\11\14\1\1\11\1\1\3\11\1\0\1\1"+
-    "\1\11\20\1\1\11\2\0\17\1\1\0\1\11\35\1"+
-    "\1\0\1\1\12\0\1\11";
+    "\2\1\3\11\1\1\3\11\1\0\1\1\1\11\1\1"+
+    "\1\11\2\0\1\1\1\0\1\11\3\1\13\0\1\11";
 
   private static int [] zzUnpackAttribute() {
-    int [] result = new int[121];
+    int [] result = new int[53];
     int offset = 0;
     offset = zzUnpackAttribute(ZZ_ATTRIBUTE_PACKED_0, offset, result);
     return result;
@@ -363,7 +293,6 @@ public class Scanner implements java_cup.runtime.Scanner {
   private int yycolumn;
 
   /** Number of characters up to the start of the matched text. */
-  @SuppressWarnings("unused")
   private long yychar;
 
   /** Whether the scanner is currently at the beginning of a line. */
@@ -374,8 +303,60 @@ public class Scanner implements java_cup.runtime.Scanner {
   private boolean zzEOFDone;
 
   /* user code: */
+  // Identificadores y literales enteros can??nicos de este Scanner
+  private IdentifierTable identificadores = new IdentifierTable();
+
+  // Id en la tabla del ??ltimo identificador reconocido
+  private int ultimoId = -1;
+
+  // Errores l??xicos encontrados; con alguno no se genera c??digo
+  private java.util.List<String> errores = new java.util.ArrayList<String>();
+
+  public java.util.List<String> getErrores() {
+    return errores;
+  }
+
+  public IdentifierTable getIdentificadores() {
+    return identificadores;
+  }
+
+  /* Desplazamiento en caracteres del inicio del ??ltimo token desde el comienzo de la entrada */
+  public int getInicioToken() {
+    return (int) yychar;
+  }
+
+  public int getUltimoId() {
+    return ultimoId;
+  }
+
+  private Symbol symbol(int type) {
+    return new SpanSymbol(type, yyline+1, yycolumn+1, null, (int) yychar, (int) yychar + yylength());
+  }
+
   private Symbol symbol(int type, Object value) {
-    return new Symbol(type, yyline+1, yycolumn+1, value);
+    return new SpanSymbol(type, yyline+1, yycolumn+1, value, (int) yychar, (int) yychar + yylength());
+  }
+
+  /* Interna el identificador directamente desde el buffer, sin crear un String si ya existe */
+  private String identificador() {
+    ultimoId = identificadores.internar(zzBuffer, zzStartRead, zzMarkedPos - zzStartRead);
+    return identificadores.nombre(ultimoId);
+  }
+
+  /* Convierte el literal desde el buffer; si no cabe en un int registra un error l??xico y retorna 0 */
+  private Integer literalEntero() {
+    long valor = 0;
+    for (int i = zzStartRead; i < zzMarkedPos; i++) {
+      valor = valor * 10 + (zzBuffer[i] - '0');
+      if (valor > Integer.MAX_VALUE) {
+        System.err.println(
+          "\ninteger literal out of range: '" + yytext() + "' at line " +
+          (yyline+1) + " column " + (yycolumn+1));
+        errores.add("Lexical error at line " + (yyline+1) + ": integer literal out of range '" + yytext() + "'");
+        return identificadores.entero(0);
+      }
+    }
+    return identificadores.entero((int) valor);
   }
 
 
@@ -678,6 +659,8 @@ public class Scanner implements java_cup.runtime.Scanner {
     while (true) {
       zzMarkedPosL = zzMarkedPos;
 
+      yychar+= zzMarkedPosL-zzStartRead;
+
       boolean zzR = false;
       int zzCh;
       int zzCharCount;
@@ -808,212 +791,141 @@ public class Scanner implements java_cup.runtime.Scanner {
                    (yyline+1) + " column " + (yycolumn+1));
             }
           // fall through
-          case 43: break;
+          case 28: break;
           case 2:
             { /* ignore */
             }
           // fall through
-          case 44: break;
+          case 29: break;
           case 3:
-            { return symbol(sym.O_PAREN, yytext());
+            { return symbol(sym.O_PAREN);
             }
           // fall through
-          case 45: break;
+          case 30: break;
           case 4:
-            { return symbol(sym.C_PAREN, yytext());
+            { return symbol(sym.C_PAREN);
             }
           // fall through
-          case 46: break;
+          case 31: break;
           case 5:
-            { return symbol(sym.MULT, yytext());
+            { return symbol(sym.MULT);
             }
           // fall through
-          case 47: break;
+          case 32: break;
           case 6:
-            { return symbol(sym.PLUS, yytext());
+            { return symbol(sym.PLUS);
             }
           // fall through
-          case 48: break;
+          case 33: break;
           case 7:
-            { return symbol(sym.COMMA, yytext());
+            { return symbol(sym.COMMA);
             }
           // fall through
-          case 49: break;
+          case 34: break;
           case 8:
-            { return symbol(sym.MINUS, yytext());
+            { return symbol(sym.MINUS);
             }
           // fall through
-          case 50: break;
+          case 35: break;
           case 9:
-            { return symbol(sym.DOT, yytext());
+            { return symbol(sym.DOT);
             }
           // fall through
-          case 51: break;
+          case 36: break;
           case 10:
-            { return symbol(sym.DIV, yytext());
+            { return symbol(sym.DIV);
             }
           // fall through
-          case 52: break;
+          case 37: break;
           case 11:
-            { return symbol(sym.INTEGER_LITERAL, new Integer(yytext()));
+            { return symbol(sym.INTEGER_LITERAL, literalEntero());
             }
           // fall through
-          case 53: break;
+          case 38: break;
           case 12:
-            { return symbol(sym.SEMICOLON, yytext());
+            { return symbol(sym.SEMICOLON);
             }
           // fall through
-          case 54: break;
+          case 39: break;
           case 13:
-            { return symbol(sym.LT, yytext());
+            { return symbol(sym.LT);
             }
           // fall through
-          case 55: break;
+          case 40: break;
           case 14:
-            { return symbol(sym.EQ, yytext());
+            { return symbol(sym.EQ);
             }
           // fall through
-          case 56: break;
+          case 41: break;
           case 15:
-            { return symbol(sym.GT, yytext());
+            { return symbol(sym.GT);
             }
           // fall through
-          case 57: break;
+          case 42: break;
           case 16:
-            { return symbol(sym.IDENTIFIER, yytext());
+            { int tipo = Keywords.buscar(zzBuffer, zzStartRead, zzMarkedPos - zzStartRead);
+                 if (tipo >= 0) {
+                   return symbol(tipo);
+                 }
+                 return symbol(sym.IDENTIFIER, identificador());
             }
           // fall through
-          case 58: break;
+          case 43: break;
           case 17:
-            { return symbol(sym.O_SBRACKET, yytext());
+            { return symbol(sym.O_SBRACKET);
             }
           // fall through
-          case 59: break;
+          case 44: break;
           case 18:
-            { return symbol(sym.C_SBRACKET, yytext());
+            { return symbol(sym.C_SBRACKET);
             }
           // fall through
-          case 60: break;
+          case 45: break;
           case 19:
-            { return symbol(sym.O_CBRACKET, yytext());
+            { return symbol(sym.O_CBRACKET);
             }
           // fall through
-          case 61: break;
+          case 46: break;
           case 20:
-            { return symbol(sym.C_CBRACKET, yytext());
+            { return symbol(sym.C_CBRACKET);
             }
           // fall through
-          case 62: break;
+          case 47: break;
           case 21:
-            { return symbol(sym.NOTEQ, yytext());
+            { return symbol(sym.NOTEQ);
             }
           // fall through
-          case 63: break;
+          case 48: break;
           case 22:
-            { return symbol(sym.AND, yytext());
+            { return symbol(sym.AND);
             }
           // fall through
-          case 64: break;
+          case 49: break;
           case 23:
             { /* ignore line comments */
             }
           // fall through
-          case 65: break;
+          case 50: break;
           case 24:
-            { return symbol(sym.EQUAL, yytext());
+            { return symbol(sym.EQUAL);
             }
           // fall through
-          case 66: break;
+          case 51: break;
           case 25:
-            { return symbol(sym.IF, yytext());
+            { return symbol(sym.OR);
             }
           // fall through
-          case 67: break;
+          case 52: break;
           case 26:
-            { return symbol(sym.OR, yytext());
-            }
-          // fall through
-          case 68: break;
-          case 27:
-            { return symbol(sym.INT, yytext());
-            }
-          // fall through
-          case 69: break;
-          case 28:
-            { return symbol(sym.NEW, yytext());
-            }
-          // fall through
-          case 70: break;
-          case 29:
             { /* ignore block comments */
             }
           // fall through
-          case 71: break;
-          case 30:
-            { return symbol(sym.ELSE, yytext());
-            }
-          // fall through
-          case 72: break;
-          case 31:
-            { return symbol(sym.MAIN, yytext());
-            }
-          // fall through
-          case 73: break;
-          case 32:
-            { return symbol(sym.THIS, yytext());
-            }
-          // fall through
-          case 74: break;
-          case 33:
-            { return symbol(sym.VOID, yytext());
-            }
-          // fall through
-          case 75: break;
-          case 34:
-            { return symbol(sym.CLASS, yytext());
-            }
-          // fall through
-          case 76: break;
-          case 35:
-            { return symbol(sym.WHILE, yytext());
-            }
-          // fall through
-          case 77: break;
-          case 36:
-            { return symbol(sym.STRING, yytext());
-            }
-          // fall through
-          case 78: break;
-          case 37:
-            { return symbol(sym.LENGTH, yytext());
-            }
-          // fall through
-          case 79: break;
-          case 38:
-            { return symbol(sym.PUBLIC, yytext());
-            }
-          // fall through
-          case 80: break;
-          case 39:
-            { return symbol(sym.RETURN, yytext());
-            }
-          // fall through
-          case 81: break;
-          case 40:
-            { return symbol(sym.STATIC, yytext());
-            }
-          // fall through
-          case 82: break;
-          case 41:
-            { return symbol(sym.EXTENDS, yytext());
-            }
-          // fall through
-          case 83: break;
-          case 42:
-            { return symbol(sym.PRINT, yytext());
+          case 53: break;
+          case 27:
+            { return symbol(sym.PRINT);
             }
           // fall through
-          case 84: break;
+          case 54: break;
           default:
             zzScanError(ZZ_NO_MATCH);
         }
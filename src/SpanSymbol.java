@@ -0,0 +1,35 @@
+import java_cup.runtime.Symbol;
+
+/**
+ * Symbol que además de la línea y columna guarda el rango de caracteres
+ * [inicio, fin) que cubre en la entrada. Lo crean el Scanner para cada token
+ * y SpanSymbolFactory para cada no terminal.
+ */
+public class SpanSymbol extends Symbol {
+    public final int inicio;
+    public final int fin;
+
+    public SpanSymbol(int tipo, int linea, int columna, Object valor, int inicio, int fin) {
+        super(tipo, linea, columna, valor);
+        this.inicio = inicio;
+        this.fin = fin;
+    }
+
+    /**
+     * No terminal que va del primer símbolo de la producción al último.
+     */
+    public SpanSymbol(int tipo, Symbol izquierdo, Symbol derecho, Object valor, int inicio, int fin) {
+        super(tipo, izquierdo, derecho, valor);
+        this.inicio = inicio;
+        this.fin = fin;
+    }
+
+    /**
+     * No terminal de una producción vacía, ubicado al final del símbolo anterior.
+     */
+    public SpanSymbol(int tipo, Symbol anterior, Object valor, int posicion) {
+        super(tipo, anterior, valor);
+        this.inicio = posicion;
+        this.fin = posicion;
+    }
+}
@@ -0,0 +1,79 @@
+import java_cup.runtime.Symbol;
+import java_cup.runtime.SymbolFactory;
+
+import ast.ClassDeclList;
+import ast.ExprList;
+import ast.MethodDeclList;
+import ast.Node;
+import ast.ParamList;
+import ast.StatementList;
+import ast.VarDeclList;
+
+/**
+ * Fábrica de símbolos del parser de CUP que asigna el span de cada nodo del
+ * AST. Al reducir una producción, el nodo que queda como RESULT toma el rango
+ * que va del primer al último token de la producción, si todavía no tenía
+ * uno: así una expresión entre paréntesis o la de un return conservan el de
+ * la expresión. Las listas se construyen por recursión a la izquierda con el
+ * mismo objeto, por lo que en cada reducción se extiende su fin.
+ *
+ * Las líneas y columnas de los símbolos son las mismas que las de
+ * DefaultSymbolFactory, cuyo constructor está obsoleto y por eso no se hereda.
+ */
+public class SpanSymbolFactory implements SymbolFactory {
+
+    @Override
+    public Symbol newSymbol(String nombre, int id, Symbol izquierdo, Symbol derecho, Object valor) {
+        if (!(izquierdo instanceof SpanSymbol) || !(derecho instanceof SpanSymbol)) {
+            return new Symbol(id, izquierdo, derecho, valor);
+        }
+        int inicio = ((SpanSymbol) izquierdo).inicio;
+        int fin = ((SpanSymbol) derecho).fin;
+        if (valor instanceof Node) {
+            Node n = (Node) valor;
+            if (!n.tieneSpan()) {
+                n.setSpan(inicio, fin);
+            } else if (esLista(n)) {
+                n.setSpan(n.getInicio(), fin);
+            }
+        }
+        return new SpanSymbol(id, izquierdo, derecho, valor, inicio, fin);
+    }
+
+    @Override
+    public Symbol newSymbol(String nombre, int id, Symbol izquierdo, Symbol derecho) {
+        return newSymbol(nombre, id, izquierdo, derecho, null);
+    }
+
+    @Override
+    public Symbol newSymbol(String nombre, int id, Symbol anterior, Object valor) {
+        // Producción vacía: no tiene tokens, así que el nodo queda sin span
+        if (!(anterior instanceof SpanSymbol)) {
+            return new Symbol(id, anterior, valor);
+        }
+        return new SpanSymbol(id, anterior, valor, ((SpanSymbol) anterior).fin);
+    }
+
+    @Override
+    public Symbol newSymbol(String nombre, int id, Object valor) {
+        return new Symbol(id, valor);
+    }
+
+    @Override
+    public Symbol newSymbol(String nombre, int id) {
+        return new Symbol(id);
+    }
+
+    @Override
+    public Symbol startSymbol(String nombre, int id, int estado) {
+        // El constructor de Symbol que recibe el estado no es público
+        Symbol s = new Symbol(id);
+        s.parse_state = estado;
+        return s;
+    }
+
+    private static boolean esLista(Node n) {
+        return n instanceof ClassDeclList || n instanceof VarDeclList || n instanceof MethodDeclList
+                || n instanceof ParamList || n instanceof StatementList || n instanceof ExprList;
+    }
+}
@@ -19,7 +19,12 @@ public class TestScanner {
     
       t = s.next_token();
       while (t.sym != sym.EOF) {
-        System.out.print(" Token " + t.toString() + " " + t.value + "\n");
+        // Las palabras reservadas y la puntuación no llevan valor
+        if (t.value != null) {
+          System.out.print(" Token " + t.toString() + " " + t.value + "\n");
+        } else {
+          System.out.print(" Token " + t.toString() + " " + sym.terminalNames[t.sym] + "\n");
+        }
         t = s.next_token();
       }
       isr.close();
@@ -0,0 +1,273 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.function.Supplier;
+
+import ast.*;
+import ast.visitor.ASTPrinterVisitor;
+import ast.visitor.BoundsCheckVisitor;
+import ast.visitor.MiniJPrintVisitor;
+import ast.visitor.NodeCounterVisitor;
+import ast.visitor.SemanticAnalyzerVisitor;
+import ast.visitor.Visitor;
+
+/**
+ * Benchmark del despacho de los visitantes sobre un AST sintético grande.
+ * Compara tres formas de resolver visit(Expr), visit(Statement), visit(Type),
+ * visit(VarDecl) y visit(ClassDecl): accept (la de la interfaz Visitor), la
+ * cadena de instanceof que usaba antes y un switch sobre getKind().
+ *
+ * Se miden los visitantes que recorren el programa completo: los dos de
+ * impresión (con la salida descartada), el análisis semántico, el de
+ * límites de arreglos y el contador de nodos. JCodeGenVisitor queda
+ * afuera porque escribe un archivo .j por clase en el directorio actual.
+ *
+ * Uso: java VisitorDispatchBenchmark [-tamano=2MB] [-repeticiones=10]
+ */
+public class VisitorDispatchBenchmark {
+    private static final String[] MODOS = { "accept", "instanceof", "switch" };
+    private static final int ACCEPT = 0;
+    private static final int INSTANCEOF = 1;
+
+    public static void main(String[] args) throws Exception {
+        long tamano = 2 * 1024 * 1024;
+        int repeticiones = 10;
+        for (String arg : args) {
+            if (arg.startsWith("-tamano=")) {
+                tamano = FrontEndBenchmark.leerTamano(arg.substring(8));
+            } else if (arg.startsWith("-repeticiones=")) {
+                repeticiones = Integer.parseInt(arg.substring(14));
+            } else {
+                System.err.println("Opcion desconocida: " + arg);
+                return;
+            }
+        }
+
+        String fuente = FrontEndBenchmark.generarPrograma(tamano);
+        Goal g = new RecursiveDescentParser(PackedTokens.tokenizar(new Scanner(new StringReader(fuente)))).parse();
+        System.out.println("Programa de " + fuente.length() + " caracteres y " + NodeCounterVisitor.contar(g) + " nodos");
+        System.out.println();
+        System.out.println(String.format("%-14s %14s %14s %14s", "visitante", "accept ms", "instanceof ms", "switch ms"));
+
+        PrintStream salida = System.out;
+        PrintStream descartada = new PrintStream(OutputStream.nullOutputStream());
+        double[] totales = new double[MODOS.length];
+        for (String visitante : new String[] { "MiniJPrint", "ASTPrinter", "Semantico", "Limites", "Contador" }) {
+            double[] tiempos = new double[MODOS.length];
+            // Se alternan los modos para que ninguno se beneficie del calentamiento de los demás
+            for (int vuelta = 0; vuelta < 2; vuelta++) {
+                for (int modo = 0; modo < MODOS.length; modo++) {
+                    int m = modo;
+                    String nombre = visitante;
+                    Supplier<Visitor> fabrica = () -> crear(nombre, m);
+                    System.setOut(descartada);
+                    try {
+                        tiempos[modo] = medir(fabrica, g, repeticiones);
+                    } finally {
+                        System.setOut(salida);
+                    }
+                }
+            }
+            for (int modo = 0; modo < MODOS.length; modo++) {
+                totales[modo] += tiempos[modo];
+            }
+            imprimir(visitante, tiempos);
+        }
+        imprimir("total", totales);
+    }
+
+    private static double medir(Supplier<Visitor> fabrica, Goal g, int repeticiones) {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < repeticiones; i++) {
+            Visitor v = fabrica.get();
+            if (v instanceof SemanticAnalyzerVisitor) {
+                ((SemanticAnalyzerVisitor) v).analyze(g);
+            } else {
+                v.visit(g);
+            }
+        }
+        return (System.nanoTime() - inicio) / 1e6 / repeticiones;
+    }
+
+    private static void imprimir(String nombre, double[] tiempos) {
+        System.out.println(String.format("%-14s %14.2f %14.2f %14.2f", nombre, tiempos[0], tiempos[1], tiempos[2]));
+    }
+
+    /**
+     * Crea el visitante dado. Para los modos distintos de accept se usa una
+     * subclase que reemplaza los métodos de las categorías abstractas.
+     */
+    private static Visitor crear(String nombre, int modo) {
+        if (modo == ACCEPT) {
+            switch (nombre) {
+                case "MiniJPrint": return new MiniJPrintVisitor();
+                case "ASTPrinter": return new ASTPrinterVisitor();
+                case "Semantico": return new SemanticAnalyzerVisitor();
+                case "Limites": return new BoundsCheckVisitor();
+                default: return new NodeCounterVisitor();
+            }
+        }
+        switch (nombre) {
+            case "MiniJPrint": return new MiniJPrintVisitor() {
+                public void visit(ClassDecl c) { despachar(this, c, modo); }
+                public void visit(VarDecl d) { despachar(this, d, modo); }
+                public void visit(Type t) { despachar(this, t, modo); }
+                public void visit(Statement s) { despachar(this, s, modo); }
+                public void visit(Expr e) { despachar(this, e, modo); }
+            };
+            case "ASTPrinter": return new ASTPrinterVisitor() {
+                public void visit(ClassDecl c) { despachar(this, c, modo); }
+                public void visit(VarDecl d) { despachar(this, d, modo); }
+                public void visit(Type t) { despachar(this, t, modo); }
+                public void visit(Statement s) { despachar(this, s, modo); }
+                public void visit(Expr e) { despachar(this, e, modo); }
+            };
+            case "Semantico": return new SemanticAnalyzerVisitor() {
+                public void visit(ClassDecl c) { despachar(this, c, modo); }
+                public void visit(VarDecl d) { despachar(this, d, modo); }
+                public void visit(Type t) { despachar(this, t, modo); }
+                public void visit(Statement s) { despachar(this, s, modo); }
+                public void visit(Expr e) { despachar(this, e, modo); }
+            };
+            case "Limites": return new BoundsCheckVisitor() {
+                public void visit(ClassDecl c) { despachar(this, c, modo); }
+                public void visit(VarDecl d) { despachar(this, d, modo); }
+                public void visit(Type t) { despachar(this, t, modo); }
+                public void visit(Statement s) { despachar(this, s, modo); }
+                public void visit(Expr e) { despachar(this, e, modo); }
+            };
+            default: return new NodeCounterVisitor() {
+                public void visit(ClassDecl c) { despachar(this, c, modo); }
+                public void visit(VarDecl d) { despachar(this, d, modo); }
+                public void visit(Type t) { despachar(this, t, modo); }
+                public void visit(Statement s) { despachar(this, s, modo); }
+                public void visit(Expr e) { despachar(this, e, modo); }
+            };
+        }
+    }
+
+    // ========== DESPACHO ==========
+
+    /**
+     * Despacha un nodo al método visit de su clase concreta, con la cadena de
+     * instanceof que tenía Visitor o con un switch sobre su NodeKind.
+     */
+    private static void despachar(Visitor v, Node n, int modo) {
+        if (modo == INSTANCEOF) {
+            porInstanceof(v, n);
+        } else {
+            porTipo(v, n);
+        }
+    }
+
+    private static void porInstanceof(Visitor v, Node n) {
+        if (n instanceof ClassDecl) {
+            if (n instanceof ClassDeclExtends) {
+                v.visit((ClassDeclExtends) n);
+            } else if (n instanceof ClassDeclSimple) {
+                v.visit((ClassDeclSimple) n);
+            }
+        } else if (n instanceof VarDecl) {
+            if (n instanceof VarDeclAssign) {
+                v.visit((VarDeclAssign) n);
+            } else if (n instanceof VarDeclSimple) {
+                v.visit((VarDeclSimple) n);
+            }
+        } else if (n instanceof Type) {
+            if (n instanceof IntType) {
+                v.visit((IntType) n);
+            } else if (n instanceof IntArrayType) {
+                v.visit((IntArrayType) n);
+            } else if (n instanceof ClassType) {
+                v.visit((ClassType) n);
+            }
+        } else if (n instanceof Statement) {
+            if (n instanceof ArrayAssign) {
+                v.visit((ArrayAssign) n);
+            } else if (n instanceof Assign) {
+                v.visit((Assign) n);
+            } else if (n instanceof Block) {
+                v.visit((Block) n);
+            } else if (n instanceof If) {
+                v.visit((If) n);
+            } else if (n instanceof Print) {
+                v.visit((Print) n);
+            } else if (n instanceof While) {
+                v.visit((While) n);
+            }
+        } else if (n instanceof And) {
+            v.visit((And) n);
+        } else if (n instanceof Or) {
+            v.visit((Or) n);
+        } else if (n instanceof ArrayLength) {
+            v.visit((ArrayLength) n);
+        } else if (n instanceof ArrayLookup) {
+            v.visit((ArrayLookup) n);
+        } else if (n instanceof Call) {
+            v.visit((Call) n);
+        } else if (n instanceof IdentifierExpr) {
+            v.visit((IdentifierExpr) n);
+        } else if (n instanceof IntegerLiteral) {
+            v.visit((IntegerLiteral) n);
+        } else if (n instanceof LessThan) {
+            v.visit((LessThan) n);
+        } else if (n instanceof Equal) {
+            v.visit((Equal) n);
+        } else if (n instanceof NotEqual) {
+            v.visit((NotEqual) n);
+        } else if (n instanceof MoreThan) {
+            v.visit((MoreThan) n);
+        } else if (n instanceof Plus) {
+            v.visit((Plus) n);
+        } else if (n instanceof Minus) {
+            v.visit((Minus) n);
+        } else if (n instanceof Mult) {
+            v.visit((Mult) n);
+        } else if (n instanceof Div) {
+            v.visit((Div) n);
+        } else if (n instanceof NewArray) {
+            v.visit((NewArray) n);
+        } else if (n instanceof NewObject) {
+            v.visit((NewObject) n);
+        } else if (n instanceof This) {
+            v.visit((This) n);
+        }
+    }
+
+    private static void porTipo(Visitor v, Node n) {
+        switch (n.getKind()) {
+            case CLASS_DECL_SIMPLE: v.visit((ClassDeclSimple) n); break;
+            case CLASS_DECL_EXTENDS: v.visit((ClassDeclExtends) n); break;
+            case VAR_DECL_SIMPLE: v.visit((VarDeclSimple) n); break;
+            case VAR_DECL_ASSIGN: v.visit((VarDeclAssign) n); break;
+            case INT_ARRAY_TYPE: v.visit((IntArrayType) n); break;
+            case INT_TYPE: v.visit((IntType) n); break;
+            case CLASS_TYPE: v.visit((ClassType) n); break;
+            case BLOCK: v.visit((Block) n); break;
+            case IF: v.visit((If) n); break;
+            case WHILE: v.visit((While) n); break;
+            case PRINT: v.visit((Print) n); break;
+            case ASSIGN: v.visit((Assign) n); break;
+            case ARRAY_ASSIGN: v.visit((ArrayAssign) n); break;
+            case AND: v.visit((And) n); break;
+            case OR: v.visit((Or) n); break;
+            case EQUAL: v.visit((Equal) n); break;
+            case NOT_EQUAL: v.visit((NotEqual) n); break;
+            case LESS_THAN: v.visit((LessThan) n); break;
+            case MORE_THAN: v.visit((MoreThan) n); break;
+            case PLUS: v.visit((Plus) n); break;
+            case MINUS: v.visit((Minus) n); break;
+            case MULT: v.visit((Mult) n); break;
+            case DIV: v.visit((Div) n); break;
+            case ARRAY_LOOKUP: v.visit((ArrayLookup) n); break;
+            case ARRAY_LENGTH: v.visit((ArrayLength) n); break;
+            case CALL: v.visit((Call) n); break;
+            case INTEGER_LITERAL: v.visit((IntegerLiteral) n); break;
+            case IDENTIFIER_EXPR: v.visit((IdentifierExpr) n); break;
+            case THIS: v.visit((This) n); break;
+            case NEW_ARRAY: v.visit((NewArray) n); break;
+            case NEW_OBJECT: v.visit((NewObject) n); break;
+            default: throw new IllegalArgumentException("Nodo sin despacho: " + n.getKind());
+        }
+    }
+}
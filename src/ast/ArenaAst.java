@@ -0,0 +1,555 @@
+package ast;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import ast.visitor.ArenaVisitor;
+
+/**
+ * AST compacto guardado en arreglos paralelos de tipos primitivos, en vez de
+ * un objeto por nodo y un ArrayList por lista. Cada nodo es un índice: los
+ * nodos se numeran en preorden, así que un recorrido completo lee los
+ * arreglos en forma secuencial, y las pasadas que no necesitan la estructura
+ * pueden iterar de 0 a size() directamente.
+ *
+ * Los hijos de cada nodo ocupan un tramo contiguo del arreglo hijos, en el
+ * orden de los campos de su clase (por ejemplo If: e, s1, s2). Las listas
+ * son nodos con un hijo por elemento. Un hijo ausente vale -1. Los
+ * identificadores y nombres de clase se guardan como índice en una tabla de
+ * nombres, y los literales enteros guardan su valor.
+ *
+ * Se construye a partir del AST de objetos con desde(Goal) y se puede volver
+ * a convertir con aGoal(), que produce un árbol idéntico al original.
+ * AstSerializer lo escribe y lo lee directamente en este formato.
+ */
+public class ArenaAst {
+    private static final int CAPACIDAD_INICIAL = 1024;
+    private static final NodeKind[] TIPOS = NodeKind.values();
+
+    // Ordinal del NodeKind de cada nodo
+    private byte[] tipos;
+    private int[] lineas;
+    private long[] spans;
+    // Valor de un literal, índice en nombres de un identificador o clase; 0 en el resto
+    private int[] datos;
+    // Posición en hijos del primer hijo de cada nodo; tiene un elemento más que los nodos
+    private int[] primerHijo;
+    private int[] hijos;
+    private int cantidad;
+    private int cantidadHijos;
+
+    private String[] nombres;
+    private Map<String, Integer> indiceNombres;
+
+    ArenaAst() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea un árbol vacío con lugar para la cantidad de nodos dada.
+     */
+    ArenaAst(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        tipos = new byte[capacidad];
+        lineas = new int[capacidad];
+        spans = new long[capacidad];
+        datos = new int[capacidad];
+        primerHijo = new int[capacidad + 1];
+        hijos = new int[capacidad];
+        nombres = new String[64];
+        indiceNombres = new HashMap<>();
+    }
+
+    /**
+     * Convierte un programa completo. El nodo 0 es el Goal.
+     */
+    public static ArenaAst desde(Goal g) {
+        ArenaAst a = new ArenaAst();
+        a.agregar(g);
+        a.recortar();
+        return a;
+    }
+
+    /**
+     * Ajusta los arreglos a su tamaño final, ya que no se agregan más nodos.
+     */
+    void recortar() {
+        tipos = Arrays.copyOf(tipos, cantidad);
+        lineas = Arrays.copyOf(lineas, cantidad);
+        spans = Arrays.copyOf(spans, cantidad);
+        datos = Arrays.copyOf(datos, cantidad);
+        primerHijo = Arrays.copyOf(primerHijo, cantidad + 1);
+        hijos = Arrays.copyOf(hijos, cantidadHijos);
+        // Un árbol leído por AstSerializer recibe la tabla de nombres ya completa
+        if (indiceNombres != null && !indiceNombres.isEmpty()) {
+            nombres = Arrays.copyOf(nombres, indiceNombres.size());
+        }
+        indiceNombres = null;
+    }
+
+    // ========== CONSULTAS ==========
+
+    public int size() {
+        return cantidad;
+    }
+
+    public NodeKind getTipo(int nodo) {
+        return TIPOS[tipos[nodo]];
+    }
+
+    public int getLinea(int nodo) {
+        return lineas[nodo];
+    }
+
+    public long getSpan(int nodo) {
+        return spans[nodo];
+    }
+
+    /**
+     * Valor de un IntegerLiteral.
+     */
+    public int getValor(int nodo) {
+        return datos[nodo];
+    }
+
+    int getDato(int nodo) {
+        return datos[nodo];
+    }
+
+    String[] getNombres() {
+        return nombres;
+    }
+
+    void setNombres(String[] nombres) {
+        this.nombres = nombres;
+    }
+
+    /**
+     * Nombre de un Identifier, IdentifierExpr o ClassType.
+     */
+    public String getNombre(int nodo) {
+        return nombres[datos[nodo]];
+    }
+
+    public int getCantidadHijos(int nodo) {
+        return primerHijo[nodo + 1] - primerHijo[nodo];
+    }
+
+    public int getHijo(int nodo, int i) {
+        return hijos[primerHijo[nodo] + i];
+    }
+
+    /**
+     * Retorna los bytes ocupados por los arreglos del árbol, sin contar los
+     * nombres.
+     */
+    public long getBytesUsados() {
+        return (long) tipos.length * (1 + 4 + 8 + 4) + primerHijo.length * 4L + hijos.length * 4L;
+    }
+
+    /**
+     * Recorre en preorden el subárbol del nodo dado. Los hijos ausentes se
+     * saltean.
+     */
+    public void recorrer(int nodo, ArenaVisitor v) {
+        if (!v.entrar(this, nodo)) {
+            return;
+        }
+        for (int i = primerHijo[nodo]; i < primerHijo[nodo + 1]; i++) {
+            if (hijos[i] >= 0) {
+                recorrer(hijos[i], v);
+            }
+        }
+        v.salir(this, nodo);
+    }
+
+    // ========== CONSTRUCCIÓN ==========
+
+    /**
+     * Reserva un nodo con lugar para la cantidad de hijos dada.
+     */
+    private int nuevo(Node n, int hijosReservados, int dato) {
+        return reservar(n.getKind().ordinal(), n.line, n.span, dato, hijosReservados);
+    }
+
+    int reservar(int tipo, int linea, long span, int dato, int hijosReservados) {
+        if (cantidad + 1 == primerHijo.length) {
+            int capacidad = cantidad * 2;
+            tipos = Arrays.copyOf(tipos, capacidad);
+            lineas = Arrays.copyOf(lineas, capacidad);
+            spans = Arrays.copyOf(spans, capacidad);
+            datos = Arrays.copyOf(datos, capacidad);
+            primerHijo = Arrays.copyOf(primerHijo, capacidad + 1);
+        }
+        if (cantidadHijos + hijosReservados > hijos.length) {
+            hijos = Arrays.copyOf(hijos, Math.max(hijos.length * 2, cantidadHijos + hijosReservados));
+        }
+        int nodo = cantidad++;
+        tipos[nodo] = (byte) tipo;
+        lineas[nodo] = linea;
+        spans[nodo] = span;
+        datos[nodo] = dato;
+        primerHijo[nodo] = cantidadHijos;
+        cantidadHijos += hijosReservados;
+        primerHijo[cantidad] = cantidadHijos;
+        return nodo;
+    }
+
+    void setHijo(int nodo, int i, int hijo) {
+        hijos[primerHijo[nodo] + i] = hijo;
+    }
+
+    private int nombre(String s) {
+        Integer i = indiceNombres.get(s);
+        if (i == null) {
+            i = indiceNombres.size();
+            if (i == nombres.length) {
+                nombres = Arrays.copyOf(nombres, i * 2);
+            }
+            nombres[i] = s;
+            indiceNombres.put(s, i);
+        }
+        return i;
+    }
+
+    /**
+     * Agrega el nodo y su subárbol, y retorna su índice (-1 si es null).
+     */
+    private int agregar(Node n) {
+        if (n == null) {
+            return -1;
+        }
+        switch (n.getKind()) {
+            case GOAL: {
+                Goal g = (Goal) n;
+                return con(nuevo(g, 2, 0), g.m, g.cl);
+            }
+            case MAIN_CLASS: {
+                MainClass m = (MainClass) n;
+                return con(nuevo(m, 4, 0), m.i1, m.i2, m.vl, m.sl);
+            }
+            case CLASS_DECL_SIMPLE: {
+                ClassDeclSimple c = (ClassDeclSimple) n;
+                return con(nuevo(c, 3, 0), c.i, c.vl, c.ml);
+            }
+            case CLASS_DECL_EXTENDS: {
+                ClassDeclExtends c = (ClassDeclExtends) n;
+                return con(nuevo(c, 4, 0), c.i, c.j, c.vl, c.ml);
+            }
+            case VAR_DECL_SIMPLE: {
+                VarDeclSimple d = (VarDeclSimple) n;
+                return con(nuevo(d, 2, 0), d.t, d.i);
+            }
+            case VAR_DECL_ASSIGN: {
+                VarDeclAssign d = (VarDeclAssign) n;
+                return con(nuevo(d, 3, 0), d.t, d.i, d.e);
+            }
+            case METHOD_DECL: {
+                MethodDecl m = (MethodDecl) n;
+                return con(nuevo(m, 6, 0), m.t, m.i, m.fl, m.vl, m.sl, m.e);
+            }
+            case PARAM: {
+                Param p = (Param) n;
+                return con(nuevo(p, 2, 0), p.t, p.i);
+            }
+            case INT_ARRAY_TYPE:
+            case INT_TYPE:
+            case THIS:
+                return nuevo(n, 0, 0);
+            case CLASS_TYPE:
+                return nuevo(n, 0, nombre(((ClassType) n).className));
+            case BLOCK:
+                return con(nuevo(n, 1, 0), ((Block) n).sl);
+            case IF: {
+                If s = (If) n;
+                return con(nuevo(s, 3, 0), s.e, s.s1, s.s2);
+            }
+            case WHILE: {
+                While s = (While) n;
+                return con(nuevo(s, 2, 0), s.e, s.s);
+            }
+            case PRINT:
+                return con(nuevo(n, 1, 0), ((Print) n).e);
+            case ASSIGN: {
+                Assign s = (Assign) n;
+                return con(nuevo(s, 2, 0), s.i, s.e);
+            }
+            case ARRAY_ASSIGN: {
+                ArrayAssign s = (ArrayAssign) n;
+                return con(nuevo(s, 3, 0), s.i, s.e1, s.e2);
+            }
+            case AND: return con(nuevo(n, 2, 0), ((And) n).e1, ((And) n).e2);
+            case OR: return con(nuevo(n, 2, 0), ((Or) n).e1, ((Or) n).e2);
+            case EQUAL: return con(nuevo(n, 2, 0), ((Equal) n).e1, ((Equal) n).e2);
+            case NOT_EQUAL: return con(nuevo(n, 2, 0), ((NotEqual) n).e1, ((NotEqual) n).e2);
+            case LESS_THAN: return con(nuevo(n, 2, 0), ((LessThan) n).e1, ((LessThan) n).e2);
+            case MORE_THAN: return con(nuevo(n, 2, 0), ((MoreThan) n).e1, ((MoreThan) n).e2);
+            case PLUS: return con(nuevo(n, 2, 0), ((Plus) n).e1, ((Plus) n).e2);
+            case MINUS: return con(nuevo(n, 2, 0), ((Minus) n).e1, ((Minus) n).e2);
+            case MULT: return con(nuevo(n, 2, 0), ((Mult) n).e1, ((Mult) n).e2);
+            case DIV: return con(nuevo(n, 2, 0), ((Div) n).e1, ((Div) n).e2);
+            case ARRAY_LOOKUP: return con(nuevo(n, 2, 0), ((ArrayLookup) n).e1, ((ArrayLookup) n).e2);
+            case ARRAY_LENGTH:
+                return con(nuevo(n, 1, 0), ((ArrayLength) n).e);
+            case CALL: {
+                Call c = (Call) n;
+                return con(nuevo(c, 3, 0), c.e, c.i, c.el);
+            }
+            case INTEGER_LITERAL:
+                return nuevo(n, 0, ((IntegerLiteral) n).i);
+            case IDENTIFIER_EXPR:
+                return nuevo(n, 0, nombre(((IdentifierExpr) n).s));
+            case NEW_ARRAY:
+                return con(nuevo(n, 1, 0), ((NewArray) n).e);
+            case NEW_OBJECT:
+                return con(nuevo(n, 1, 0), ((NewObject) n).i);
+            case IDENTIFIER:
+                return nuevo(n, 0, nombre(((Identifier) n).s));
+            case CLASS_DECL_LIST: {
+                ClassDeclList l = (ClassDeclList) n;
+                int nodo = nuevo(l, l.size(), 0);
+                for (int i = 0; i < l.size(); i++) {
+                    setHijo(nodo, i, agregar(l.get(i)));
+                }
+                return nodo;
+            }
+            case VAR_DECL_LIST: {
+                VarDeclList l = (VarDeclList) n;
+                int nodo = nuevo(l, l.size(), 0);
+                for (int i = 0; i < l.size(); i++) {
+                    setHijo(nodo, i, agregar(l.get(i)));
+                }
+                return nodo;
+            }
+            case METHOD_DECL_LIST: {
+                MethodDeclList l = (MethodDeclList) n;
+                int nodo = nuevo(l, l.size(), 0);
+                for (int i = 0; i < l.size(); i++) {
+                    setHijo(nodo, i, agregar(l.get(i)));
+                }
+                return nodo;
+            }
+            case PARAM_LIST: {
+                ParamList l = (ParamList) n;
+                int nodo = nuevo(l, l.size(), 0);
+                for (int i = 0; i < l.size(); i++) {
+                    setHijo(nodo, i, agregar(l.get(i)));
+                }
+                return nodo;
+            }
+            case STATEMENT_LIST: {
+                StatementList l = (StatementList) n;
+                int nodo = nuevo(l, l.size(), 0);
+                for (int i = 0; i < l.size(); i++) {
+                    setHijo(nodo, i, agregar(l.get(i)));
+                }
+                return nodo;
+            }
+            default: {
+                ExprList l = (ExprList) n;
+                int nodo = nuevo(l, l.size(), 0);
+                for (int i = 0; i < l.size(); i++) {
+                    setHijo(nodo, i, agregar(l.get(i)));
+                }
+                return nodo;
+            }
+        }
+    }
+
+    /**
+     * Agrega los hijos de un nodo recién reservado, en orden.
+     */
+    private int con(int nodo, Node... h) {
+        for (int i = 0; i < h.length; i++) {
+            // agregar puede reemplazar el arreglo hijos al crecer, así que se asigna en setHijo
+            setHijo(nodo, i, agregar(h[i]));
+        }
+        return nodo;
+    }
+
+    // ========== CONVERSIÓN INVERSA ==========
+
+    /**
+     * Reconstruye el AST de objetos, con las mismas líneas y spans.
+     */
+    public Goal aGoal() {
+        return (Goal) aNodo(0);
+    }
+
+    private Node aNodo(int nodo) {
+        if (nodo < 0) {
+            return null;
+        }
+        int ln = lineas[nodo];
+        Node n;
+        switch (getTipo(nodo)) {
+            case GOAL:
+                n = new Goal((MainClass) hijo(nodo, 0), (ClassDeclList) hijo(nodo, 1), ln);
+                break;
+            case MAIN_CLASS:
+                n = new MainClass((Identifier) hijo(nodo, 0), (Identifier) hijo(nodo, 1),
+                        (VarDeclList) hijo(nodo, 2), (StatementList) hijo(nodo, 3), ln);
+                break;
+            case CLASS_DECL_SIMPLE:
+                n = new ClassDeclSimple((Identifier) hijo(nodo, 0), (VarDeclList) hijo(nodo, 1),
+                        (MethodDeclList) hijo(nodo, 2), ln);
+                break;
+            case CLASS_DECL_EXTENDS:
+                n = new ClassDeclExtends((Identifier) hijo(nodo, 0), (Identifier) hijo(nodo, 1),
+                        (VarDeclList) hijo(nodo, 2), (MethodDeclList) hijo(nodo, 3), ln);
+                break;
+            case VAR_DECL_SIMPLE:
+                n = new VarDeclSimple((Type) hijo(nodo, 0), (Identifier) hijo(nodo, 1), ln);
+                break;
+            case VAR_DECL_ASSIGN:
+                n = new VarDeclAssign((Type) hijo(nodo, 0), (Identifier) hijo(nodo, 1), (Expr) hijo(nodo, 2), ln);
+                break;
+            case METHOD_DECL:
+                n = new MethodDecl((Type) hijo(nodo, 0), (Identifier) hijo(nodo, 1), (ParamList) hijo(nodo, 2),
+                        (VarDeclList) hijo(nodo, 3), (StatementList) hijo(nodo, 4), (Expr) hijo(nodo, 5), ln);
+                break;
+            case PARAM:
+                n = new Param((Type) hijo(nodo, 0), (Identifier) hijo(nodo, 1), ln);
+                break;
+            case INT_ARRAY_TYPE:
+                n = new IntArrayType(ln);
+                break;
+            case INT_TYPE:
+                n = new IntType(ln);
+                break;
+            case CLASS_TYPE:
+                n = new ClassType(ln, getNombre(nodo));
+                break;
+            case BLOCK:
+                n = new Block((StatementList) hijo(nodo, 0), ln);
+                break;
+            case IF:
+                n = new If((Expr) hijo(nodo, 0), (Statement) hijo(nodo, 1), (Statement) hijo(nodo, 2), ln);
+                break;
+            case WHILE:
+                n = new While((Expr) hijo(nodo, 0), (Statement) hijo(nodo, 1), ln);
+                break;
+            case PRINT:
+                n = new Print((Expr) hijo(nodo, 0), ln);
+                break;
+            case ASSIGN:
+                n = new Assign((Identifier) hijo(nodo, 0), (Expr) hijo(nodo, 1), ln);
+                break;
+            case ARRAY_ASSIGN:
+                n = new ArrayAssign((Identifier) hijo(nodo, 0), (Expr) hijo(nodo, 1), (Expr) hijo(nodo, 2), ln);
+                break;
+            case AND:
+                n = new And(ln, (Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1));
+                break;
+            case OR:
+                n = new Or(ln, (Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1));
+                break;
+            case EQUAL:
+                n = new Equal(ln, (Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1));
+                break;
+            case NOT_EQUAL:
+                n = new NotEqual(ln, (Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1));
+                break;
+            case LESS_THAN:
+                n = new LessThan((Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1), ln);
+                break;
+            case MORE_THAN:
+                n = new MoreThan((Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1), ln);
+                break;
+            case PLUS:
+                n = new Plus((Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1), ln);
+                break;
+            case MINUS:
+                n = new Minus((Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1), ln);
+                break;
+            case MULT:
+                n = new Mult((Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1), ln);
+                break;
+            case DIV:
+                n = new Div((Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1), ln);
+                break;
+            case ARRAY_LOOKUP:
+                n = new ArrayLookup((Expr) hijo(nodo, 0), (Expr) hijo(nodo, 1), ln);
+                break;
+            case ARRAY_LENGTH:
+                n = new ArrayLength((Expr) hijo(nodo, 0), ln);
+                break;
+            case CALL:
+                n = new Call((Expr) hijo(nodo, 0), (Identifier) hijo(nodo, 1), (ExprList) hijo(nodo, 2), ln);
+                break;
+            case INTEGER_LITERAL:
+                n = new IntegerLiteral(datos[nodo], ln);
+                break;
+            case IDENTIFIER_EXPR:
+                n = new IdentifierExpr(getNombre(nodo), ln);
+                break;
+            case THIS:
+                n = new This(ln);
+                break;
+            case NEW_ARRAY:
+                n = new NewArray((Expr) hijo(nodo, 0), ln);
+                break;
+            case NEW_OBJECT:
+                n = new NewObject((Identifier) hijo(nodo, 0), ln);
+                break;
+            case IDENTIFIER:
+                n = new Identifier(getNombre(nodo), ln);
+                break;
+            case CLASS_DECL_LIST: {
+                ClassDeclList l = new ClassDeclList(ln);
+                for (int i = 0; i < getCantidadHijos(nodo); i++) {
+                    l.add((ClassDecl) hijo(nodo, i));
+                }
+                n = l;
+                break;
+            }
+            case VAR_DECL_LIST: {
+                VarDeclList l = new VarDeclList(ln);
+                for (int i = 0; i < getCantidadHijos(nodo); i++) {
+                    l.add((VarDecl) hijo(nodo, i));
+                }
+                n = l;
+                break;
+            }
+            case METHOD_DECL_LIST: {
+                MethodDeclList l = new MethodDeclList(ln);
+                for (int i = 0; i < getCantidadHijos(nodo); i++) {
+                    l.add((MethodDecl) hijo(nodo, i));
+                }
+                n = l;
+                break;
+            }
+            case PARAM_LIST: {
+                ParamList l = new ParamList(ln);
+                for (int i = 0; i < getCantidadHijos(nodo); i++) {
+                    l.add((Param) hijo(nodo, i));
+                }
+                n = l;
+                break;
+            }
+            case STATEMENT_LIST: {
+                StatementList l = new StatementList(ln);
+                for (int i = 0; i < getCantidadHijos(nodo); i++) {
+                    l.add((Statement) hijo(nodo, i));
+                }
+                n = l;
+                break;
+            }
+            default: {
+                ExprList l = new ExprList(ln);
+                for (int i = 0; i < getCantidadHijos(nodo); i++) {
+                    l.add((Expr) hijo(nodo, i));
+                }
+                n = l;
+                break;
+            }
+        }
+        n.span = spans[nodo];
+        return n;
+    }
+
+    private Node hijo(int nodo, int i) {
+        return aNodo(getHijo(nodo, i));
+    }
+}
@@ -1,9 +1,14 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class ArrayAssign extends Statement {
 	public Identifier i;
 	public Expr e1;
 	public Expr e2;
+	// Verdadero si se probó que el índice e1 está dentro de los límites del arreglo i
+	public boolean indiceSeguro;
 
 	public ArrayAssign(Identifier ai, Expr ae1, Expr ae2, int ln) {
 		super(ln);
@@ -11,4 +16,17 @@ public class ArrayAssign extends Statement {
 		e1 = ae1;
 		e2 = ae2;
 	}
+
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.ARRAY_ASSIGN;
+	}
+
 }
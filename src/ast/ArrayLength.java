@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class ArrayLength extends Expr {
 	public Expr e;
 
@@ -7,4 +10,17 @@ public class ArrayLength extends Expr {
 		super(ln);
 		e = ae;
 	}
+
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.ARRAY_LENGTH;
+	}
+
 }
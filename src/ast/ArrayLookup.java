@@ -1,12 +1,30 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class ArrayLookup extends Expr {
 	public Expr e1;
 	public Expr e2;
+	// Lo marca BoundsCheckVisitor cuando prueba que e2 está dentro de los límites de e1
+	public boolean indiceSeguro;
 
 	public ArrayLookup(Expr ae1, Expr ae2, int ln) {
 		super(ln);
 		e1 = ae1;
 		e2 = ae2;
 	}
+
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.ARRAY_LOOKUP;
+	}
+
 }
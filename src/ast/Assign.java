@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class Assign extends Statement {
 	public Identifier i;
 	public Expr e;
@@ -10,4 +13,16 @@ public class Assign extends Statement {
 		e = ae;
 	}
 
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.ASSIGN;
+	}
+
 }
@@ -0,0 +1,439 @@
+package ast;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binario de un AST completo, para guardar el resultado del
+ * front-end y cargarlo sin volver a analizar un archivo que no cambió.
+ *
+ * El archivo empieza con la marca "MJAST", la versión del formato y la
+ * huella SHA-256 del fuente del que salió el árbol; cargar() retorna null si
+ * alguna no coincide. Después va el CRC32C del resto del archivo, y siguen la
+ * tabla de nombres (largo y bytes UTF-8 de cada uno)
+ * y la cantidad de nodos, y luego los nodos del ArenaAst en preorden. Cada
+ * nodo se escribe como su NodeKind más uno (0 es un hijo ausente), la
+ * diferencia de línea con el nodo anterior, el largo del span más uno (0 sin
+ * span) y, si tiene, la diferencia de inicio con el span anterior. Después
+ * van el valor del literal o el índice del nombre, la cantidad de elementos
+ * en las listas y los hijos. Todos los enteros son varints, con codificación
+ * zigzag los que pueden ser negativos.
+ *
+ * Al leer se comprueba el CRC, que cada hijo sea de un tipo que admite su
+ * posición y que los índices de nombre estén en la tabla, de modo que un
+ * archivo dañado termina en IOException y no en un error al armar el Goal.
+ */
+public class AstSerializer {
+    private static final byte[] MARCA = { 'M', 'J', 'A', 'S', 'T' };
+    // Se incrementa con cada cambio del formato o de la forma del AST
+    public static final int VERSION = 2;
+    private static final NodeKind[] TIPOS = NodeKind.values();
+
+    private byte[] bytes = new byte[4096];
+    private int largo;
+    private ByteBuffer entrada;
+    private ArenaAst arena;
+    private int nombres;
+    private int lineaAnterior;
+    private int inicioAnterior;
+
+    private AstSerializer() {
+    }
+
+    /**
+     * Retorna la huella del contenido de un archivo: su SHA-256.
+     */
+    public static byte[] huella(Path fuente) throws IOException {
+        try (FileChannel canal = FileChannel.open(fuente, StandardOpenOption.READ)) {
+            MappedByteBuffer contenido = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(contenido);
+            return sha.digest();
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM trae SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ========== ESCRITURA ==========
+
+    public static byte[] serializar(Goal g, byte[] huella) {
+        AstSerializer s = new AstSerializer();
+        s.arena = ArenaAst.desde(g);
+        s.escribirBytes(MARCA);
+        s.escribir(VERSION);
+        s.escribirBytes(huella);
+        // Lugar del CRC, que se completa al final
+        int posicionCrc = s.largo;
+        s.escribirBytes(new byte[4]);
+        String[] nombres = s.arena.getNombres();
+        s.escribir(nombres.length);
+        for (String nombre : nombres) {
+            byte[] utf8 = nombre.getBytes(StandardCharsets.UTF_8);
+            s.escribir(utf8.length);
+            s.escribirBytes(utf8);
+        }
+        s.escribir(s.arena.size());
+        s.escribirNodo(0);
+        CRC32C crc = new CRC32C();
+        crc.update(s.bytes, posicionCrc + 4, s.largo - posicionCrc - 4);
+        ByteBuffer.wrap(s.bytes, posicionCrc, 4).putInt((int) crc.getValue());
+        return Arrays.copyOf(s.bytes, s.largo);
+    }
+
+    /**
+     * Guarda el AST en el archivo dado, reemplazándolo si existe.
+     */
+    public static void guardar(Goal g, byte[] huella, Path archivo) throws IOException {
+        Files.write(archivo, serializar(g, huella));
+    }
+
+    private void escribirNodo(int nodo) {
+        if (nodo < 0) {
+            escribir(0);
+            return;
+        }
+        NodeKind tipo = arena.getTipo(nodo);
+        escribir(tipo.ordinal() + 1);
+        int linea = arena.getLinea(nodo);
+        escribir(zigzag(linea - lineaAnterior));
+        lineaAnterior = linea;
+        long span = arena.getSpan(nodo);
+        if (span == Node.SIN_SPAN) {
+            escribir(0);
+        } else {
+            int inicio = (int) (span >>> 32);
+            escribir((int) span - inicio + 1);
+            escribir(zigzag(inicio - inicioAnterior));
+            inicioAnterior = inicio;
+        }
+        if (tipo == NodeKind.INTEGER_LITERAL) {
+            escribir(zigzag(arena.getDato(nodo)));
+        } else if (tieneNombre(tipo)) {
+            escribir(arena.getDato(nodo));
+        }
+        int hijos = arena.getCantidadHijos(nodo);
+        if (aridad(tipo) < 0) {
+            escribir(hijos);
+        }
+        for (int i = 0; i < hijos; i++) {
+            escribirNodo(arena.getHijo(nodo, i));
+        }
+    }
+
+    private void escribir(int valor) {
+        while ((valor & ~0x7F) != 0) {
+            escribirByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        escribirByte(valor);
+    }
+
+    private void escribirByte(int b) {
+        if (largo == bytes.length) {
+            bytes = Arrays.copyOf(bytes, largo * 2);
+        }
+        bytes[largo++] = (byte) b;
+    }
+
+    private void escribirBytes(byte[] b) {
+        for (byte x : b) {
+            escribirByte(x);
+        }
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * Carga el AST guardado en el archivo, mapeándolo en memoria. Retorna
+     * null si el archivo no existe o si fue escrito con otra versión del
+     * formato o desde otro contenido del fuente, y lanza IOException si
+     * está dañado.
+     */
+    public static Goal cargar(Path archivo, byte[] huella) throws IOException {
+        if (!Files.isRegularFile(archivo)) {
+            return null;
+        }
+        ArenaAst a;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            a = leer(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()), huella);
+        }
+        try {
+            return a != null ? a.aGoal() : null;
+        } catch (RuntimeException e) {
+            // leer() ya valida la forma del árbol; esto cubre lo que se le escape
+            throw new IOException("AST serializado dañado", e);
+        }
+    }
+
+    /**
+     * Lee un AST serializado como ArenaAst, o retorna null si la marca, la
+     * versión o la huella no coinciden. Lanza IOException si el contenido no
+     * es un AST válido.
+     */
+    public static ArenaAst leer(ByteBuffer entrada, byte[] huella) throws IOException {
+        AstSerializer s = new AstSerializer();
+        s.entrada = entrada;
+        try {
+            for (byte b : MARCA) {
+                if (entrada.get() != b) {
+                    return null;
+                }
+            }
+            if (s.leer() != VERSION) {
+                return null;
+            }
+            byte[] guardada = new byte[huella.length];
+            entrada.get(guardada);
+            if (!Arrays.equals(guardada, huella)) {
+                return null;
+            }
+            int esperado = entrada.getInt();
+            CRC32C crc = new CRC32C();
+            crc.update(entrada.duplicate());
+            if ((int) crc.getValue() != esperado) {
+                throw danado("el CRC no coincide");
+            }
+            String[] nombres = new String[s.leerCantidad()];
+            for (int i = 0; i < nombres.length; i++) {
+                byte[] utf8 = new byte[s.leerCantidad()];
+                entrada.get(utf8);
+                nombres[i] = new String(utf8, StandardCharsets.UTF_8).intern();
+            }
+            s.arena = new ArenaAst(s.leerCantidad());
+            s.arena.setNombres(nombres);
+            s.nombres = nombres.length;
+            s.leerNodo(null, 0);
+            if (entrada.hasRemaining()) {
+                throw danado("sobran bytes después del árbol");
+            }
+            s.arena.recortar();
+            return s.arena;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("AST serializado incompleto o dañado", e);
+        }
+    }
+
+    /**
+     * Lee un nodo que ocupa la posición dada de un nodo del tipo padre, o la
+     * raíz si padre es null.
+     */
+    private int leerNodo(NodeKind padre, int posicion) throws IOException {
+        int codigo = leer();
+        if (codigo == 0) {
+            if (padre == null) {
+                throw danado("falta la raíz");
+            }
+            return -1;
+        }
+        if (codigo < 0 || codigo > TIPOS.length) {
+            throw danado("tipo de nodo " + codigo + " desconocido");
+        }
+        NodeKind tipo = TIPOS[codigo - 1];
+        if (padre == null ? tipo != NodeKind.GOAL : !admite(padre, posicion, tipo)) {
+            throw danado(tipo + " no puede ser el hijo " + posicion + " de " + padre);
+        }
+        int linea = lineaAnterior + deszigzag(leer());
+        lineaAnterior = linea;
+        long span = Node.SIN_SPAN;
+        int largoSpan = leer();
+        if (largoSpan > 0) {
+            int inicio = inicioAnterior + deszigzag(leer());
+            inicioAnterior = inicio;
+            span = Node.span(inicio, inicio + largoSpan - 1);
+        }
+        int dato = 0;
+        if (tipo == NodeKind.INTEGER_LITERAL) {
+            dato = deszigzag(leer());
+        } else if (tieneNombre(tipo)) {
+            dato = leer();
+            if (dato < 0 || dato >= nombres) {
+                throw danado("nombre " + dato + " fuera de la tabla");
+            }
+        }
+        int hijos = aridad(tipo);
+        if (hijos < 0) {
+            hijos = leerCantidad();
+        }
+        int nodo = arena.reservar(tipo.ordinal(), linea, span, dato, hijos);
+        for (int i = 0; i < hijos; i++) {
+            arena.setHijo(nodo, i, leerNodo(tipo, i));
+        }
+        return nodo;
+    }
+
+    /**
+     * Lee una cantidad de elementos que siguen en la entrada. Como cada uno
+     * ocupa al menos un byte, una cantidad mayor que lo que queda es un
+     * archivo dañado y no se llega a reservar memoria para ella.
+     */
+    private int leerCantidad() throws IOException {
+        int cantidad = leer();
+        if (cantidad < 0 || cantidad > entrada.remaining()) {
+            throw danado("cantidad " + cantidad + " mayor que el archivo");
+        }
+        return cantidad;
+    }
+
+    private static IOException danado(String detalle) {
+        return new IOException("AST serializado dañado: " + detalle);
+    }
+
+    private int leer() {
+        int valor = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            b = entrada.get();
+            valor |= (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while (b < 0);
+        return valor;
+    }
+
+    // ========== FORMA DE LOS NODOS ==========
+
+    private static int zigzag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    private static int deszigzag(int n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    private static boolean tieneNombre(NodeKind tipo) {
+        return tipo == NodeKind.IDENTIFIER || tipo == NodeKind.IDENTIFIER_EXPR || tipo == NodeKind.CLASS_TYPE;
+    }
+
+    private static boolean esTipo(NodeKind k) {
+        return k.compareTo(NodeKind.INT_ARRAY_TYPE) >= 0 && k.compareTo(NodeKind.CLASS_TYPE) <= 0;
+    }
+
+    private static boolean esSentencia(NodeKind k) {
+        return k.compareTo(NodeKind.BLOCK) >= 0 && k.compareTo(NodeKind.ARRAY_ASSIGN) <= 0;
+    }
+
+    private static boolean esExpresion(NodeKind k) {
+        return k.compareTo(NodeKind.AND) >= 0 && k.compareTo(NodeKind.NEW_OBJECT) <= 0;
+    }
+
+    /**
+     * Indica si un nodo del tipo hijo puede ocupar la posición dada de un
+     * nodo del tipo padre, en el orden de hijos de aridad().
+     */
+    private static boolean admite(NodeKind padre, int posicion, NodeKind hijo) {
+        switch (padre) {
+            case GOAL:
+                return hijo == (posicion == 0 ? NodeKind.MAIN_CLASS : NodeKind.CLASS_DECL_LIST);
+            case MAIN_CLASS:
+                return posicion < 2 ? hijo == NodeKind.IDENTIFIER
+                        : hijo == (posicion == 2 ? NodeKind.VAR_DECL_LIST : NodeKind.STATEMENT_LIST);
+            case CLASS_DECL_SIMPLE:
+            case CLASS_DECL_EXTENDS:
+                // El extends tiene un identificador más antes de las listas
+                int listas = padre == NodeKind.CLASS_DECL_SIMPLE ? 1 : 2;
+                return posicion < listas ? hijo == NodeKind.IDENTIFIER
+                        : hijo == (posicion == listas ? NodeKind.VAR_DECL_LIST : NodeKind.METHOD_DECL_LIST);
+            case VAR_DECL_SIMPLE:
+            case VAR_DECL_ASSIGN:
+            case PARAM:
+                return posicion == 0 ? esTipo(hijo) : posicion == 1 ? hijo == NodeKind.IDENTIFIER : esExpresion(hijo);
+            case METHOD_DECL:
+                switch (posicion) {
+                    case 0:
+                        return esTipo(hijo);
+                    case 1:
+                        return hijo == NodeKind.IDENTIFIER;
+                    case 2:
+                        return hijo == NodeKind.PARAM_LIST;
+                    case 3:
+                        return hijo == NodeKind.VAR_DECL_LIST;
+                    case 4:
+                        return hijo == NodeKind.STATEMENT_LIST;
+                    default:
+                        return esExpresion(hijo);
+                }
+            case BLOCK:
+                return hijo == NodeKind.STATEMENT_LIST;
+            case IF:
+            case WHILE:
+                return posicion == 0 ? esExpresion(hijo) : esSentencia(hijo);
+            case ASSIGN:
+            case ARRAY_ASSIGN:
+                return posicion == 0 ? hijo == NodeKind.IDENTIFIER : esExpresion(hijo);
+            case CALL:
+                return posicion == 0 ? esExpresion(hijo)
+                        : hijo == (posicion == 1 ? NodeKind.IDENTIFIER : NodeKind.EXPR_LIST);
+            case NEW_OBJECT:
+                return hijo == NodeKind.IDENTIFIER;
+            case CLASS_DECL_LIST:
+                return hijo == NodeKind.CLASS_DECL_SIMPLE || hijo == NodeKind.CLASS_DECL_EXTENDS;
+            case VAR_DECL_LIST:
+                return hijo == NodeKind.VAR_DECL_SIMPLE || hijo == NodeKind.VAR_DECL_ASSIGN;
+            case METHOD_DECL_LIST:
+                return hijo == NodeKind.METHOD_DECL;
+            case PARAM_LIST:
+                return hijo == NodeKind.PARAM;
+            case STATEMENT_LIST:
+                return esSentencia(hijo);
+            default:
+                // Print, binarias, ArrayLookup, ArrayLength, NewArray y ExprList
+                return esExpresion(hijo);
+        }
+    }
+
+    /**
+     * Cantidad fija de hijos de cada tipo de nodo, en el orden de ArenaAst,
+     * o -1 para las listas.
+     */
+    private static int aridad(NodeKind tipo) {
+        switch (tipo) {
+            case INT_ARRAY_TYPE:
+            case INT_TYPE:
+            case CLASS_TYPE:
+            case INTEGER_LITERAL:
+            case IDENTIFIER_EXPR:
+            case THIS:
+            case IDENTIFIER:
+                return 0;
+            case BLOCK:
+            case PRINT:
+            case ARRAY_LENGTH:
+            case NEW_ARRAY:
+            case NEW_OBJECT:
+                return 1;
+            case MAIN_CLASS:
+            case CLASS_DECL_EXTENDS:
+                return 4;
+            case CLASS_DECL_SIMPLE:
+            case VAR_DECL_ASSIGN:
+            case IF:
+            case ARRAY_ASSIGN:
+            case CALL:
+                return 3;
+            case METHOD_DECL:
+                return 6;
+            case CLASS_DECL_LIST:
+            case VAR_DECL_LIST:
+            case METHOD_DECL_LIST:
+            case PARAM_LIST:
+            case STATEMENT_LIST:
+            case EXPR_LIST:
+                return -1;
+            default:
+                // Goal, declaraciones de variable simples, parámetros, While, Assign y binarias
+                return 2;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ast;
+
+import ast.visitor.CloneVisitor;
+import ast.visitor.RewritingVisitor;
+
+/**
+ * Instantánea inmutable de un programa, que varios hilos pueden leer a la
+ * vez sin sincronizar, por ejemplo para correr análisis en paralelo o para
+ * guardar el árbol original para los diagnósticos mientras se optimiza.
+ *
+ * Sus listas están congeladas (add, set y remove lanzan
+ * UnsupportedOperationException) y la huella de cada nodo ya está calculada,
+ * así que leerla no escribe en el árbol. Los campos de los nodos siguen
+ * siendo públicos: la inmutabilidad de los demás nodos es un acuerdo, y no
+ * se debe usar NodeNumbering ni Fingerprint.limpiar() sobre una instantánea.
+ *
+ * Una versión modificada se obtiene con derivar(), que aplica una pasada en
+ * modo COPIA_AL_ESCRIBIR: solo se crean los nodos que cambian y sus
+ * ancestros, las listas cambiadas comparten con las originales los tramos
+ * sin cambios (ver PersistentVector), y todo lo demás se comparte con esta
+ * instantánea. Las pasadas que trabajan en su lugar se aplican sobre la
+ * copia modificable que retorna descongelar().
+ */
+public final class AstSnapshot {
+    private final Goal raiz;
+
+    private AstSnapshot(Goal raiz) {
+        this.raiz = raiz;
+    }
+
+    /**
+     * Congela una copia del programa; el árbol recibido no se modifica y
+     * sigue siendo del llamador.
+     */
+    public static AstSnapshot de(Goal g) {
+        Goal copia = new CloneVisitor().clonar(g);
+        congelar(copia);
+        return new AstSnapshot(copia);
+    }
+
+    public Goal getGoal() {
+        return raiz;
+    }
+
+    public Fingerprint getFingerprint() {
+        return raiz.getFingerprint();
+    }
+
+    /**
+     * Retorna una copia completa y modificable del programa.
+     */
+    public Goal descongelar() {
+        return new CloneVisitor().clonar(raiz);
+    }
+
+    /**
+     * Aplica la pasada y retorna la instantánea resultante, o esta misma si
+     * la pasada no cambió nada.
+     * @throws IllegalArgumentException si la pasada no trabaja en modo COPIA_AL_ESCRIBIR
+     */
+    public <C> AstSnapshot derivar(RewritingVisitor<C> pasada, C contexto) {
+        if (pasada.getModo() != RewritingVisitor.Modo.COPIA_AL_ESCRIBIR) {
+            throw new IllegalArgumentException("Una instantánea solo se puede reescribir copiando al escribir");
+        }
+        Goal nueva = pasada.reescribir(raiz, contexto);
+        if (nueva == raiz) {
+            return this;
+        }
+        congelar(nueva);
+        return new AstSnapshot(nueva);
+    }
+
+    /**
+     * Congela las listas del subárbol, calcula sus huellas y marca sus nodos.
+     * Un nodo ya marcado pertenece a una instantánea y se comparte tal cual,
+     * así que derivar() solo recorre los nodos nuevos.
+     */
+    private static void congelar(Node n) {
+        if (n == null || n.congelado) {
+            return;
+        }
+        if (n instanceof NodeList) {
+            ((NodeList<?, ?>) n).congelar();
+        }
+        NodeChildren.recorrer(n, AstSnapshot::congelar);
+        n.getFingerprint();
+        n.congelado = true;
+    }
+}
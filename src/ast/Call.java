@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class Call extends Expr {
 	public Expr e;
 	public Identifier i;
@@ -12,4 +15,16 @@ public class Call extends Expr {
 		el = ael;
 	}
 
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.CALL;
+	}
+
 }
@@ -1,9 +1,16 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public abstract class ClassDecl extends Node {
 
 	public ClassDecl(int line) {
 		super(line);
 	}
 
+	public abstract void accept(Visitor v);
+
+	public abstract <R, C> R accept(ResultVisitor<R, C> v, C contexto);
+
 }
@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class ClassDeclExtends extends ClassDeclSimple {
 	public Identifier j;
 
@@ -8,4 +11,16 @@ public class ClassDeclExtends extends ClassDeclSimple {
 		j = aj;
 	}
 
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.CLASS_DECL_EXTENDS;
+	}
+
 }
@@ -1,25 +1,17 @@
 package ast;
 
-import java.util.List;
-import java.util.ArrayList;
-
-public class ClassDeclList extends Node {
-	private List<ClassDecl> list;
+public class ClassDeclList extends NodeList<ClassDecl, ClassDeclList> {
 
 	public ClassDeclList(int ln) {
 		super(ln);
-		list = new ArrayList<ClassDecl>();
 	}
 
-	public void add(ClassDecl n) {
-		list.add(n);
+	protected ClassDeclList nueva(int ln) {
+		return new ClassDeclList(ln);
 	}
 
-	public ClassDecl get(int i) {
-		return list.get(i);
+	public NodeKind getKind() {
+		return NodeKind.CLASS_DECL_LIST;
 	}
 
-	public int size() {
-		return list.size();
-	}
 }
@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class ClassDeclSimple extends ClassDecl {
 	public Identifier i;
 	public VarDeclList vl;
@@ -12,4 +15,16 @@ public class ClassDeclSimple extends ClassDecl {
 		ml = aml;
 	}
 
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.CLASS_DECL_SIMPLE;
+	}
+
 }
@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class Equal extends Expr {
 	public Expr e1;
 	public Expr e2;
@@ -9,4 +12,17 @@ public class Equal extends Expr {
 		this.e1 = e1;
 		this.e2 = e2;
 	}
+
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.EQUAL;
+	}
+
 }
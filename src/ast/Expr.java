@@ -1,9 +1,18 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public abstract class Expr extends Node {
+	// Hash estructural que calcula HashConsing al compartir el nodo; 0 si no pasó por la tabla
+	public int hashEstructural;
 
 	public Expr(int line) {
 		super(line);
 	}
 
+	public abstract void accept(Visitor v);
+
+	public abstract <R, C> R accept(ResultVisitor<R, C> v, C contexto);
+
 }
@@ -1,25 +1,17 @@
 package ast;
 
-import java.util.List;
-import java.util.ArrayList;
-
-public class ExprList extends Node {
-	private List<Expr> list;
+public class ExprList extends NodeList<Expr, ExprList> {
 
 	public ExprList(int ln) {
 		super(ln);
-		list = new ArrayList<Expr>();
 	}
 
-	public void add(Expr n) {
-		list.add(n);
+	protected ExprList nueva(int ln) {
+		return new ExprList(ln);
 	}
 
-	public Expr get(int i) {
-		return list.get(i);
+	public NodeKind getKind() {
+		return NodeKind.EXPR_LIST;
 	}
 
-	public int size() {
-		return list.size();
-	}
 }
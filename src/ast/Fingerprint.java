@@ -0,0 +1,166 @@
+package ast;
+
+/**
+ * Huella estructural de 128 bits de un subárbol del AST. Depende del tipo de
+ * cada nodo, de sus nombres y literales y de sus hijos en orden, pero no de
+ * las líneas ni de los spans: un método que no cambió tiene la misma huella
+ * aunque se haya movido dentro del archivo, y se puede usar como clave de
+ * caches por clase o por método entre compilaciones. La huella cambia si se
+ * reordena NodeKind.
+ *
+ * Se calcula de abajo hacia arriba y cada nodo guarda la suya la primera vez
+ * que se pide (Node.getFingerprint()), así que las huellas de todos los
+ * métodos de un programa cuestan un solo recorrido. Quien modifique un
+ * subárbol en su lugar debe llamar a limpiar() sobre un ancestro común; quien
+ * solo reemplace un hijo por un nodo nuevo puede llamar a descartar() sobre
+ * cada ancestro del reemplazo.
+ *
+ * La mezcla es la de MurmurHash3 de 128 bits, con una palabra de 64 bits por
+ * dato.
+ */
+public final class Fingerprint {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    // Dato que ocupa el lugar de un hijo ausente
+    private static final long NULO = 0x9E3779B97F4A7C15L;
+
+    public final long alto;
+    public final long bajo;
+
+    public Fingerprint(long alto, long bajo) {
+        this.alto = alto;
+        this.bajo = bajo;
+    }
+
+    /**
+     * Calcula la huella del nodo a partir de las de sus hijos, que quedan
+     * guardadas en cada uno.
+     */
+    static Fingerprint calcular(Node n) {
+        Mezcla m = new Mezcla();
+        m.agregar(n.getKind().ordinal());
+        switch (n.getKind()) {
+            case CLASS_TYPE:
+                m.agregar(((ClassType) n).className);
+                break;
+            case INTEGER_LITERAL:
+                m.agregar(((IntegerLiteral) n).i);
+                break;
+            case IDENTIFIER_EXPR:
+                m.agregar(((IdentifierExpr) n).s);
+                break;
+            case IDENTIFIER:
+                m.agregar(((Identifier) n).s);
+                break;
+            default:
+                break;
+        }
+        NodeChildren.recorrer(n, m);
+        return m.resultado();
+    }
+
+    /**
+     * Descarta las huellas guardadas en el subárbol, para que se vuelvan a
+     * calcular después de modificarlo.
+     */
+    public static void limpiar(Node n) {
+        if (n == null) {
+            return;
+        }
+        n.huella = null;
+        NodeChildren.recorrer(n, LIMPIAR);
+    }
+
+    /**
+     * Descarta la huella guardada en el nodo pero no las de sus hijos, que
+     * siguen siendo válidas si solo se reemplazó uno de ellos.
+     */
+    public static void descartar(Node n) {
+        n.huella = null;
+    }
+
+    public boolean equals(Object o) {
+        if (!(o instanceof Fingerprint)) {
+            return false;
+        }
+        Fingerprint f = (Fingerprint) o;
+        return alto == f.alto && bajo == f.bajo;
+    }
+
+    public int hashCode() {
+        return (int) bajo;
+    }
+
+    /**
+     * Retorna la huella como 32 dígitos hexadecimales.
+     */
+    public String toString() {
+        return String.format("%016x%016x", alto, bajo);
+    }
+
+    private static final NodeChildren.Accion LIMPIAR = Fingerprint::limpiar;
+
+    /**
+     * Estado de MurmurHash3 de 128 bits que consume un long por vez.
+     */
+    private static final class Mezcla implements NodeChildren.Accion {
+        private long h1;
+        private long h2;
+        private int largo;
+
+        void agregar(long dato) {
+            long k1 = Long.rotateLeft(dato * C1, 31) * C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            long k2 = Long.rotateLeft(dato * C2, 33) * C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+            largo++;
+        }
+
+        void agregar(String s) {
+            agregar(s.length());
+            // Cuatro caracteres por palabra
+            for (int i = 0; i < s.length(); i += 4) {
+                long palabra = 0;
+                for (int j = i; j < Math.min(i + 4, s.length()); j++) {
+                    palabra = (palabra << 16) | s.charAt(j);
+                }
+                agregar(palabra);
+            }
+        }
+
+        public void hijo(Node n) {
+            if (n == null) {
+                agregar(NULO);
+            } else {
+                Fingerprint h = n.getFingerprint();
+                agregar(h.alto);
+                agregar(h.bajo);
+            }
+        }
+
+        Fingerprint resultado() {
+            long a = h1 ^ largo;
+            long b = h2 ^ largo;
+            a += b;
+            b += a;
+            a = fmix(a);
+            b = fmix(b);
+            a += b;
+            b += a;
+            return new Fingerprint(a, b);
+        }
+
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class Goal extends Node {
 	public MainClass m;
 	public ClassDeclList cl;
@@ -10,4 +13,16 @@ public class Goal extends Node {
 		cl = acl;
 	}
 
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.GOAL;
+	}
+
 }
@@ -0,0 +1,376 @@
+package ast;
+
+import ast.visitor.ResultVisitorAdapter;
+
+/**
+ * Tabla de hash-consing de expresiones: retorna una única instancia por cada
+ * subárbol de expresión estructuralmente distinto, de modo que las
+ * repeticiones de i + 1 o de this.Compare(a, b) en un programa comparten el
+ * mismo objeto. Cada nodo compartido guarda su hash estructural, y dos
+ * expresiones compartidas son iguales solo si son el mismo objeto.
+ *
+ * La tabla compara los hijos por identidad, así que sirve construyendo el
+ * árbol de abajo hacia arriba: el parser pasa cada expresión por compartir()
+ * apenas la arma, o compartir(Goal) recorre un árbol ya construido. Un nodo
+ * compartido conserva la línea y el span de su primera aparición, por lo que
+ * el análisis semántico y el registro de inlining informan la línea de la
+ * sentencia que contiene a la expresión y no la de la expresión misma.
+ *
+ * Los ArrayLookup no se comparten porque BoundsCheckVisitor marca cada acceso
+ * según su contexto. Las pasadas que reescriben el árbol en su lugar tampoco
+ * deben correr sobre un árbol compartido: hay que copiarlo antes con
+ * CloneVisitor, que crea un nodo por cada aparición.
+ */
+public class HashConsing {
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    // Tabla hash de direccionamiento abierto con las expresiones canónicas
+    private Expr[] ranuras;
+    private int cantidad;
+    // Expresiones consultadas y cuántas de ellas se reemplazaron por una existente
+    private int consultas;
+    private int compartidas;
+
+    public HashConsing() {
+        ranuras = new Expr[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Retorna la instancia canónica de la expresión. Sus hijos ya deben ser
+     * canónicos; si no hay una expresión igual en la tabla, la agrega y la
+     * retorna a ella misma.
+     */
+    public Expr compartir(Expr e) {
+        if (e instanceof ArrayLookup) {
+            return e;
+        }
+        consultas++;
+        int h = hash(e);
+        int mascara = ranuras.length - 1;
+        int r = mezclar(h) & mascara;
+        while (ranuras[r] != null) {
+            Expr otra = ranuras[r];
+            if (otra.hashEstructural == h && iguales(otra, e)) {
+                compartidas++;
+                return otra;
+            }
+            r = (r + 1) & mascara;
+        }
+        e.hashEstructural = h;
+        ranuras[r] = e;
+        cantidad++;
+        // Se mantiene la tabla como mucho a la mitad de su capacidad
+        if (cantidad * 2 > ranuras.length) {
+            redimensionar();
+        }
+        return e;
+    }
+
+    /**
+     * Reemplaza cada expresión del programa por su instancia canónica.
+     */
+    public void compartir(Goal g) {
+        new Reemplazo().visit(g, null);
+    }
+
+    /**
+     * Retorna la cantidad de expresiones distintas en la tabla.
+     */
+    public int size() {
+        return cantidad;
+    }
+
+    public int getConsultas() {
+        return consultas;
+    }
+
+    public int getCompartidas() {
+        return compartidas;
+    }
+
+    // ========== IGUALDAD Y HASH ==========
+
+    private static int hash(Expr e) {
+        int h = e.getKind().ordinal();
+        if (e instanceof IntegerLiteral) {
+            h = 31 * h + ((IntegerLiteral) e).i;
+        } else if (e instanceof IdentifierExpr) {
+            h = 31 * h + ((IdentifierExpr) e).s.hashCode();
+        } else if (e instanceof NewObject) {
+            h = 31 * h + ((NewObject) e).i.s.hashCode();
+        } else if (e instanceof NewArray) {
+            h = 31 * h + hashHijo(((NewArray) e).e);
+        } else if (e instanceof ArrayLength) {
+            h = 31 * h + hashHijo(((ArrayLength) e).e);
+        } else if (e instanceof Call) {
+            Call c = (Call) e;
+            h = 31 * h + hashHijo(c.e);
+            h = 31 * h + c.i.s.hashCode();
+            for (int i = 0; i < c.el.size(); i++) {
+                h = 31 * h + hashHijo(c.el.get(i));
+            }
+        } else if (!(e instanceof This)) {
+            h = 31 * h + hashHijo(izquierdo(e));
+            h = 31 * h + hashHijo(derecho(e));
+        }
+        // 0 marca un nodo que no pasó por la tabla
+        return h != 0 ? h : 1;
+    }
+
+    /**
+     * Hash de un hijo ya canónico; un ArrayLookup solo es igual a sí mismo.
+     */
+    private static int hashHijo(Expr e) {
+        return e.hashEstructural != 0 ? e.hashEstructural : System.identityHashCode(e);
+    }
+
+    private static boolean iguales(Expr a, Expr b) {
+        if (a.getKind() != b.getKind()) {
+            return false;
+        }
+        if (a instanceof IntegerLiteral) {
+            return ((IntegerLiteral) a).i == ((IntegerLiteral) b).i;
+        }
+        if (a instanceof IdentifierExpr) {
+            return ((IdentifierExpr) a).s.equals(((IdentifierExpr) b).s);
+        }
+        if (a instanceof This) {
+            return true;
+        }
+        if (a instanceof NewObject) {
+            return ((NewObject) a).i.s.equals(((NewObject) b).i.s);
+        }
+        if (a instanceof NewArray) {
+            return ((NewArray) a).e == ((NewArray) b).e;
+        }
+        if (a instanceof ArrayLength) {
+            return ((ArrayLength) a).e == ((ArrayLength) b).e;
+        }
+        if (a instanceof Call) {
+            Call c = (Call) a;
+            Call d = (Call) b;
+            if (c.e != d.e || !c.i.s.equals(d.i.s) || c.el.size() != d.el.size()) {
+                return false;
+            }
+            for (int i = 0; i < c.el.size(); i++) {
+                if (c.el.get(i) != d.el.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return izquierdo(a) == izquierdo(b) && derecho(a) == derecho(b);
+    }
+
+    private static Expr izquierdo(Expr e) {
+        switch (e.getKind()) {
+            case AND: return ((And) e).e1;
+            case OR: return ((Or) e).e1;
+            case EQUAL: return ((Equal) e).e1;
+            case NOT_EQUAL: return ((NotEqual) e).e1;
+            case LESS_THAN: return ((LessThan) e).e1;
+            case MORE_THAN: return ((MoreThan) e).e1;
+            case PLUS: return ((Plus) e).e1;
+            case MINUS: return ((Minus) e).e1;
+            case MULT: return ((Mult) e).e1;
+            default: return ((Div) e).e1;
+        }
+    }
+
+    private static Expr derecho(Expr e) {
+        switch (e.getKind()) {
+            case AND: return ((And) e).e2;
+            case OR: return ((Or) e).e2;
+            case EQUAL: return ((Equal) e).e2;
+            case NOT_EQUAL: return ((NotEqual) e).e2;
+            case LESS_THAN: return ((LessThan) e).e2;
+            case MORE_THAN: return ((MoreThan) e).e2;
+            case PLUS: return ((Plus) e).e2;
+            case MINUS: return ((Minus) e).e2;
+            case MULT: return ((Mult) e).e2;
+            default: return ((Div) e).e2;
+        }
+    }
+
+    /**
+     * Dispersa los bits del hash para que las claves parecidas no se agrupen.
+     */
+    private static int mezclar(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void redimensionar() {
+        Expr[] anteriores = ranuras;
+        ranuras = new Expr[anteriores.length * 2];
+        int mascara = ranuras.length - 1;
+        for (Expr e : anteriores) {
+            if (e != null) {
+                int r = mezclar(e.hashEstructural) & mascara;
+                while (ranuras[r] != null) {
+                    r = (r + 1) & mascara;
+                }
+                ranuras[r] = e;
+            }
+        }
+    }
+
+    // ========== RECORRIDO DE UN ÁRBOL CONSTRUIDO ==========
+
+    /**
+     * Reemplaza de abajo hacia arriba los hijos de cada nodo por sus
+     * instancias canónicas. Las expresiones retornan su instancia canónica;
+     * el resto de los nodos se modifica en su lugar.
+     */
+    private class Reemplazo extends ResultVisitorAdapter<Expr, Void> {
+
+        private Expr canonica(Expr e) {
+            return e.accept(this, null);
+        }
+
+        public Expr visit(VarDeclAssign n, Void contexto) {
+            n.e = canonica(n.e);
+            return null;
+        }
+
+        public Expr visit(MethodDecl n, Void contexto) {
+            for (int i = 0; i < n.vl.size(); i++) {
+                n.vl.get(i).accept(this, null);
+            }
+            for (int i = 0; i < n.sl.size(); i++) {
+                n.sl.get(i).accept(this, null);
+            }
+            n.e = canonica(n.e);
+            return null;
+        }
+
+        public Expr visit(If n, Void contexto) {
+            n.e = canonica(n.e);
+            n.s1.accept(this, null);
+            n.s2.accept(this, null);
+            return null;
+        }
+
+        public Expr visit(While n, Void contexto) {
+            n.e = canonica(n.e);
+            n.s.accept(this, null);
+            return null;
+        }
+
+        public Expr visit(Print n, Void contexto) {
+            n.e = canonica(n.e);
+            return null;
+        }
+
+        public Expr visit(Assign n, Void contexto) {
+            n.e = canonica(n.e);
+            return null;
+        }
+
+        public Expr visit(ArrayAssign n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return null;
+        }
+
+        public Expr visit(And n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return compartir(n);
+        }
+
+        public Expr visit(Or n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return compartir(n);
+        }
+
+        public Expr visit(Equal n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return compartir(n);
+        }
+
+        public Expr visit(NotEqual n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return compartir(n);
+        }
+
+        public Expr visit(LessThan n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return compartir(n);
+        }
+
+        public Expr visit(MoreThan n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return compartir(n);
+        }
+
+        public Expr visit(Plus n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return compartir(n);
+        }
+
+        public Expr visit(Minus n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return compartir(n);
+        }
+
+        public Expr visit(Mult n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return compartir(n);
+        }
+
+        public Expr visit(Div n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return compartir(n);
+        }
+
+        public Expr visit(ArrayLookup n, Void contexto) {
+            n.e1 = canonica(n.e1);
+            n.e2 = canonica(n.e2);
+            return n;
+        }
+
+        public Expr visit(ArrayLength n, Void contexto) {
+            n.e = canonica(n.e);
+            return compartir(n);
+        }
+
+        public Expr visit(Call n, Void contexto) {
+            n.e = canonica(n.e);
+            for (int i = 0; i < n.el.size(); i++) {
+                n.el.set(i, canonica(n.el.get(i)));
+            }
+            return compartir(n);
+        }
+
+        public Expr visit(NewArray n, Void contexto) {
+            n.e = canonica(n.e);
+            return compartir(n);
+        }
+
+        public Expr visit(IntegerLiteral n, Void contexto) {
+            return compartir(n);
+        }
+
+        public Expr visit(IdentifierExpr n, Void contexto) {
+            return compartir(n);
+        }
+
+        public Expr visit(This n, Void contexto) {
+            return compartir(n);
+        }
+
+        public Expr visit(NewObject n, Void contexto) {
+            return compartir(n);
+        }
+    }
+}
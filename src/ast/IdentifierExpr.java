@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class IdentifierExpr extends Expr {
 	public String s;
 
@@ -8,4 +11,16 @@ public class IdentifierExpr extends Expr {
 		s = as;
 	}
 
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.IDENTIFIER_EXPR;
+	}
+
 }
@@ -1,9 +1,24 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class IntArrayType extends Type {
 
 	public IntArrayType(int line) {
 		super(line);
 	}
 
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.INT_ARRAY_TYPE;
+	}
+
 }
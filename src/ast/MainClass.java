@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class MainClass extends Node {
 	public Identifier i1;
 	public Identifier i2;
@@ -14,4 +17,16 @@ public class MainClass extends Node {
 		sl = asl;
 	}
 
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.MAIN_CLASS;
+	}
+
 }
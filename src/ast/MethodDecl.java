@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class MethodDecl extends Node {
 	public Type t;
 	public Identifier i;
@@ -18,4 +21,16 @@ public class MethodDecl extends Node {
 		e = ae;
 	}
 
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.METHOD_DECL;
+	}
+
 }
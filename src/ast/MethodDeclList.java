@@ -1,25 +1,17 @@
 package ast;
 
-import java.util.List;
-import java.util.ArrayList;
-
-public class MethodDeclList extends Node {
-	private List<MethodDecl> list;
+public class MethodDeclList extends NodeList<MethodDecl, MethodDeclList> {
 
 	public MethodDeclList(int ln) {
 		super(ln);
-		list = new ArrayList<MethodDecl>();
 	}
 
-	public void add(MethodDecl n) {
-		list.add(n);
+	protected MethodDeclList nueva(int ln) {
+		return new MethodDeclList(ln);
 	}
 
-	public MethodDecl get(int i) {
-		return list.get(i);
+	public NodeKind getKind() {
+		return NodeKind.METHOD_DECL_LIST;
 	}
 
-	public int size() {
-		return list.size();
-	}
 }
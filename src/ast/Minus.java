@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class Minus extends Expr {
 	public Expr e1;
 	public Expr e2;
@@ -10,4 +13,16 @@ public class Minus extends Expr {
 		e2 = ae2;
 	}
 
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.MINUS;
+	}
+
 }
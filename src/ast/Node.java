@@ -1,10 +1,74 @@
 package ast;
 
 public abstract class Node {
+	// Valor de span de un nodo que no viene de la entrada (o de una lista vacía)
+	public static final long SIN_SPAN = -1L;
 
 	public int line;
 
+	// Rango [inicio, fin) en caracteres de la entrada: inicio en los 32 bits altos, fin en los bajos
+	public long span;
+
+	// Huella estructural del subárbol, calculada la primera vez que se pide
+	Fingerprint huella;
+
+	// Número del nodo y de su padre en la última NodeNumbering que lo recorrió
+	int id = NodeNumbering.SIN_ID;
+	int idPadre = NodeNumbering.SIN_ID;
+
+	// Verdadero si el nodo ya pertenece a una AstSnapshot
+	boolean congelado;
+
 	public Node(int line) {
 		this.line = line;
+		this.span = SIN_SPAN;
+	}
+
+	public static long span(int inicio, int fin) {
+		return ((long) inicio << 32) | (fin & 0xFFFFFFFFL);
 	}
+
+	public boolean tieneSpan() {
+		return span != SIN_SPAN;
+	}
+
+	public int getInicio() {
+		return (int) (span >>> 32);
+	}
+
+	public int getFin() {
+		return (int) span;
+	}
+
+	public void setSpan(int inicio, int fin) {
+		span = span(inicio, fin);
+	}
+
+	/**
+	 * Retorna la huella estructural de 128 bits del subárbol, sin líneas ni
+	 * spans (ver Fingerprint).
+	 */
+	public Fingerprint getFingerprint() {
+		if (huella == null) {
+			huella = Fingerprint.calcular(this);
+		}
+		return huella;
+	}
+
+	/**
+	 * Retorna el número que le asignó NodeNumbering, o SIN_ID si nunca se
+	 * numeró.
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Retorna el número del padre, o SIN_ID en la raíz de la numeración.
+	 */
+	public int getIdPadre() {
+		return idPadre;
+	}
+
+	public abstract NodeKind getKind();
 }
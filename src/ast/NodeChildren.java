@@ -0,0 +1,193 @@
+package ast;
+
+/**
+ * Recorrido genérico de los hijos directos de un nodo, listas incluidas, en
+ * el mismo orden que ArenaAst. Lo comparten las pasadas del paquete que
+ * tratan a todos los nodos por igual (Fingerprint, NodeNumbering y
+ * AstSnapshot) en vez de escribir un visitante completo cada una.
+ */
+final class NodeChildren {
+
+    /**
+     * Recibe cada hijo de un nodo; los hijos ausentes llegan como null.
+     */
+    interface Accion {
+        void hijo(Node n);
+    }
+
+    private NodeChildren() {
+    }
+
+    /**
+     * Pasa cada hijo del nodo a la acción.
+     */
+    static void recorrer(Node n, Accion accion) {
+        switch (n.getKind()) {
+            case GOAL: {
+                Goal g = (Goal) n;
+                accion.hijo(g.m);
+                accion.hijo(g.cl);
+                return;
+            }
+            case MAIN_CLASS: {
+                MainClass m = (MainClass) n;
+                accion.hijo(m.i1);
+                accion.hijo(m.i2);
+                accion.hijo(m.vl);
+                accion.hijo(m.sl);
+                return;
+            }
+            case CLASS_DECL_SIMPLE: {
+                ClassDeclSimple c = (ClassDeclSimple) n;
+                accion.hijo(c.i);
+                accion.hijo(c.vl);
+                accion.hijo(c.ml);
+                return;
+            }
+            case CLASS_DECL_EXTENDS: {
+                ClassDeclExtends c = (ClassDeclExtends) n;
+                accion.hijo(c.i);
+                accion.hijo(c.j);
+                accion.hijo(c.vl);
+                accion.hijo(c.ml);
+                return;
+            }
+            case VAR_DECL_SIMPLE: {
+                VarDeclSimple d = (VarDeclSimple) n;
+                accion.hijo(d.t);
+                accion.hijo(d.i);
+                return;
+            }
+            case VAR_DECL_ASSIGN: {
+                VarDeclAssign d = (VarDeclAssign) n;
+                accion.hijo(d.t);
+                accion.hijo(d.i);
+                accion.hijo(d.e);
+                return;
+            }
+            case METHOD_DECL: {
+                MethodDecl m = (MethodDecl) n;
+                accion.hijo(m.t);
+                accion.hijo(m.i);
+                accion.hijo(m.fl);
+                accion.hijo(m.vl);
+                accion.hijo(m.sl);
+                accion.hijo(m.e);
+                return;
+            }
+            case PARAM: {
+                Param p = (Param) n;
+                accion.hijo(p.t);
+                accion.hijo(p.i);
+                return;
+            }
+            case BLOCK:
+                accion.hijo(((Block) n).sl);
+                return;
+            case IF: {
+                If s = (If) n;
+                accion.hijo(s.e);
+                accion.hijo(s.s1);
+                accion.hijo(s.s2);
+                return;
+            }
+            case WHILE: {
+                While s = (While) n;
+                accion.hijo(s.e);
+                accion.hijo(s.s);
+                return;
+            }
+            case PRINT:
+                accion.hijo(((Print) n).e);
+                return;
+            case ASSIGN: {
+                Assign s = (Assign) n;
+                accion.hijo(s.i);
+                accion.hijo(s.e);
+                return;
+            }
+            case ARRAY_ASSIGN: {
+                ArrayAssign s = (ArrayAssign) n;
+                accion.hijo(s.i);
+                accion.hijo(s.e1);
+                accion.hijo(s.e2);
+                return;
+            }
+            case AND:
+                accion.hijo(((And) n).e1);
+                accion.hijo(((And) n).e2);
+                return;
+            case OR:
+                accion.hijo(((Or) n).e1);
+                accion.hijo(((Or) n).e2);
+                return;
+            case EQUAL:
+                accion.hijo(((Equal) n).e1);
+                accion.hijo(((Equal) n).e2);
+                return;
+            case NOT_EQUAL:
+                accion.hijo(((NotEqual) n).e1);
+                accion.hijo(((NotEqual) n).e2);
+                return;
+            case LESS_THAN:
+                accion.hijo(((LessThan) n).e1);
+                accion.hijo(((LessThan) n).e2);
+                return;
+            case MORE_THAN:
+                accion.hijo(((MoreThan) n).e1);
+                accion.hijo(((MoreThan) n).e2);
+                return;
+            case PLUS:
+                accion.hijo(((Plus) n).e1);
+                accion.hijo(((Plus) n).e2);
+                return;
+            case MINUS:
+                accion.hijo(((Minus) n).e1);
+                accion.hijo(((Minus) n).e2);
+                return;
+            case MULT:
+                accion.hijo(((Mult) n).e1);
+                accion.hijo(((Mult) n).e2);
+                return;
+            case DIV:
+                accion.hijo(((Div) n).e1);
+                accion.hijo(((Div) n).e2);
+                return;
+            case ARRAY_LOOKUP:
+                accion.hijo(((ArrayLookup) n).e1);
+                accion.hijo(((ArrayLookup) n).e2);
+                return;
+            case ARRAY_LENGTH:
+                accion.hijo(((ArrayLength) n).e);
+                return;
+            case CALL: {
+                Call c = (Call) n;
+                accion.hijo(c.e);
+                accion.hijo(c.i);
+                accion.hijo(c.el);
+                return;
+            }
+            case NEW_ARRAY:
+                accion.hijo(((NewArray) n).e);
+                return;
+            case NEW_OBJECT:
+                accion.hijo(((NewObject) n).i);
+                return;
+            case CLASS_DECL_LIST:
+            case VAR_DECL_LIST:
+            case METHOD_DECL_LIST:
+            case PARAM_LIST:
+            case STATEMENT_LIST:
+            case EXPR_LIST: {
+                NodeList<?, ?> l = (NodeList<?, ?>) n;
+                for (int i = 0; i < l.size(); i++) {
+                    accion.hijo(l.get(i));
+                }
+                return;
+            }
+            default:
+                // Tipos, literales, identificadores y This no tienen hijos
+                return;
+        }
+    }
+}
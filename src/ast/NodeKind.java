@@ -0,0 +1,51 @@
+package ast;
+
+/**
+ * Tipo concreto de cada nodo del AST, para despachar con un switch en lugar
+ * de una cadena de instanceof. El orden sigue al de la interfaz Visitor,
+ * seguido de las listas.
+ */
+public enum NodeKind {
+	GOAL,
+	MAIN_CLASS,
+	CLASS_DECL_SIMPLE,
+	CLASS_DECL_EXTENDS,
+	VAR_DECL_SIMPLE,
+	VAR_DECL_ASSIGN,
+	METHOD_DECL,
+	PARAM,
+	INT_ARRAY_TYPE,
+	INT_TYPE,
+	CLASS_TYPE,
+	BLOCK,
+	IF,
+	WHILE,
+	PRINT,
+	ASSIGN,
+	ARRAY_ASSIGN,
+	AND,
+	OR,
+	EQUAL,
+	NOT_EQUAL,
+	LESS_THAN,
+	MORE_THAN,
+	PLUS,
+	MINUS,
+	MULT,
+	DIV,
+	ARRAY_LOOKUP,
+	ARRAY_LENGTH,
+	CALL,
+	INTEGER_LITERAL,
+	IDENTIFIER_EXPR,
+	THIS,
+	NEW_ARRAY,
+	NEW_OBJECT,
+	IDENTIFIER,
+	CLASS_DECL_LIST,
+	VAR_DECL_LIST,
+	METHOD_DECL_LIST,
+	PARAM_LIST,
+	STATEMENT_LIST,
+	EXPR_LIST
+}
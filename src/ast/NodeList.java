@@ -0,0 +1,94 @@
+package ast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base de las listas del AST. Mientras se construye el árbol los elementos
+ * están en un ArrayList; AstSnapshot congela la lista en un PersistentVector
+ * y desde entonces add, set y remove lanzan UnsupportedOperationException.
+ * Las versiones modificadas de una lista congelada se obtienen con con(),
+ * mas() y sin(), que retornan una lista nueva de la misma clase y comparten
+ * con esta los tramos sin cambios.
+ *
+ * @param <T> Tipo de los elementos
+ * @param <L> Clase concreta de la lista, que retornan con(), mas() y sin()
+ */
+public abstract class NodeList<T extends Node, L extends NodeList<T, L>> extends Node {
+	private List<T> list;
+
+	protected NodeList(int ln) {
+		super(ln);
+		list = new ArrayList<T>();
+	}
+
+	public void add(T n) {
+		list.add(n);
+	}
+
+	public T get(int i) {
+		return list.get(i);
+	}
+
+	public void set(int i, T n) {
+		list.set(i, n);
+	}
+
+	public int size() {
+		return list.size();
+	}
+
+	public void remove(int i) {
+		list.remove(i);
+	}
+
+	// ========== VERSIONES INMUTABLES ==========
+
+	void congelar() {
+		list = vector();
+	}
+
+	public boolean estaCongelada() {
+		return list instanceof PersistentVector;
+	}
+
+	public L con(int i, T n) {
+		return derivar(vector().con(i, n));
+	}
+
+	public L mas(T n) {
+		return derivar(vector().mas(n));
+	}
+
+	public L sin(int i) {
+		return derivar(vector().sin(i));
+	}
+
+	/**
+	 * Retorna una lista inmutable de la misma clase, con la línea y el span
+	 * de esta, que contiene los elementos dados. Sirve para armar de una vez
+	 * una versión con varios cambios, en vez de encadenar sin(), que copia
+	 * el vector entero cada vez.
+	 */
+	public L conElementos(List<? extends T> elementos) {
+		return derivar(PersistentVector.de(elementos));
+	}
+
+	private PersistentVector<T> vector() {
+		return estaCongelada() ? (PersistentVector<T>) list : PersistentVector.de(list);
+	}
+
+	private L derivar(PersistentVector<T> v) {
+		L l = nueva(line);
+		NodeList<T, L> base = l;
+		base.span = span;
+		base.list = v;
+		return l;
+	}
+
+	/**
+	 * Crea una lista vacía de la misma clase, que derivar() llena con los
+	 * elementos de la versión nueva.
+	 */
+	protected abstract L nueva(int ln);
+}
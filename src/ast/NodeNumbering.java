@@ -0,0 +1,137 @@
+package ast;
+
+import java.util.Arrays;
+
+/**
+ * Numeración densa de los nodos de un árbol, listas incluidas, hecha en un
+ * solo recorrido en preorden después del parseo. Cada nodo guarda su número
+ * y el de su padre (Node.getId() y Node.getIdPadre()), de modo que un
+ * análisis puede guardar sus datos por nodo en arreglos de primitivos
+ * indexados por número en vez de un IdentityHashMap. Como es preorden, el
+ * padre siempre tiene un número menor que sus hijos, y los nodos de un
+ * subárbol tienen números consecutivos a partir del de su raíz.
+ *
+ * El recorrido usa una pila propia, así que no depende de la profundidad
+ * del árbol. Un nodo compartido por hash-consing se numera una sola vez,
+ * con el padre de su primera aparición, y no se cuenta en los subárboles
+ * de las demás. Los números dejan de valer si el árbol se modifica; hay
+ * que volver a numerarlo.
+ */
+public final class NodeNumbering {
+    public static final int SIN_ID = -1;
+
+    // Nodo de cada número
+    private Node[] nodos;
+    private int[] padres;
+    private int cantidad;
+
+    // Pila de nodos pendientes con el número de su padre
+    private Node[] pila = new Node[64];
+    private int[] pilaPadres = new int[64];
+    private int tope;
+    // Hijos del nodo actual, en orden, antes de apilarlos
+    private Node[] hijos = new Node[16];
+    private int cantidadHijos;
+    private final NodeChildren.Accion recolectar = this::agregarHijo;
+
+    private NodeNumbering(int capacidad) {
+        nodos = new Node[capacidad];
+        padres = new int[capacidad];
+    }
+
+    /**
+     * Numera todos los nodos alcanzables desde la raíz, que recibe el 0.
+     */
+    public static NodeNumbering numerar(Node raiz) {
+        NodeNumbering numeracion = new NodeNumbering(1024);
+        numeracion.recorrer(raiz);
+        return numeracion;
+    }
+
+    private void recorrer(Node raiz) {
+        apilar(raiz, SIN_ID);
+        while (tope > 0) {
+            tope--;
+            Node n = pila[tope];
+            int padre = pilaPadres[tope];
+            pila[tope] = null;
+            if (numerado(n)) {
+                continue;
+            }
+            int id = agregar(n, padre);
+            cantidadHijos = 0;
+            NodeChildren.recorrer(n, recolectar);
+            // Se apilan al revés para sacarlos en el orden del programa
+            for (int i = cantidadHijos - 1; i >= 0; i--) {
+                apilar(hijos[i], id);
+                hijos[i] = null;
+            }
+        }
+    }
+
+    private void agregarHijo(Node n) {
+        if (n == null) {
+            return;
+        }
+        if (cantidadHijos == hijos.length) {
+            hijos = Arrays.copyOf(hijos, cantidadHijos * 2);
+        }
+        hijos[cantidadHijos++] = n;
+    }
+
+    private void apilar(Node n, int padre) {
+        if (tope == pila.length) {
+            pila = Arrays.copyOf(pila, tope * 2);
+            pilaPadres = Arrays.copyOf(pilaPadres, tope * 2);
+        }
+        pila[tope] = n;
+        pilaPadres[tope] = padre;
+        tope++;
+    }
+
+    /**
+     * Indica si el nodo ya recibió un número en esta numeración; el que trae
+     * de una anterior no cuenta.
+     */
+    private boolean numerado(Node n) {
+        return n.id >= 0 && n.id < cantidad && nodos[n.id] == n;
+    }
+
+    private int agregar(Node n, int padre) {
+        if (cantidad == nodos.length) {
+            nodos = Arrays.copyOf(nodos, cantidad * 2);
+            padres = Arrays.copyOf(padres, cantidad * 2);
+        }
+        n.id = cantidad;
+        n.idPadre = padre;
+        nodos[cantidad] = n;
+        padres[cantidad] = padre;
+        return cantidad++;
+    }
+
+    /**
+     * Retorna la cantidad de nodos numerados; los números van de 0 a size() - 1.
+     */
+    public int size() {
+        return cantidad;
+    }
+
+    public Node getNodo(int id) {
+        return nodos[id];
+    }
+
+    /**
+     * Retorna el número del padre del nodo, o SIN_ID para la raíz.
+     */
+    public int getPadre(int id) {
+        return padres[id];
+    }
+
+    /**
+     * Retorna el padre de un nodo de esta numeración, o null para la raíz.
+     */
+    public Node getNodoPadre(Node n) {
+        int padre = padres[n.id];
+        return padre == SIN_ID ? null : nodos[padre];
+    }
+}
@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class Param extends Node {
 	public Type t;
 	public Identifier i;
@@ -9,4 +12,17 @@ public class Param extends Node {
 		t = at;
 		i = ai;
 	}
+
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.PARAM;
+	}
+
 }
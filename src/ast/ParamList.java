@@ -1,25 +1,17 @@
 package ast;
 
-import java.util.List;
-import java.util.ArrayList;
-
-public class ParamList extends Node {
-	private List<Param> list;
+public class ParamList extends NodeList<Param, ParamList> {
 
 	public ParamList(int ln) {
 		super(ln);
-		list = new ArrayList<Param>();
 	}
 
-	public void add(Param n) {
-		list.add(n);
+	protected ParamList nueva(int ln) {
+		return new ParamList(ln);
 	}
 
-	public Param get(int i) {
-		return list.get(i);
+	public NodeKind getKind() {
+		return NodeKind.PARAM_LIST;
 	}
 
-	public int size() {
-		return list.size();
-	}
 }
@@ -0,0 +1,200 @@
+package ast;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lista inmutable con actualizaciones persistentes: con(), mas() y sin()
+ * retornan una lista nueva y dejan esta intacta. Es un árbol de arreglos de
+ * 32 posiciones con los últimos elementos aparte (la cola), como el vector
+ * de Clojure. Cambiar un elemento copia solo el camino desde la raíz hasta
+ * su hoja, y agregar al final copia casi siempre solo la cola, así que las
+ * dos versiones comparten el resto. sin() reconstruye la lista completa.
+ *
+ * Los métodos de List que modifican la lista lanzan
+ * UnsupportedOperationException, y una vez construida se puede leer desde
+ * varios hilos sin sincronizar.
+ */
+public final class PersistentVector<T> extends AbstractList<T> {
+    private static final int BITS = 5;
+    private static final int ANCHO = 1 << BITS;
+    private static final int MASCARA = ANCHO - 1;
+    private static final Object[] VACIO = new Object[0];
+
+    private final int cantidad;
+    // Bits del índice que consume el nivel de la raíz; las hojas están en el nivel 0
+    private final int desplazamiento;
+    private final Object[] raiz;
+    private final Object[] cola;
+
+    private PersistentVector(int cantidad, int desplazamiento, Object[] raiz, Object[] cola) {
+        this.cantidad = cantidad;
+        this.desplazamiento = desplazamiento;
+        this.raiz = raiz;
+        this.cola = cola;
+    }
+
+    public static <T> PersistentVector<T> vacio() {
+        return new PersistentVector<>(0, BITS, new Object[ANCHO], VACIO);
+    }
+
+    /**
+     * Construye el vector con los elementos de la lista, armando las hojas
+     * y los niveles de una vez.
+     */
+    public static <T> PersistentVector<T> de(List<? extends T> elementos) {
+        int n = elementos.size();
+        int enArbol = inicioCola(n);
+        Object[] cola = new Object[n - enArbol];
+        for (int i = enArbol; i < n; i++) {
+            cola[i - enArbol] = elementos.get(i);
+        }
+        Object[][] nodos = new Object[enArbol / ANCHO][];
+        for (int h = 0; h < nodos.length; h++) {
+            nodos[h] = new Object[ANCHO];
+            for (int i = 0; i < ANCHO; i++) {
+                nodos[h][i] = elementos.get(h * ANCHO + i);
+            }
+        }
+        int desplazamiento = BITS;
+        while (nodos.length > ANCHO) {
+            Object[][] padres = new Object[(nodos.length + MASCARA) / ANCHO][];
+            for (int p = 0; p < padres.length; p++) {
+                padres[p] = new Object[ANCHO];
+                for (int i = 0; i < ANCHO && p * ANCHO + i < nodos.length; i++) {
+                    padres[p][i] = nodos[p * ANCHO + i];
+                }
+            }
+            nodos = padres;
+            desplazamiento += BITS;
+        }
+        Object[] raiz = new Object[ANCHO];
+        System.arraycopy(nodos, 0, raiz, 0, nodos.length);
+        return new PersistentVector<>(n, desplazamiento, raiz, cola);
+    }
+
+    /**
+     * Índice del primer elemento de la cola en un vector de n elementos.
+     */
+    private static int inicioCola(int n) {
+        return n < ANCHO ? 0 : ((n - 1) >>> BITS) << BITS;
+    }
+
+    public int size() {
+        return cantidad;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        return (T) hoja(i)[i & MASCARA];
+    }
+
+    private Object[] hoja(int i) {
+        if (i < 0 || i >= cantidad) {
+            throw new IndexOutOfBoundsException("Indice " + i + " en un vector de " + cantidad);
+        }
+        if (i >= inicioCola(cantidad)) {
+            return cola;
+        }
+        Object[] nodo = raiz;
+        for (int nivel = desplazamiento; nivel > 0; nivel -= BITS) {
+            nodo = (Object[]) nodo[(i >>> nivel) & MASCARA];
+        }
+        return nodo;
+    }
+
+    /**
+     * Retorna un vector igual a este pero con x en la posición i.
+     */
+    public PersistentVector<T> con(int i, T x) {
+        if (i < 0 || i >= cantidad) {
+            throw new IndexOutOfBoundsException("Indice " + i + " en un vector de " + cantidad);
+        }
+        if (i >= inicioCola(cantidad)) {
+            Object[] nuevaCola = cola.clone();
+            nuevaCola[i & MASCARA] = x;
+            return new PersistentVector<>(cantidad, desplazamiento, raiz, nuevaCola);
+        }
+        return new PersistentVector<>(cantidad, desplazamiento, asignar(desplazamiento, raiz, i, x), cola);
+    }
+
+    private static Object[] asignar(int nivel, Object[] nodo, int i, Object x) {
+        Object[] copia = nodo.clone();
+        if (nivel == 0) {
+            copia[i & MASCARA] = x;
+        } else {
+            int sub = (i >>> nivel) & MASCARA;
+            copia[sub] = asignar(nivel - BITS, (Object[]) nodo[sub], i, x);
+        }
+        return copia;
+    }
+
+    /**
+     * Retorna un vector igual a este con x agregado al final.
+     */
+    public PersistentVector<T> mas(T x) {
+        if (cantidad - inicioCola(cantidad) < ANCHO) {
+            Object[] nuevaCola = Arrays.copyOf(cola, cola.length + 1);
+            nuevaCola[cola.length] = x;
+            return new PersistentVector<>(cantidad + 1, desplazamiento, raiz, nuevaCola);
+        }
+        // La cola está llena: pasa al árbol como una hoja nueva
+        Object[] nuevaRaiz;
+        int nuevoDesplazamiento = desplazamiento;
+        if ((cantidad >>> BITS) > (1 << desplazamiento)) {
+            nuevaRaiz = new Object[ANCHO];
+            nuevaRaiz[0] = raiz;
+            nuevaRaiz[1] = camino(desplazamiento, cola);
+            nuevoDesplazamiento += BITS;
+        } else {
+            nuevaRaiz = empujarCola(desplazamiento, raiz);
+        }
+        return new PersistentVector<>(cantidad + 1, nuevoDesplazamiento, nuevaRaiz, new Object[] { x });
+    }
+
+    private Object[] empujarCola(int nivel, Object[] padre) {
+        int sub = ((cantidad - 1) >>> nivel) & MASCARA;
+        Object[] copia = padre.clone();
+        if (nivel == BITS) {
+            copia[sub] = cola;
+        } else {
+            Object[] hijo = (Object[]) padre[sub];
+            copia[sub] = hijo != null ? empujarCola(nivel - BITS, hijo) : camino(nivel - BITS, cola);
+        }
+        return copia;
+    }
+
+    /**
+     * Cadena de nodos con un solo hijo desde el nivel dado hasta la hoja.
+     */
+    private static Object[] camino(int nivel, Object[] hoja) {
+        if (nivel == 0) {
+            return hoja;
+        }
+        Object[] nodo = new Object[ANCHO];
+        nodo[0] = camino(nivel - BITS, hoja);
+        return nodo;
+    }
+
+    /**
+     * Retorna un vector igual a este sin el elemento de la posición i.
+     */
+    public PersistentVector<T> sin(int i) {
+        if (i < 0 || i >= cantidad) {
+            throw new IndexOutOfBoundsException("Indice " + i + " en un vector de " + cantidad);
+        }
+        if (i == cantidad - 1 && cola.length > 1) {
+            return new PersistentVector<>(cantidad - 1, desplazamiento, raiz, Arrays.copyOf(cola, cola.length - 1));
+        }
+        Object[] elementos = new Object[cantidad - 1];
+        for (int j = 0, k = 0; j < cantidad; j++) {
+            if (j != i) {
+                elementos[k++] = get(j);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        List<T> resto = (List<T>) Arrays.asList(elementos);
+        return de(resto);
+    }
+}
@@ -1,7 +1,15 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public abstract class Statement extends Node {
 	public Statement(int ln) {
 		super(ln);
 	}
+
+	public abstract void accept(Visitor v);
+
+	public abstract <R, C> R accept(ResultVisitor<R, C> v, C contexto);
+
 }
@@ -1,25 +1,17 @@
 package ast;
 
-import java.util.List;
-import java.util.ArrayList;
-
-public class StatementList extends Node {
-	private List<Statement> list;
+public class StatementList extends NodeList<Statement, StatementList> {
 
 	public StatementList(int ln) {
 		super(ln);
-		list = new ArrayList<Statement>();
 	}
 
-	public void add(Statement n) {
-		list.add(n);
+	protected StatementList nueva(int ln) {
+		return new StatementList(ln);
 	}
 
-	public Statement get(int i) {
-		return list.get(i);
+	public NodeKind getKind() {
+		return NodeKind.STATEMENT_LIST;
 	}
 
-	public int size() {
-		return list.size();
-	}
 }
@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public abstract class VarDecl extends Node {
 
 	public VarDecl(int line) {
@@ -7,4 +10,9 @@ public abstract class VarDecl extends Node {
 		// TODO Auto-generated constructor stub
 	}
 	
+
+	public abstract void accept(Visitor v);
+
+	public abstract <R, C> R accept(ResultVisitor<R, C> v, C contexto);
+
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class VarDeclAssign extends VarDeclSimple {
 	public Expr e;
 
@@ -7,4 +10,17 @@ public class VarDeclAssign extends VarDeclSimple {
 		super(at, ai, ln);
 		e = ae;
 	}
+
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.VAR_DECL_ASSIGN;
+	}
+
 }
\ No newline at end of file
@@ -1,29 +1,17 @@
 package ast;
 
-import java.util.List;
-import java.util.ArrayList;
-
-public class VarDeclList extends Node {
-	private List<VarDecl> list;
+public class VarDeclList extends NodeList<VarDecl, VarDeclList> {
 
 	public VarDeclList(int ln) {
 		super(ln);
-		list = new ArrayList<VarDecl>();
-	}
-
-	public void add(VarDecl n) {
-		list.add(n);
 	}
 
-	public VarDecl get(int i) {
-		return list.get(i);
+	protected VarDeclList nueva(int ln) {
+		return new VarDeclList(ln);
 	}
 
-	public int size() {
-		return list.size();
+	public NodeKind getKind() {
+		return NodeKind.VAR_DECL_LIST;
 	}
 
-	public void remove(int i) {
-		list.remove(i);
-	}
 }
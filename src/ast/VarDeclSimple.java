@@ -1,5 +1,8 @@
 package ast;
 
+import ast.visitor.ResultVisitor;
+import ast.visitor.Visitor;
+
 public class VarDeclSimple extends VarDecl {
 	public Type t;
 	public Identifier i;
@@ -9,4 +12,17 @@ public class VarDeclSimple extends VarDecl {
 		t = at;
 		i = ai;
 	}
+
+	public void accept(Visitor v) {
+		v.visit(this);
+	}
+
+	public <R, C> R accept(ResultVisitor<R, C> v, C contexto) {
+		return v.visit(this, contexto);
+	}
+
+	public NodeKind getKind() {
+		return NodeKind.VAR_DECL_SIMPLE;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,543 @@
+package ast.visitor;
+
+import ast.*;
+import java.util.*;
+
+/**
+ * Visitante que simplifica expresiones aritméticas mediante una tabla de reglas.
+ * Las reglas se aplican de abajo hacia arriba sobre cada expresión: identidades
+ * (x + 0, x * 1, x - x, ...), plegado de constantes y reasociación de
+ * constantes. Además reduce la fuerza de las multiplicaciones por una constante
+ * de una variable de inducción dentro de un while, reemplazándolas por una
+ * variable que se incrementa junto con la variable de inducción.
+ *
+ * Todas las reglas respetan la aritmética de 32 bits de Java: las sumas y
+ * multiplicaciones desbordan de la misma forma antes y después de reescribir,
+ * nunca se pliega una división por cero y solo se eliminan operandos puros.
+ * Cada regla aplicada se registra en un RuleCounter.
+ */
+public class AlgebraicSimplificationVisitor extends RewritingVisitor<Void> {
+
+    /**
+     * Una regla de reescritura: retorna la expresión que reemplaza a e, o null si no aplica.
+     */
+    private interface Regla {
+        Expr aplicar(Expr e);
+    }
+
+    /**
+     * Entrada de la tabla de reglas: nombre, tipo de nodo al que aplica y regla.
+     */
+    private static class EntradaRegla {
+        String nombre;
+        Class<? extends Expr> tipo;
+        Regla regla;
+
+        EntradaRegla(String nombre, Class<? extends Expr> tipo, Regla regla) {
+            this.nombre = nombre;
+            this.tipo = tipo;
+            this.regla = regla;
+        }
+    }
+
+    // Tabla de reglas, en orden de prioridad
+    private List<EntradaRegla> reglas;
+    private RuleCounter contador;
+
+    // Contexto del método que se está recorriendo
+    private Map<String, Type> tiposLocales;
+    // Lista donde la reducción de fuerza agrega sus variables: la del método, o una aparte en COPIA_AL_ESCRIBIR
+    private VarDeclList localesActuales;
+    private FreshNames nombresFrescos;
+    // Multiplicaciones "i*k" a reemplazar por su variable de inducción derivada
+    private Map<String, String> variablesDerivadas;
+
+    public AlgebraicSimplificationVisitor() {
+        this(new RuleCounter());
+    }
+
+    /**
+     * @param contador Contadores donde se registran las reglas aplicadas
+     */
+    public AlgebraicSimplificationVisitor(RuleCounter contador) {
+        this(contador, Modo.EN_SU_LUGAR);
+    }
+
+    /**
+     * @param contador Contadores donde se registran las reglas aplicadas
+     * @param modo COPIA_AL_ESCRIBIR para simplificar una AstSnapshot sin modificarla
+     */
+    public AlgebraicSimplificationVisitor(RuleCounter contador, Modo modo) {
+        super(modo);
+        this.contador = contador;
+        this.reglas = new ArrayList<>();
+        this.variablesDerivadas = new HashMap<>();
+        registrarReglas();
+    }
+
+    public RuleCounter getContador() {
+        return contador;
+    }
+
+    private void agregarRegla(String nombre, Class<? extends Expr> tipo, Regla regla) {
+        reglas.add(new EntradaRegla(nombre, tipo, regla));
+    }
+
+    /**
+     * Construye la tabla de reglas.
+     */
+    private void registrarReglas() {
+        // Plegado de constantes
+        agregarRegla("plegar-suma", Plus.class, e -> {
+            Plus n = (Plus) e;
+            return ambosLiterales(n.e1, n.e2) ? literal(valor(n.e1) + valor(n.e2), n) : null;
+        });
+        agregarRegla("plegar-resta", Minus.class, e -> {
+            Minus n = (Minus) e;
+            return ambosLiterales(n.e1, n.e2) ? literal(valor(n.e1) - valor(n.e2), n) : null;
+        });
+        agregarRegla("plegar-multiplicacion", Mult.class, e -> {
+            Mult n = (Mult) e;
+            return ambosLiterales(n.e1, n.e2) ? literal(valor(n.e1) * valor(n.e2), n) : null;
+        });
+        agregarRegla("plegar-division", Div.class, e -> {
+            Div n = (Div) e;
+            // La división por cero debe seguir fallando en ejecución
+            if (ambosLiterales(n.e1, n.e2) && valor(n.e2) != 0) {
+                return literal(valor(n.e1) / valor(n.e2), n);
+            }
+            return null;
+        });
+        agregarRegla("plegar-comparacion", LessThan.class, e -> {
+            LessThan n = (LessThan) e;
+            return ambosLiterales(n.e1, n.e2) ? booleano(valor(n.e1) < valor(n.e2), n) : null;
+        });
+        agregarRegla("plegar-comparacion", MoreThan.class, e -> {
+            MoreThan n = (MoreThan) e;
+            return ambosLiterales(n.e1, n.e2) ? booleano(valor(n.e1) > valor(n.e2), n) : null;
+        });
+        agregarRegla("plegar-comparacion", Equal.class, e -> {
+            Equal n = (Equal) e;
+            return ambosLiterales(n.e1, n.e2) ? booleano(valor(n.e1) == valor(n.e2), n) : null;
+        });
+        agregarRegla("plegar-comparacion", NotEqual.class, e -> {
+            NotEqual n = (NotEqual) e;
+            return ambosLiterales(n.e1, n.e2) ? booleano(valor(n.e1) != valor(n.e2), n) : null;
+        });
+
+        // Cortocircuito con operandos constantes
+        agregarRegla("and-falso", And.class, e -> {
+            And n = (And) e;
+            if (esLiteral(n.e1, 0) || (esLiteral(n.e2, 0) && SideEffects.esPura(n.e1))) {
+                return literal(0, n);
+            }
+            return ambosLiterales(n.e1, n.e2) ? booleano(true, n) : null;
+        });
+        agregarRegla("or-verdadero", Or.class, e -> {
+            Or n = (Or) e;
+            if (esLiteralNoCero(n.e1) || (esLiteralNoCero(n.e2) && SideEffects.esPura(n.e1))) {
+                return literal(1, n);
+            }
+            return ambosLiterales(n.e1, n.e2) ? booleano(false, n) : null;
+        });
+
+        // La constante de una operación conmutativa pasa a la derecha
+        agregarRegla("constante-a-la-derecha", Plus.class, e -> {
+            Plus n = (Plus) e;
+            return n.e1 instanceof IntegerLiteral && !(n.e2 instanceof IntegerLiteral) ? new Plus(n.e2, n.e1, n.line) : null;
+        });
+        agregarRegla("constante-a-la-derecha", Mult.class, e -> {
+            Mult n = (Mult) e;
+            return n.e1 instanceof IntegerLiteral && !(n.e2 instanceof IntegerLiteral) ? new Mult(n.e2, n.e1, n.line) : null;
+        });
+
+        // Identidades
+        agregarRegla("suma-cero", Plus.class, e -> esLiteral(((Plus) e).e2, 0) ? ((Plus) e).e1 : null);
+        agregarRegla("resta-cero", Minus.class, e -> esLiteral(((Minus) e).e2, 0) ? ((Minus) e).e1 : null);
+        agregarRegla("multiplicacion-uno", Mult.class, e -> esLiteral(((Mult) e).e2, 1) ? ((Mult) e).e1 : null);
+        agregarRegla("division-uno", Div.class, e -> esLiteral(((Div) e).e2, 1) ? ((Div) e).e1 : null);
+        agregarRegla("multiplicacion-cero", Mult.class, e -> {
+            Mult n = (Mult) e;
+            return esLiteral(n.e2, 0) && SideEffects.esPura(n.e1) ? literal(0, n) : null;
+        });
+        agregarRegla("resta-misma-variable", Minus.class, e -> {
+            Minus n = (Minus) e;
+            return mismaVariable(n.e1, n.e2) ? literal(0, n) : null;
+        });
+        agregarRegla("comparacion-misma-variable", LessThan.class, e -> {
+            LessThan n = (LessThan) e;
+            return mismaVariable(n.e1, n.e2) ? literal(0, n) : null;
+        });
+        agregarRegla("comparacion-misma-variable", MoreThan.class, e -> {
+            MoreThan n = (MoreThan) e;
+            return mismaVariable(n.e1, n.e2) ? literal(0, n) : null;
+        });
+        agregarRegla("comparacion-misma-variable", Equal.class, e -> {
+            Equal n = (Equal) e;
+            return mismaVariable(n.e1, n.e2) ? literal(1, n) : null;
+        });
+        agregarRegla("comparacion-misma-variable", NotEqual.class, e -> {
+            NotEqual n = (NotEqual) e;
+            return mismaVariable(n.e1, n.e2) ? literal(0, n) : null;
+        });
+
+        // Reasociación de constantes: (x + c1) + c2 => x + (c1 + c2), etc.
+        agregarRegla("reasociar-constantes", Plus.class, e -> {
+            Plus n = (Plus) e;
+            if (!(n.e2 instanceof IntegerLiteral)) {
+                return null;
+            }
+            if (n.e1 instanceof Plus && ((Plus) n.e1).e2 instanceof IntegerLiteral) {
+                Plus interna = (Plus) n.e1;
+                return new Plus(interna.e1, literal(valor(interna.e2) + valor(n.e2), n), n.line);
+            }
+            if (n.e1 instanceof Minus && ((Minus) n.e1).e2 instanceof IntegerLiteral) {
+                Minus interna = (Minus) n.e1;
+                return new Plus(interna.e1, literal(valor(n.e2) - valor(interna.e2), n), n.line);
+            }
+            return null;
+        });
+        agregarRegla("reasociar-constantes", Minus.class, e -> {
+            Minus n = (Minus) e;
+            if (!(n.e2 instanceof IntegerLiteral)) {
+                return null;
+            }
+            if (n.e1 instanceof Plus && ((Plus) n.e1).e2 instanceof IntegerLiteral) {
+                Plus interna = (Plus) n.e1;
+                return new Plus(interna.e1, literal(valor(interna.e2) - valor(n.e2), n), n.line);
+            }
+            if (n.e1 instanceof Minus && ((Minus) n.e1).e2 instanceof IntegerLiteral) {
+                Minus interna = (Minus) n.e1;
+                return new Minus(interna.e1, literal(valor(interna.e2) + valor(n.e2), n), n.line);
+            }
+            return null;
+        });
+        agregarRegla("reasociar-constantes", Mult.class, e -> {
+            Mult n = (Mult) e;
+            if (n.e2 instanceof IntegerLiteral && n.e1 instanceof Mult && ((Mult) n.e1).e2 instanceof IntegerLiteral) {
+                Mult interna = (Mult) n.e1;
+                return new Mult(interna.e1, literal(valor(interna.e2) * valor(n.e2), n), n.line);
+            }
+            return null;
+        });
+        // x + (-c) => x - c y x - (-c) => x + c, para no generar literales negativos
+        agregarRegla("suma-negativa", Plus.class, e -> {
+            Plus n = (Plus) e;
+            if (n.e2 instanceof IntegerLiteral && valor(n.e2) < 0 && valor(n.e2) != Integer.MIN_VALUE) {
+                return new Minus(n.e1, literal(-valor(n.e2), n), n.line);
+            }
+            return null;
+        });
+        agregarRegla("suma-negativa", Minus.class, e -> {
+            Minus n = (Minus) e;
+            if (n.e2 instanceof IntegerLiteral && valor(n.e2) < 0 && valor(n.e2) != Integer.MIN_VALUE) {
+                return new Plus(n.e1, literal(-valor(n.e2), n), n.line);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Aplica la primera regla de la tabla que corresponda a la expresión y
+     * vuelve a simplificar el resultado. Todas las reglas reducen la expresión
+     * o la dejan en forma normal, por lo que el proceso termina.
+     */
+    private Expr simplificar(Expr e) {
+        for (EntradaRegla entrada : reglas) {
+            if (entrada.tipo == e.getClass()) {
+                Expr reemplazo = entrada.regla.aplicar(e);
+                if (reemplazo != null) {
+                    contador.registrar(entrada.nombre);
+                    return simplificar(reemplazo);
+                }
+            }
+        }
+        return e;
+    }
+
+    // ========== UTILIDADES DE LAS REGLAS ==========
+
+    private static boolean esLiteral(Expr e, int valor) {
+        return e instanceof IntegerLiteral && ((IntegerLiteral) e).i == valor;
+    }
+
+    private static boolean esLiteralNoCero(Expr e) {
+        return e instanceof IntegerLiteral && ((IntegerLiteral) e).i != 0;
+    }
+
+    private static boolean ambosLiterales(Expr e1, Expr e2) {
+        return e1 instanceof IntegerLiteral && e2 instanceof IntegerLiteral;
+    }
+
+    private static int valor(Expr e) {
+        return ((IntegerLiteral) e).i;
+    }
+
+    private static boolean mismaVariable(Expr e1, Expr e2) {
+        return e1 instanceof IdentifierExpr && e2 instanceof IdentifierExpr
+                && ((IdentifierExpr) e1).s.equals(((IdentifierExpr) e2).s);
+    }
+
+    private static IntegerLiteral literal(int valor, Expr origen) {
+        return new IntegerLiteral(valor, origen.line);
+    }
+
+    private static IntegerLiteral booleano(boolean valor, Expr origen) {
+        return new IntegerLiteral(valor ? 1 : 0, origen.line);
+    }
+
+    // ========== RECORRIDO ==========
+
+    public Node visit(Goal n, Void contexto) {
+        nombresFrescos = new FreshNames(n);
+        return super.visit(n, contexto);
+    }
+
+    public Node visit(MainClass n, Void contexto) {
+        localesActuales = listaDeLocales(n.vl);
+        tiposLocales = new HashMap<>();
+        registrarTipos(n.vl);
+        MainClass m = (MainClass) super.visit(n, contexto);
+        if (m.vl == localesActuales || localesActuales.size() == 0) {
+            return m;
+        }
+        return copiar(n, new MainClass(m.i1, m.i2, agregarLocales(m.vl), m.sl, n.line));
+    }
+
+    // Los campos de las clases no se simplifican, solo sus métodos
+
+    public Node visit(ClassDeclSimple n, Void contexto) {
+        MethodDeclList ml = reescribir(n.ml, contexto);
+        return ml == n.ml ? n : copiar(n, new ClassDeclSimple(n.i, n.vl, ml, n.line));
+    }
+
+    public Node visit(ClassDeclExtends n, Void contexto) {
+        MethodDeclList ml = reescribir(n.ml, contexto);
+        return ml == n.ml ? n : copiar(n, new ClassDeclExtends(n.i, n.j, n.vl, ml, n.line));
+    }
+
+    public Node visit(MethodDecl n, Void contexto) {
+        localesActuales = listaDeLocales(n.vl);
+        tiposLocales = new HashMap<>();
+        for (int i = 0; i < n.fl.size(); i++) {
+            tiposLocales.put(n.fl.get(i).i.s, n.fl.get(i).t);
+        }
+        registrarTipos(n.vl);
+        // La reducción de fuerza agrega variables al final de la lista, que ya no se recorren
+        MethodDecl m = (MethodDecl) super.visit(n, contexto);
+        if (m.vl == localesActuales || localesActuales.size() == 0) {
+            return m;
+        }
+        return copiar(n, new MethodDecl(m.t, m.i, m.fl, agregarLocales(m.vl), m.sl, m.e, n.line));
+    }
+
+    /**
+     * En su lugar las variables nuevas van directo a la lista del método; al
+     * copiar se juntan aparte y se agregan con agregarLocales().
+     */
+    private VarDeclList listaDeLocales(VarDeclList vl) {
+        return getModo() == Modo.EN_SU_LUGAR ? vl : new VarDeclList(vl.line);
+    }
+
+    private VarDeclList agregarLocales(VarDeclList vl) {
+        for (int i = 0; i < localesActuales.size(); i++) {
+            vl = vl.mas(localesActuales.get(i));
+        }
+        return vl;
+    }
+
+    private void registrarTipos(VarDeclList vl) {
+        for (int i = 0; i < vl.size(); i++) {
+            VarDeclSimple v = (VarDeclSimple) vl.get(i);
+            tiposLocales.put(v.i.s, v.t);
+        }
+    }
+
+    /**
+     * Visita un while: simplifica la condición y el cuerpo y luego intenta
+     * reducir la fuerza de las multiplicaciones por variables de inducción.
+     */
+    public Node visit(While n, Void contexto) {
+        While w = (While) super.visit(n, contexto);
+        return variablesDerivadas.isEmpty() ? reducirInduccion(w) : w;
+    }
+
+    public Node visit(And n, Void contexto) {
+        return simplificar((Expr) super.visit(n, contexto));
+    }
+
+    public Node visit(Or n, Void contexto) {
+        return simplificar((Expr) super.visit(n, contexto));
+    }
+
+    public Node visit(Equal n, Void contexto) {
+        return simplificar((Expr) super.visit(n, contexto));
+    }
+
+    public Node visit(NotEqual n, Void contexto) {
+        return simplificar((Expr) super.visit(n, contexto));
+    }
+
+    public Node visit(LessThan n, Void contexto) {
+        return simplificar((Expr) super.visit(n, contexto));
+    }
+
+    public Node visit(MoreThan n, Void contexto) {
+        return simplificar((Expr) super.visit(n, contexto));
+    }
+
+    public Node visit(Plus n, Void contexto) {
+        return simplificar((Expr) super.visit(n, contexto));
+    }
+
+    public Node visit(Minus n, Void contexto) {
+        return simplificar((Expr) super.visit(n, contexto));
+    }
+
+    public Node visit(Mult n, Void contexto) {
+        Expr e = simplificar((Expr) super.visit(n, contexto));
+        // Reemplazo de i*k por la variable derivada durante la reducción de fuerza
+        String derivada = variablesDerivadas.get(claveMultiplicacion(e));
+        return derivada != null ? new IdentifierExpr(derivada, e.line) : e;
+    }
+
+    public Node visit(Div n, Void contexto) {
+        return simplificar((Expr) super.visit(n, contexto));
+    }
+
+    // ========== REDUCCIÓN DE FUERZA EN VARIABLES DE INDUCCIÓN ==========
+
+    /**
+     * Reduce la fuerza de las multiplicaciones i * k dentro de un while, donde
+     * i es una variable local entera que el cuerpo actualiza una sola vez, en
+     * su nivel superior, con i = i + c o i = i - c. Cada i * k se reemplaza por
+     * una variable t que se inicializa antes del ciclo y se actualiza con
+     * t = t + c*k inmediatamente después de la actualización de i, de modo que
+     * t == i * k en todo punto donde se lee (también con desbordamiento).
+     * @return El while transformado, precedido por las inicializaciones, o el mismo while
+     */
+    private Statement reducirInduccion(While n) {
+        StatementList cuerpo;
+        if (n.s instanceof Block) {
+            cuerpo = ((Block) n.s).sl;
+        } else {
+            cuerpo = new StatementList(n.s.line);
+            cuerpo.add(n.s);
+        }
+        UsageVisitor usos = UsageVisitor.de(n.s);
+
+        Map<String, String> sustituciones = new HashMap<>();
+        Map<Integer, List<Statement>> actualizaciones = new HashMap<>();
+        StatementList inicializaciones = new StatementList(n.line);
+        for (int j = 0; j < cuerpo.size(); j++) {
+            if (!(cuerpo.get(j) instanceof Assign)) {
+                continue;
+            }
+            Assign a = (Assign) cuerpo.get(j);
+            Integer paso = pasoInduccion(a);
+            if (paso == null || !(tiposLocales.get(a.i.s) instanceof IntType) || usos.getEscrituras(a.i.s) != 1) {
+                continue;
+            }
+            for (int k : factoresDe(n, a.i.s)) {
+                String derivada = nombresFrescos.nuevo(a.i.s + "_por" + (k < 0 ? "m" + (-(long) k) : "" + k), "_");
+                localesActuales.add(new VarDeclSimple(new IntType(n.line), new Identifier(derivada, n.line), n.line));
+                tiposLocales.put(derivada, new IntType(n.line));
+                sustituciones.put(a.i.s + "*" + k, derivada);
+                inicializaciones.add(new Assign(new Identifier(derivada, n.line),
+                        new Mult(new IdentifierExpr(a.i.s, n.line), new IntegerLiteral(k, n.line), n.line), n.line));
+                actualizaciones.computeIfAbsent(j, x -> new ArrayList<>()).add(
+                        incremento(derivada, paso * k, a.line));
+                contador.registrar("reduccion-variable-induccion");
+            }
+        }
+        if (sustituciones.isEmpty()) {
+            return n;
+        }
+        if (getModo() == Modo.COPIA_AL_ESCRIBIR) {
+            // Lo que sigue modifica el while y su cuerpo, que pueden ser del árbol original
+            n = copiar(n, new While(n.e, n.s, n.line));
+            StatementList copia = new StatementList(cuerpo.line);
+            for (int j = 0; j < cuerpo.size(); j++) {
+                copia.add(cuerpo.get(j));
+            }
+            cuerpo = copia;
+        }
+
+        // Reemplazar i * k en la condición y el cuerpo
+        variablesDerivadas = sustituciones;
+        n.e = reescribir(n.e, null);
+        for (int j = 0; j < cuerpo.size(); j++) {
+            cuerpo.set(j, reescribir(cuerpo.get(j), null));
+        }
+        variablesDerivadas = new HashMap<>();
+
+        // Insertar la actualización de cada variable derivada tras la de su variable de inducción
+        StatementList nuevoCuerpo = new StatementList(cuerpo.line);
+        for (int j = 0; j < cuerpo.size(); j++) {
+            nuevoCuerpo.add(cuerpo.get(j));
+            for (Statement s : actualizaciones.getOrDefault(j, new ArrayList<>())) {
+                nuevoCuerpo.add(s);
+            }
+        }
+        n.s = new Block(nuevoCuerpo, n.s.line);
+        inicializaciones.add(n);
+        return new Block(inicializaciones, n.line);
+    }
+
+    /**
+     * Si la asignación es de la forma i = i + c o i = i - c, retorna el paso (con signo).
+     */
+    private static Integer pasoInduccion(Assign a) {
+        if (a.e instanceof Plus) {
+            Plus p = (Plus) a.e;
+            if (p.e1 instanceof IdentifierExpr && ((IdentifierExpr) p.e1).s.equals(a.i.s) && p.e2 instanceof IntegerLiteral) {
+                return valor(p.e2);
+            }
+        } else if (a.e instanceof Minus) {
+            Minus m = (Minus) a.e;
+            if (m.e1 instanceof IdentifierExpr && ((IdentifierExpr) m.e1).s.equals(a.i.s) && m.e2 instanceof IntegerLiteral) {
+                return -valor(m.e2);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Recolecta las constantes k de las multiplicaciones i * k del while.
+     */
+    private static Set<Integer> factoresDe(While n, String variable) {
+        Set<Integer> factores = new TreeSet<>();
+        NodeCounterVisitor recolector = new NodeCounterVisitor() {
+            public void visit(Mult m) {
+                if (m.e1 instanceof IdentifierExpr && ((IdentifierExpr) m.e1).s.equals(variable)
+                        && m.e2 instanceof IntegerLiteral) {
+                    factores.add(valor(m.e2));
+                }
+                super.visit(m);
+            }
+        };
+        recolector.visit(n);
+        return factores;
+    }
+
+    private static String claveMultiplicacion(Expr e) {
+        if (e instanceof Mult && ((Mult) e).e1 instanceof IdentifierExpr && ((Mult) e).e2 instanceof IntegerLiteral) {
+            return ((IdentifierExpr) ((Mult) e).e1).s + "*" + valor(((Mult) e).e2);
+        }
+        return null;
+    }
+
+    /**
+     * Construye t = t + d (o t = t - |d| si d es negativo).
+     */
+    private static Statement incremento(String variable, int d, int linea) {
+        Expr actual = new IdentifierExpr(variable, linea);
+        Expr valor;
+        if (d < 0 && d != Integer.MIN_VALUE) {
+            valor = new Minus(actual, new IntegerLiteral(-d, linea), linea);
+        } else {
+            valor = new Plus(actual, new IntegerLiteral(d, linea), linea);
+        }
+        return new Assign(new Identifier(variable, linea), valor, linea);
+    }
+}
@@ -0,0 +1,21 @@
+package ast.visitor;
+
+import ast.ArenaAst;
+
+/**
+ * Visitante de un ArenaAst. Los nodos se identifican por su índice y se
+ * consultan con los métodos del árbol; el tipo se obtiene con getTipo.
+ */
+public interface ArenaVisitor {
+	/**
+	 * Se llama antes de visitar los hijos del nodo.
+	 * @return false para no visitar sus hijos
+	 */
+	public boolean entrar(ArenaAst a, int nodo);
+
+	/**
+	 * Se llama después de visitar los hijos del nodo.
+	 */
+	public default void salir(ArenaAst a, int nodo) {
+	}
+}
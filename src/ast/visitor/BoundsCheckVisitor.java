@@ -0,0 +1,417 @@
+package ast.visitor;
+
+import ast.*;
+import java.util.*;
+
+/**
+ * Análisis de rangos que prueba que ciertos accesos a arreglos dentro de un
+ * while están dentro de los límites, y los marca con indiceSeguro para que un
+ * generador de código o un evaluador pueda omitir la verificación.
+ *
+ * Para un ciclo while (... i < a.length ...) se prueba que a[i] está en rango
+ * cuando:
+ *  - i es una variable local o parámetro, y la asignación más cercana antes del
+ *    ciclo le da un literal mayor o igual a cero;
+ *  - la única escritura de i en el ciclo es i = i + 1, en el nivel superior del
+ *    cuerpo, de modo que i nunca decrece ni desborda;
+ *  - a no se reasigna en el ciclo (si a es un campo, el ciclo no contiene llamadas);
+ *  - el acceso ocurre antes del incremento, o en la condición después de la
+ *    comparación (por el cortocircuito de &&).
+ */
+public class BoundsCheckVisitor implements Visitor {
+    // Registro de decisiones, una entrada por comparación i < a.length analizada
+    private List<String> decisiones;
+    private int accesosTotales;
+    private int accesosSeguros;
+
+    // Variables locales y parámetros del método que se está recorriendo
+    private Set<String> nombresLocales;
+    private String metodoActual;
+
+    public BoundsCheckVisitor() {
+        this.decisiones = new ArrayList<>();
+    }
+
+    public List<String> getDecisiones() {
+        return decisiones;
+    }
+
+    /**
+     * Retorna la cantidad de accesos a arreglos del programa.
+     */
+    public int getAccesosTotales() {
+        return accesosTotales;
+    }
+
+    /**
+     * Retorna la cantidad de accesos probados dentro de los límites.
+     */
+    public int getAccesosSeguros() {
+        return accesosSeguros;
+    }
+
+    public void visit(Goal n) {
+        accesosTotales = 0;
+        accesosSeguros = 0;
+        // Se descartan las marcas de un análisis anterior
+        NodeCounterVisitor reinicio = new NodeCounterVisitor() {
+            public void visit(ArrayLookup a) {
+                a.indiceSeguro = false;
+                accesosTotales++;
+                super.visit(a);
+            }
+
+            public void visit(ArrayAssign a) {
+                a.indiceSeguro = false;
+                accesosTotales++;
+                super.visit(a);
+            }
+        };
+        reinicio.visit(n);
+
+        visit(n.m);
+        for (int i = 0; i < n.cl.size(); i++) {
+            visit(n.cl.get(i));
+        }
+    }
+
+    public void visit(MainClass n) {
+        metodoActual = "main";
+        nombresLocales = new HashSet<>();
+        FreshNames.agregarNombres(n.vl, nombresLocales);
+        recorrer(n.sl, new ArrayList<>());
+    }
+
+    public void visit(ClassDeclSimple n) {
+        for (int i = 0; i < n.ml.size(); i++) {
+            metodoActual = n.i.s + "." + n.ml.get(i).i.s;
+            visit(n.ml.get(i));
+        }
+    }
+
+    public void visit(ClassDeclExtends n) {
+        for (int i = 0; i < n.ml.size(); i++) {
+            metodoActual = n.i.s + "." + n.ml.get(i).i.s;
+            visit(n.ml.get(i));
+        }
+    }
+
+    public void visit(MethodDecl n) {
+        nombresLocales = new HashSet<>();
+        for (int i = 0; i < n.fl.size(); i++) {
+            nombresLocales.add(n.fl.get(i).i.s);
+        }
+        FreshNames.agregarNombres(n.vl, nombresLocales);
+        recorrer(n.sl, new ArrayList<>());
+    }
+
+    // ========== RECORRIDO DE SENTENCIAS ==========
+
+    /**
+     * Recorre una lista de sentencias.
+     * @param anteriores Sentencias que se ejecutan antes de la lista, sin cruzar un ciclo
+     */
+    private void recorrer(StatementList sl, List<Statement> anteriores) {
+        List<Statement> previas = new ArrayList<>(anteriores);
+        for (int j = 0; j < sl.size(); j++) {
+            recorrer(sl.get(j), previas);
+            previas.add(sl.get(j));
+        }
+    }
+
+    private void recorrer(Statement s, List<Statement> anteriores) {
+        if (s instanceof Block) {
+            recorrer(((Block) s).sl, anteriores);
+        } else if (s instanceof If) {
+            recorrer(((If) s).s1, anteriores);
+            recorrer(((If) s).s2, anteriores);
+        } else if (s instanceof While) {
+            While w = (While) s;
+            analizarCiclo(w, anteriores);
+            // Lo anterior al ciclo no vale en su cuerpo: el cuerpo se repite
+            recorrer(w.s, new ArrayList<>());
+        }
+    }
+
+    // ========== ANÁLISIS DE UN CICLO ==========
+
+    /**
+     * Busca en la condición del ciclo comparaciones i < a.length y marca los
+     * accesos a[i] que quedan probados dentro de los límites.
+     */
+    private void analizarCiclo(While w, List<Statement> anteriores) {
+        List<Expr> conjunciones = new ArrayList<>();
+        separarConjunciones(w.e, conjunciones);
+
+        StatementList cuerpo;
+        if (w.s instanceof Block) {
+            cuerpo = ((Block) w.s).sl;
+        } else {
+            cuerpo = new StatementList(w.s.line);
+            cuerpo.add(w.s);
+        }
+        UsageVisitor usosCuerpo = UsageVisitor.de(w.s);
+        UsageVisitor usosCondicion = UsageVisitor.de(w.e);
+
+        for (int k = 0; k < conjunciones.size(); k++) {
+            String[] comparacion = comparacionConLargo(conjunciones.get(k));
+            if (comparacion == null) {
+                continue;
+            }
+            String indice = comparacion[0];
+            String arreglo = comparacion[1];
+            String sitio = "linea " + w.line + ": " + metodoActual + ", " + indice + " < " + arreglo + ".length";
+
+            String motivo = null;
+            int incremento = -1;
+            if (!nombresLocales.contains(indice)) {
+                motivo = indice + " es un campo";
+            } else if (!iniciaNoNegativo(indice, anteriores)) {
+                motivo = indice + " no comienza en un literal no negativo";
+            } else if (usosCuerpo.escribe(arreglo)) {
+                motivo = arreglo + " se reasigna en el ciclo";
+            } else if (!nombresLocales.contains(arreglo) && (usosCuerpo.tieneLlamadas() || usosCondicion.tieneLlamadas())) {
+                motivo = arreglo + " es un campo y el ciclo contiene llamadas";
+            } else if (usosCuerpo.getEscrituras(indice) != 1 || (incremento = buscarIncremento(cuerpo, indice)) < 0) {
+                motivo = indice + " no se actualiza solo con " + indice + " = " + indice + " + 1";
+            }
+            if (motivo != null) {
+                decisiones.add(sitio + ": no se prueba, " + motivo);
+                continue;
+            }
+
+            int antes = accesosSeguros;
+            for (int j = k + 1; j < conjunciones.size(); j++) {
+                marcar(conjunciones.get(j), indice, arreglo);
+            }
+            for (int j = 0; j < incremento; j++) {
+                marcar(cuerpo.get(j), indice, arreglo);
+            }
+            decisiones.add(sitio + ": " + (accesosSeguros - antes) + " acceso(s) en rango");
+        }
+    }
+
+    private static void separarConjunciones(Expr e, List<Expr> conjunciones) {
+        if (e instanceof And) {
+            separarConjunciones(((And) e).e1, conjunciones);
+            separarConjunciones(((And) e).e2, conjunciones);
+        } else {
+            conjunciones.add(e);
+        }
+    }
+
+    /**
+     * Si la expresión es i < a.length o a.length > i, retorna {i, a}; en otro caso null.
+     */
+    private static String[] comparacionConLargo(Expr e) {
+        Expr menor;
+        Expr mayor;
+        if (e instanceof LessThan) {
+            menor = ((LessThan) e).e1;
+            mayor = ((LessThan) e).e2;
+        } else if (e instanceof MoreThan) {
+            menor = ((MoreThan) e).e2;
+            mayor = ((MoreThan) e).e1;
+        } else {
+            return null;
+        }
+        if (menor instanceof IdentifierExpr && mayor instanceof ArrayLength
+                && ((ArrayLength) mayor).e instanceof IdentifierExpr) {
+            return new String[] { ((IdentifierExpr) menor).s, ((IdentifierExpr) ((ArrayLength) mayor).e).s };
+        }
+        return null;
+    }
+
+    /**
+     * Indica si la última sentencia anterior al ciclo que escribe la variable
+     * le asigna un literal mayor o igual a cero.
+     */
+    private static boolean iniciaNoNegativo(String variable, List<Statement> anteriores) {
+        for (int j = anteriores.size() - 1; j >= 0; j--) {
+            Statement s = anteriores.get(j);
+            if (UsageVisitor.de(s).escribe(variable)) {
+                return s instanceof Assign && ((Assign) s).e instanceof IntegerLiteral
+                        && ((IntegerLiteral) ((Assign) s).e).i >= 0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retorna la posición en el cuerpo de la sentencia i = i + 1, o -1 si no está en el nivel superior.
+     */
+    private static int buscarIncremento(StatementList cuerpo, String variable) {
+        for (int j = 0; j < cuerpo.size(); j++) {
+            if (!(cuerpo.get(j) instanceof Assign)) {
+                continue;
+            }
+            Assign a = (Assign) cuerpo.get(j);
+            if (a.i.s.equals(variable) && a.e instanceof Plus) {
+                Plus p = (Plus) a.e;
+                if (p.e1 instanceof IdentifierExpr && ((IdentifierExpr) p.e1).s.equals(variable)
+                        && p.e2 instanceof IntegerLiteral && ((IntegerLiteral) p.e2).i == 1) {
+                    return j;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Marca como seguros los accesos arreglo[indice] del subárbol.
+     */
+    private void marcar(Node n, String indice, String arreglo) {
+        NodeCounterVisitor marcador = new NodeCounterVisitor() {
+            public void visit(ArrayLookup a) {
+                if (!a.indiceSeguro && esVariable(a.e1, arreglo) && esVariable(a.e2, indice)) {
+                    a.indiceSeguro = true;
+                    accesosSeguros++;
+                }
+                super.visit(a);
+            }
+
+            public void visit(ArrayAssign a) {
+                if (!a.indiceSeguro && a.i.s.equals(arreglo) && esVariable(a.e1, indice)) {
+                    a.indiceSeguro = true;
+                    accesosSeguros++;
+                }
+                super.visit(a);
+            }
+        };
+        if (n instanceof Expr) {
+            marcador.visit((Expr) n);
+        } else {
+            marcador.visit((Statement) n);
+        }
+    }
+
+    private static boolean esVariable(Expr e, String nombre) {
+        return e instanceof IdentifierExpr && ((IdentifierExpr) e).s.equals(nombre);
+    }
+
+    // El resto de los nodos se recorre con recorrer(...) o no contiene ciclos
+
+    public void visit(VarDeclSimple n) {
+        // No se requiere acción
+    }
+
+    public void visit(VarDeclAssign n) {
+        // No se requiere acción
+    }
+
+    public void visit(Block n) {
+        recorrer(n, new ArrayList<>());
+    }
+
+    public void visit(If n) {
+        recorrer(n, new ArrayList<>());
+    }
+
+    public void visit(While n) {
+        recorrer(n, new ArrayList<>());
+    }
+
+    public void visit(Print n) {
+        // No se requiere acción
+    }
+
+    public void visit(Assign n) {
+        // No se requiere acción
+    }
+
+    public void visit(ArrayAssign n) {
+        // No se requiere acción
+    }
+
+    public void visit(And n) {
+        // No se requiere acción
+    }
+
+    public void visit(Or n) {
+        // No se requiere acción
+    }
+
+    public void visit(Equal n) {
+        // No se requiere acción
+    }
+
+    public void visit(NotEqual n) {
+        // No se requiere acción
+    }
+
+    public void visit(LessThan n) {
+        // No se requiere acción
+    }
+
+    public void visit(MoreThan n) {
+        // No se requiere acción
+    }
+
+    public void visit(Plus n) {
+        // No se requiere acción
+    }
+
+    public void visit(Minus n) {
+        // No se requiere acción
+    }
+
+    public void visit(Mult n) {
+        // No se requiere acción
+    }
+
+    public void visit(Div n) {
+        // No se requiere acción
+    }
+
+    public void visit(ArrayLookup n) {
+        // No se requiere acción
+    }
+
+    public void visit(ArrayLength n) {
+        // No se requiere acción
+    }
+
+    public void visit(Call n) {
+        // No se requiere acción
+    }
+
+    public void visit(IntegerLiteral n) {
+        // No se requiere acción
+    }
+
+    public void visit(IdentifierExpr n) {
+        // No se requiere acción
+    }
+
+    public void visit(This n) {
+        // No se requiere acción
+    }
+
+    public void visit(NewArray n) {
+        // No se requiere acción
+    }
+
+    public void visit(NewObject n) {
+        // No se requiere acción
+    }
+
+    public void visit(Identifier n) {
+        // No se requiere acción
+    }
+
+    public void visit(Param n) {
+        // No se requiere acción
+    }
+
+    public void visit(IntArrayType n) {
+        // No se requiere acción
+    }
+
+    public void visit(IntType n) {
+        // No se requiere acción
+    }
+
+    public void visit(ClassType n) {
+        // No se requiere acción
+    }
+}
@@ -0,0 +1,145 @@
+package ast.visitor;
+
+import ast.*;
+import java.util.*;
+
+/**
+ * Tabla de clases del programa con consultas sobre la jerarquía de herencia.
+ * La usan las pasadas de optimización que necesitan saber, en tiempo de
+ * compilación, a qué método se despacha una llamada.
+ */
+public class ClassHierarchy {
+    // Declaraciones de clase indexadas por nombre
+    private Map<String, ClassDeclSimple> tablaDeClases;
+
+    /**
+     * Construye la tabla de clases a partir del programa completo.
+     * @param g Nodo raíz del AST
+     */
+    public ClassHierarchy(Goal g) {
+        this.tablaDeClases = new HashMap<>();
+        for (int i = 0; i < g.cl.size(); i++) {
+            ClassDecl c = g.cl.get(i);
+            if (c instanceof ClassDeclSimple) {
+                ClassDeclSimple cs = (ClassDeclSimple) c;
+                tablaDeClases.put(cs.i.s, cs);
+            }
+        }
+    }
+
+    /**
+     * Retorna la declaración de una clase o null si no existe.
+     */
+    public ClassDeclSimple getClase(String nombre) {
+        return tablaDeClases.get(nombre);
+    }
+
+    /**
+     * Retorna el nombre de la superclase o null si la clase no extiende a otra.
+     */
+    public String getPadre(String nombre) {
+        ClassDeclSimple c = tablaDeClases.get(nombre);
+        if (c instanceof ClassDeclExtends) {
+            return ((ClassDeclExtends) c).j.s;
+        }
+        return null;
+    }
+
+    /**
+     * Busca un método subiendo por la jerarquía a partir de una clase.
+     * @return El nombre de la clase que declara el método o null si no existe
+     */
+    public String buscarClaseDeclarante(String nombreClase, String nombreMetodo) {
+        Set<String> visitadas = new HashSet<>();
+        String actual = nombreClase;
+        while (actual != null && visitadas.add(actual)) {
+            if (buscarMetodoLocal(actual, nombreMetodo) != null) {
+                return actual;
+            }
+            actual = getPadre(actual);
+        }
+        return null;
+    }
+
+    /**
+     * Busca un método subiendo por la jerarquía a partir de una clase.
+     * @return La declaración del método o null si no existe
+     */
+    public MethodDecl buscarMetodo(String nombreClase, String nombreMetodo) {
+        String declarante = buscarClaseDeclarante(nombreClase, nombreMetodo);
+        return declarante == null ? null : buscarMetodoLocal(declarante, nombreMetodo);
+    }
+
+    /**
+     * Busca un método declarado directamente en la clase (sin herencia).
+     */
+    public MethodDecl buscarMetodoLocal(String nombreClase, String nombreMetodo) {
+        ClassDeclSimple c = tablaDeClases.get(nombreClase);
+        if (c == null) {
+            return null;
+        }
+        for (int i = 0; i < c.ml.size(); i++) {
+            MethodDecl m = c.ml.get(i);
+            if (m.i.s.equals(nombreMetodo)) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indica si alguna subclase (directa o indirecta) de la clase redefine el método.
+     * Si no hay redefiniciones, una llamada con receptor de esa clase es monomórfica.
+     */
+    public boolean tieneRedefinicion(String nombreClase, String nombreMetodo) {
+        for (String otra : tablaDeClases.keySet()) {
+            if (!otra.equals(nombreClase) && esSubclase(otra, nombreClase)
+                    && buscarMetodoLocal(otra, nombreMetodo) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica si la clase c1 hereda (directa o indirectamente) de c2.
+     */
+    public boolean esSubclase(String c1, String c2) {
+        Set<String> visitadas = new HashSet<>();
+        String actual = c1;
+        while (actual != null && visitadas.add(actual)) {
+            if (actual.equals(c2)) {
+                return true;
+            }
+            actual = getPadre(actual);
+        }
+        return false;
+    }
+
+    /**
+     * Retorna los nombres de los campos visibles en una clase, incluyendo los heredados.
+     */
+    public Set<String> getCampos(String nombreClase) {
+        Set<String> campos = new HashSet<>();
+        Set<String> visitadas = new HashSet<>();
+        String actual = nombreClase;
+        while (actual != null && visitadas.add(actual)) {
+            ClassDeclSimple c = tablaDeClases.get(actual);
+            if (c == null) {
+                break;
+            }
+            for (int i = 0; i < c.vl.size(); i++) {
+                campos.add(nombreVariable(c.vl.get(i)));
+            }
+            actual = getPadre(actual);
+        }
+        return campos;
+    }
+
+    /**
+     * Obtiene el nombre declarado por una declaración de variable.
+     */
+    public static String nombreVariable(VarDecl vd) {
+        return ((VarDeclSimple) vd).i.s;
+    }
+}
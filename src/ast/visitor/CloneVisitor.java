@@ -0,0 +1,279 @@
+package ast.visitor;
+
+import ast.*;
+import java.util.*;
+
+/**
+ * Visitante que realiza una copia profunda de un subárbol del AST.
+ * Opcionalmente renombra variables y sustituye identificadores por expresiones,
+ * lo que permite copiar el cuerpo de un método dentro de otro.
+ */
+public class CloneVisitor implements Visitor {
+    // Nombres de variables a renombrar durante la copia
+    private Map<String, String> renombres;
+    // Identificadores a reemplazar por (una copia de) una expresión
+    private Map<String, Expr> sustituciones;
+    // Resultado de la última visita
+    private Node resultado;
+
+    /**
+     * Crea un clonador que copia el árbol sin modificarlo.
+     */
+    public CloneVisitor() {
+        this(new HashMap<>(), new HashMap<>());
+    }
+
+    /**
+     * Crea un clonador con renombres y sustituciones de identificadores.
+     * @param renombres Mapa de nombre original a nombre nuevo
+     * @param sustituciones Mapa de nombre a expresión que lo reemplaza
+     */
+    public CloneVisitor(Map<String, String> renombres, Map<String, Expr> sustituciones) {
+        this.renombres = renombres;
+        this.sustituciones = sustituciones;
+    }
+
+    public Goal clonar(Goal n) {
+        visit(n);
+        return (Goal) resultado;
+    }
+
+    public MethodDecl clonar(MethodDecl n) {
+        visit(n);
+        return (MethodDecl) resultado;
+    }
+
+    public Expr clonar(Expr n) {
+        visit(n);
+        return (Expr) resultado;
+    }
+
+    public Statement clonar(Statement n) {
+        visit(n);
+        return (Statement) resultado;
+    }
+
+    public Type clonar(Type n) {
+        visit(n);
+        return (Type) resultado;
+    }
+
+    public VarDecl clonar(VarDecl n) {
+        visit(n);
+        return (VarDecl) resultado;
+    }
+
+    private Identifier clonar(Identifier n) {
+        visit(n);
+        return (Identifier) resultado;
+    }
+
+    private ClassDecl clonar(ClassDecl n) {
+        visit(n);
+        return (ClassDecl) resultado;
+    }
+
+    private VarDeclList clonar(VarDeclList l) {
+        VarDeclList copia = copiar(l, new VarDeclList(l.line));
+        for (int i = 0; i < l.size(); i++) {
+            copia.add(clonar(l.get(i)));
+        }
+        return copia;
+    }
+
+    private StatementList clonar(StatementList l) {
+        StatementList copia = copiar(l, new StatementList(l.line));
+        for (int i = 0; i < l.size(); i++) {
+            copia.add(clonar(l.get(i)));
+        }
+        return copia;
+    }
+
+    private MethodDeclList clonar(MethodDeclList l) {
+        MethodDeclList copia = copiar(l, new MethodDeclList(l.line));
+        for (int i = 0; i < l.size(); i++) {
+            copia.add(clonar(l.get(i)));
+        }
+        return copia;
+    }
+
+    /**
+     * Copia al nodo nuevo el span del original, para que los diagnósticos
+     * sobre la copia apunten al mismo lugar de la entrada.
+     */
+    private static <T extends Node> T copiar(Node original, T copia) {
+        copia.span = original.span;
+        return copia;
+    }
+
+    private String renombrar(String nombre) {
+        String nuevo = renombres.get(nombre);
+        return nuevo != null ? nuevo : nombre;
+    }
+
+    public void visit(Goal n) {
+        visit(n.m);
+        MainClass m = (MainClass) resultado;
+        ClassDeclList cl = copiar(n.cl, new ClassDeclList(n.cl.line));
+        for (int i = 0; i < n.cl.size(); i++) {
+            cl.add(clonar(n.cl.get(i)));
+        }
+        resultado = copiar(n, new Goal(m, cl, n.line));
+    }
+
+    public void visit(MainClass n) {
+        resultado = copiar(n, new MainClass(clonar(n.i1), clonar(n.i2), clonar(n.vl), clonar(n.sl), n.line));
+    }
+
+    public void visit(ClassDeclSimple n) {
+        resultado = copiar(n, new ClassDeclSimple(clonar(n.i), clonar(n.vl), clonar(n.ml), n.line));
+    }
+
+    public void visit(ClassDeclExtends n) {
+        resultado = copiar(n, new ClassDeclExtends(clonar(n.i), clonar(n.j), clonar(n.vl), clonar(n.ml), n.line));
+    }
+
+    public void visit(VarDeclSimple n) {
+        resultado = copiar(n, new VarDeclSimple(clonar(n.t), copiar(n.i, new Identifier(renombrar(n.i.s), n.i.line)), n.line));
+    }
+
+    public void visit(VarDeclAssign n) {
+        resultado = copiar(n, new VarDeclAssign(clonar(n.t), copiar(n.i, new Identifier(renombrar(n.i.s), n.i.line)), clonar(n.e), n.line));
+    }
+
+    public void visit(MethodDecl n) {
+        ParamList fl = copiar(n.fl, new ParamList(n.fl.line));
+        for (int i = 0; i < n.fl.size(); i++) {
+            visit(n.fl.get(i));
+            fl.add((Param) resultado);
+        }
+        resultado = copiar(n, new MethodDecl(clonar(n.t), clonar(n.i), fl, clonar(n.vl), clonar(n.sl), clonar(n.e), n.line));
+    }
+
+    public void visit(Param n) {
+        resultado = copiar(n, new Param(clonar(n.t), copiar(n.i, new Identifier(renombrar(n.i.s), n.i.line)), n.line));
+    }
+
+    public void visit(IntArrayType n) {
+        resultado = copiar(n, new IntArrayType(n.line));
+    }
+
+    public void visit(IntType n) {
+        resultado = copiar(n, new IntType(n.line));
+    }
+
+    public void visit(ClassType n) {
+        resultado = copiar(n, new ClassType(n.line, n.className));
+    }
+
+    public void visit(Block n) {
+        resultado = copiar(n, new Block(clonar(n.sl), n.line));
+    }
+
+    public void visit(If n) {
+        resultado = copiar(n, new If(clonar(n.e), clonar(n.s1), clonar(n.s2), n.line));
+    }
+
+    public void visit(While n) {
+        resultado = copiar(n, new While(clonar(n.e), clonar(n.s), n.line));
+    }
+
+    public void visit(Print n) {
+        resultado = copiar(n, new Print(clonar(n.e), n.line));
+    }
+
+    public void visit(Assign n) {
+        resultado = copiar(n, new Assign(copiar(n.i, new Identifier(renombrar(n.i.s), n.i.line)), clonar(n.e), n.line));
+    }
+
+    public void visit(ArrayAssign n) {
+        resultado = copiar(n, new ArrayAssign(copiar(n.i, new Identifier(renombrar(n.i.s), n.i.line)), clonar(n.e1), clonar(n.e2), n.line));
+    }
+
+    public void visit(And n) {
+        resultado = copiar(n, new And(n.line, clonar(n.e1), clonar(n.e2)));
+    }
+
+    public void visit(Or n) {
+        resultado = copiar(n, new Or(n.line, clonar(n.e1), clonar(n.e2)));
+    }
+
+    public void visit(Equal n) {
+        resultado = copiar(n, new Equal(n.line, clonar(n.e1), clonar(n.e2)));
+    }
+
+    public void visit(NotEqual n) {
+        resultado = copiar(n, new NotEqual(n.line, clonar(n.e1), clonar(n.e2)));
+    }
+
+    public void visit(LessThan n) {
+        resultado = copiar(n, new LessThan(clonar(n.e1), clonar(n.e2), n.line));
+    }
+
+    public void visit(MoreThan n) {
+        resultado = copiar(n, new MoreThan(clonar(n.e1), clonar(n.e2), n.line));
+    }
+
+    public void visit(Plus n) {
+        resultado = copiar(n, new Plus(clonar(n.e1), clonar(n.e2), n.line));
+    }
+
+    public void visit(Minus n) {
+        resultado = copiar(n, new Minus(clonar(n.e1), clonar(n.e2), n.line));
+    }
+
+    public void visit(Mult n) {
+        resultado = copiar(n, new Mult(clonar(n.e1), clonar(n.e2), n.line));
+    }
+
+    public void visit(Div n) {
+        resultado = copiar(n, new Div(clonar(n.e1), clonar(n.e2), n.line));
+    }
+
+    public void visit(ArrayLookup n) {
+        resultado = copiar(n, new ArrayLookup(clonar(n.e1), clonar(n.e2), n.line));
+    }
+
+    public void visit(ArrayLength n) {
+        resultado = copiar(n, new ArrayLength(clonar(n.e), n.line));
+    }
+
+    public void visit(Call n) {
+        ExprList el = copiar(n.el, new ExprList(n.el.line));
+        for (int i = 0; i < n.el.size(); i++) {
+            el.add(clonar(n.el.get(i)));
+        }
+        // El nombre del método no es una variable: no se renombra
+        resultado = copiar(n, new Call(clonar(n.e), clonar(n.i), el, n.line));
+    }
+
+    public void visit(IntegerLiteral n) {
+        resultado = copiar(n, new IntegerLiteral(n.i, n.line));
+    }
+
+    public void visit(IdentifierExpr n) {
+        Expr sustituto = sustituciones.get(n.s);
+        if (sustituto != null) {
+            // Copia nueva en cada uso para no compartir nodos entre padres
+            resultado = new CloneVisitor().clonar(sustituto);
+        } else {
+            resultado = copiar(n, new IdentifierExpr(renombrar(n.s), n.line));
+        }
+    }
+
+    public void visit(This n) {
+        resultado = copiar(n, new This(n.line));
+    }
+
+    public void visit(NewArray n) {
+        resultado = copiar(n, new NewArray(clonar(n.e), n.line));
+    }
+
+    public void visit(NewObject n) {
+        resultado = copiar(n, new NewObject(clonar(n.i), n.line));
+    }
+
+    public void visit(Identifier n) {
+        resultado = copiar(n, new Identifier(n.s, n.line));
+    }
+}
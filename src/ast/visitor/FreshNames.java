@@ -0,0 +1,59 @@
+package ast.visitor;
+
+import ast.*;
+import java.util.*;
+
+/**
+ * Generador de nombres de variables que no existen en el programa.
+ * Las optimizaciones que introducen variables locales nuevas lo usan para no
+ * ocultar ni pisar campos, parámetros o variables existentes.
+ */
+public class FreshNames {
+    // Todos los nombres de variables del programa
+    private Set<String> nombres;
+    private int contador;
+
+    /**
+     * Recolecta los nombres de todos los campos, parámetros y variables locales del programa.
+     */
+    public FreshNames(Goal g) {
+        this.nombres = new HashSet<>();
+        this.contador = 0;
+        nombres.add(g.m.i2.s);
+        agregarNombres(g.m.vl, nombres);
+        for (int i = 0; i < g.cl.size(); i++) {
+            ClassDeclSimple c = (ClassDeclSimple) g.cl.get(i);
+            agregarNombres(c.vl, nombres);
+            for (int j = 0; j < c.ml.size(); j++) {
+                MethodDecl m = c.ml.get(j);
+                for (int k = 0; k < m.fl.size(); k++) {
+                    nombres.add(m.fl.get(k).i.s);
+                }
+                agregarNombres(m.vl, nombres);
+            }
+        }
+    }
+
+    /**
+     * Genera un nombre nuevo de la forma base + sufijo + número.
+     * El nombre queda reservado para las siguientes llamadas.
+     */
+    public String nuevo(String base, String sufijo) {
+        String nombre;
+        do {
+            contador++;
+            nombre = base + sufijo + contador;
+        } while (nombres.contains(nombre));
+        nombres.add(nombre);
+        return nombre;
+    }
+
+    /**
+     * Agrega a un conjunto los nombres declarados en una lista de variables.
+     */
+    public static void agregarNombres(VarDeclList vl, Set<String> nombres) {
+        for (int i = 0; i < vl.size(); i++) {
+            nombres.add(ClassHierarchy.nombreVariable(vl.get(i)));
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package ast.visitor;
+
+import ast.*;
+import java.util.*;
+
+/**
+ * Visitante que expande en línea (inlining) las llamadas a métodos pequeños.
+ * Solo se expanden llamadas cuyo receptor tiene una clase conocida en tiempo de
+ * compilación: this dentro de una clase sin subclases que redefinan el método,
+ * o un objeto recién creado (new C().m(...)).
+ *
+ * Un método sin sentencias ni variables locales se expande como expresión en
+ * cualquier sitio de llamada. Un método con sentencias solo se expande cuando la
+ * llamada es el lado derecho de una asignación (x = this.m(...);), copiando sus
+ * parámetros y variables locales a variables nuevas del método llamador.
+ *
+ * Cada sitio de llamada deja una entrada en el registro de decisiones, con el
+ * motivo cuando la llamada no se expande.
+ *
+ * En modo COPIA_AL_ESCRIBIR las variables nuevas del llamador se juntan
+ * aparte y se agregan a una copia de su lista al terminar el método.
+ */
+public class InliningVisitor extends RewritingVisitor<Void> {
+    // Tamaño máximo (en nodos) de la expresión de retorno de un método sin sentencias
+    public static final int PRESUPUESTO_EXPRESION = 12;
+    // Tamaño máximo (en nodos) de un método con sentencias
+    public static final int PRESUPUESTO_SENTENCIAS = 60;
+    // Tamaño máximo (en nodos) que puede alcanzar el método que recibe el código
+    public static final int TAMANO_MAXIMO_LLAMADOR = 400;
+
+    private int presupuestoExpresion;
+    private int presupuestoSentencias;
+    private int tamanoMaximoLlamador;
+
+    private ClassHierarchy jerarquia;
+    // Registro de decisiones, una entrada por sitio de llamada
+    private List<String> decisiones;
+    private int expansiones;
+
+    // Contexto del método que se está recorriendo (claseActual es null en main)
+    private String claseActual;
+    private String metodoActual;
+    // Variables nuevas del método actual: su propia lista en su lugar, una aparte al copiar
+    private VarDeclList localesActuales;
+    private Set<String> nombresLocales;
+    private int tamanoLlamador;
+    // Línea de la sentencia o declaración que contiene la llamada; la de la
+    // llamada misma es la de su primera aparición si el árbol estuvo compartido
+    private int lineaSentencia;
+
+    // Generador de nombres para las variables que se agregan al llamador
+    private FreshNames nombresFrescos;
+
+    /**
+     * Constructor con los presupuestos por defecto, que modifica el árbol en su lugar.
+     */
+    public InliningVisitor() {
+        this(Modo.EN_SU_LUGAR);
+    }
+
+    /**
+     * Constructor con los presupuestos por defecto y el modo de reescritura dado.
+     */
+    public InliningVisitor(Modo modo) {
+        this(PRESUPUESTO_EXPRESION, PRESUPUESTO_SENTENCIAS, TAMANO_MAXIMO_LLAMADOR, modo);
+    }
+
+    /**
+     * Constructor con presupuestos de tamaño explícitos, que modifica el árbol en su lugar.
+     */
+    public InliningVisitor(int presupuestoExpresion, int presupuestoSentencias, int tamanoMaximoLlamador) {
+        this(presupuestoExpresion, presupuestoSentencias, tamanoMaximoLlamador, Modo.EN_SU_LUGAR);
+    }
+
+    /**
+     * Constructor con presupuestos de tamaño explícitos.
+     * @param presupuestoExpresion Nodos máximos de un método que se expande como expresión
+     * @param presupuestoSentencias Nodos máximos de un método que se expande con sus sentencias
+     * @param tamanoMaximoLlamador Nodos máximos del método que recibe las expansiones
+     * @param modo Modo de reescritura del árbol
+     */
+    public InliningVisitor(int presupuestoExpresion, int presupuestoSentencias, int tamanoMaximoLlamador, Modo modo) {
+        super(modo);
+        this.presupuestoExpresion = presupuestoExpresion;
+        this.presupuestoSentencias = presupuestoSentencias;
+        this.tamanoMaximoLlamador = tamanoMaximoLlamador;
+        this.decisiones = new ArrayList<>();
+        this.expansiones = 0;
+    }
+
+    /**
+     * Retorna el registro de decisiones tomadas en cada sitio de llamada.
+     */
+    public List<String> getDecisiones() {
+        return decisiones;
+    }
+
+    /**
+     * Retorna la cantidad de llamadas expandidas.
+     */
+    public int getExpansiones() {
+        return expansiones;
+    }
+
+    /**
+     * Visita el nodo Goal (programa completo).
+     * Construye la tabla de clases y recorre todas las clases.
+     */
+    public Node visit(Goal n, Void contexto) {
+        jerarquia = new ClassHierarchy(n);
+        nombresFrescos = new FreshNames(n);
+        return super.visit(n, contexto);
+    }
+
+    /**
+     * Visita la clase main. En main no existe this, solo se expanden
+     * llamadas sobre objetos recién creados.
+     */
+    public Node visit(MainClass n, Void contexto) {
+        claseActual = null;
+        metodoActual = "main";
+        localesActuales = listaDeLocales(n.vl);
+        nombresLocales = new HashSet<>();
+        nombresLocales.add(n.i2.s);
+        FreshNames.agregarNombres(n.vl, nombresLocales);
+        tamanoLlamador = 0;
+        for (int i = 0; i < n.sl.size(); i++) {
+            tamanoLlamador += NodeCounterVisitor.contar(n.sl.get(i));
+        }
+        lineaSentencia = n.line;
+        MainClass m = (MainClass) super.visit(n, contexto);
+        if (m.vl == localesActuales || localesActuales.size() == 0) {
+            return m;
+        }
+        return copiar(n, new MainClass(m.i1, m.i2, agregarLocales(m.vl), m.sl, n.line));
+    }
+
+    // En las clases solo se recorren los métodos
+
+    public Node visit(ClassDeclSimple n, Void contexto) {
+        claseActual = n.i.s;
+        MethodDeclList ml = reescribir(n.ml, contexto);
+        return ml == n.ml ? n : copiar(n, new ClassDeclSimple(n.i, n.vl, ml, n.line));
+    }
+
+    public Node visit(ClassDeclExtends n, Void contexto) {
+        claseActual = n.i.s;
+        MethodDeclList ml = reescribir(n.ml, contexto);
+        return ml == n.ml ? n : copiar(n, new ClassDeclExtends(n.i, n.j, n.vl, ml, n.line));
+    }
+
+    /**
+     * Visita una declaración de método y expande las llamadas de su cuerpo.
+     */
+    public Node visit(MethodDecl n, Void contexto) {
+        metodoActual = n.i.s;
+        localesActuales = listaDeLocales(n.vl);
+        nombresLocales = new HashSet<>();
+        for (int i = 0; i < n.fl.size(); i++) {
+            nombresLocales.add(n.fl.get(i).i.s);
+        }
+        FreshNames.agregarNombres(n.vl, nombresLocales);
+        tamanoLlamador = NodeCounterVisitor.contar(n);
+        // La expresión de retorno se informa con la línea del método
+        lineaSentencia = n.line;
+        // Las expansiones agregan variables al final de la lista, que ya no se recorren
+        MethodDecl m = (MethodDecl) super.visit(n, contexto);
+        if (m.vl == localesActuales || localesActuales.size() == 0) {
+            return m;
+        }
+        return copiar(n, new MethodDecl(m.t, m.i, m.fl, agregarLocales(m.vl), m.sl, m.e, n.line));
+    }
+
+    private VarDeclList listaDeLocales(VarDeclList vl) {
+        return getModo() == Modo.EN_SU_LUGAR ? vl : new VarDeclList(vl.line);
+    }
+
+    private VarDeclList agregarLocales(VarDeclList vl) {
+        List<VarDecl> todas = new ArrayList<>();
+        for (int i = 0; i < vl.size(); i++) {
+            todas.add(vl.get(i));
+        }
+        for (int i = 0; i < localesActuales.size(); i++) {
+            todas.add(localesActuales.get(i));
+        }
+        return vl.conElementos(todas);
+    }
+
+    protected Statement reescribir(Statement s, Void contexto) {
+        if (s == null) {
+            return null;
+        }
+        int anterior = lineaSentencia;
+        lineaSentencia = s.line;
+        Statement resultado = super.reescribir(s, contexto);
+        lineaSentencia = anterior;
+        return resultado;
+    }
+
+    protected VarDecl reescribir(VarDecl d, Void contexto) {
+        if (d == null) {
+            return null;
+        }
+        int anterior = lineaSentencia;
+        lineaSentencia = d.line;
+        VarDecl resultado = super.reescribir(d, contexto);
+        lineaSentencia = anterior;
+        return resultado;
+    }
+
+    /**
+     * Visita una asignación. Si el lado derecho es una llamada, el método
+     * invocado puede expandirse junto con sus sentencias.
+     */
+    public Node visit(Assign n, Void contexto) {
+        if (!(n.e instanceof Call)) {
+            return super.visit(n, contexto);
+        }
+        // Se reescriben los hijos de la llamada sin intentar expandirla como expresión
+        Call llamada = (Call) super.visit((Call) n.e, contexto);
+        Node expansion = intentarExpansion(llamada, n);
+        if (expansion instanceof Statement) {
+            return expansion;
+        }
+        Expr e = expansion instanceof Expr ? (Expr) expansion : llamada;
+        if (e == n.e) {
+            return n;
+        }
+        if (getModo() == Modo.EN_SU_LUGAR) {
+            n.e = e;
+            return n;
+        }
+        return copiar(n, new Assign(n.i, e, n.line));
+    }
+
+    /**
+     * Visita una llamada en posición de expresión: solo puede expandirse
+     * si el método invocado consiste únicamente en su expresión de retorno.
+     */
+    public Node visit(Call n, Void contexto) {
+        Call llamada = (Call) super.visit(n, contexto);
+        Node expansion = intentarExpansion(llamada, null);
+        return expansion instanceof Expr ? expansion : llamada;
+    }
+
+    // ========== DECISIÓN Y EXPANSIÓN ==========
+
+    /**
+     * Decide si una llamada se expande y, en ese caso, construye el código expandido.
+     * @param n La llamada
+     * @param asignacion La asignación cuyo lado derecho es la llamada, o null
+     * @return La expresión o sentencia que reemplaza a la llamada, o null si no se expande
+     */
+    private Node intentarExpansion(Call n, Assign asignacion) {
+        String sitio = "linea " + lineaSentencia + ": " + (claseActual != null ? claseActual : "main")
+                + "." + metodoActual + " -> " + n.i.s;
+
+        // Clase estática del receptor
+        String clase;
+        boolean claseExacta;
+        if (n.e instanceof This && claseActual != null) {
+            clase = claseActual;
+            claseExacta = false;
+        } else if (n.e instanceof NewObject) {
+            clase = ((NewObject) n.e).i.s;
+            claseExacta = true;
+        } else {
+            return rechazar(sitio, "receptor sin clase conocida en compilacion");
+        }
+
+        String declarante = jerarquia.buscarClaseDeclarante(clase, n.i.s);
+        if (declarante == null) {
+            return rechazar(sitio, "metodo no encontrado en la clase " + clase);
+        }
+        sitio = sitio + " (" + declarante + "." + n.i.s + ")";
+        if (!claseExacta && jerarquia.tieneRedefinicion(clase, n.i.s)) {
+            return rechazar(sitio, "llamada polimorfica, el metodo se redefine en una subclase");
+        }
+        MethodDecl metodo = jerarquia.buscarMetodoLocal(declarante, n.i.s);
+        if (metodo.fl.size() != n.el.size()) {
+            return rechazar(sitio, "cantidad de argumentos distinta a la de parametros");
+        }
+
+        UsageVisitor usos = UsageVisitor.de(metodo);
+        if (usos.llama(metodo.i.s)) {
+            return rechazar(sitio, "metodo recursivo");
+        }
+
+        // Las variables que no son parámetros ni locales del método son campos
+        Set<String> propios = new HashSet<>();
+        for (int i = 0; i < metodo.fl.size(); i++) {
+            propios.add(metodo.fl.get(i).i.s);
+        }
+        FreshNames.agregarNombres(metodo.vl, propios);
+        Set<String> campos = new HashSet<>(usos.getVariables());
+        campos.removeAll(propios);
+        if (claseExacta && (usos.usaThis() || !campos.isEmpty())) {
+            return rechazar(sitio, "el metodo usa campos de un objeto recien creado");
+        }
+        if (!declarante.equals(clase) && !campos.isEmpty()) {
+            return rechazar(sitio, "el metodo usa campos de una superclase");
+        }
+        for (String campo : campos) {
+            if (nombresLocales.contains(campo)) {
+                return rechazar(sitio, "el campo '" + campo + "' queda oculto por una variable del llamador");
+            }
+        }
+
+        if (metodo.vl.size() == 0 && metodo.sl.size() == 0) {
+            return expandirExpresion(sitio, n, metodo, usos);
+        }
+        if (asignacion == null) {
+            return rechazar(sitio, "metodo con sentencias fuera del lado derecho de una asignacion");
+        }
+        return expandirSentencias(sitio, n, metodo, asignacion);
+    }
+
+    /**
+     * Expande un método sin sentencias reemplazando la llamada por su
+     * expresión de retorno, con cada parámetro sustituido por su argumento.
+     */
+    private Node expandirExpresion(String sitio, Call n, MethodDecl metodo, UsageVisitor usos) {
+        int tamano = NodeCounterVisitor.contar(metodo.e);
+        if (tamano > presupuestoExpresion) {
+            return rechazar(sitio, "tamano " + tamano + " supera el presupuesto " + presupuestoExpresion);
+        }
+        if (tamanoLlamador + tamano > tamanoMaximoLlamador) {
+            return rechazar(sitio, "el llamador superaria " + tamanoMaximoLlamador + " nodos");
+        }
+
+        // Los argumentos se mueven al cuerpo: deben poder eliminarse, reordenarse o duplicarse
+        Map<String, Expr> sustituciones = new HashMap<>();
+        for (int i = 0; i < n.el.size(); i++) {
+            Expr arg = n.el.get(i);
+            String param = metodo.fl.get(i).i.s;
+            if (!SideEffects.esPura(arg)) {
+                return rechazar(sitio, "el argumento " + (i + 1) + " puede tener efectos laterales");
+            }
+            if (usos.getLecturas(param) > 1 && !SideEffects.esTrivial(arg)) {
+                return rechazar(sitio, "el argumento " + (i + 1) + " se evaluaria mas de una vez");
+            }
+            if (usos.tieneLlamadas() && !soloLeeLocales(arg)) {
+                return rechazar(sitio, "el argumento " + (i + 1) + " lee campos que el metodo podria modificar");
+            }
+            sustituciones.put(param, arg);
+        }
+
+        Expr expansion = new CloneVisitor(new HashMap<>(), sustituciones).clonar(metodo.e);
+        tamanoLlamador += tamano;
+        expansiones++;
+        decisiones.add(sitio + ": expandida como expresion (tamano " + tamano + ")");
+        return expansion;
+    }
+
+    /**
+     * Expande un método con sentencias en el sitio x = recv.m(args);
+     * Los parámetros y locales del método se copian a variables nuevas del
+     * llamador; los argumentos se evalúan en orden antes del cuerpo, igual que
+     * en la llamada original.
+     */
+    private Node expandirSentencias(String sitio, Call n, MethodDecl metodo, Assign asignacion) {
+        int tamano = NodeCounterVisitor.contar(metodo);
+        if (tamano > presupuestoSentencias) {
+            return rechazar(sitio, "tamano " + tamano + " supera el presupuesto " + presupuestoSentencias);
+        }
+        if (tamanoLlamador + tamano > tamanoMaximoLlamador) {
+            return rechazar(sitio, "el llamador superaria " + tamanoMaximoLlamador + " nodos");
+        }
+
+        int linea = asignacion.line;
+        Map<String, String> renombres = new HashMap<>();
+        StatementList cuerpo = new StatementList(linea);
+        CloneVisitor copiaTipos = new CloneVisitor();
+
+        // Parámetros: una variable nueva por parámetro, inicializada con el argumento
+        for (int i = 0; i < metodo.fl.size(); i++) {
+            Param p = metodo.fl.get(i);
+            String nuevo = declararLocal(p.t, p.i.s, linea, copiaTipos);
+            renombres.put(p.i.s, nuevo);
+            cuerpo.add(new Assign(new Identifier(nuevo, linea), n.el.get(i), linea));
+        }
+        // Variables locales del método invocado
+        for (int i = 0; i < metodo.vl.size(); i++) {
+            VarDeclSimple v = (VarDeclSimple) metodo.vl.get(i);
+            renombres.put(v.i.s, declararLocal(v.t, v.i.s, linea, copiaTipos));
+        }
+
+        CloneVisitor clonador = new CloneVisitor(renombres, new HashMap<>());
+        for (int i = 0; i < metodo.vl.size(); i++) {
+            if (metodo.vl.get(i) instanceof VarDeclAssign) {
+                VarDeclAssign v = (VarDeclAssign) metodo.vl.get(i);
+                cuerpo.add(new Assign(new Identifier(renombres.get(v.i.s), linea), clonador.clonar(v.e), linea));
+            }
+        }
+        for (int i = 0; i < metodo.sl.size(); i++) {
+            cuerpo.add(clonador.clonar(metodo.sl.get(i)));
+        }
+        cuerpo.add(new Assign(asignacion.i, clonador.clonar(metodo.e), linea));
+
+        tamanoLlamador += tamano;
+        expansiones++;
+        decisiones.add(sitio + ": expandida con sus sentencias (tamano " + tamano + ")");
+        return new Block(cuerpo, linea);
+    }
+
+    /**
+     * Declara una variable local nueva en el método llamador.
+     * @return El nombre fresco de la variable
+     */
+    private String declararLocal(Type t, String base, int linea, CloneVisitor copiaTipos) {
+        String nuevo = nombresFrescos.nuevo(base, "_in");
+        nombresLocales.add(nuevo);
+        localesActuales.add(new VarDeclSimple(copiaTipos.clonar(t), new Identifier(nuevo, linea), linea));
+        return nuevo;
+    }
+
+    private Node rechazar(String sitio, String motivo) {
+        decisiones.add(sitio + ": no se expande, " + motivo);
+        return null;
+    }
+
+    /**
+     * Indica si la expresión solo lee literales, this y variables locales del
+     * llamador, que ninguna llamada puede modificar.
+     */
+    private boolean soloLeeLocales(Expr e) {
+        return nombresLocales.containsAll(UsageVisitor.de(e).getVariablesLeidas());
+    }
+}
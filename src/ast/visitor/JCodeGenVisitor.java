@@ -21,6 +21,33 @@ public class JCodeGenVisitor implements Visitor {
     private Map<String, Type> tipoVarLocal = null;
     private int siguienteIndiceLocal = 0;
     private String claseMetodoActual = null;
+    // Contadores de las reglas de selección de instrucciones aplicadas
+    private RuleCounter reglas;
+    // Si * y / por 2^k se generan como desplazamientos (solo con la simplificación habilitada)
+    private boolean desplazamientos;
+    // Contador de etiquetas: un nodo compartido se visita más de una vez y no puede dar nombre a sus etiquetas
+    private int etiquetas = 0;
+
+    public JCodeGenVisitor() {
+        this(new RuleCounter());
+    }
+
+    /**
+     * @param reglas Contadores donde se registran las reglas de selección de instrucciones
+     */
+    public JCodeGenVisitor(RuleCounter reglas) {
+        this(reglas, false);
+    }
+
+    /**
+     * @param reglas Contadores donde se registran las reglas de selección de instrucciones
+     * @param desplazamientos Si las multiplicaciones y divisiones por potencias de dos se
+     *                        generan como desplazamientos
+     */
+    public JCodeGenVisitor(RuleCounter reglas, boolean desplazamientos) {
+        this.reglas = reglas;
+        this.desplazamientos = desplazamientos;
+    }
 
     /**
      * Cierra todos los writers abiertos al finalizar la generación de código.
@@ -105,6 +132,7 @@ public class JCodeGenVisitor implements Visitor {
         int limitStack = 8; // Estimación simple
         writer.println("   .limit stack " + limitStack);
         writer.println("   .limit locals " + limitLocals);
+        inicializarLocales(n.vl);
         // Sentencias del main
         for (int i = 0; i < n.sl.size(); i++) {
             visit(n.sl.get(i));
@@ -255,6 +283,7 @@ public class JCodeGenVisitor implements Visitor {
         writer.println(".method public " + n.i.s + "(" + params + ")" + returnType);
         writer.println("   .limit stack " + limitStack);
         writer.println("   .limit locals " + limitLocals);
+        inicializarLocales(n.vl);
         // Sentencias
         for (int i = 0; i < n.sl.size(); i++) {
             visit(n.sl.get(i));
@@ -274,6 +303,19 @@ public class JCodeGenVisitor implements Visitor {
         claseMetodoActual = null;
     }
 
+    /**
+     * Asigna su valor inicial a las variables locales declaradas con uno
+     * (int x = 5;), antes de la primera sentencia.
+     */
+    private void inicializarLocales(VarDeclList vl) {
+        for (int i = 0; i < vl.size(); i++) {
+            if (vl.get(i) instanceof VarDeclAssign) {
+                VarDeclAssign v = (VarDeclAssign) vl.get(i);
+                visit(new Assign(v.i, v.e, v.line));
+            }
+        }
+    }
+
     /**
      * Genera el código para una sentencia Print.
      * Llama a println con el tipo adecuado (int u objeto).
@@ -310,9 +352,9 @@ public class JCodeGenVisitor implements Visitor {
         int idx = indiceVarLocal.getOrDefault(n.i.s, 1);
         Type t = tipoVarLocal.getOrDefault(n.i.s, new IntType(n.i.line));
         if (t instanceof IntType || t instanceof IntArrayType) {
-            writer.println("   istore_" + idx);
+            writer.println("   " + local("istore", idx));
         } else {
-            writer.println("   astore_" + idx);
+            writer.println("   " + local("astore", idx));
         }
     }
 
@@ -329,12 +371,20 @@ public class JCodeGenVisitor implements Visitor {
         int idx = indiceVarLocal.getOrDefault(n.s, 1);
         Type t = tipoVarLocal.getOrDefault(n.s, new IntType(n.line));
         if (t instanceof IntType || t instanceof IntArrayType) {
-            writerActual.println("   iload_" + idx);
+            writerActual.println("   " + local("iload", idx));
         } else {
-            writerActual.println("   aload_" + idx);
+            writerActual.println("   " + local("aload", idx));
         }
     }
 
+    /**
+     * Instrucción de carga o almacenamiento de un local: las formas cortas
+     * (iload_0 a iload_3) solo existen para los primeros cuatro índices.
+     */
+    private static String local(String instruccion, int idx) {
+        return idx <= 3 ? instruccion + "_" + idx : instruccion + " " + idx;
+    }
+
     /**
      * Utilidad para obtener el tipo Jasmin a partir de un Type del AST.
      * @param t Tipo del AST
@@ -350,8 +400,9 @@ public class JCodeGenVisitor implements Visitor {
     @Override
     public void visit(And n) {
         // (a && b): si a es 0, salta al final con 0; si no, evalúa b
-        String labelFalse = "LabelAndFalse" + n.hashCode();
-        String labelEnd = "LabelAndEnd" + n.hashCode();
+        int etiqueta = etiquetas++;
+        String labelFalse = "LabelAndFalse" + etiqueta;
+        String labelEnd = "LabelAndEnd" + etiqueta;
         visit(n.e1);
         writerActual.println("   ifeq " + labelFalse);
         visit(n.e2);
@@ -366,8 +417,9 @@ public class JCodeGenVisitor implements Visitor {
     @Override
     public void visit(Or n) {
         // (a || b): si a es distinto de 0, salta al final con 1; si no, evalúa b
-        String labelTrue = "LabelOrTrue" + n.hashCode();
-        String labelEnd = "LabelOrEnd" + n.hashCode();
+        int etiqueta = etiquetas++;
+        String labelTrue = "LabelOrTrue" + etiqueta;
+        String labelEnd = "LabelOrEnd" + etiqueta;
         visit(n.e1);
         writerActual.println("   ifne " + labelTrue);
         visit(n.e2);
@@ -382,8 +434,9 @@ public class JCodeGenVisitor implements Visitor {
     @Override
     public void visit(Equal n) {
         // (a == b)
-        String labelTrue = "LabelEqTrue" + n.hashCode();
-        String labelEnd = "LabelEqEnd" + n.hashCode();
+        int etiqueta = etiquetas++;
+        String labelTrue = "LabelEqTrue" + etiqueta;
+        String labelEnd = "LabelEqEnd" + etiqueta;
         visit(n.e1);
         visit(n.e2);
         writerActual.println("   if_icmpeq " + labelTrue);
@@ -397,8 +450,9 @@ public class JCodeGenVisitor implements Visitor {
     @Override
     public void visit(NotEqual n) {
         // (a != b)
-        String labelTrue = "LabelNeqTrue" + n.hashCode();
-        String labelEnd = "LabelNeqEnd" + n.hashCode();
+        int etiqueta = etiquetas++;
+        String labelTrue = "LabelNeqTrue" + etiqueta;
+        String labelEnd = "LabelNeqEnd" + etiqueta;
         visit(n.e1);
         visit(n.e2);
         writerActual.println("   if_icmpne " + labelTrue);
@@ -412,8 +466,9 @@ public class JCodeGenVisitor implements Visitor {
     @Override
     public void visit(LessThan n) {
         // (a < b)
-        String labelTrue = "LabelLtTrue" + n.hashCode();
-        String labelEnd = "LabelLtEnd" + n.hashCode();
+        int etiqueta = etiquetas++;
+        String labelTrue = "LabelLtTrue" + etiqueta;
+        String labelEnd = "LabelLtEnd" + etiqueta;
         visit(n.e1);
         visit(n.e2);
         writerActual.println("   if_icmplt " + labelTrue);
@@ -427,8 +482,9 @@ public class JCodeGenVisitor implements Visitor {
     @Override
     public void visit(MoreThan n) {
         // (a > b)
-        String labelTrue = "LabelGtTrue" + n.hashCode();
-        String labelEnd = "LabelGtEnd" + n.hashCode();
+        int etiqueta = etiquetas++;
+        String labelTrue = "LabelGtTrue" + etiqueta;
+        String labelEnd = "LabelGtEnd" + etiqueta;
         visit(n.e1);
         visit(n.e2);
         writerActual.println("   if_icmpgt " + labelTrue);
@@ -509,8 +565,9 @@ public class JCodeGenVisitor implements Visitor {
      */
     @Override
     public void visit(If n) {
-        String labelElse = "LabelElse" + n.hashCode();
-        String labelEnd = "LabelEnd" + n.hashCode();
+        int etiqueta = etiquetas++;
+        String labelElse = "LabelElse" + etiqueta;
+        String labelEnd = "LabelEnd" + etiqueta;
         visit(n.e); // condición
         writerActual.println("   ifeq " + labelElse);
         visit(n.s1); // then
@@ -525,8 +582,9 @@ public class JCodeGenVisitor implements Visitor {
      */
     @Override
     public void visit(While n) {
-        String labelStart = "LabelWhileStart" + n.hashCode();
-        String labelEnd = "LabelWhileEnd" + n.hashCode();
+        int etiqueta = etiquetas++;
+        String labelStart = "LabelWhileStart" + etiqueta;
+        String labelEnd = "LabelWhileEnd" + etiqueta;
         writerActual.println(labelStart + ":");
         visit(n.e); // condición
         writerActual.println("   ifeq " + labelEnd);
@@ -568,9 +626,19 @@ public class JCodeGenVisitor implements Visitor {
 
     /**
      * Genera el código para la multiplicación de dos enteros.
+     * Con desplazamientos habilitados, la multiplicación por una potencia de dos se
+     * genera como desplazamiento a la izquierda.
      */
     @Override
     public void visit(Mult n) {
+        int k = desplazamientos ? exponenteDeDos(n.e2) : 0;
+        if (k > 0) {
+            visit(n.e1);
+            writerActual.println("   ldc " + k);
+            writerActual.println("   ishl");
+            reglas.registrar("multiplicacion-a-desplazamiento");
+            return;
+        }
         visit(n.e1);
         visit(n.e2);
         writerActual.println("   imul");
@@ -578,14 +646,46 @@ public class JCodeGenVisitor implements Visitor {
 
     /**
      * Genera el código para la división de dos enteros.
+     * Con desplazamientos habilitados, la división por una potencia de dos se genera como
+     * desplazamiento aritmético, sumando antes 2^k - 1 a los dividendos negativos para
+     * redondear hacia cero como idiv.
      */
     @Override
     public void visit(Div n) {
+        int k = desplazamientos ? exponenteDeDos(n.e2) : 0;
+        if (k > 0) {
+            visit(n.e1);
+            // x + ((x >> 31) >>> (32 - k)) vale x o x + 2^k - 1 según el signo
+            writerActual.println("   dup");
+            writerActual.println("   ldc 31");
+            writerActual.println("   ishr");
+            writerActual.println("   ldc " + (32 - k));
+            writerActual.println("   iushr");
+            writerActual.println("   iadd");
+            writerActual.println("   ldc " + k);
+            writerActual.println("   ishr");
+            reglas.registrar("division-a-desplazamiento");
+            return;
+        }
         visit(n.e1);
         visit(n.e2);
         writerActual.println("   idiv");
     }
 
+    /**
+     * Si la expresión es un literal 2^k con k entre 1 y 30, retorna k; en otro caso retorna 0.
+     */
+    private static int exponenteDeDos(Expr e) {
+        if (!(e instanceof IntegerLiteral)) {
+            return 0;
+        }
+        int v = ((IntegerLiteral) e).i;
+        if (v < 2 || Integer.bitCount(v) != 1) {
+            return 0;
+        }
+        return Integer.numberOfTrailingZeros(v);
+    }
+
     /**
      * Genera el código para un literal entero.
      */
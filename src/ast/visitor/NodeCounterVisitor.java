@@ -0,0 +1,285 @@
+package ast.visitor;
+
+import ast.*;
+
+/**
+ * Visitante que cuenta los nodos de un subárbol del AST.
+ * Se usa como medida de tamaño para los presupuestos de las optimizaciones.
+ */
+public class NodeCounterVisitor implements Visitor {
+    private int total = 0;
+
+    /**
+     * Cuenta los nodos de una expresión.
+     */
+    public static int contar(Expr e) {
+        NodeCounterVisitor v = new NodeCounterVisitor();
+        v.visit(e);
+        return v.total;
+    }
+
+    /**
+     * Cuenta los nodos de una sentencia.
+     */
+    public static int contar(Statement s) {
+        NodeCounterVisitor v = new NodeCounterVisitor();
+        v.visit(s);
+        return v.total;
+    }
+
+    /**
+     * Cuenta los nodos de un método completo.
+     */
+    public static int contar(MethodDecl m) {
+        NodeCounterVisitor v = new NodeCounterVisitor();
+        v.visit(m);
+        return v.total;
+    }
+
+    /**
+     * Cuenta los nodos del programa completo.
+     */
+    public static int contar(Goal g) {
+        NodeCounterVisitor v = new NodeCounterVisitor();
+        v.visit(g);
+        return v.total;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void visit(Goal n) {
+        total++;
+        visit(n.m);
+        for (int i = 0; i < n.cl.size(); i++) {
+            visit(n.cl.get(i));
+        }
+    }
+
+    public void visit(MainClass n) {
+        total++;
+        visit(n.i1);
+        visit(n.i2);
+        for (int i = 0; i < n.vl.size(); i++) {
+            visit(n.vl.get(i));
+        }
+        for (int i = 0; i < n.sl.size(); i++) {
+            visit(n.sl.get(i));
+        }
+    }
+
+    public void visit(ClassDeclSimple n) {
+        total++;
+        visit(n.i);
+        for (int i = 0; i < n.vl.size(); i++) {
+            visit(n.vl.get(i));
+        }
+        for (int i = 0; i < n.ml.size(); i++) {
+            visit(n.ml.get(i));
+        }
+    }
+
+    public void visit(ClassDeclExtends n) {
+        total++;
+        visit(n.i);
+        visit(n.j);
+        for (int i = 0; i < n.vl.size(); i++) {
+            visit(n.vl.get(i));
+        }
+        for (int i = 0; i < n.ml.size(); i++) {
+            visit(n.ml.get(i));
+        }
+    }
+
+    public void visit(VarDeclSimple n) {
+        total++;
+        visit(n.t);
+        visit(n.i);
+    }
+
+    public void visit(VarDeclAssign n) {
+        total++;
+        visit(n.t);
+        visit(n.i);
+        visit(n.e);
+    }
+
+    public void visit(MethodDecl n) {
+        total++;
+        visit(n.t);
+        visit(n.i);
+        for (int i = 0; i < n.fl.size(); i++) {
+            visit(n.fl.get(i));
+        }
+        for (int i = 0; i < n.vl.size(); i++) {
+            visit(n.vl.get(i));
+        }
+        for (int i = 0; i < n.sl.size(); i++) {
+            visit(n.sl.get(i));
+        }
+        visit(n.e);
+    }
+
+    public void visit(Param n) {
+        total++;
+        visit(n.t);
+        visit(n.i);
+    }
+
+    public void visit(IntArrayType n) {
+        total++;
+    }
+
+    public void visit(IntType n) {
+        total++;
+    }
+
+    public void visit(ClassType n) {
+        total++;
+    }
+
+    public void visit(Block n) {
+        total++;
+        for (int i = 0; i < n.sl.size(); i++) {
+            visit(n.sl.get(i));
+        }
+    }
+
+    public void visit(If n) {
+        total++;
+        visit(n.e);
+        visit(n.s1);
+        visit(n.s2);
+    }
+
+    public void visit(While n) {
+        total++;
+        visit(n.e);
+        visit(n.s);
+    }
+
+    public void visit(Print n) {
+        total++;
+        visit(n.e);
+    }
+
+    public void visit(Assign n) {
+        total++;
+        visit(n.i);
+        visit(n.e);
+    }
+
+    public void visit(ArrayAssign n) {
+        total++;
+        visit(n.i);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(And n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Or n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Equal n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(NotEqual n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(LessThan n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(MoreThan n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Plus n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Minus n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Mult n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Div n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(ArrayLookup n) {
+        total++;
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(ArrayLength n) {
+        total++;
+        visit(n.e);
+    }
+
+    public void visit(Call n) {
+        total++;
+        visit(n.e);
+        visit(n.i);
+        for (int i = 0; i < n.el.size(); i++) {
+            visit(n.el.get(i));
+        }
+    }
+
+    public void visit(IntegerLiteral n) {
+        total++;
+    }
+
+    public void visit(IdentifierExpr n) {
+        total++;
+    }
+
+    public void visit(This n) {
+        total++;
+    }
+
+    public void visit(NewArray n) {
+        total++;
+        visit(n.e);
+    }
+
+    public void visit(NewObject n) {
+        total++;
+        visit(n.i);
+    }
+
+    public void visit(Identifier n) {
+        total++;
+    }
+}
@@ -0,0 +1,297 @@
+package ast.visitor;
+
+import ast.*;
+import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Administrador de las pasadas de optimización.
+ * Ejecuta en orden las pasadas habilitadas por el nivel de optimización
+ * (-O0 a -O3), midiendo el tiempo y el cambio de tamaño del AST de cada una.
+ * En -O3 la secuencia se repite hasta que ninguna pasada modifica el programa
+ * o se alcanza el máximo de iteraciones.
+ *
+ * Las pasadas también pueden correr sobre una AstSnapshot: las que tienen
+ * una versión en copia al escribir derivan una instantánea nueva y las demás
+ * se omiten.
+ */
+public class PassManager {
+
+    /**
+     * Una pasada sobre el programa completo.
+     */
+    public interface Pass {
+        /**
+         * Ejecuta la pasada.
+         * @param g Programa a transformar
+         * @param mensajes Lista donde la pasada deja sus decisiones
+         * @return true si la pasada modificó el AST
+         */
+        boolean ejecutar(Goal g, List<String> mensajes);
+    }
+
+    /**
+     * Versión de una pasada que deriva una instantánea en vez de modificar el árbol.
+     */
+    public interface Derivacion {
+        /**
+         * @param s Instantánea a transformar, que no se modifica
+         * @param mensajes Lista donde la pasada deja sus decisiones
+         * @return La instantánea derivada, o s si la pasada no cambió nada
+         */
+        AstSnapshot derivar(AstSnapshot s, List<String> mensajes);
+    }
+
+    /**
+     * Una pasada registrada con su nivel mínimo.
+     */
+    private static class Registro {
+        String nombre;
+        int nivelMinimo;
+        // Las pasadas que resuelven llamadas necesitan un programa sin errores semánticos
+        boolean requiereProgramaValido;
+        Pass pasada;
+        // null si la pasada solo trabaja en su lugar
+        Derivacion derivacion;
+
+        Registro(String nombre, int nivelMinimo, boolean requiereProgramaValido, Pass pasada, Derivacion derivacion) {
+            this.nombre = nombre;
+            this.nivelMinimo = nivelMinimo;
+            this.requiereProgramaValido = requiereProgramaValido;
+            this.pasada = pasada;
+            this.derivacion = derivacion;
+        }
+    }
+
+    public static final int NIVEL_POR_DEFECTO = 2;
+    public static final int NIVEL_MAXIMO = 3;
+    // Máximo de repeticiones de la secuencia en -O3
+    public static final int MAXIMO_ITERACIONES = 4;
+
+    private List<Registro> pasadas;
+    private Set<String> deshabilitadas;
+    private int nivel;
+    private RuleCounter reglas;
+    // Informe de tiempos y tamaños, una línea por pasada ejecutada
+    private List<String> informe;
+
+    /**
+     * Crea el administrador con las pasadas del compilador en su orden de ejecución.
+     * @param reglas Contadores de reglas que comparte la simplificación algebraica
+     */
+    public PassManager(RuleCounter reglas) {
+        this.pasadas = new ArrayList<>();
+        this.deshabilitadas = new HashSet<>();
+        this.nivel = NIVEL_POR_DEFECTO;
+        this.reglas = reglas;
+        this.informe = new ArrayList<>();
+        registrarPasadas();
+    }
+
+    private void registrarPasadas() {
+        registrar("inlining", 2, true, (g, mensajes) -> {
+            InliningVisitor inliner = new InliningVisitor();
+            inliner.reescribir(g, null);
+            mensajes.addAll(inliner.getDecisiones());
+            return inliner.getExpansiones() > 0;
+        }, (s, mensajes) -> {
+            InliningVisitor inliner = new InliningVisitor(RewritingVisitor.Modo.COPIA_AL_ESCRIBIR);
+            AstSnapshot derivada = s.derivar(inliner, null);
+            mensajes.addAll(inliner.getDecisiones());
+            return derivada;
+        });
+        registrar("recursion-cola", 2, true, (g, mensajes) -> {
+            TailCallVisitor recursionCola = new TailCallVisitor();
+            recursionCola.visit(g);
+            mensajes.addAll(recursionCola.getDecisiones());
+            return recursionCola.getTransformados() > 0;
+        });
+        registrar("simplificacion", 1, true, (g, mensajes) -> {
+            int antes = reglas.getTotal();
+            new AlgebraicSimplificationVisitor(reglas).reescribir(g, null);
+            return reglas.getTotal() > antes;
+        }, (s, mensajes) -> s.derivar(
+                new AlgebraicSimplificationVisitor(reglas, RewritingVisitor.Modo.COPIA_AL_ESCRIBIR), null));
+        registrar("variables-no-usadas", 1, false, (g, mensajes) -> {
+            OptimizationVisitor optimizer = new OptimizationVisitor();
+            optimizer.reescribir(g, null);
+            return optimizer.getVariablesEliminadas() > 0;
+        }, (s, mensajes) -> s.derivar(new OptimizationVisitor(RewritingVisitor.Modo.COPIA_AL_ESCRIBIR), null));
+        // Análisis: no modifica el AST, solo marca los accesos seguros
+        registrar("limites", 1, true, (g, mensajes) -> {
+            BoundsCheckVisitor limites = new BoundsCheckVisitor();
+            limites.visit(g);
+            mensajes.addAll(limites.getDecisiones());
+            mensajes.add("accesos a arreglos probados en rango: " + limites.getAccesosSeguros()
+                    + " de " + limites.getAccesosTotales());
+            return false;
+        });
+    }
+
+    /**
+     * Agrega una pasada al final de la secuencia.
+     * @param nombre Nombre con el que se deshabilita la pasada (-fno-nombre)
+     * @param nivelMinimo Nivel de optimización desde el que se ejecuta
+     * @param requiereProgramaValido Si la pasada se omite cuando hay errores semánticos
+     */
+    public void registrar(String nombre, int nivelMinimo, boolean requiereProgramaValido, Pass pasada) {
+        registrar(nombre, nivelMinimo, requiereProgramaValido, pasada, null);
+    }
+
+    /**
+     * Agrega una pasada que además puede derivar instantáneas.
+     * @param derivacion Versión de la pasada en copia al escribir
+     */
+    public void registrar(String nombre, int nivelMinimo, boolean requiereProgramaValido, Pass pasada,
+            Derivacion derivacion) {
+        pasadas.add(new Registro(nombre, nivelMinimo, requiereProgramaValido, pasada, derivacion));
+    }
+
+    /**
+     * Fija el nivel de optimización, de 0 a NIVEL_MAXIMO.
+     */
+    public void setNivel(int nivel) {
+        if (nivel < 0 || nivel > NIVEL_MAXIMO) {
+            throw new IllegalArgumentException("Nivel de optimizacion invalido: -O" + nivel);
+        }
+        this.nivel = nivel;
+    }
+
+    public int getNivel() {
+        return nivel;
+    }
+
+    /**
+     * Deshabilita una pasada por nombre.
+     */
+    public void deshabilitar(String nombre) {
+        if (getNombres().indexOf(nombre) < 0) {
+            throw new IllegalArgumentException("Pasada desconocida: " + nombre + " (pasadas: " + getNombres() + ")");
+        }
+        deshabilitadas.add(nombre);
+    }
+
+    /**
+     * Indica si la pasada se ejecuta con el nivel y las opciones actuales.
+     */
+    public boolean estaHabilitada(String nombre) {
+        for (Registro r : pasadas) {
+            if (r.nombre.equals(nombre)) {
+                return nivel >= r.nivelMinimo && !deshabilitadas.contains(nombre);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retorna los nombres de las pasadas en orden de ejecución.
+     */
+    public List<String> getNombres() {
+        List<String> nombres = new ArrayList<>();
+        for (Registro r : pasadas) {
+            nombres.add(r.nombre);
+        }
+        return nombres;
+    }
+
+    /**
+     * Aplica las opciones -O<n> y -fno-<pasada> de la línea de comandos.
+     * Los argumentos que no son de optimización se ignoran.
+     */
+    public void configurar(String[] args) {
+        for (String arg : args) {
+            if (arg.matches("-O[0-9]+")) {
+                setNivel(Integer.parseInt(arg.substring(2)));
+            } else if (arg.startsWith("-fno-")) {
+                deshabilitar(arg.substring(5));
+            }
+        }
+    }
+
+    /**
+     * Retorna el informe de tiempos y tamaños de la última ejecución.
+     */
+    public List<String> getInforme() {
+        return informe;
+    }
+
+    /**
+     * Ejecuta las pasadas habilitadas sobre el programa.
+     * Las decisiones de cada pasada se imprimen la primera vez que se ejecuta y
+     * en cada iteración en la que modifica el AST.
+     * @param programaValido Si el análisis semántico no encontró errores
+     * @return Cantidad de iteraciones realizadas
+     */
+    public int ejecutar(Goal g, boolean programaValido) {
+        return iterar(programaValido, r -> true, () -> g, (r, mensajes) -> {
+            boolean modifico = r.pasada.ejecutar(g, mensajes);
+            if (modifico) {
+                // Las huellas guardadas en los nodos ya no corresponden al árbol modificado
+                Fingerprint.limpiar(g);
+            }
+            return modifico;
+        });
+    }
+
+    /**
+     * Ejecuta sobre una instantánea las pasadas habilitadas que pueden
+     * derivarla; las que solo trabajan en su lugar (recursión de cola y
+     * límites) se omiten. La instantánea recibida no se modifica.
+     * @param programaValido Si el análisis semántico no encontró errores
+     * @return La última instantánea derivada, o s si ninguna pasada cambió el programa
+     */
+    public AstSnapshot ejecutar(AstSnapshot s, boolean programaValido) {
+        AstSnapshot[] actual = { s };
+        iterar(programaValido, r -> r.derivacion != null, () -> actual[0].getGoal(), (r, mensajes) -> {
+            AstSnapshot derivada = r.derivacion.derivar(actual[0], mensajes);
+            boolean modifico = derivada != actual[0];
+            actual[0] = derivada;
+            return modifico;
+        });
+        return actual[0];
+    }
+
+    /**
+     * Recorre la secuencia de pasadas, repitiéndola en -O3 mientras alguna
+     * modifique el programa, e imprime sus decisiones y arma el informe.
+     * @param disponible Qué pasadas habilitadas se pueden ejecutar
+     * @param arbol Programa actual, para medir su tamaño
+     * @param correr Ejecuta una pasada y retorna si modificó el programa
+     */
+    private int iterar(boolean programaValido, Predicate<Registro> disponible, Supplier<Goal> arbol,
+            BiPredicate<Registro, List<String>> correr) {
+        informe.clear();
+        int maximo = nivel >= 3 ? MAXIMO_ITERACIONES : 1;
+        int iteracion = 0;
+        boolean cambio = true;
+        while (cambio && iteracion < maximo) {
+            iteracion++;
+            cambio = false;
+            for (Registro r : pasadas) {
+                if (nivel < r.nivelMinimo || deshabilitadas.contains(r.nombre)
+                        || (r.requiereProgramaValido && !programaValido) || !disponible.test(r)) {
+                    continue;
+                }
+                List<String> mensajes = new ArrayList<>();
+                int tamanoAntes = NodeCounterVisitor.contar(arbol.get());
+                long inicio = System.nanoTime();
+                boolean modifico = correr.test(r, mensajes);
+                long nanos = System.nanoTime() - inicio;
+                int tamanoDespues = NodeCounterVisitor.contar(arbol.get());
+                cambio |= modifico;
+
+                if (iteracion == 1 || modifico) {
+                    for (String mensaje : mensajes) {
+                        System.out.println(r.nombre + ": " + mensaje);
+                    }
+                }
+                informe.add(String.format("iteracion %d  %-20s %8.3f ms  %5d -> %5d nodos (%+d)%s",
+                        iteracion, r.nombre, nanos / 1e6, tamanoAntes, tamanoDespues,
+                        tamanoDespues - tamanoAntes, modifico ? "  modifico" : ""));
+            }
+        }
+        return iteracion;
+    }
+}
@@ -0,0 +1,269 @@
+package ast.visitor;
+
+import ast.*;
+
+/**
+ * Visitante que suma un desplazamiento a la línea y al span de todos los
+ * nodos de un subárbol, incluidas las listas. Lo usa el parser incremental
+ * cuando una edición agrega o quita líneas o caracteres antes del subárbol.
+ * Las líneas 0 (como la de una ParamList vacía) no corresponden a una
+ * posición y se dejan igual, al igual que los nodos sin span.
+ */
+public class PositionShiftVisitor implements Visitor {
+    private int lineas;
+    private int caracteres;
+
+    public PositionShiftVisitor(int lineas, int caracteres) {
+        this.lineas = lineas;
+        this.caracteres = caracteres;
+    }
+
+    private void mover(Node n) {
+        if (n.line > 0) {
+            n.line += lineas;
+        }
+        if (n.tieneSpan()) {
+            n.setSpan(n.getInicio() + caracteres, n.getFin() + caracteres);
+        }
+    }
+
+    public void visit(Goal n) {
+        mover(n);
+        visit(n.m);
+        mover(n.cl);
+        for (int i = 0; i < n.cl.size(); i++) {
+            visit(n.cl.get(i));
+        }
+    }
+
+    public void visit(MainClass n) {
+        mover(n);
+        visit(n.i1);
+        visit(n.i2);
+        visitarVariables(n.vl);
+        visitarSentencias(n.sl);
+    }
+
+    public void visit(ClassDeclSimple n) {
+        mover(n);
+        visit(n.i);
+        visitarVariables(n.vl);
+        visitarMetodos(n.ml);
+    }
+
+    public void visit(ClassDeclExtends n) {
+        mover(n);
+        visit(n.i);
+        visit(n.j);
+        visitarVariables(n.vl);
+        visitarMetodos(n.ml);
+    }
+
+    private void visitarVariables(VarDeclList vl) {
+        mover(vl);
+        for (int i = 0; i < vl.size(); i++) {
+            visit(vl.get(i));
+        }
+    }
+
+    private void visitarMetodos(MethodDeclList ml) {
+        mover(ml);
+        for (int i = 0; i < ml.size(); i++) {
+            visit(ml.get(i));
+        }
+    }
+
+    private void visitarSentencias(StatementList sl) {
+        mover(sl);
+        for (int i = 0; i < sl.size(); i++) {
+            visit(sl.get(i));
+        }
+    }
+
+    public void visit(VarDeclSimple n) {
+        mover(n);
+        visit(n.t);
+        visit(n.i);
+    }
+
+    public void visit(VarDeclAssign n) {
+        mover(n);
+        visit(n.t);
+        visit(n.i);
+        visit(n.e);
+    }
+
+    public void visit(MethodDecl n) {
+        mover(n);
+        visit(n.t);
+        visit(n.i);
+        mover(n.fl);
+        for (int i = 0; i < n.fl.size(); i++) {
+            visit(n.fl.get(i));
+        }
+        visitarVariables(n.vl);
+        visitarSentencias(n.sl);
+        visit(n.e);
+    }
+
+    public void visit(Param n) {
+        mover(n);
+        visit(n.t);
+        visit(n.i);
+    }
+
+    public void visit(IntArrayType n) {
+        mover(n);
+    }
+
+    public void visit(IntType n) {
+        mover(n);
+    }
+
+    public void visit(ClassType n) {
+        mover(n);
+    }
+
+    public void visit(Block n) {
+        mover(n);
+        visitarSentencias(n.sl);
+    }
+
+    public void visit(If n) {
+        mover(n);
+        visit(n.e);
+        visit(n.s1);
+        visit(n.s2);
+    }
+
+    public void visit(While n) {
+        mover(n);
+        visit(n.e);
+        visit(n.s);
+    }
+
+    public void visit(Print n) {
+        mover(n);
+        visit(n.e);
+    }
+
+    public void visit(Assign n) {
+        mover(n);
+        visit(n.i);
+        visit(n.e);
+    }
+
+    public void visit(ArrayAssign n) {
+        mover(n);
+        visit(n.i);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(And n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Or n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Equal n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(NotEqual n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(LessThan n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(MoreThan n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Plus n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Minus n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Mult n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(Div n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(ArrayLookup n) {
+        mover(n);
+        visit(n.e1);
+        visit(n.e2);
+    }
+
+    public void visit(ArrayLength n) {
+        mover(n);
+        visit(n.e);
+    }
+
+    public void visit(Call n) {
+        mover(n);
+        visit(n.e);
+        visit(n.i);
+        mover(n.el);
+        for (int i = 0; i < n.el.size(); i++) {
+            visit(n.el.get(i));
+        }
+    }
+
+    public void visit(IntegerLiteral n) {
+        mover(n);
+    }
+
+    public void visit(IdentifierExpr n) {
+        mover(n);
+    }
+
+    public void visit(This n) {
+        mover(n);
+    }
+
+    public void visit(NewArray n) {
+        mover(n);
+        visit(n.e);
+    }
+
+    public void visit(NewObject n) {
+        mover(n);
+        visit(n.i);
+    }
+
+    public void visit(Identifier n) {
+        mover(n);
+    }
+}
@@ -0,0 +1,110 @@
+package ast.visitor;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Salida de texto de los visitantes que imprimen el AST. Acumula lo impreso
+ * en un StringBuilder y lo pasa al destino en bloques de TAMANO_BLOQUE
+ * caracteres, de modo que imprimir un programa grande cuesta unas pocas
+ * escrituras en vez de una por fragmento. La sangría de cada nivel se arma
+ * una sola vez y se reutiliza.
+ *
+ * Los errores de E/S del destino se lanzan como UncheckedIOException.
+ */
+public class PrintBuffer {
+    public static final int TAMANO_BLOQUE = 64 * 1024;
+    private static final String FIN_DE_LINEA = System.lineSeparator();
+
+    private final Appendable destino;
+    private final StringBuilder buffer;
+    // Espacios de un nivel de sangría
+    private final String unidad;
+    // Sangría de cada nivel, calculada la primera vez que se usa
+    private String[] sangrias;
+
+    public PrintBuffer(Appendable destino) {
+        this(destino, "  ");
+    }
+
+    /**
+     * @param destino Donde se escribe el texto, por ejemplo System.out o un Writer
+     * @param unidad Texto que agrega cada nivel de sangría
+     */
+    public PrintBuffer(Appendable destino, String unidad) {
+        this.destino = destino;
+        this.unidad = unidad;
+        this.buffer = new StringBuilder(TAMANO_BLOQUE + 1024);
+        this.sangrias = new String[16];
+    }
+
+    public void print(String s) {
+        buffer.append(s);
+        if (buffer.length() >= TAMANO_BLOQUE) {
+            vaciar();
+        }
+    }
+
+    public void print(int i) {
+        buffer.append(i);
+    }
+
+    public void println(String s) {
+        buffer.append(s);
+        println();
+    }
+
+    public void println() {
+        buffer.append(FIN_DE_LINEA);
+        if (buffer.length() >= TAMANO_BLOQUE) {
+            vaciar();
+        }
+    }
+
+    /**
+     * Imprime la sangría del nivel dado.
+     */
+    public void sangria(int nivel) {
+        if (nivel >= sangrias.length) {
+            sangrias = Arrays.copyOf(sangrias, Math.max(nivel + 1, sangrias.length * 2));
+        }
+        String s = sangrias[nivel];
+        if (s == null) {
+            StringBuilder sb = new StringBuilder(nivel * unidad.length());
+            for (int i = 0; i < nivel; i++) {
+                sb.append(unidad);
+            }
+            s = sb.toString();
+            sangrias[nivel] = s;
+        }
+        buffer.append(s);
+    }
+
+    /**
+     * Pasa al destino todo lo acumulado y, si el destino lo permite, lo vacía.
+     */
+    public void flush() {
+        vaciar();
+        if (destino instanceof Flushable) {
+            try {
+                ((Flushable) destino).flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void vaciar() {
+        if (buffer.length() == 0) {
+            return;
+        }
+        try {
+            destino.append(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.setLength(0);
+    }
+}
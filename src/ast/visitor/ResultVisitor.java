@@ -0,0 +1,104 @@
+package ast.visitor;
+
+import ast.*;
+
+/**
+ * Visitante que retorna un resultado de tipo R y recibe un contexto de tipo C
+ * en cada visita, para pasadas que calculan un valor por nodo (tipos,
+ * constantes, código) sin guardarlo en campos del visitante. Las categorías
+ * abstractas despachan con accept igual que en Visitor.
+ * ResultVisitorAdapter da una implementación que solo recorre los hijos.
+ */
+public interface ResultVisitor<R, C> {
+	public R visit(Goal n, C contexto);
+
+	public R visit(MainClass n, C contexto);
+
+	public R visit(ClassDeclSimple n, C contexto);
+
+	public R visit(ClassDeclExtends n, C contexto);
+
+	public R visit(VarDeclSimple n, C contexto);
+
+	public R visit(VarDeclAssign n, C contexto);
+
+	public R visit(MethodDecl n, C contexto);
+
+	public R visit(Param n, C contexto);
+
+	public R visit(IntArrayType n, C contexto);
+
+	public R visit(IntType n, C contexto);
+
+	public R visit(ClassType n, C contexto);
+
+	public R visit(Block n, C contexto);
+
+	public R visit(If n, C contexto);
+
+	public R visit(While n, C contexto);
+
+	public R visit(Print n, C contexto);
+
+	public R visit(Assign n, C contexto);
+
+	public R visit(ArrayAssign n, C contexto);
+
+	public R visit(And n, C contexto);
+
+	public R visit(Or n, C contexto);
+
+	public R visit(Equal n, C contexto);
+
+	public R visit(NotEqual n, C contexto);
+
+	public R visit(LessThan n, C contexto);
+
+	public R visit(MoreThan n, C contexto);
+
+	public R visit(Plus n, C contexto);
+
+	public R visit(Minus n, C contexto);
+
+	public R visit(Mult n, C contexto);
+
+	public R visit(Div n, C contexto);
+
+	public R visit(ArrayLookup n, C contexto);
+
+	public R visit(ArrayLength n, C contexto);
+
+	public R visit(Call n, C contexto);
+
+	public R visit(IntegerLiteral n, C contexto);
+
+	public R visit(IdentifierExpr n, C contexto);
+
+	public R visit(This n, C contexto);
+
+	public R visit(NewArray n, C contexto);
+
+	public R visit(NewObject n, C contexto);
+
+	public R visit(Identifier n, C contexto);
+
+	public default R visit(ClassDecl c, C contexto) {
+		return c.accept(this, contexto);
+	}
+
+	public default R visit(Expr e, C contexto) {
+		return e.accept(this, contexto);
+	}
+
+	public default R visit(Type t, C contexto) {
+		return t.accept(this, contexto);
+	}
+
+	public default R visit(VarDecl d, C contexto) {
+		return d.accept(this, contexto);
+	}
+
+	public default R visit(Statement s, C contexto) {
+		return s.accept(this, contexto);
+	}
+}
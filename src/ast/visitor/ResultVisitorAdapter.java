@@ -0,0 +1,236 @@
+package ast.visitor;
+
+import ast.*;
+
+/**
+ * Implementación base de ResultVisitor que visita los hijos de cada nodo en
+ * el orden del programa, con el mismo contexto, y retorna porDefecto(). Las
+ * subclases redefinen solo los nodos que les interesan.
+ */
+public abstract class ResultVisitorAdapter<R, C> implements ResultVisitor<R, C> {
+
+    /**
+     * Resultado de los nodos que la subclase no redefine.
+     */
+    protected R porDefecto(Node n, C contexto) {
+        return null;
+    }
+
+    public R visit(Goal n, C contexto) {
+        visit(n.m, contexto);
+        for (int i = 0; i < n.cl.size(); i++) {
+            visit(n.cl.get(i), contexto);
+        }
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(MainClass n, C contexto) {
+        visit(n.i1, contexto);
+        visit(n.i2, contexto);
+        visitarVariables(n.vl, contexto);
+        visitarSentencias(n.sl, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(ClassDeclSimple n, C contexto) {
+        visit(n.i, contexto);
+        visitarVariables(n.vl, contexto);
+        visitarMetodos(n.ml, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(ClassDeclExtends n, C contexto) {
+        visit(n.i, contexto);
+        visit(n.j, contexto);
+        visitarVariables(n.vl, contexto);
+        visitarMetodos(n.ml, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(VarDeclSimple n, C contexto) {
+        visit(n.t, contexto);
+        visit(n.i, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(VarDeclAssign n, C contexto) {
+        visit(n.t, contexto);
+        visit(n.i, contexto);
+        visit(n.e, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(MethodDecl n, C contexto) {
+        visit(n.t, contexto);
+        visit(n.i, contexto);
+        for (int i = 0; i < n.fl.size(); i++) {
+            visit(n.fl.get(i), contexto);
+        }
+        visitarVariables(n.vl, contexto);
+        visitarSentencias(n.sl, contexto);
+        visit(n.e, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(Param n, C contexto) {
+        visit(n.t, contexto);
+        visit(n.i, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(IntArrayType n, C contexto) {
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(IntType n, C contexto) {
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(ClassType n, C contexto) {
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(Block n, C contexto) {
+        visitarSentencias(n.sl, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(If n, C contexto) {
+        visit(n.e, contexto);
+        visit(n.s1, contexto);
+        visit(n.s2, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(While n, C contexto) {
+        visit(n.e, contexto);
+        visit(n.s, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(Print n, C contexto) {
+        visit(n.e, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(Assign n, C contexto) {
+        visit(n.i, contexto);
+        visit(n.e, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(ArrayAssign n, C contexto) {
+        visit(n.i, contexto);
+        visit(n.e1, contexto);
+        visit(n.e2, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(And n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(Or n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(Equal n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(NotEqual n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(LessThan n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(MoreThan n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(Plus n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(Minus n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(Mult n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(Div n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(ArrayLookup n, C contexto) {
+        return binaria(n, n.e1, n.e2, contexto);
+    }
+
+    public R visit(ArrayLength n, C contexto) {
+        visit(n.e, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(Call n, C contexto) {
+        visit(n.e, contexto);
+        visit(n.i, contexto);
+        for (int i = 0; i < n.el.size(); i++) {
+            visit(n.el.get(i), contexto);
+        }
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(IntegerLiteral n, C contexto) {
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(IdentifierExpr n, C contexto) {
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(This n, C contexto) {
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(NewArray n, C contexto) {
+        visit(n.e, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(NewObject n, C contexto) {
+        visit(n.i, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    public R visit(Identifier n, C contexto) {
+        return porDefecto(n, contexto);
+    }
+
+    private R binaria(Expr n, Expr e1, Expr e2, C contexto) {
+        visit(e1, contexto);
+        visit(e2, contexto);
+        return porDefecto(n, contexto);
+    }
+
+    private void visitarVariables(VarDeclList vl, C contexto) {
+        for (int i = 0; i < vl.size(); i++) {
+            visit(vl.get(i), contexto);
+        }
+    }
+
+    private void visitarMetodos(MethodDeclList ml, C contexto) {
+        for (int i = 0; i < ml.size(); i++) {
+            visit(ml.get(i), contexto);
+        }
+    }
+
+    private void visitarSentencias(StatementList sl, C contexto) {
+        for (int i = 0; i < sl.size(); i++) {
+            visit(sl.get(i), contexto);
+        }
+    }
+}
@@ -0,0 +1,618 @@
+package ast.visitor;
+
+import ast.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Base de las pasadas que transforman el AST. Cada visita reescribe los
+ * hijos del nodo y retorna el nodo que ocupa su lugar, así que una subclase
+ * redefine solo los nodos que transforma: llama a super.visit() para obtener
+ * el nodo con sus hijos ya reescritos y retorna ese mismo nodo o uno nuevo.
+ * Dentro de una lista, retornar null elimina el elemento.
+ *
+ * En modo EN_SU_LUGAR los hijos nuevos se asignan en los campos del padre.
+ * En modo COPIA_AL_ESCRIBIR el árbol original no se modifica: cuando cambia
+ * algún hijo se crea una copia del padre (con la misma línea y span), y así
+ * hasta la raíz; los subárboles sin cambios se comparten con el original.
+ * Así se deriva una AstSnapshot de otra.
+ *
+ * Los elementos que se agregan a una lista mientras se la recorre no se
+ * visitan.
+ */
+public abstract class RewritingVisitor<C> implements ResultVisitor<Node, C> {
+
+    public enum Modo {
+        EN_SU_LUGAR,
+        COPIA_AL_ESCRIBIR
+    }
+
+    private final Modo modo;
+
+    protected RewritingVisitor(Modo modo) {
+        this.modo = modo;
+    }
+
+    public Modo getModo() {
+        return modo;
+    }
+
+    /**
+     * Reescribe el programa y retorna su nueva raíz, que en modo EN_SU_LUGAR
+     * es la misma.
+     */
+    public Goal reescribir(Goal g, C contexto) {
+        return (Goal) visit(g, contexto);
+    }
+
+    // ========== REESCRITURA DE CADA CAMPO ==========
+
+    protected Expr reescribir(Expr e, C contexto) {
+        return e == null ? null : (Expr) e.accept(this, contexto);
+    }
+
+    protected Statement reescribir(Statement s, C contexto) {
+        return s == null ? null : (Statement) s.accept(this, contexto);
+    }
+
+    protected Type reescribir(Type t, C contexto) {
+        return t == null ? null : (Type) t.accept(this, contexto);
+    }
+
+    protected Identifier reescribir(Identifier i, C contexto) {
+        return i == null ? null : (Identifier) i.accept(this, contexto);
+    }
+
+    protected VarDecl reescribir(VarDecl d, C contexto) {
+        return d == null ? null : (VarDecl) d.accept(this, contexto);
+    }
+
+    protected ClassDecl reescribir(ClassDecl c, C contexto) {
+        return c == null ? null : (ClassDecl) c.accept(this, contexto);
+    }
+
+    protected MethodDecl reescribir(MethodDecl m, C contexto) {
+        return m == null ? null : (MethodDecl) m.accept(this, contexto);
+    }
+
+    protected Param reescribir(Param p, C contexto) {
+        return p == null ? null : (Param) p.accept(this, contexto);
+    }
+
+    protected MainClass reescribir(MainClass m, C contexto) {
+        return m == null ? null : (MainClass) m.accept(this, contexto);
+    }
+
+    // ========== LISTAS ==========
+
+    protected StatementList reescribir(StatementList l, C contexto) {
+        return reescribirLista(l, contexto, this::reescribir);
+    }
+
+    protected VarDeclList reescribir(VarDeclList l, C contexto) {
+        return reescribirLista(l, contexto, this::reescribir);
+    }
+
+    protected MethodDeclList reescribir(MethodDeclList l, C contexto) {
+        return reescribirLista(l, contexto, this::reescribir);
+    }
+
+    protected ClassDeclList reescribir(ClassDeclList l, C contexto) {
+        return reescribirLista(l, contexto, this::reescribir);
+    }
+
+    protected ParamList reescribir(ParamList l, C contexto) {
+        return reescribirLista(l, contexto, this::reescribir);
+    }
+
+    protected ExprList reescribir(ExprList l, C contexto) {
+        return reescribirLista(l, contexto, this::reescribir);
+    }
+
+    /**
+     * Reescribe cada elemento con la función dada. En modo EN_SU_LUGAR
+     * modifica la lista; en COPIA_AL_ESCRIBIR retorna una lista nueva solo si
+     * algún elemento cambió, inmutable y armada con con(), que comparte con
+     * la original lo que no cambió si esta ya estaba congelada. Si se elimina
+     * algún elemento, el resultado se junta en una sola pasada y se arma al
+     * final con conElementos().
+     */
+    private <T extends Node, L extends NodeList<T, L>> L reescribirLista(L l, C contexto, BiFunction<T, C, T> elemento) {
+        L copia = null;
+        // Elementos del resultado a partir de la primera eliminación en COPIA_AL_ESCRIBIR
+        List<T> restantes = null;
+        int i = 0;
+        for (int visitados = 0, total = l.size(); visitados < total; visitados++) {
+            T original = l.get(i);
+            T nuevo = elemento.apply(original, contexto);
+            if (modo == Modo.EN_SU_LUGAR) {
+                if (nuevo == null) {
+                    l.remove(i);
+                    continue;
+                }
+                l.set(i, nuevo);
+            } else if (restantes != null) {
+                if (nuevo != null) {
+                    restantes.add(nuevo);
+                }
+            } else if (nuevo == null) {
+                L actual = copia != null ? copia : l;
+                restantes = new ArrayList<>(total - 1);
+                for (int j = 0; j < i; j++) {
+                    restantes.add(actual.get(j));
+                }
+            } else if (nuevo != original) {
+                copia = (copia != null ? copia : l).con(i, nuevo);
+            }
+            i++;
+        }
+        if (restantes != null) {
+            return l.conElementos(restantes);
+        }
+        return copia != null ? copia : l;
+    }
+
+    // ========== NODOS ==========
+
+    public Node visit(Goal n, C contexto) {
+        MainClass m = reescribir(n.m, contexto);
+        ClassDeclList cl = reescribir(n.cl, contexto);
+        if (m == n.m && cl == n.cl) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.m = m;
+            n.cl = cl;
+            return n;
+        }
+        return copiar(n, new Goal(m, cl, n.line));
+    }
+
+    public Node visit(MainClass n, C contexto) {
+        Identifier i1 = reescribir(n.i1, contexto);
+        Identifier i2 = reescribir(n.i2, contexto);
+        VarDeclList vl = reescribir(n.vl, contexto);
+        StatementList sl = reescribir(n.sl, contexto);
+        if (i1 == n.i1 && i2 == n.i2 && vl == n.vl && sl == n.sl) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.i1 = i1;
+            n.i2 = i2;
+            n.vl = vl;
+            n.sl = sl;
+            return n;
+        }
+        return copiar(n, new MainClass(i1, i2, vl, sl, n.line));
+    }
+
+    public Node visit(ClassDeclSimple n, C contexto) {
+        Identifier i = reescribir(n.i, contexto);
+        VarDeclList vl = reescribir(n.vl, contexto);
+        MethodDeclList ml = reescribir(n.ml, contexto);
+        if (i == n.i && vl == n.vl && ml == n.ml) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.i = i;
+            n.vl = vl;
+            n.ml = ml;
+            return n;
+        }
+        return copiar(n, new ClassDeclSimple(i, vl, ml, n.line));
+    }
+
+    public Node visit(ClassDeclExtends n, C contexto) {
+        Identifier i = reescribir(n.i, contexto);
+        Identifier j = reescribir(n.j, contexto);
+        VarDeclList vl = reescribir(n.vl, contexto);
+        MethodDeclList ml = reescribir(n.ml, contexto);
+        if (i == n.i && j == n.j && vl == n.vl && ml == n.ml) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.i = i;
+            n.j = j;
+            n.vl = vl;
+            n.ml = ml;
+            return n;
+        }
+        return copiar(n, new ClassDeclExtends(i, j, vl, ml, n.line));
+    }
+
+    public Node visit(VarDeclSimple n, C contexto) {
+        Type t = reescribir(n.t, contexto);
+        Identifier i = reescribir(n.i, contexto);
+        if (t == n.t && i == n.i) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.t = t;
+            n.i = i;
+            return n;
+        }
+        return copiar(n, new VarDeclSimple(t, i, n.line));
+    }
+
+    public Node visit(VarDeclAssign n, C contexto) {
+        Type t = reescribir(n.t, contexto);
+        Identifier i = reescribir(n.i, contexto);
+        Expr e = reescribir(n.e, contexto);
+        if (t == n.t && i == n.i && e == n.e) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.t = t;
+            n.i = i;
+            n.e = e;
+            return n;
+        }
+        return copiar(n, new VarDeclAssign(t, i, e, n.line));
+    }
+
+    public Node visit(MethodDecl n, C contexto) {
+        Type t = reescribir(n.t, contexto);
+        Identifier i = reescribir(n.i, contexto);
+        ParamList fl = reescribir(n.fl, contexto);
+        VarDeclList vl = reescribir(n.vl, contexto);
+        StatementList sl = reescribir(n.sl, contexto);
+        Expr e = reescribir(n.e, contexto);
+        if (t == n.t && i == n.i && fl == n.fl && vl == n.vl && sl == n.sl && e == n.e) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.t = t;
+            n.i = i;
+            n.fl = fl;
+            n.vl = vl;
+            n.sl = sl;
+            n.e = e;
+            return n;
+        }
+        return copiar(n, new MethodDecl(t, i, fl, vl, sl, e, n.line));
+    }
+
+    public Node visit(Param n, C contexto) {
+        Type t = reescribir(n.t, contexto);
+        Identifier i = reescribir(n.i, contexto);
+        if (t == n.t && i == n.i) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.t = t;
+            n.i = i;
+            return n;
+        }
+        return copiar(n, new Param(t, i, n.line));
+    }
+
+    public Node visit(IntArrayType n, C contexto) {
+        return n;
+    }
+
+    public Node visit(IntType n, C contexto) {
+        return n;
+    }
+
+    public Node visit(ClassType n, C contexto) {
+        return n;
+    }
+
+    public Node visit(Block n, C contexto) {
+        StatementList sl = reescribir(n.sl, contexto);
+        if (sl == n.sl) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.sl = sl;
+            return n;
+        }
+        return copiar(n, new Block(sl, n.line));
+    }
+
+    public Node visit(If n, C contexto) {
+        Expr e = reescribir(n.e, contexto);
+        Statement s1 = reescribir(n.s1, contexto);
+        Statement s2 = reescribir(n.s2, contexto);
+        if (e == n.e && s1 == n.s1 && s2 == n.s2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e = e;
+            n.s1 = s1;
+            n.s2 = s2;
+            return n;
+        }
+        return copiar(n, new If(e, s1, s2, n.line));
+    }
+
+    public Node visit(While n, C contexto) {
+        Expr e = reescribir(n.e, contexto);
+        Statement s = reescribir(n.s, contexto);
+        if (e == n.e && s == n.s) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e = e;
+            n.s = s;
+            return n;
+        }
+        return copiar(n, new While(e, s, n.line));
+    }
+
+    public Node visit(Print n, C contexto) {
+        Expr e = reescribir(n.e, contexto);
+        if (e == n.e) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e = e;
+            return n;
+        }
+        return copiar(n, new Print(e, n.line));
+    }
+
+    public Node visit(Assign n, C contexto) {
+        Identifier i = reescribir(n.i, contexto);
+        Expr e = reescribir(n.e, contexto);
+        if (i == n.i && e == n.e) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.i = i;
+            n.e = e;
+            return n;
+        }
+        return copiar(n, new Assign(i, e, n.line));
+    }
+
+    public Node visit(ArrayAssign n, C contexto) {
+        Identifier i = reescribir(n.i, contexto);
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (i == n.i && e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.i = i;
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new ArrayAssign(i, e1, e2, n.line));
+    }
+
+    public Node visit(And n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new And(n.line, e1, e2));
+    }
+
+    public Node visit(Or n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new Or(n.line, e1, e2));
+    }
+
+    public Node visit(Equal n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new Equal(n.line, e1, e2));
+    }
+
+    public Node visit(NotEqual n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new NotEqual(n.line, e1, e2));
+    }
+
+    public Node visit(LessThan n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new LessThan(e1, e2, n.line));
+    }
+
+    public Node visit(MoreThan n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new MoreThan(e1, e2, n.line));
+    }
+
+    public Node visit(Plus n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new Plus(e1, e2, n.line));
+    }
+
+    public Node visit(Minus n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new Minus(e1, e2, n.line));
+    }
+
+    public Node visit(Mult n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new Mult(e1, e2, n.line));
+    }
+
+    public Node visit(Div n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        return copiar(n, new Div(e1, e2, n.line));
+    }
+
+    public Node visit(ArrayLookup n, C contexto) {
+        Expr e1 = reescribir(n.e1, contexto);
+        Expr e2 = reescribir(n.e2, contexto);
+        if (e1 == n.e1 && e2 == n.e2) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e1 = e1;
+            n.e2 = e2;
+            return n;
+        }
+        ArrayLookup copia = copiar(n, new ArrayLookup(e1, e2, n.line));
+        // Igual que en EN_SU_LUGAR, la marca se conserva; BoundsCheckVisitor la recalcula
+        copia.indiceSeguro = n.indiceSeguro;
+        return copia;
+    }
+
+    public Node visit(ArrayLength n, C contexto) {
+        Expr e = reescribir(n.e, contexto);
+        if (e == n.e) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e = e;
+            return n;
+        }
+        return copiar(n, new ArrayLength(e, n.line));
+    }
+
+    public Node visit(Call n, C contexto) {
+        Expr e = reescribir(n.e, contexto);
+        Identifier i = reescribir(n.i, contexto);
+        ExprList el = reescribir(n.el, contexto);
+        if (e == n.e && i == n.i && el == n.el) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e = e;
+            n.i = i;
+            n.el = el;
+            return n;
+        }
+        return copiar(n, new Call(e, i, el, n.line));
+    }
+
+    public Node visit(IntegerLiteral n, C contexto) {
+        return n;
+    }
+
+    public Node visit(IdentifierExpr n, C contexto) {
+        return n;
+    }
+
+    public Node visit(This n, C contexto) {
+        return n;
+    }
+
+    public Node visit(NewArray n, C contexto) {
+        Expr e = reescribir(n.e, contexto);
+        if (e == n.e) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.e = e;
+            return n;
+        }
+        return copiar(n, new NewArray(e, n.line));
+    }
+
+    public Node visit(NewObject n, C contexto) {
+        Identifier i = reescribir(n.i, contexto);
+        if (i == n.i) {
+            return n;
+        }
+        if (modo == Modo.EN_SU_LUGAR) {
+            n.i = i;
+            return n;
+        }
+        return copiar(n, new NewObject(i, n.line));
+    }
+
+    public Node visit(Identifier n, C contexto) {
+        return n;
+    }
+
+    /**
+     * Copia al nodo nuevo el span del original; la línea se pasa al constructor.
+     */
+    protected static <T extends Node> T copiar(Node original, T copia) {
+        copia.span = original.span;
+        return copia;
+    }
+}
@@ -0,0 +1,46 @@
+package ast.visitor;
+
+import java.util.*;
+
+/**
+ * Contadores de las reglas de reescritura aplicadas durante una compilación.
+ * Las comparten la simplificación algebraica del AST y la selección de
+ * instrucciones del generador de código.
+ */
+public class RuleCounter {
+    // Veces que se aplicó cada regla, en orden de primera aplicación
+    private Map<String, Integer> contadores;
+
+    public RuleCounter() {
+        this.contadores = new LinkedHashMap<>();
+    }
+
+    /**
+     * Registra una aplicación de la regla.
+     */
+    public void registrar(String regla) {
+        contadores.merge(regla, 1, Integer::sum);
+    }
+
+    /**
+     * Retorna las veces que se aplicó la regla.
+     */
+    public int get(String regla) {
+        return contadores.getOrDefault(regla, 0);
+    }
+
+    /**
+     * Retorna la cantidad total de aplicaciones de todas las reglas.
+     */
+    public int getTotal() {
+        int total = 0;
+        for (int c : contadores.values()) {
+            total += c;
+        }
+        return total;
+    }
+
+    public Map<String, Integer> getContadores() {
+        return contadores;
+    }
+}
@@ -21,6 +21,14 @@ public class SemanticAnalyzerVisitor implements Visitor {
     private String metodoActual;
     private Type retornoTipoMetodoActual;
     private List<Type> parametrosMetodoActual;
+    // Calcula el tipo de una expresión en una sola visita por nodo
+    private TipoExpresionVisitor tipos = new TipoExpresionVisitor();
+    // Tipo ya calculado de cada expresión del método actual (null si tiene un error)
+    private Map<Expr, Type> tiposCalculados = new IdentityHashMap<>();
+    // Línea de la sentencia o declaración que se analiza. Los errores de una
+    // expresión la usan en vez de la línea de la expresión, que con
+    // hash-consing es la de su primera aparición en el programa.
+    private int lineaSentencia;
     /**
      * Constructor del visitante de análisis semántico.
      * Inicializa todas las estructuras de datos necesarias.
@@ -74,10 +82,27 @@ public class SemanticAnalyzerVisitor implements Visitor {
         String cleanMessage = message.replaceAll("Error en la linea \\d+: ", "");
         // Verificar si el mensaje ya contiene el prefijo
         if (!cleanMessage.startsWith("Error en la linea")) {
-            errores.add(new SemanticError("Error en la linea " + lineNumber + ": " + cleanMessage, lineNumber));
-        } else {
-            errores.add(new SemanticError(cleanMessage, lineNumber));
+            cleanMessage = "Error en la linea " + lineNumber + ": " + cleanMessage;
+        }
+        // Una expresión compartida se tipa una sola vez por sentencia, así que
+        // un error repetido en la misma línea se informa una vez
+        for (SemanticError e : errores) {
+            if (e.getMessage().equals(cleanMessage)) {
+                return;
+            }
         }
+        errores.add(new SemanticError(cleanMessage, lineNumber));
+    }
+
+    /**
+     * Empieza el análisis de una sentencia, declaración o expresión de
+     * retorno en la línea dada. Los tipos calculados se descartan para que
+     * una expresión compartida entre sentencias informe sus errores en cada
+     * una de ellas.
+     */
+    private void empezarSentencia(int linea) {
+        lineaSentencia = linea;
+        tiposCalculados.clear();
     }
 
     /**
@@ -153,24 +178,13 @@ public class SemanticAnalyzerVisitor implements Visitor {
         }
     }
 
-    /**
-     * Visita una declaración de clase.
-     * Redirige al visitante específico según el tipo de clase.
-     */
-    public void visit(ClassDecl c) {
-        if (c instanceof ClassDeclExtends) {
-            visit((ClassDeclExtends) c);
-        } else if (c instanceof ClassDeclSimple) {
-            visit((ClassDeclSimple) c);
-        }
-    }
-
     /**
      * Visita la clase main.
      * Maneja el ámbito especial de la clase main y sus variables.
      */
     public void visit(MainClass n) {
         claseActual = n.i1.s;
+        tiposCalculados.clear();
         scopeStack.pushScope();
         
         // Agregar parametro args
@@ -204,6 +218,7 @@ public class SemanticAnalyzerVisitor implements Visitor {
      */
     public void visit(ClassDeclSimple n) {
         claseActual = n.i.s;
+        tiposCalculados.clear();
         scopeStack.pushScope();
         
         // Visitar variables y métodos
@@ -225,6 +240,7 @@ public class SemanticAnalyzerVisitor implements Visitor {
      */
     public void visit(ClassDeclExtends n) {
         claseActual = n.i.s;
+        tiposCalculados.clear();
         scopeStack.pushScope();
         
         // Verificar que la clase padre exista
@@ -262,6 +278,7 @@ public class SemanticAnalyzerVisitor implements Visitor {
      * Verifica tipos y que no esté duplicada.
      */
     public void visit(VarDeclAssign n) {
+        empezarSentencia(n.line);
         try {
             insertSymbol(n.t, n.i, n.e);
             Type exprType = getExpressionType(n.e);
@@ -280,6 +297,8 @@ public class SemanticAnalyzerVisitor implements Visitor {
     public void visit(MethodDecl n) {
         metodoActual = n.i.s;
         retornoTipoMetodoActual = n.t;
+        // Los tipos dependen del ámbito, que cambia con cada método
+        tiposCalculados.clear();
         parametrosMetodoActual = new ArrayList<>();
         
         scopeStack.pushScope();
@@ -304,6 +323,7 @@ public class SemanticAnalyzerVisitor implements Visitor {
         }
         
         // Verificar tipo de retorno y marcar variables usadas en el retorno
+        empezarSentencia(n.line);
         Type returnType = getExpressionType(n.e);
         if (n.e instanceof IdentifierExpr) {
             Variable var = scopeStack.lookup(((IdentifierExpr) n.e).s);
@@ -314,7 +334,7 @@ public class SemanticAnalyzerVisitor implements Visitor {
         if (!isSubtype(returnType, retornoTipoMetodoActual)) {
             addError("Error de tipo en retorno del método " + metodoActual + 
                     ": no se puede retornar " + getTypeName(returnType) + 
-                    " donde se espera " + getTypeName(retornoTipoMetodoActual), n.e.line);
+                    " donde se espera " + getTypeName(retornoTipoMetodoActual), lineaSentencia);
         }
         
         // Marcar parámetros como usados si se usan en el cuerpo
@@ -379,64 +399,13 @@ public class SemanticAnalyzerVisitor implements Visitor {
      * Verifica que la condición sea de tipo entero.
      */
     public void visit(If n) {
+        empezarSentencia(n.line);
         Type condType = getExpressionType(n.e);
         if (!(condType instanceof IntType)) {
-            addError("La condicion debe ser de tipo int", n.e.line);
-        }
-        
-        // Marcar variables usadas en la condición
-        if (n.e instanceof LessThan) {
-            LessThan lt = (LessThan) n.e;
-            if (lt.e1 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) lt.e1).s);
-                if (var != null) var.used = true;
-            }
-            if (lt.e2 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) lt.e2).s);
-                if (var != null) var.used = true;
-            }
-        } else if (n.e instanceof MoreThan) {
-            MoreThan mt = (MoreThan) n.e;
-            if (mt.e1 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) mt.e1).s);
-                if (var != null) var.used = true;
-            }
-            if (mt.e2 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) mt.e2).s);
-                if (var != null) var.used = true;
-            }
-        } else if (n.e instanceof Equal) {
-            Equal eq = (Equal) n.e;
-            if (eq.e1 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) eq.e1).s);
-                if (var != null) var.used = true;
-            }
-            if (eq.e2 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) eq.e2).s);
-                if (var != null) var.used = true;
-            }
-        } else if (n.e instanceof Or) {
-            Or or = (Or) n.e;
-            if (or.e1 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) or.e1).s);
-                if (var != null) var.used = true;
-            }
-            if (or.e2 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) or.e2).s);
-                if (var != null) var.used = true;
-            }
-        } else if (n.e instanceof And) {
-            And and = (And) n.e;
-            if (and.e1 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) and.e1).s);
-                if (var != null) var.used = true;
-            }
-            if (and.e2 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) and.e2).s);
-                if (var != null) var.used = true;
-            }
+            addError("La condicion debe ser de tipo int", lineaSentencia);
         }
         
+        // Tipar la condición ya marca como usadas sus variables
         visit(n.s1);
         visit(n.s2);
     }
@@ -446,64 +415,13 @@ public class SemanticAnalyzerVisitor implements Visitor {
      * Verifica que la condición sea de tipo entero.
      */
     public void visit(While n) {
+        empezarSentencia(n.line);
         Type condType = getExpressionType(n.e);
         if (!(condType instanceof IntType)) {
-            addError("La condicion debe ser de tipo int", n.e.line);
-        }
-        
-        // Marcar variables usadas en la condición
-        if (n.e instanceof LessThan) {
-            LessThan lt = (LessThan) n.e;
-            if (lt.e1 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) lt.e1).s);
-                if (var != null) var.used = true;
-            }
-            if (lt.e2 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) lt.e2).s);
-                if (var != null) var.used = true;
-            }
-        } else if (n.e instanceof MoreThan) {
-            MoreThan mt = (MoreThan) n.e;
-            if (mt.e1 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) mt.e1).s);
-                if (var != null) var.used = true;
-            }
-            if (mt.e2 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) mt.e2).s);
-                if (var != null) var.used = true;
-            }
-        } else if (n.e instanceof Equal) {
-            Equal eq = (Equal) n.e;
-            if (eq.e1 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) eq.e1).s);
-                if (var != null) var.used = true;
-            }
-            if (eq.e2 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) eq.e2).s);
-                if (var != null) var.used = true;
-            }
-        } else if (n.e instanceof Or) {
-            Or or = (Or) n.e;
-            if (or.e1 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) or.e1).s);
-                if (var != null) var.used = true;
-            }
-            if (or.e2 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) or.e2).s);
-                if (var != null) var.used = true;
-            }
-        } else if (n.e instanceof And) {
-            And and = (And) n.e;
-            if (and.e1 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) and.e1).s);
-                if (var != null) var.used = true;
-            }
-            if (and.e2 instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) and.e2).s);
-                if (var != null) var.used = true;
-            }
+            addError("La condicion debe ser de tipo int", lineaSentencia);
         }
         
+        // Tipar la condición ya marca como usadas sus variables
         visit(n.s);
     }
 
@@ -512,9 +430,10 @@ public class SemanticAnalyzerVisitor implements Visitor {
      * Verifica que la expresión sea de tipo entero.
      */
     public void visit(Print n) {
+        empezarSentencia(n.line);
         Type exprType = getExpressionType(n.e);
         if (!(exprType instanceof IntType)) {
-            addError("La expresion a imprimir debe ser de tipo int", n.e.line);
+            addError("La expresion a imprimir debe ser de tipo int", lineaSentencia);
         }
         
         // Marcar variables usadas en la expresion
@@ -545,6 +464,7 @@ public class SemanticAnalyzerVisitor implements Visitor {
      * Verifica que la variable exista y los tipos coincidan.
      */
     public void visit(Assign n) {
+        empezarSentencia(n.line);
         Variable var = scopeStack.lookup(n.i.s);
         if (var == null) {
             addError("Variable " + n.i.s + " no declarada", n.i.line);
@@ -558,14 +478,14 @@ public class SemanticAnalyzerVisitor implements Visitor {
             if (exprVar != null) {
                 exprVar.used = true;
             } else {
-                addError("Variable '" + ((IdentifierExpr) n.e).s + "' no declarada", n.e.line);
+                addError("Variable '" + ((IdentifierExpr) n.e).s + "' no declarada", lineaSentencia);
                 return;
             }
         }
         
         if (exprType == null) {
             if (n.e instanceof IdentifierExpr) {
-                addError("Variable '" + ((IdentifierExpr) n.e).s + "' no declarada", n.e.line);
+                addError("Variable '" + ((IdentifierExpr) n.e).s + "' no declarada", lineaSentencia);
             } else {
                 addError("Error de tipo en asignacion: expresion no valida", n.i.line);
             }
@@ -583,6 +503,7 @@ public class SemanticAnalyzerVisitor implements Visitor {
      * Verifica tipos y que la variable sea un array.
      */
     public void visit(ArrayAssign n) {
+        empezarSentencia(n.line);
         Variable var = scopeStack.lookup(n.i.s);
         if (var == null) {
             addError("Variable " + n.i.s + " no declarada", n.i.line);
@@ -596,12 +517,12 @@ public class SemanticAnalyzerVisitor implements Visitor {
         
         Type indexType = getExpressionType(n.e1);
         if (!(indexType instanceof IntType)) {
-            addError("El indice del array debe ser de tipo int", n.e1.line);
+            addError("El indice del array debe ser de tipo int", lineaSentencia);
         }
         
         Type valueType = getExpressionType(n.e2);
         if (!(valueType instanceof IntType)) {
-            addError("El elemento del array debe ser de tipo int", n.e2.line);
+            addError("El elemento del array debe ser de tipo int", lineaSentencia);
         }
         
         if (n.e1 instanceof IdentifierExpr) {
@@ -618,366 +539,55 @@ public class SemanticAnalyzerVisitor implements Visitor {
         }
     }
 
-    /**
-     * Visita una expresión de operador lógico AND.
-     * Verifica que los operandos sean de tipo entero.
-     */
+    // Las expresiones se verifican al calcular su tipo (ver TipoExpresionVisitor),
+    // una sola vez por nodo; visitarlas directamente solo pide ese tipo.
+
     public void visit(And n) {
-        Type t1 = getExpressionType(n.e1);
-        Type t2 = getExpressionType(n.e2);
-        
-        if (t1 == null || t2 == null) {
-            addError("Error de tipo en operacion &&: tipos incompatibles", n.e1.line);
-            return;
-        }
-        
-        if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-            addError("Error de tipo en operacion &&: no se puede operar " + 
-                    getTypeName(t1) + " con " + getTypeName(t2), n.e1.line);
-        }
-        
-        // Marcar variables usadas en ambas expresiones
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (var != null) var.used = true;
-        } else if (n.e1 instanceof Or || n.e1 instanceof And) {
-            visit(n.e1);
-        } else if (n.e1 instanceof LessThan || n.e1 instanceof MoreThan || n.e1 instanceof Equal) {
-            visit(n.e1);
-        }
-        
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (var != null) var.used = true;
-        } else if (n.e2 instanceof Or || n.e2 instanceof And) {
-            visit(n.e2);
-        } else if (n.e2 instanceof LessThan || n.e2 instanceof MoreThan || n.e2 instanceof Equal) {
-            visit(n.e2);
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una expresión de operador lógico OR.
-     * Verifica que los operandos sean de tipo entero.
-     */
     public void visit(Or n) {
-        Type t1 = getExpressionType(n.e1);
-        Type t2 = getExpressionType(n.e2);
-        
-        if (t1 == null || t2 == null) {
-            addError("Error de tipo en operacion ||: tipos incompatibles", n.e1.line);
-            return;
-        }
-        
-        if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-            addError("Error de tipo en operacion ||: no se puede operar " + 
-                    getTypeName(t1) + " con " + getTypeName(t2), n.e1.line);
-        }
-        
-        // Marcar variables usadas en ambas expresiones
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (var != null) var.used = true;
-        } else if (n.e1 instanceof Or || n.e1 instanceof And) {
-            visit(n.e1);
-        } else if (n.e1 instanceof LessThan || n.e1 instanceof MoreThan || n.e1 instanceof Equal) {
-            visit(n.e1);
-        }
-        
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (var != null) var.used = true;
-        } else if (n.e2 instanceof Or || n.e2 instanceof And) {
-            visit(n.e2);
-        } else if (n.e2 instanceof LessThan || n.e2 instanceof MoreThan || n.e2 instanceof Equal) {
-            visit(n.e2);
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una comparación menor que.
-     * Verifica que los operandos sean de tipo entero.
-     */
     public void visit(LessThan n) {
-        Type t1 = getExpressionType(n.e1);
-        Type t2 = getExpressionType(n.e2);
-        
-        if (t1 == null || t2 == null) {
-            addError("Error de tipo en operacion <: tipos incompatibles", n.e1.line);
-            return;
-        }
-        
-        if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-            addError("Error de tipo en operacion <: no se puede comparar " + 
-                    getTypeName(t1) + " con " + getTypeName(t2), n.e1.line);
-        }
-        
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (var != null) var.used = true;
-        }
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (var != null) var.used = true;
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una comparación mayor que.
-     * Verifica que los operandos sean de tipo entero.
-     */
     public void visit(MoreThan n) {
-        Type t1 = getExpressionType(n.e1);
-        Type t2 = getExpressionType(n.e2);
-        
-        if (t1 == null || t2 == null) {
-            addError("Error de tipo en operacion >: tipos incompatibles", n.e1.line);
-            return;
-        }
-        
-        if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-            addError("Error de tipo en operacion >: no se puede comparar " + 
-                    getTypeName(t1) + " con " + getTypeName(t2), n.e1.line);
-        }
-        
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (var != null) var.used = true;
-        }
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (var != null) var.used = true;
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una comparación de igualdad.
-     * Verifica que los operandos sean compatibles.
-     */
     public void visit(Equal n) {
-        Type t1 = getExpressionType(n.e1);
-        Type t2 = getExpressionType(n.e2);
-        
-        if (t1 == null || t2 == null) {
-            addError("Error de tipo en operacion ==: tipos incompatibles", n.e1.line);
-            return;
-        }
-        
-        if (!isSubtype(t1, t2) && !isSubtype(t2, t1)) {
-            addError("Error de tipo en operacion ==: no se puede comparar " + 
-                    getTypeName(t1) + " con " + getTypeName(t2), n.e1.line);
-        }
-        
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (var != null) var.used = true;
-        }
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (var != null) var.used = true;
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una comparación de desigualdad.
-     * Verifica que los operandos sean compatibles.
-     */
     public void visit(NotEqual n) {
-        Type t1 = getExpressionType(n.e1);
-        Type t2 = getExpressionType(n.e2);
-        
-        if (t1 == null || t2 == null) {
-            addError("Error de tipo en operacion !=: tipos incompatibles", n.e1.line);
-            return;
-        }
-        
-        if (!isSubtype(t1, t2) && !isSubtype(t2, t1)) {
-            addError("Error de tipo en operacion !=: no se puede comparar " + 
-                    getTypeName(t1) + " con " + getTypeName(t2), n.e1.line);
-        }
-        
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (var != null) var.used = true;
-        }
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (var != null) var.used = true;
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una suma.
-     * Verifica que los operandos sean de tipo entero.
-     */
     public void visit(Plus n) {
-        Type t1 = getExpressionType(n.e1);
-        Type t2 = getExpressionType(n.e2);
-        
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (var != null) var.used = true;
-        }
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (var != null) var.used = true;
-        }
-        
-        if (t1 == null || t2 == null) {
-            if (t1 == null && n.e1 instanceof IdentifierExpr) {
-                addError("Variable '" + ((IdentifierExpr) n.e1).s + "' no declarada", n.e1.line);
-            }
-            if (t2 == null && n.e2 instanceof IdentifierExpr) {
-                addError("Variable '" + ((IdentifierExpr) n.e2).s + "' no declarada", n.e2.line);
-            }
-            return;
-        }
-        
-        // Verificar que ambos operandos sean de tipo int
-        if (!(t1 instanceof IntType)) {
-            addError("Error de tipo en operacion +: el primer operando debe ser de tipo int, pero es " + 
-                    getTypeName(t1), n.e1.line);
-            return;
-        }
-        
-        if (!(t2 instanceof IntType)) {
-            addError("Error de tipo en operacion +: el segundo operando debe ser de tipo int, pero es " + 
-                    getTypeName(t2), n.e2.line);
-            return;
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una resta.
-     * Verifica que los operandos sean de tipo entero.
-     */
     public void visit(Minus n) {
-        Type t1 = getExpressionType(n.e1);
-        Type t2 = getExpressionType(n.e2);
-        
-        if (t1 == null || t2 == null) {
-            addError("Error de tipo en operacion -: tipos incompatibles", n.e1.line);
-            return;
-        }
-        
-        if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-            addError("Error de tipo en operacion -: no se puede restar " + 
-                    getTypeName(t1) + " con " + getTypeName(t2), n.e1.line);
-        }
-        
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (var != null) var.used = true;
-        }
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (var != null) var.used = true;
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una multiplicación.
-     * Verifica que los operandos sean de tipo entero.
-     */
     public void visit(Mult n) {
-        Type t1 = getExpressionType(n.e1);
-        Type t2 = getExpressionType(n.e2);
-        
-        if (t1 == null || t2 == null) {
-            addError("Error de tipo en operacion *: tipos incompatibles", n.e1.line);
-            return;
-        }
-        
-        if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-            addError("Error de tipo en operacion *: no se puede multiplicar " + 
-                    getTypeName(t1) + " con " + getTypeName(t2), n.e1.line);
-        }
-        
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (var != null) var.used = true;
-        }
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (var != null) var.used = true;
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una división.
-     * Verifica que los operandos sean de tipo entero.
-     */
     public void visit(Div n) {
-        Type t1 = getExpressionType(n.e1);
-        Type t2 = getExpressionType(n.e2);
-        
-        if (t1 == null || t2 == null) {
-            addError("Error de tipo en operacion /: tipos incompatibles", n.e1.line);
-            return;
-        }
-        
-        if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-            addError("Error de tipo en operacion /: no se puede dividir " + 
-                    getTypeName(t1) + " con " + getTypeName(t2), n.e1.line);
-            return;
-        }
-
-        // Verificar división por cero
-        if (n.e2 instanceof IntegerLiteral) {
-            IntegerLiteral divisor = (IntegerLiteral) n.e2;
-            if (divisor.i == 0) {
-                addError("Error: Division por cero no permitida", n.e2.line);
-            }
-        }
-        
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (var != null) var.used = true;
-        }
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (var != null) var.used = true;
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita un acceso a array.
-     * Verifica que la variable sea un array y el índice sea entero.
-     */
     public void visit(ArrayLookup n) {
-        Type arrayType = getExpressionType(n.e1);
-        Type indexType = getExpressionType(n.e2);
-        
-        if (!(arrayType instanceof IntArrayType)) {
-            addError("Se debe acceder a un array", n.e1.line);
-        }
-        if (!(indexType instanceof IntType)) {
-            addError("El indice del array debe ser de tipo int", n.e2.line);
-        }
-        
-        if (n.e1 instanceof IdentifierExpr) {
-            Variable exprVar = scopeStack.lookup(((IdentifierExpr) n.e1).s);
-            if (exprVar != null) {
-                exprVar.used = true;
-            }
-        }
-        if (n.e2 instanceof IdentifierExpr) {
-            Variable exprVar = scopeStack.lookup(((IdentifierExpr) n.e2).s);
-            if (exprVar != null) {
-                exprVar.used = true;
-            }
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una operación de longitud de array.
-     * Verifica que la variable sea un array.
-     */
     public void visit(ArrayLength n) {
-        Type arrayType = getExpressionType(n.e);
-        if (!(arrayType instanceof IntArrayType)) {
-            addError("Solo se puede acceder a length de arrays", n.e.line);
-        }
+        getExpressionType(n);
     }
 
     /**
@@ -1005,71 +615,8 @@ public class SemanticAnalyzerVisitor implements Visitor {
         return null;
     }
 
-    /**
-     * Visita una llamada a método.
-     * Verifica que el método exista y los tipos de argumentos sean compatibles.
-     */
     public void visit(Call n) {
-        Type tipoObjeto = getExpressionType(n.e);
-        
-        if (n.e instanceof IdentifierExpr) {
-            Variable var = scopeStack.lookup(((IdentifierExpr) n.e).s);
-            if (var != null) var.used = true;
-        }
-        
-        if (!(tipoObjeto instanceof ClassType)) {
-            addError("La llamada a metodo debe ser sobre un objeto", n.e.line);
-            return;
-        }
-
-        String nombreClase = ((ClassType) tipoObjeto).className;
-        ClassDecl declaracionClase = tablaDeClases.get(nombreClase);
-
-        if (declaracionClase == null) {
-            addError("Clase " + nombreClase + " no encontrada", n.e.line);
-            return;
-        }
-
-        Set<String> clasesVisitadas = new HashSet<>();
-        MethodDecl metodo = null;
-        String nombreClaseActual = nombreClase;
-        StringBuilder rutaHerencia = new StringBuilder(nombreClase);
-
-        while (declaracionClase != null && !clasesVisitadas.contains(nombreClaseActual)) {
-            clasesVisitadas.add(nombreClaseActual);
-            metodo = findMethodInClass(declaracionClase, n.i.s);
-            if (metodo != null) break;
-
-            if (declaracionClase instanceof ClassDeclExtends) {
-                nombreClaseActual = ((ClassDeclExtends) declaracionClase).j.s;
-                declaracionClase = tablaDeClases.get(nombreClaseActual);
-                if (declaracionClase != null) {
-                    rutaHerencia.append(" -> ").append(nombreClaseActual);
-                }
-            } else {
-                declaracionClase = null;
-            }
-        }
-
-        if (metodo == null) {
-            if (clasesVisitadas.size() > 1) {
-                addError("Metodo '" + n.i.s + "' no existe en la jerarquia: " + rutaHerencia.toString(), n.i.line);
-            } else {
-                addError("Metodo '" + n.i.s + "' no existe en clase " + nombreClase, n.i.line);
-            }
-            return;
-        }
-
-        // Marcar variables usadas en los argumentos
-        for (int i = 0; i < n.el.size(); i++) {
-            Expr arg = n.el.get(i);
-            if (arg instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) arg).s);
-                if (var != null) {
-                    var.used = true;
-                }
-            }
-        }
+        getExpressionType(n);
     }
 
     /**
@@ -1083,55 +630,24 @@ public class SemanticAnalyzerVisitor implements Visitor {
         return t.getClass().getSimpleName();
     }
 
-    /**
-     * Visita un literal entero.
-     */
     public void visit(IntegerLiteral n) {
-        // No se requiere acción
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una expresión de identificador.
-     * Verifica que la variable exista y la marca como usada.
-     */
     public void visit(IdentifierExpr n) {
-        Variable var = scopeStack.lookup(n.s);
-        if (var == null) {
-            addError("Variable " + n.s + " no declarada", n.line);
-            return;
-        }
-        var.used = true;
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una referencia this.
-     * Verifica que se use dentro de una clase.
-     */
     public void visit(This n) {
-        if (claseActual == null) {
-            addError("'this' no puede usarse en contexto estático", n.line);
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una creación de array.
-     * Verifica que el tamaño sea de tipo entero.
-     */
     public void visit(NewArray n) {
-        Type sizeType = getExpressionType(n.e);
-        if (!(sizeType instanceof IntType)) {
-            addError("El tamano del array debe ser de tipo int", n.e.line);
-        }
+        getExpressionType(n);
     }
 
-    /**
-     * Visita una creación de objeto.
-     * Verifica que la clase exista.
-     */
     public void visit(NewObject n) {
-        if (!tablaDeClases.containsKey(n.i.s)) {
-            addError("Clase " + n.i.s + " no encontrada", n.i.line);
-        }
+        getExpressionType(n);
     }
 
     /**
@@ -1144,253 +660,200 @@ public class SemanticAnalyzerVisitor implements Visitor {
     /**
      * Obtiene el tipo de una expresión.
      * Usado para verificación de tipos en tiempo de compilación.
+     * Cada expresión se tipa una sola vez por método: las visitas de los
+     * operadores y de las sentencias vuelven a pedir el tipo de los mismos
+     * operandos, y sin guardarlo una cadena de && anidados se tiparía en
+     * tiempo cuadrático (y repetiría sus errores).
      */
     private Type getExpressionType(Expr e) {
         if (e == null) return null;
         
-        Type resultado = null;
-        
+        Type t = tiposCalculados.get(e);
+        if (t != null || tiposCalculados.containsKey(e)) {
+            return t;
+        }
         try {
-            if (e instanceof IntegerLiteral) {
-                resultado = new IntType(e.line);
-            } else if (e instanceof IdentifierExpr) {
-                Variable var = scopeStack.lookup(((IdentifierExpr) e).s);
+            t = e.accept(tipos, null);
+        } catch (Exception ex) {
+            t = null;
+        }
+        tiposCalculados.put(e, t);
+        return t;
+    }
+
+    /**
+     * Calcula el tipo de cada clase de expresión, o null si tiene un error.
+     * Las subexpresiones se resuelven con getExpressionType, que retorna el
+     * tipo guardado si ya se calculó.
+     */
+    private class TipoExpresionVisitor extends ResultVisitorAdapter<Type, Void> {
+
+        public Type visit(IntegerLiteral e, Void contexto) {
+            return new IntType(e.line);
+        }
+
+        public Type visit(IdentifierExpr e, Void contexto) {
+            Variable var = scopeStack.lookup(e.s);
+            if (var == null) {
+                addError("Variable '" + e.s + "' no declarada", lineaSentencia);
+                return null;
+            }
+            var.used = true;
+            return var.type;
+        }
+
+        public Type visit(This e, Void contexto) {
+            return claseActual != null ? new ClassType(e.line, claseActual) : null;
+        }
+
+        public Type visit(NewArray e, Void contexto) {
+            return new IntArrayType(e.line);
+        }
+
+        public Type visit(NewObject e, Void contexto) {
+            return new ClassType(e.line, e.i.s);
+        }
+
+        public Type visit(ArrayLength e, Void contexto) {
+            return new IntType(e.line);
+        }
+
+        public Type visit(ArrayLookup e, Void contexto) {
+            Type tipoArray = getExpressionType(e.e1);
+            Type tipoIndice = getExpressionType(e.e2);
+            
+            // Marcar la variable del array como usada
+            if (e.e1 instanceof IdentifierExpr) {
+                Variable var = scopeStack.lookup(((IdentifierExpr) e.e1).s);
                 if (var != null) {
-                    resultado = var.type;
                     var.used = true;
-                } else {
-                    addError("Variable '" + ((IdentifierExpr) e).s + "' no declarada", e.line);
-                    return null;
-                }
-            } else if (e instanceof This) {
-                if (claseActual != null) {
-                    resultado = new ClassType(e.line, claseActual);
-                }
-            } else if (e instanceof NewArray) {
-                resultado = new IntArrayType(e.line);
-            } else if (e instanceof NewObject) {
-                resultado = new ClassType(e.line, ((NewObject) e).i.s);
-            } else if (e instanceof ArrayLength) {
-                resultado = new IntType(e.line);
-            } else if (e instanceof ArrayLookup) {
-                ArrayLookup accesoArray = (ArrayLookup) e;
-                Type tipoArray = getExpressionType(accesoArray.e1);
-                Type tipoIndice = getExpressionType(accesoArray.e2);
-                
-                if (tipoArray instanceof IntArrayType && tipoIndice instanceof IntType) {
-                    resultado = new IntType(e.line);
                 }
+            }
+            if (tipoArray instanceof IntArrayType && tipoIndice instanceof IntType) {
+                return new IntType(e.line);
+            }
+            return null;
+        }
+
+        public Type visit(Call call, Void contexto) {
+            Type resultado = null;
+            Type tipoObjeto = getExpressionType(call.e);
+            if (tipoObjeto instanceof ClassType) {
+                String nombreClase = ((ClassType) tipoObjeto).className;
+                ClassDecl declaracionClase = tablaDeClases.get(nombreClase);
+                MethodDecl metodo = null;
                 
-                // Marcar la variable del array como usada
-                if (accesoArray.e1 instanceof IdentifierExpr) {
-                    Variable var = scopeStack.lookup(((IdentifierExpr) accesoArray.e1).s);
-                    if (var != null) {
-                        var.used = true;
-                    }
-                }
-            } else if (e instanceof Call) {
-                Call call = (Call) e;
-                Type tipoObjeto = getExpressionType(call.e);
-                if (tipoObjeto instanceof ClassType) {
-                    String nombreClase = ((ClassType) tipoObjeto).className;
-                    ClassDecl declaracionClase = tablaDeClases.get(nombreClase);
-                    MethodDecl metodo = null;
-                    
-                    while (declaracionClase != null) {
-                        metodo = findMethodInClass(declaracionClase, call.i.s);
-                        if (metodo != null) {
-                            resultado = metodo.t;
-                            break;
-                        }
-                        if (declaracionClase instanceof ClassDeclExtends) {
-                            declaracionClase = tablaDeClases.get(((ClassDeclExtends) declaracionClase).j.s);
-                        } else {
-                            declaracionClase = null;
-                        }
+                while (declaracionClase != null) {
+                    metodo = findMethodInClass(declaracionClase, call.i.s);
+                    if (metodo != null) {
+                        resultado = metodo.t;
+                        break;
                     }
-                    
-                    if (metodo == null) {
-                        addError("Metodo '" + call.i.s + "' no existe en clase " + nombreClase, call.i.line);
-                        return null;
+                    if (declaracionClase instanceof ClassDeclExtends) {
+                        declaracionClase = tablaDeClases.get(((ClassDeclExtends) declaracionClase).j.s);
+                    } else {
+                        declaracionClase = null;
                     }
                 }
                 
-                // Marcar variables usadas en los argumentos
-                for (int i = 0; i < call.el.size(); i++) {
-                    Expr arg = call.el.get(i);
-                    if (arg instanceof IdentifierExpr) {
-                        Variable var = scopeStack.lookup(((IdentifierExpr) arg).s);
-                        if (var != null) {
-                            var.used = true;
-                        }
-                    }
-                }
-            } else if (e instanceof Plus) {
-                Plus plus = (Plus) e;
-                Type t1 = getExpressionType(plus.e1);
-                Type t2 = getExpressionType(plus.e2);
-                
-                if (t1 == null || t2 == null) {
-                    return null;
-                }
-                
-                if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-                    addError("Error de tipo en operacion +: no se puede operar " + 
-                            getTypeName(t1) + " con " + getTypeName(t2), e.line);
-                    return null;
-                }
-                
-                resultado = new IntType(e.line);
-            } else if (e instanceof Minus) {
-                Minus minus = (Minus) e;
-                Type t1 = getExpressionType(minus.e1);
-                Type t2 = getExpressionType(minus.e2);
-                
-                if (t1 == null || t2 == null) {
-                    return null;
-                }
-                
-                if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-                    addError("Error de tipo en operacion -: no se puede operar " + 
-                            getTypeName(t1) + " con " + getTypeName(t2), e.line);
-                    return null;
-                }
-                
-                resultado = new IntType(e.line);
-            } else if (e instanceof Mult) {
-                Mult mult = (Mult) e;
-                Type t1 = getExpressionType(mult.e1);
-                Type t2 = getExpressionType(mult.e2);
-                
-                if (t1 == null || t2 == null) {
-                    return null;
-                }
-                
-                if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-                    addError("Error de tipo en operacion *: no se puede operar " + 
-                            getTypeName(t1) + " con " + getTypeName(t2), e.line);
-                    return null;
-                }
-                
-                resultado = new IntType(e.line);
-            } else if (e instanceof Div) {
-                Div div = (Div) e;
-                Type t1 = getExpressionType(div.e1);
-                Type t2 = getExpressionType(div.e2);
-                
-                if (t1 == null || t2 == null) {
-                    return null;
-                }
-                
-                if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-                    addError("Error de tipo en operacion /: no se puede operar " + 
-                            getTypeName(t1) + " con " + getTypeName(t2), e.line);
-                    return null;
-                }
-                
-                resultado = new IntType(e.line);
-            } else if (e instanceof And) {
-                And and = (And) e;
-                Type t1 = getExpressionType(and.e1);
-                Type t2 = getExpressionType(and.e2);
-                
-                if (t1 == null || t2 == null) {
-                    return null;
-                }
-                
-                if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-                    addError("Error de tipo en operacion &&: no se puede operar " + 
-                            getTypeName(t1) + " con " + getTypeName(t2), e.line);
-                    return null;
-                }
-                
-                resultado = new IntType(e.line);
-            } else if (e instanceof Or) {
-                Or or = (Or) e;
-                Type t1 = getExpressionType(or.e1);
-                Type t2 = getExpressionType(or.e2);
-                
-                if (t1 == null || t2 == null) {
-                    return null;
-                }
-                
-                if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-                    addError("Error de tipo en operacion ||: no se puede operar " + 
-                            getTypeName(t1) + " con " + getTypeName(t2), e.line);
-                    return null;
-                }
-                
-                resultado = new IntType(e.line);
-            } else if (e instanceof LessThan) {
-                LessThan lt = (LessThan) e;
-                Type t1 = getExpressionType(lt.e1);
-                Type t2 = getExpressionType(lt.e2);
-                
-                if (t1 == null || t2 == null) {
-                    return null;
-                }
-                
-                if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-                    addError("Error de tipo en operacion <: no se puede operar " + 
-                            getTypeName(t1) + " con " + getTypeName(t2), e.line);
-                    return null;
-                }
-                
-                resultado = new IntType(e.line);
-            } else if (e instanceof MoreThan) {
-                MoreThan mt = (MoreThan) e;
-                Type t1 = getExpressionType(mt.e1);
-                Type t2 = getExpressionType(mt.e2);
-                
-                if (t1 == null || t2 == null) {
-                    return null;
-                }
-                
-                if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
-                    addError("Error de tipo en operacion >: no se puede operar " + 
-                            getTypeName(t1) + " con " + getTypeName(t2), e.line);
-                    return null;
-                }
-                
-                resultado = new IntType(e.line);
-            } else if (e instanceof Equal) {
-                Equal eq = (Equal) e;
-                Type t1 = getExpressionType(eq.e1);
-                Type t2 = getExpressionType(eq.e2);
-                
-                if (t1 == null || t2 == null) {
-                    return null;
-                }
-                
-                if (!isSubtype(t1, t2) && !isSubtype(t2, t1)) {
-                    addError("Error de tipo en operacion ==: no se puede comparar " + 
-                            getTypeName(t1) + " con " + getTypeName(t2), e.line);
+                if (metodo == null) {
+                    addError("Metodo '" + call.i.s + "' no existe en clase " + nombreClase, lineaSentencia);
                     return null;
                 }
-                
-                resultado = new IntType(e.line);
-            } else if (e instanceof NotEqual) {
-                NotEqual ne = (NotEqual) e;
-                Type t1 = getExpressionType(ne.e1);
-                Type t2 = getExpressionType(ne.e2);
-                
-                if (t1 == null || t2 == null) {
-                    return null;
-                }
-                
-                if (!isSubtype(t1, t2) && !isSubtype(t2, t1)) {
-                    addError("Error de tipo en operacion !=: no se puede comparar " + 
-                            getTypeName(t1) + " con " + getTypeName(t2), e.line);
-                    return null;
+            }
+            
+            // Marcar variables usadas en los argumentos
+            for (int i = 0; i < call.el.size(); i++) {
+                Expr arg = call.el.get(i);
+                if (arg instanceof IdentifierExpr) {
+                    Variable var = scopeStack.lookup(((IdentifierExpr) arg).s);
+                    if (var != null) {
+                        var.used = true;
+                    }
                 }
-                
-                resultado = new IntType(e.line);
             }
-        } catch (Exception ex) {
-            return null;
+            return resultado;
+        }
+
+        public Type visit(Plus e, Void contexto) {
+            return operacionEntera(e, e.e1, e.e2, "+");
+        }
+
+        public Type visit(Minus e, Void contexto) {
+            return operacionEntera(e, e.e1, e.e2, "-");
+        }
+
+        public Type visit(Mult e, Void contexto) {
+            return operacionEntera(e, e.e1, e.e2, "*");
+        }
+
+        public Type visit(Div e, Void contexto) {
+            return operacionEntera(e, e.e1, e.e2, "/");
+        }
+
+        public Type visit(And e, Void contexto) {
+            return operacionEntera(e, e.e1, e.e2, "&&");
+        }
+
+        public Type visit(Or e, Void contexto) {
+            return operacionEntera(e, e.e1, e.e2, "||");
+        }
+
+        public Type visit(LessThan e, Void contexto) {
+            return operacionEntera(e, e.e1, e.e2, "<");
+        }
+
+        public Type visit(MoreThan e, Void contexto) {
+            return operacionEntera(e, e.e1, e.e2, ">");
+        }
+
+        public Type visit(Equal e, Void contexto) {
+            return comparacion(e, e.e1, e.e2, "==");
+        }
+
+        public Type visit(NotEqual e, Void contexto) {
+            return comparacion(e, e.e1, e.e2, "!=");
+        }
+
+        /**
+         * Tipo de un operador binario cuyos dos operandos deben ser enteros.
+         */
+        private Type operacionEntera(Expr e, Expr e1, Expr e2, String operador) {
+            Type t1 = getExpressionType(e1);
+            Type t2 = getExpressionType(e2);
+            
+            if (t1 == null || t2 == null) {
+                return null;
+            }
+            
+            if (!(t1 instanceof IntType) || !(t2 instanceof IntType)) {
+                addError("Error de tipo en operacion " + operador + ": no se puede operar " + 
+                        getTypeName(t1) + " con " + getTypeName(t2), lineaSentencia);
+                return null;
+            }
+            
+            return new IntType(e.line);
+        }
+
+        /**
+         * Tipo de == y !=, que admiten operandos de tipos compatibles.
+         */
+        private Type comparacion(Expr e, Expr e1, Expr e2, String operador) {
+            Type t1 = getExpressionType(e1);
+            Type t2 = getExpressionType(e2);
+            
+            if (t1 == null || t2 == null) {
+                return null;
+            }
+            
+            if (!isSubtype(t1, t2) && !isSubtype(t2, t1)) {
+                addError("Error de tipo en operacion " + operador + ": no se puede comparar " + 
+                        getTypeName(t1) + " con " + getTypeName(t2), lineaSentencia);
+                return null;
+            }
+            
+            return new IntType(e.line);
         }
-        
-        return resultado;
     }
 
     /**
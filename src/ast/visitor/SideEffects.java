@@ -0,0 +1,54 @@
+package ast.visitor;
+
+import ast.*;
+
+/**
+ * Consultas sobre los efectos de evaluar una expresión.
+ * Las optimizaciones solo pueden eliminar, duplicar o reordenar expresiones
+ * que no tienen efectos laterales ni pueden lanzar excepciones.
+ */
+public final class SideEffects {
+
+    private SideEffects() {
+    }
+
+    /**
+     * Indica si la expresión es trivial: un literal, una variable o this.
+     * Evaluarla varias veces es equivalente a evaluarla una sola vez.
+     */
+    public static boolean esTrivial(Expr e) {
+        return e instanceof IntegerLiteral || e instanceof IdentifierExpr || e instanceof This;
+    }
+
+    /**
+     * Indica si la expresión es pura: no tiene efectos laterales y su
+     * evaluación nunca lanza una excepción (división por cero, índice fuera de
+     * rango o referencia nula). Una expresión pura puede eliminarse o moverse.
+     */
+    public static boolean esPura(Expr e) {
+        if (esTrivial(e) || e instanceof NewObject) {
+            return true;
+        }
+        if (e instanceof Plus) {
+            return esPura(((Plus) e).e1) && esPura(((Plus) e).e2);
+        } else if (e instanceof Minus) {
+            return esPura(((Minus) e).e1) && esPura(((Minus) e).e2);
+        } else if (e instanceof Mult) {
+            return esPura(((Mult) e).e1) && esPura(((Mult) e).e2);
+        } else if (e instanceof LessThan) {
+            return esPura(((LessThan) e).e1) && esPura(((LessThan) e).e2);
+        } else if (e instanceof MoreThan) {
+            return esPura(((MoreThan) e).e1) && esPura(((MoreThan) e).e2);
+        } else if (e instanceof Equal) {
+            return esPura(((Equal) e).e1) && esPura(((Equal) e).e2);
+        } else if (e instanceof NotEqual) {
+            return esPura(((NotEqual) e).e1) && esPura(((NotEqual) e).e2);
+        } else if (e instanceof And) {
+            return esPura(((And) e).e1) && esPura(((And) e).e2);
+        } else if (e instanceof Or) {
+            return esPura(((Or) e).e1) && esPura(((Or) e).e2);
+        }
+        // Div, ArrayLookup, ArrayLength, NewArray y Call pueden fallar o tener efectos
+        return false;
+    }
+}
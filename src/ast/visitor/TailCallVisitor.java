@@ -0,0 +1,553 @@
+package ast.visitor;
+
+import ast.*;
+import java.util.*;
+
+/**
+ * Visitante que elimina la recursión de cola de los métodos auto-recursivos.
+ * Una llamada this.m(...) al propio método está en posición de cola cuando es
+ * la última sentencia que se ejecuta antes del return (siguiendo los bloques y
+ * las dos ramas de los if) y su resultado es el que retorna el método:
+ *
+ *   r = this.m(...);  con return r
+ *   x = this.m(...);  con return de un literal (el resultado se descarta)
+ *   r = X + this.m(...) o r = X * this.m(...), con X sin efectos laterales,
+ *                     acumulando X en una variable nueva
+ *
+ * El cuerpo del método se convierte en un while que, en cada sitio de cola,
+ * reasigna los parámetros y vuelve a iterar en vez de llamar, por lo que la
+ * recursión corre en espacio de pila constante. Solo se transforman métodos
+ * que ninguna subclase redefine, ya que this podría despachar a otro método.
+ */
+public class TailCallVisitor implements Visitor {
+
+    /**
+     * Un sitio de llamada en posición de cola.
+     */
+    private static class Sitio {
+        Call llamada;
+        // Operación de acumulación ("+" o "*"), null si la llamada no se acumula
+        String operacion;
+        // Operando que se acumula
+        Expr acumulado;
+
+        Sitio(Call llamada, String operacion, Expr acumulado) {
+            this.llamada = llamada;
+            this.operacion = operacion;
+            this.acumulado = acumulado;
+        }
+    }
+
+    private ClassHierarchy jerarquia;
+    private FreshNames nombresFrescos;
+    // Registro de decisiones, una entrada por método recursivo
+    private List<String> decisiones;
+    private int transformados;
+
+    // Contexto del método que se está recorriendo
+    private String claseActual;
+    private MethodDecl metodoActual;
+    private Set<String> nombresLocales;
+    private Map<Assign, Sitio> sitios;
+    private String operacionMetodo;
+    private String motivoRechazo;
+
+    // Variables agregadas al método transformado
+    private String variableContinuar;
+    private String variableAcumulador;
+
+    public TailCallVisitor() {
+        this.decisiones = new ArrayList<>();
+        this.transformados = 0;
+    }
+
+    /**
+     * Retorna el registro de decisiones tomadas en cada método recursivo.
+     */
+    public List<String> getDecisiones() {
+        return decisiones;
+    }
+
+    /**
+     * Retorna la cantidad de métodos transformados en ciclos.
+     */
+    public int getTransformados() {
+        return transformados;
+    }
+
+    public void visit(Goal n) {
+        jerarquia = new ClassHierarchy(n);
+        nombresFrescos = new FreshNames(n);
+        for (int i = 0; i < n.cl.size(); i++) {
+            visit(n.cl.get(i));
+        }
+    }
+
+    public void visit(MainClass n) {
+        // main no es recursivo
+    }
+
+    public void visit(ClassDeclSimple n) {
+        claseActual = n.i.s;
+        for (int i = 0; i < n.ml.size(); i++) {
+            visit(n.ml.get(i));
+        }
+    }
+
+    public void visit(ClassDeclExtends n) {
+        claseActual = n.i.s;
+        for (int i = 0; i < n.ml.size(); i++) {
+            visit(n.ml.get(i));
+        }
+    }
+
+    /**
+     * Visita un método: si es auto-recursivo, busca sus llamadas en posición
+     * de cola y, si hay alguna, convierte el cuerpo en un ciclo.
+     */
+    public void visit(MethodDecl n) {
+        if (!UsageVisitor.de(n).llama(n.i.s)) {
+            return;
+        }
+        String sitio = "linea " + n.line + ": " + claseActual + "." + n.i.s;
+        if (jerarquia.tieneRedefinicion(claseActual, n.i.s)) {
+            decisiones.add(sitio + ": no se transforma, el metodo se redefine en una subclase");
+            return;
+        }
+
+        metodoActual = n;
+        nombresLocales = new HashSet<>();
+        for (int i = 0; i < n.fl.size(); i++) {
+            nombresLocales.add(n.fl.get(i).i.s);
+        }
+        FreshNames.agregarNombres(n.vl, nombresLocales);
+        sitios = new IdentityHashMap<>();
+        operacionMetodo = null;
+        motivoRechazo = null;
+
+        // Un return con la llamada recursiva pasa a ser una asignación a una variable nueva
+        Assign retornoComoSentencia = null;
+        if (!(n.e instanceof IdentifierExpr) && !(n.e instanceof IntegerLiteral)) {
+            retornoComoSentencia = new Assign(new Identifier("", n.e.line), n.e, n.e.line);
+            if (analizarAsignacion(retornoComoSentencia) == null) {
+                decisiones.add(sitio + ": no se transforma, " + (motivoRechazo != null
+                        ? motivoRechazo : "no hay llamadas recursivas en posicion de cola"));
+                return;
+            }
+            sitios.clear();
+            operacionMetodo = null;
+        }
+
+        if (retornoComoSentencia != null) {
+            String resultado = declararLocal(new CloneVisitor().clonar(n.t), "tce_resultado", n.line);
+            retornoComoSentencia.i = new Identifier(resultado, n.e.line);
+            n.sl.add(retornoComoSentencia);
+            n.e = new IdentifierExpr(resultado, n.e.line);
+        }
+        if (n.e instanceof IdentifierExpr && !nombresLocales.contains(((IdentifierExpr) n.e).s)) {
+            decisiones.add(sitio + ": no se transforma, el valor retornado es un campo");
+            return;
+        }
+        if (n.sl.size() > 0) {
+            buscarSitios(n.sl.get(n.sl.size() - 1));
+        }
+        if (sitios.isEmpty()) {
+            decisiones.add(sitio + ": no se transforma, " + (motivoRechazo != null
+                    ? motivoRechazo : "no hay llamadas recursivas en posicion de cola"));
+            return;
+        }
+
+        transformar(n);
+        transformados++;
+        decisiones.add(sitio + ": " + sitios.size() + " llamada(s) de cola convertidas en ciclo"
+                + (operacionMetodo != null ? " con acumulador (" + operacionMetodo + ")" : ""));
+    }
+
+    // ========== BÚSQUEDA DE SITIOS DE COLA ==========
+
+    /**
+     * Recorre las sentencias que pueden ser las últimas en ejecutarse y registra
+     * las llamadas recursivas en posición de cola.
+     */
+    private void buscarSitios(Statement s) {
+        if (s instanceof Block) {
+            StatementList sl = ((Block) s).sl;
+            if (sl.size() > 0) {
+                buscarSitios(sl.get(sl.size() - 1));
+            }
+        } else if (s instanceof If) {
+            buscarSitios(((If) s).s1);
+            buscarSitios(((If) s).s2);
+        } else if (s instanceof Assign) {
+            Sitio sitio = analizarAsignacion((Assign) s);
+            if (sitio != null) {
+                sitios.put((Assign) s, sitio);
+            }
+        }
+    }
+
+    /**
+     * Determina si una asignación es un sitio de cola válido para el método actual.
+     * @return El sitio, o null si la asignación no es una llamada de cola transformable
+     */
+    private Sitio analizarAsignacion(Assign a) {
+        MethodDecl m = metodoActual;
+        // El valor asignado debe ser el retornado, o el retorno debe ser un literal
+        if (m.e instanceof IdentifierExpr) {
+            if (!((IdentifierExpr) m.e).s.equals(a.i.s)) {
+                return null;
+            }
+        } else if (m.e instanceof IntegerLiteral) {
+            if (!nombresLocales.contains(a.i.s)) {
+                return null;
+            }
+        } else if (!a.i.s.isEmpty()) {
+            return null;
+        }
+
+        if (esLlamadaRecursiva(a.e)) {
+            return new Sitio((Call) a.e, null, null);
+        }
+        if (m.e instanceof IntegerLiteral) {
+            // Con retorno literal el resultado no se usa, no tiene sentido acumular
+            return null;
+        }
+        String operacion;
+        Expr izquierda;
+        Expr derecha;
+        if (a.e instanceof Plus) {
+            operacion = "+";
+            izquierda = ((Plus) a.e).e1;
+            derecha = ((Plus) a.e).e2;
+        } else if (a.e instanceof Mult) {
+            operacion = "*";
+            izquierda = ((Mult) a.e).e1;
+            derecha = ((Mult) a.e).e2;
+        } else {
+            return null;
+        }
+        Call llamada;
+        Expr acumulado;
+        if (esLlamadaRecursiva(derecha)) {
+            llamada = (Call) derecha;
+            acumulado = izquierda;
+        } else if (esLlamadaRecursiva(izquierda)) {
+            llamada = (Call) izquierda;
+            acumulado = derecha;
+        } else {
+            return null;
+        }
+        // El operando se evalúa antes de reasignar los parámetros: solo puede leer variables locales
+        UsageVisitor usos = UsageVisitor.de(acumulado);
+        if (!SideEffects.esPura(acumulado) || usos.usaThis()
+                || !nombresLocales.containsAll(usos.getVariablesLeidas())) {
+            motivoRechazo = "el operando acumulado lee campos o tiene efectos laterales";
+            return null;
+        }
+        if (operacionMetodo != null && !operacionMetodo.equals(operacion)) {
+            motivoRechazo = "las llamadas de cola mezclan sumas y multiplicaciones";
+            return null;
+        }
+        operacionMetodo = operacion;
+        return new Sitio(llamada, operacion, acumulado);
+    }
+
+    private boolean esLlamadaRecursiva(Expr e) {
+        if (!(e instanceof Call)) {
+            return false;
+        }
+        Call c = (Call) e;
+        return c.e instanceof This && c.i.s.equals(metodoActual.i.s) && c.el.size() == metodoActual.fl.size();
+    }
+
+    // ========== TRANSFORMACIÓN ==========
+
+    /**
+     * Convierte el cuerpo del método en:
+     *
+     *   acumulador = neutro; locales del return = 0; continuar = 1;
+     *   while (continuar == 1) { continuar = 0; inicializaciones; cuerpo }
+     *   return acumulador op resultado;
+     *
+     * donde cada sitio de cola acumula su operando, reasigna los parámetros y
+     * pone continuar en 1.
+     */
+    private void transformar(MethodDecl n) {
+        int linea = n.line;
+        variableContinuar = declararLocal(new IntType(linea), "tce_continuar", linea);
+        variableAcumulador = null;
+        if (operacionMetodo != null) {
+            variableAcumulador = declararLocal(new IntType(linea), "tce_acc", linea);
+        }
+
+        // Las variables inicializadas en su declaración se reinicializan en cada iteración
+        StatementList cuerpo = new StatementList(linea);
+        cuerpo.add(asignar(variableContinuar, new IntegerLiteral(0, linea), linea));
+        VarDeclList locales = new VarDeclList(n.vl.line);
+        for (int i = 0; i < n.vl.size(); i++) {
+            VarDeclSimple v = (VarDeclSimple) n.vl.get(i);
+            if (v instanceof VarDeclAssign) {
+                cuerpo.add(asignar(v.i.s, ((VarDeclAssign) v).e, v.line));
+                v = new VarDeclSimple(v.t, v.i, v.line);
+            }
+            locales.add(v);
+        }
+        n.vl = locales;
+        for (int i = 0; i < n.sl.size(); i++) {
+            cuerpo.add(reemplazarSitios(n.sl.get(i)));
+        }
+
+        StatementList sl = new StatementList(linea);
+        if (variableAcumulador != null) {
+            int neutro = operacionMetodo.equals("+") ? 0 : 1;
+            sl.add(asignar(variableAcumulador, new IntegerLiteral(neutro, linea), linea));
+            n.e = combinar(new IdentifierExpr(variableAcumulador, n.e.line), n.e);
+        }
+        // Las locales que lee el return solo se asignan dentro del ciclo: el
+        // verificador de la JVM rechaza leerlas después del while sin un valor previo
+        Set<String> leidas = UsageVisitor.de(n.e).getVariablesLeidas();
+        for (int i = 0; i < n.vl.size(); i++) {
+            VarDeclSimple v = (VarDeclSimple) n.vl.get(i);
+            if (leidas.contains(v.i.s) && !v.i.s.equals(variableAcumulador)) {
+                sl.add(asignar(v.i.s, valorInicial(v.t, linea), linea));
+            }
+        }
+        sl.add(asignar(variableContinuar, new IntegerLiteral(1, linea), linea));
+        Expr condicion = new Equal(linea, new IdentifierExpr(variableContinuar, linea), new IntegerLiteral(1, linea));
+        sl.add(new While(condicion, new Block(cuerpo, linea), linea));
+        n.sl = sl;
+    }
+
+    /**
+     * Valor con el que se inicializa una local antes del ciclo. Mini-J no
+     * tiene null, así que las referencias reciben un objeto o arreglo nuevo.
+     */
+    private static Expr valorInicial(Type t, int linea) {
+        if (t instanceof IntArrayType) {
+            return new NewArray(new IntegerLiteral(0, linea), linea);
+        }
+        if (t instanceof ClassType) {
+            return new NewObject(new Identifier(((ClassType) t).className, linea), linea);
+        }
+        return new IntegerLiteral(0, linea);
+    }
+
+    /**
+     * Reemplaza los sitios de cola dentro de las últimas sentencias.
+     */
+    private Statement reemplazarSitios(Statement s) {
+        if (s instanceof Block) {
+            StatementList sl = ((Block) s).sl;
+            if (sl.size() > 0) {
+                sl.set(sl.size() - 1, reemplazarSitios(sl.get(sl.size() - 1)));
+            }
+        } else if (s instanceof If) {
+            If i = (If) s;
+            i.s1 = reemplazarSitios(i.s1);
+            i.s2 = reemplazarSitios(i.s2);
+        } else if (s instanceof Assign && sitios.containsKey(s)) {
+            return reemplazarSitio(sitios.get(s), s.line);
+        }
+        return s;
+    }
+
+    /**
+     * Genera el bloque que reemplaza a una llamada de cola.
+     */
+    private Statement reemplazarSitio(Sitio sitio, int linea) {
+        StatementList sl = new StatementList(linea);
+        if (sitio.operacion != null) {
+            sl.add(asignar(variableAcumulador, combinar(new IdentifierExpr(variableAcumulador, linea), sitio.acumulado), linea));
+        }
+
+        // Parámetros que cambian de valor en la llamada
+        List<Integer> cambian = new ArrayList<>();
+        for (int i = 0; i < metodoActual.fl.size(); i++) {
+            Expr argumento = sitio.llamada.el.get(i);
+            if (!(argumento instanceof IdentifierExpr) || !((IdentifierExpr) argumento).s.equals(metodoActual.fl.get(i).i.s)) {
+                cambian.add(i);
+            }
+        }
+        // Asignar en orden es correcto si ningún argumento lee un parámetro ya reasignado
+        boolean directo = true;
+        Set<String> reasignados = new HashSet<>();
+        for (int i : cambian) {
+            UsageVisitor usos = UsageVisitor.de(sitio.llamada.el.get(i));
+            for (String r : reasignados) {
+                if (usos.getLecturas(r) > 0) {
+                    directo = false;
+                }
+            }
+            reasignados.add(metodoActual.fl.get(i).i.s);
+        }
+
+        if (directo) {
+            for (int i : cambian) {
+                sl.add(asignar(metodoActual.fl.get(i).i.s, sitio.llamada.el.get(i), linea));
+            }
+        } else {
+            CloneVisitor copiaTipos = new CloneVisitor();
+            List<String> temporales = new ArrayList<>();
+            for (int i : cambian) {
+                Param p = metodoActual.fl.get(i);
+                String temporal = declararLocal(copiaTipos.clonar(p.t), p.i.s + "_tce", linea);
+                temporales.add(temporal);
+                sl.add(asignar(temporal, sitio.llamada.el.get(i), linea));
+            }
+            for (int j = 0; j < cambian.size(); j++) {
+                String parametro = metodoActual.fl.get(cambian.get(j)).i.s;
+                sl.add(asignar(parametro, new IdentifierExpr(temporales.get(j), linea), linea));
+            }
+        }
+        sl.add(asignar(variableContinuar, new IntegerLiteral(1, linea), linea));
+        return new Block(sl, linea);
+    }
+
+    private Expr combinar(Expr e1, Expr e2) {
+        if (operacionMetodo.equals("+")) {
+            return new Plus(e1, e2, e2.line);
+        }
+        return new Mult(e1, e2, e2.line);
+    }
+
+    private static Assign asignar(String variable, Expr e, int linea) {
+        return new Assign(new Identifier(variable, linea), e, linea);
+    }
+
+    /**
+     * Declara una variable local nueva en el método actual.
+     * @return El nombre fresco de la variable
+     */
+    private String declararLocal(Type t, String base, int linea) {
+        String nuevo = nombresFrescos.nuevo(base, "_");
+        nombresLocales.add(nuevo);
+        metodoActual.vl.add(new VarDeclSimple(t, new Identifier(nuevo, linea), linea));
+        return nuevo;
+    }
+
+    // El resto de los nodos no se recorre: la transformación trabaja por método
+
+    public void visit(VarDeclSimple n) {
+        // No se requiere acción
+    }
+
+    public void visit(VarDeclAssign n) {
+        // No se requiere acción
+    }
+
+    public void visit(Block n) {
+        // No se requiere acción
+    }
+
+    public void visit(If n) {
+        // No se requiere acción
+    }
+
+    public void visit(While n) {
+        // No se requiere acción
+    }
+
+    public void visit(Print n) {
+        // No se requiere acción
+    }
+
+    public void visit(Assign n) {
+        // No se requiere acción
+    }
+
+    public void visit(ArrayAssign n) {
+        // No se requiere acción
+    }
+
+    public void visit(And n) {
+        // No se requiere acción
+    }
+
+    public void visit(Or n) {
+        // No se requiere acción
+    }
+
+    public void visit(Equal n) {
+        // No se requiere acción
+    }
+
+    public void visit(NotEqual n) {
+        // No se requiere acción
+    }
+
+    public void visit(LessThan n) {
+        // No se requiere acción
+    }
+
+    public void visit(MoreThan n) {
+        // No se requiere acción
+    }
+
+    public void visit(Plus n) {
+        // No se requiere acción
+    }
+
+    public void visit(Minus n) {
+        // No se requiere acción
+    }
+
+    public void visit(Mult n) {
+        // No se requiere acción
+    }
+
+    public void visit(Div n) {
+        // No se requiere acción
+    }
+
+    public void visit(ArrayLookup n) {
+        // No se requiere acción
+    }
+
+    public void visit(ArrayLength n) {
+        // No se requiere acción
+    }
+
+    public void visit(Call n) {
+        // No se requiere acción
+    }
+
+    public void visit(IntegerLiteral n) {
+        // No se requiere acción
+    }
+
+    public void visit(IdentifierExpr n) {
+        // No se requiere acción
+    }
+
+    public void visit(This n) {
+        // No se requiere acción
+    }
+
+    public void visit(NewArray n) {
+        // No se requiere acción
+    }
+
+    public void visit(NewObject n) {
+        // No se requiere acción
+    }
+
+    public void visit(Identifier n) {
+        // No se requiere acción
+    }
+
+    public void visit(Param n) {
+        // No se requiere acción
+    }
+
+    public void visit(IntArrayType n) {
+        // No se requiere acción
+    }
+
+    public void visit(IntType n) {
+        // No se requiere acción
+    }
+
+    public void visit(ClassType n) {
+        // No se requiere acción
+    }
+}
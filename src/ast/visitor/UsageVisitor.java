@@ -0,0 +1,120 @@
+package ast.visitor;
+
+import ast.*;
+import java.util.*;
+
+/**
+ * Visitante que recolecta los usos de variables y métodos en un subárbol.
+ * Registra lecturas y escrituras de variables, llamadas a métodos y usos de this,
+ * información que comparten las pasadas de optimización para decidir si una
+ * transformación es segura.
+ */
+public class UsageVisitor extends NodeCounterVisitor {
+    // Cantidad de lecturas de cada variable
+    private Map<String, Integer> lecturas = new HashMap<>();
+    // Cantidad de asignaciones directas a cada variable
+    private Map<String, Integer> escrituras = new HashMap<>();
+    // Arrays cuyas posiciones se asignan
+    private Set<String> arraysModificados = new HashSet<>();
+    // Nombres de los métodos invocados
+    private Set<String> metodosLlamados = new HashSet<>();
+    private boolean usaThis = false;
+
+    /**
+     * Recolecta los usos de una expresión.
+     */
+    public static UsageVisitor de(Expr e) {
+        UsageVisitor v = new UsageVisitor();
+        v.visit(e);
+        return v;
+    }
+
+    /**
+     * Recolecta los usos de una sentencia.
+     */
+    public static UsageVisitor de(Statement s) {
+        UsageVisitor v = new UsageVisitor();
+        v.visit(s);
+        return v;
+    }
+
+    /**
+     * Recolecta los usos del cuerpo completo de un método.
+     */
+    public static UsageVisitor de(MethodDecl m) {
+        UsageVisitor v = new UsageVisitor();
+        v.visit(m);
+        return v;
+    }
+
+    public int getLecturas(String nombre) {
+        return lecturas.getOrDefault(nombre, 0);
+    }
+
+    public Set<String> getVariablesLeidas() {
+        return lecturas.keySet();
+    }
+
+    public int getEscrituras(String nombre) {
+        return escrituras.getOrDefault(nombre, 0);
+    }
+
+    public Set<String> getVariablesEscritas() {
+        return escrituras.keySet();
+    }
+
+    /**
+     * Retorna todas las variables referenciadas, leídas o escritas.
+     */
+    public Set<String> getVariables() {
+        Set<String> todas = new HashSet<>(lecturas.keySet());
+        todas.addAll(escrituras.keySet());
+        todas.addAll(arraysModificados);
+        return todas;
+    }
+
+    public boolean escribe(String nombre) {
+        return escrituras.containsKey(nombre);
+    }
+
+    public boolean modificaArray(String nombre) {
+        return arraysModificados.contains(nombre);
+    }
+
+    public boolean tieneLlamadas() {
+        return !metodosLlamados.isEmpty();
+    }
+
+    public boolean llama(String nombreMetodo) {
+        return metodosLlamados.contains(nombreMetodo);
+    }
+
+    public boolean usaThis() {
+        return usaThis;
+    }
+
+    public void visit(Assign n) {
+        escrituras.merge(n.i.s, 1, Integer::sum);
+        super.visit(n);
+    }
+
+    public void visit(ArrayAssign n) {
+        arraysModificados.add(n.i.s);
+        super.visit(n);
+    }
+
+    public void visit(Call n) {
+        metodosLlamados.add(n.i.s);
+        super.visit(n);
+    }
+
+    public void visit(IdentifierExpr n) {
+        lecturas.merge(n.s, 1, Integer::sum);
+        super.visit(n);
+    }
+
+    public void visit(This n) {
+        usaThis = true;
+        super.visit(n);
+    }
+}
@@ -69,87 +69,26 @@ public interface Visitor {
 
 	public void visit(Identifier n);
 
-	public default void visit(ClassDecl c) {
-		// Hack, we could resolve this with OO
-		if (c instanceof ClassDeclExtends) {
-			visit((ClassDeclExtends) c);
-		} else if (c instanceof ClassDeclSimple) {
-			visit((ClassDeclSimple) c);
-		}
+	// Las categorías abstractas despachan con accept: una sola llamada virtual
+	// en lugar de recorrer una cadena de instanceof
 
+	public default void visit(ClassDecl c) {
+		c.accept(this);
 	}
 
 	public default void visit(Expr e) {
-		if (e instanceof And) {
-			visit((And) e);
-		} else if (e instanceof Or) {
-			visit((Or) e);
-		} else if (e instanceof ArrayLength) {
-			visit((ArrayLength) e);
-		} else if (e instanceof ArrayLookup) {
-			visit((ArrayLookup) e);
-		} else if (e instanceof Call) {
-			visit((Call) e);
-		} else if (e instanceof IdentifierExpr) {
-			visit((IdentifierExpr) e);
-		} else if (e instanceof IntegerLiteral) {
-			visit((IntegerLiteral) e);
-		} else if (e instanceof LessThan) {
-			visit((LessThan) e);
-		} else if (e instanceof Equal) {
-			visit((Equal) e);
-		} else if (e instanceof NotEqual) {
-			visit((NotEqual) e);
-		} else if (e instanceof MoreThan) {
-			visit((MoreThan) e);
-		} else if (e instanceof Plus) {
-			visit((Plus) e);
-		} else if (e instanceof Minus) {
-			visit((Minus) e);
-		} else if (e instanceof Mult) {
-			visit((Mult) e);
-		} else if (e instanceof Div) {
-			visit((Div) e);
-		} else if (e instanceof NewArray) {
-			visit((NewArray) e);
-		} else if (e instanceof NewObject) {
-			visit((NewObject) e);
-		} else if (e instanceof This) {
-			visit((This) e);
-		}
+		e.accept(this);
 	}
 
-	public default void visit(Type e) {
-		if (e instanceof IntType) {
-			visit((IntType) e);
-		} else if (e instanceof IntArrayType) {
-			visit((IntArrayType) e);
-		} else if (e instanceof ClassType) {
-			visit((ClassType) e);
-		}
+	public default void visit(Type t) {
+		t.accept(this);
 	}
-	
-	public default void visit(VarDecl e) {
-		if( e instanceof VarDeclAssign) {
-			visit((VarDeclAssign)e);
-		} else if (e instanceof VarDeclSimple) {
-			visit((VarDeclSimple)e);
-		} 
+
+	public default void visit(VarDecl d) {
+		d.accept(this);
 	}
 
 	public default void visit(Statement s) {
-		if (s instanceof ArrayAssign) {
-			visit((ArrayAssign) s);
-		} else if (s instanceof Assign) {
-			visit((Assign) s);
-		} else if (s instanceof Block) {
-			visit((Block) s);
-		} else if (s instanceof If) {
-			visit((If) s);
-		} else if (s instanceof Print) {
-			visit((Print) s);
-		} else if (s instanceof While) {
-			visit((While) s);
-		}
+		s.accept(this);
 	}
-}
\ No newline at end of file
+}
@@ -31,26 +31,28 @@ public class parser extends java_cup.runtime.lr_parser {
   /** Production table. */
   protected static final short _production_table[][] = 
     unpackFromStrings(new String[] {
-    "\000\100\000\002\002\003\000\002\002\004\000\002\002" +
+    "\000\106\000\002\002\003\000\002\002\004\000\002\002" +
     "\004\000\002\003\025\000\002\003\024\000\002\003\024" +
     "\000\002\003\023\000\002\006\011\000\002\006\010\000" +
     "\002\006\010\000\002\006\007\000\002\004\003\000\002" +
     "\004\004\000\002\005\003\000\002\005\003\000\002\007" +
     "\013\000\002\012\003\000\002\012\004\000\002\013\005" +
-    "\000\002\013\007\000\002\016\003\000\002\016\004\000" +
-    "\002\017\017\000\002\017\016\000\002\017\016\000\002" +
-    "\017\015\000\002\020\002\000\002\020\003\000\002\020" +
-    "\005\000\002\021\004\000\002\014\003\000\002\014\004" +
-    "\000\002\015\005\000\002\015\011\000\002\015\007\000" +
-    "\002\015\007\000\002\015\006\000\002\015\011\000\002" +
-    "\023\003\000\002\023\005\000\002\022\005\000\002\022" +
-    "\005\000\002\022\005\000\002\022\005\000\002\022\005" +
-    "\000\002\022\005\000\002\022\005\000\002\022\005\000" +
-    "\002\022\005\000\002\022\005\000\002\022\006\000\002" +
-    "\022\005\000\002\022\007\000\002\022\010\000\002\022" +
-    "\003\000\002\022\003\000\002\022\007\000\002\022\006" +
-    "\000\002\022\005\000\002\022\003\000\002\011\005\000" +
-    "\002\011\003\000\002\011\003\000\002\010\003" });
+    "\000\002\013\007\000\002\013\005\000\002\016\003\000" +
+    "\002\016\004\000\002\017\015\000\002\017\014\000\002" +
+    "\017\014\000\002\017\013\000\002\017\005\000\002\024" +
+    "\005\000\002\024\005\000\002\020\002\000\002\020\003" +
+    "\000\002\020\005\000\002\021\004\000\002\014\003\000" +
+    "\002\014\004\000\002\015\005\000\002\015\011\000\002" +
+    "\015\007\000\002\015\004\000\002\015\005\000\002\015" +
+    "\007\000\002\015\006\000\002\015\011\000\002\023\003" +
+    "\000\002\023\005\000\002\022\005\000\002\022\005\000" +
+    "\002\022\005\000\002\022\005\000\002\022\005\000\002" +
+    "\022\005\000\002\022\005\000\002\022\005\000\002\022" +
+    "\005\000\002\022\005\000\002\022\006\000\002\022\005" +
+    "\000\002\022\007\000\002\022\010\000\002\022\003\000" +
+    "\002\022\003\000\002\022\007\000\002\022\006\000\002" +
+    "\022\005\000\002\022\003\000\002\011\005\000\002\011" +
+    "\003\000\002\011\003\000\002\010\003" });
 
   /** Access to production table. */
   public short[][] production_table() {return _production_table;}
@@ -58,213 +60,217 @@ public class parser extends java_cup.runtime.lr_parser {
   /** Parse-action table. */
   protected static final short[][] _action_table = 
     unpackFromStrings(new String[] {
-    "\000\262\000\004\006\006\001\002\000\004\002\264\001" +
-    "\002\000\006\002\001\006\200\001\002\000\004\012\007" +
-    "\001\002\000\004\050\010\001\002\000\052\005\uffc2\024" +
-    "\uffc2\025\uffc2\026\uffc2\027\uffc2\030\uffc2\031\uffc2\032\uffc2" +
-    "\033\uffc2\034\uffc2\035\uffc2\036\uffc2\037\uffc2\040\uffc2\041" +
-    "\uffc2\042\uffc2\043\uffc2\045\uffc2\046\uffc2\047\uffc2\001\002" +
+    "\000\267\000\004\006\006\001\002\000\004\002\271\001" +
+    "\002\000\006\002\001\006\206\001\002\000\004\012\007" +
+    "\001\002\000\004\050\010\001\002\000\052\005\uffbc\024" +
+    "\uffbc\025\uffbc\026\uffbc\027\uffbc\030\uffbc\031\uffbc\032\uffbc" +
+    "\033\uffbc\034\uffbc\035\uffbc\036\uffbc\037\uffbc\040\uffbc\041" +
+    "\uffbc\042\uffbc\043\uffbc\045\uffbc\046\uffbc\047\uffbc\001\002" +
     "\000\004\043\012\001\002\000\004\006\013\001\002\000" +
     "\004\007\014\001\002\000\004\010\015\001\002\000\004" +
     "\011\016\001\002\000\004\037\017\001\002\000\004\023" +
     "\020\001\002\000\004\041\021\001\002\000\004\042\022" +
     "\001\002\000\004\050\010\001\002\000\004\040\024\001" +
-    "\002\000\004\043\025\001\002\000\020\004\037\013\030" +
-    "\014\035\016\027\043\041\044\042\050\040\001\002\000" +
-    "\004\050\010\001\002\000\004\037\163\001\002\000\006" +
-    "\041\161\050\uffc4\001\002\000\020\004\037\013\030\014" +
-    "\035\016\027\043\041\044\155\050\040\001\002\000\016" +
-    "\004\037\014\035\016\027\043\041\044\151\050\010\001" +
-    "\002\000\006\033\140\041\141\001\002\000\024\004\ufff1" +
-    "\006\ufff1\013\ufff1\014\ufff1\016\ufff1\017\ufff1\043\ufff1\044" +
-    "\ufff1\050\ufff1\001\002\000\004\037\132\001\002\000\020" +
-    "\004\uffe3\014\uffe3\016\uffe3\017\uffe3\043\uffe3\044\uffe3\050" +
-    "\uffe3\001\002\000\004\037\047\001\002\000\010\033\uffc2" +
-    "\041\uffc2\050\uffc3\001\002\000\014\004\037\014\035\016" +
-    "\027\043\041\050\010\001\002\000\004\044\043\001\002" +
-    "\000\006\002\ufffb\006\ufffb\001\002\000\016\004\037\014" +
-    "\035\016\027\043\041\044\045\050\010\001\002\000\022" +
-    "\004\uffe1\014\uffe1\015\uffe1\016\uffe1\017\uffe1\043\uffe1\044" +
-    "\uffe1\050\uffe1\001\002\000\020\004\uffe2\014\uffe2\016\uffe2" +
-    "\017\uffe2\043\uffe2\044\uffe2\050\uffe2\001\002\000\014\020" +
-    "\054\021\051\037\050\050\010\051\052\001\002\000\014" +
-    "\020\054\021\051\037\050\050\010\051\052\001\002\000" +
-    "\006\013\121\050\010\001\002\000\042\024\uffc6\025\uffc6" +
-    "\026\uffc6\027\uffc6\030\uffc6\031\uffc6\032\uffc6\034\uffc6\035" +
-    "\uffc6\036\uffc6\040\uffc6\041\uffc6\042\uffc6\045\uffc6\046\uffc6" +
-    "\047\uffc6\001\002\000\034\024\064\025\056\026\061\027" +
-    "\065\030\057\031\071\032\066\034\062\035\072\036\063" +
-    "\040\070\041\060\047\067\001\002\000\042\024\uffca\025" +
-    "\uffca\026\uffca\027\uffca\030\uffca\031\uffca\032\uffca\034\uffca" +
-    "\035\uffca\036\uffca\040\uffca\041\uffca\042\uffca\045\uffca\046" +
-    "\uffca\047\uffca\001\002\000\042\024\uffcb\025\uffcb\026\uffcb" +
-    "\027\uffcb\030\uffcb\031\uffcb\032\uffcb\034\uffcb\035\uffcb\036" +
-    "\uffcb\040\uffcb\041\uffcb\042\uffcb\045\uffcb\046\uffcb\047\uffcb" +
-    "\001\002\000\014\020\054\021\051\037\050\050\010\051" +
-    "\052\001\002\000\014\020\054\021\051\037\050\050\010" +
-    "\051\052\001\002\000\014\020\054\021\051\037\050\050" +
-    "\010\051\052\001\002\000\014\020\054\021\051\037\050" +
-    "\050\010\051\052\001\002\000\014\020\054\021\051\037" +
-    "\050\050\010\051\052\001\002\000\014\020\054\021\051" +
-    "\037\050\050\010\051\052\001\002\000\014\020\054\021" +
-    "\051\037\050\050\010\051\052\001\002\000\014\020\054" +
-    "\021\051\037\050\050\010\051\052\001\002\000\014\020" +
-    "\054\021\051\037\050\050\010\051\052\001\002\000\006" +
-    "\022\076\050\010\001\002\000\004\045\075\001\002\000" +
-    "\014\020\054\021\051\037\050\050\010\051\052\001\002" +
-    "\000\014\020\054\021\051\037\050\050\010\051\052\001" +
-    "\002\000\042\024\064\025\056\026\061\027\065\030\057" +
-    "\031\071\032\066\034\062\035\uffd4\036\063\040\uffd4\041" +
-    "\060\042\uffd4\045\uffd4\046\uffd4\047\067\001\002\000\042" +
-    "\024\064\025\056\026\061\027\065\030\uffd9\031\uffd9\032" +
-    "\uffd9\034\uffd9\035\uffd9\036\uffd9\040\uffd9\041\060\042\uffd9" +
-    "\045\uffd9\046\uffd9\047\067\001\002\000\022\004\uffde\014" +
-    "\uffde\015\uffde\016\uffde\017\uffde\043\uffde\044\uffde\050\uffde" +
-    "\001\002\000\042\024\uffce\025\uffce\026\uffce\027\uffce\030" +
-    "\uffce\031\uffce\032\uffce\034\uffce\035\uffce\036\uffce\040\uffce" +
-    "\041\uffce\042\uffce\045\uffce\046\uffce\047\uffce\001\002\000" +
-    "\004\037\100\001\002\000\016\020\054\021\051\037\050" +
-    "\040\103\050\010\051\052\001\002\000\036\024\064\025" +
-    "\056\026\061\027\065\030\057\031\071\032\066\034\062" +
-    "\035\072\036\063\040\uffdb\041\060\046\uffdb\047\067\001" +
-    "\002\000\006\040\105\046\104\001\002\000\042\024\uffcd" +
-    "\025\uffcd\026\uffcd\027\uffcd\030\uffcd\031\uffcd\032\uffcd\034" +
-    "\uffcd\035\uffcd\036\uffcd\040\uffcd\041\uffcd\042\uffcd\045\uffcd" +
-    "\046\uffcd\047\uffcd\001\002\000\014\020\054\021\051\037" +
-    "\050\050\010\051\052\001\002\000\042\024\uffcc\025\uffcc" +
-    "\026\uffcc\027\uffcc\030\uffcc\031\uffcc\032\uffcc\034\uffcc\035" +
-    "\uffcc\036\uffcc\040\uffcc\041\uffcc\042\uffcc\045\uffcc\046\uffcc" +
-    "\047\uffcc\001\002\000\036\024\064\025\056\026\061\027" +
-    "\065\030\057\031\071\032\066\034\062\035\072\036\063" +
-    "\040\uffda\041\060\046\uffda\047\067\001\002\000\042\024" +
-    "\064\025\056\026\061\027\065\030\uffd8\031\uffd8\032\uffd8" +
-    "\034\uffd8\035\uffd8\036\uffd8\040\uffd8\041\060\042\uffd8\045" +
-    "\uffd8\046\uffd8\047\067\001\002\000\042\024\uffd0\025\uffd0" +
-    "\026\uffd0\027\uffd0\030\uffd0\031\uffd0\032\uffd0\034\uffd0\035" +
-    "\uffd0\036\uffd0\040\uffd0\041\060\042\uffd0\045\uffd0\046\uffd0" +
-    "\047\067\001\002\000\042\024\uffd3\025\uffd3\026\061\027" +
-    "\065\030\uffd3\031\uffd3\032\uffd3\034\uffd3\035\uffd3\036\uffd3" +
-    "\040\uffd3\041\060\042\uffd3\045\uffd3\046\uffd3\047\067\001" +
-    "\002\000\042\024\064\025\056\026\061\027\065\030\uffd7" +
-    "\031\071\032\066\034\uffd7\035\uffd7\036\uffd7\040\uffd7\041" +
-    "\060\042\uffd7\045\uffd7\046\uffd7\047\067\001\002\000\042" +
-    "\024\064\025\056\026\061\027\065\030\uffd6\031\071\032" +
-    "\066\034\uffd6\035\uffd6\036\uffd6\040\uffd6\041\060\042\uffd6" +
-    "\045\uffd6\046\uffd6\047\067\001\002\000\042\024\uffd1\025" +
-    "\uffd1\026\uffd1\027\uffd1\030\uffd1\031\uffd1\032\uffd1\034\uffd1" +
-    "\035\uffd1\036\uffd1\040\uffd1\041\060\042\uffd1\045\uffd1\046" +
-    "\uffd1\047\067\001\002\000\034\024\064\025\056\026\061" +
-    "\027\065\030\057\031\071\032\066\034\062\035\072\036" +
-    "\063\041\060\042\116\047\067\001\002\000\042\024\uffcf" +
-    "\025\uffcf\026\uffcf\027\uffcf\030\uffcf\031\uffcf\032\uffcf\034" +
-    "\uffcf\035\uffcf\036\uffcf\040\uffcf\041\uffcf\042\uffcf\045\uffcf" +
-    "\046\uffcf\047\uffcf\001\002\000\042\024\064\025\056\026" +
-    "\061\027\065\030\uffd5\031\071\032\066\034\062\035\uffd5" +
-    "\036\063\040\uffd5\041\060\042\uffd5\045\uffd5\046\uffd5\047" +
-    "\067\001\002\000\042\024\uffd2\025\uffd2\026\061\027\065" +
-    "\030\uffd2\031\uffd2\032\uffd2\034\uffd2\035\uffd2\036\uffd2\040" +
-    "\uffd2\041\060\042\uffd2\045\uffd2\046\uffd2\047\067\001\002" +
-    "\000\004\041\125\001\002\000\004\037\123\001\002\000" +
-    "\004\040\124\001\002\000\042\024\uffc8\025\uffc8\026\uffc8" +
+    "\002\000\004\043\025\001\002\000\022\003\037\004\040" +
+    "\013\027\014\035\016\030\043\042\044\043\050\041\001" +
+    "\002\000\006\003\173\050\010\001\002\000\010\003\uffbe" +
+    "\041\171\050\uffbe\001\002\000\004\037\165\001\002\000" +
+    "\022\003\037\004\040\013\027\014\035\016\030\043\042" +
+    "\044\161\050\041\001\002\000\020\003\037\004\040\014" +
+    "\035\016\030\043\042\044\155\050\010\001\002\000\026" +
+    "\003\ufff1\004\ufff1\006\ufff1\013\ufff1\014\ufff1\016\ufff1\017" +
+    "\ufff1\043\ufff1\044\ufff1\050\ufff1\001\002\000\006\033\144" +
+    "\041\145\001\002\000\004\037\136\001\002\000\022\003" +
+    "\uffdf\004\uffdf\014\uffdf\016\uffdf\017\uffdf\043\uffdf\044\uffdf" +
+    "\050\uffdf\001\002\000\004\045\050\001\002\000\004\037" +
+    "\053\001\002\000\012\003\uffbd\033\uffbc\041\uffbc\050\uffbd" +
+    "\001\002\000\016\003\046\004\040\014\035\016\030\043" +
+    "\042\050\010\001\002\000\004\044\044\001\002\000\006" +
+    "\002\ufffb\006\ufffb\001\002\000\020\003\037\004\040\014" +
+    "\035\016\030\043\042\044\052\050\010\001\002\000\006" +
+    "\044\047\045\050\001\002\000\024\003\uffd9\004\uffd9\014" +
+    "\uffd9\015\uffd9\016\uffd9\017\uffd9\043\uffd9\044\uffd9\050\uffd9" +
+    "\001\002\000\024\003\uffda\004\uffda\014\uffda\015\uffda\016" +
+    "\uffda\017\uffda\043\uffda\044\uffda\050\uffda\001\002\000\022" +
+    "\003\uffde\004\uffde\014\uffde\016\uffde\017\uffde\043\uffde\044" +
+    "\uffde\050\uffde\001\002\000\024\003\uffdd\004\uffdd\014\uffdd" +
+    "\015\uffdd\016\uffdd\017\uffdd\043\uffdd\044\uffdd\050\uffdd\001" +
+    "\002\000\014\020\060\021\055\037\054\050\010\051\056" +
+    "\001\002\000\014\020\060\021\055\037\054\050\010\051" +
+    "\056\001\002\000\006\013\126\050\010\001\002\000\042" +
+    "\024\uffc0\025\uffc0\026\uffc0\027\uffc0\030\uffc0\031\uffc0\032" +
+    "\uffc0\034\uffc0\035\uffc0\036\uffc0\040\uffc0\041\uffc0\042\uffc0" +
+    "\045\uffc0\046\uffc0\047\uffc0\001\002\000\034\024\070\025" +
+    "\062\026\065\027\071\030\063\031\075\032\073\034\066" +
+    "\035\076\036\067\040\074\041\064\047\072\001\002\000" +
+    "\042\024\uffc4\025\uffc4\026\uffc4\027\uffc4\030\uffc4\031\uffc4" +
+    "\032\uffc4\034\uffc4\035\uffc4\036\uffc4\040\uffc4\041\uffc4\042" +
+    "\uffc4\045\uffc4\046\uffc4\047\uffc4\001\002\000\042\024\uffc5" +
+    "\025\uffc5\026\uffc5\027\uffc5\030\uffc5\031\uffc5\032\uffc5\034" +
+    "\uffc5\035\uffc5\036\uffc5\040\uffc5\041\uffc5\042\uffc5\045\uffc5" +
+    "\046\uffc5\047\uffc5\001\002\000\014\020\060\021\055\037" +
+    "\054\050\010\051\056\001\002\000\014\020\060\021\055" +
+    "\037\054\050\010\051\056\001\002\000\014\020\060\021" +
+    "\055\037\054\050\010\051\056\001\002\000\014\020\060" +
+    "\021\055\037\054\050\010\051\056\001\002\000\014\020" +
+    "\060\021\055\037\054\050\010\051\056\001\002\000\014" +
+    "\020\060\021\055\037\054\050\010\051\056\001\002\000" +
+    "\014\020\060\021\055\037\054\050\010\051\056\001\002" +
+    "\000\014\020\060\021\055\037\054\050\010\051\056\001" +
+    "\002\000\006\022\103\050\010\001\002\000\014\020\060" +
+    "\021\055\037\054\050\010\051\056\001\002\000\004\045" +
+    "\101\001\002\000\014\020\060\021\055\037\054\050\010" +
+    "\051\056\001\002\000\014\020\060\021\055\037\054\050" +
+    "\010\051\056\001\002\000\042\024\070\025\062\026\065" +
+    "\027\071\030\063\031\075\032\073\034\066\035\uffce\036" +
+    "\067\040\uffce\041\064\042\uffce\045\uffce\046\uffce\047\072" +
+    "\001\002\000\042\024\070\025\062\026\065\027\071\030" +
+    "\uffd3\031\uffd3\032\uffd3\034\uffd3\035\uffd3\036\uffd3\040\uffd3" +
+    "\041\064\042\uffd3\045\uffd3\046\uffd3\047\072\001\002\000" +
+    "\024\003\uffd8\004\uffd8\014\uffd8\015\uffd8\016\uffd8\017\uffd8" +
+    "\043\uffd8\044\uffd8\050\uffd8\001\002\000\042\024\070\025" +
+    "\062\026\065\027\071\030\uffd2\031\uffd2\032\uffd2\034\uffd2" +
+    "\035\uffd2\036\uffd2\040\uffd2\041\064\042\uffd2\045\uffd2\046" +
+    "\uffd2\047\072\001\002\000\042\024\uffc8\025\uffc8\026\uffc8" +
     "\027\uffc8\030\uffc8\031\uffc8\032\uffc8\034\uffc8\035\uffc8\036" +
     "\uffc8\040\uffc8\041\uffc8\042\uffc8\045\uffc8\046\uffc8\047\uffc8" +
-    "\001\002\000\014\020\054\021\051\037\050\050\010\051" +
-    "\052\001\002\000\034\024\064\025\056\026\061\027\065" +
-    "\030\057\031\071\032\066\034\062\035\072\036\063\041" +
-    "\060\042\127\047\067\001\002\000\042\024\uffc9\025\uffc9" +
-    "\026\uffc9\027\uffc9\030\uffc9\031\uffc9\032\uffc9\034\uffc9\035" +
-    "\uffc9\036\uffc9\040\uffc9\041\uffc9\042\uffc9\045\uffc9\046\uffc9" +
-    "\047\uffc9\001\002\000\034\024\064\025\056\026\061\027" +
-    "\065\030\057\031\071\032\066\034\062\035\072\036\063" +
-    "\040\131\041\060\047\067\001\002\000\042\024\uffc7\025" +
-    "\uffc7\026\uffc7\027\uffc7\030\uffc7\031\uffc7\032\uffc7\034\uffc7" +
-    "\035\uffc7\036\uffc7\040\uffc7\041\uffc7\042\uffc7\045\uffc7\046" +
-    "\uffc7\047\uffc7\001\002\000\014\020\054\021\051\037\050" +
-    "\050\010\051\052\001\002\000\034\024\064\025\056\026" +
-    "\061\027\065\030\057\031\071\032\066\034\062\035\072" +
-    "\036\063\040\134\041\060\047\067\001\002\000\014\004" +
-    "\037\014\035\016\027\043\041\050\010\001\002\000\004" +
-    "\015\136\001\002\000\014\004\037\014\035\016\027\043" +
-    "\041\050\010\001\002\000\022\004\uffe0\014\uffe0\015\uffe0" +
-    "\016\uffe0\017\uffe0\043\uffe0\044\uffe0\050\uffe0\001\002\000" +
-    "\014\020\054\021\051\037\050\050\010\051\052\001\002" +
-    "\000\014\020\054\021\051\037\050\050\010\051\052\001" +
-    "\002\000\034\024\064\025\056\026\061\027\065\030\057" +
-    "\031\071\032\066\034\062\035\072\036\063\041\060\042" +
-    "\143\047\067\001\002\000\004\033\144\001\002\000\014" +
-    "\020\054\021\051\037\050\050\010\051\052\001\002\000" +
-    "\034\024\064\025\056\026\061\027\065\030\057\031\071" +
-    "\032\066\034\062\035\072\036\063\041\060\045\146\047" +
-    "\067\001\002\000\022\004\uffdc\014\uffdc\015\uffdc\016\uffdc" +
-    "\017\uffdc\043\uffdc\044\uffdc\050\uffdc\001\002\000\034\024" +
-    "\064\025\056\026\061\027\065\030\057\031\071\032\066" +
-    "\034\062\035\072\036\063\041\060\045\150\047\067\001" +
-    "\002\000\022\004\uffdd\014\uffdd\015\uffdd\016\uffdd\017\uffdd" +
-    "\043\uffdd\044\uffdd\050\uffdd\001\002\000\004\044\152\001" +
-    "\002\000\006\002\ufffc\006\ufffc\001\002\000\016\004\037" +
-    "\014\035\016\027\043\041\044\157\050\010\001\002\000" +
-    "\024\004\ufff0\006\ufff0\013\ufff0\014\ufff0\016\ufff0\017\ufff0" +
-    "\043\ufff0\044\ufff0\050\ufff0\001\002\000\004\044\156\001" +
-    "\002\000\006\002\ufffd\006\ufffd\001\002\000\004\044\160" +
-    "\001\002\000\006\002\ufffe\006\ufffe\001\002\000\004\042" +
-    "\162\001\002\000\004\050\uffc5\001\002\000\014\020\054" +
-    "\021\051\037\050\050\010\051\052\001\002\000\034\024" +
-    "\064\025\056\026\061\027\065\030\057\031\071\032\066" +
-    "\034\062\035\072\036\063\040\165\041\060\047\067\001" +
-    "\002\000\014\004\037\014\035\016\027\043\041\050\010" +
-    "\001\002\000\022\004\uffdf\014\uffdf\015\uffdf\016\uffdf\017" +
-    "\uffdf\043\uffdf\044\uffdf\050\uffdf\001\002\000\006\033\170" +
-    "\045\171\001\002\000\014\020\054\021\051\037\050\050" +
-    "\010\051\052\001\002\000\024\004\uffef\006\uffef\013\uffef" +
-    "\014\uffef\016\uffef\017\uffef\043\uffef\044\uffef\050\uffef\001" +
-    "\002\000\034\024\064\025\056\026\061\027\065\030\057" +
-    "\031\071\032\066\034\062\035\072\036\063\041\060\045" +
-    "\173\047\067\001\002\000\024\004\uffee\006\uffee\013\uffee" +
-    "\014\uffee\016\uffee\017\uffee\043\uffee\044\uffee\050\uffee\001" +
-    "\002\000\006\002\uffff\006\200\001\002\000\006\002\ufff6" +
-    "\006\ufff6\001\002\000\006\002\ufff4\006\ufff4\001\002\000" +
-    "\006\002\ufff3\006\ufff3\001\002\000\004\012\201\001\002" +
-    "\000\004\050\010\001\002\000\006\005\204\043\203\001" +
-    "\002\000\012\006\213\013\030\044\256\050\210\001\002" +
-    "\000\004\050\010\001\002\000\004\043\206\001\002\000" +
-    "\006\013\030\050\210\001\002\000\010\006\213\013\030" +
-    "\050\210\001\002\000\004\050\uffc3\001\002\000\006\006" +
-    "\213\044\252\001\002\000\006\006\uffed\044\uffed\001\002" +
-    "\000\006\013\030\050\210\001\002\000\004\050\010\001" +
-    "\002\000\004\037\216\001\002\000\012\013\030\040\uffe7" +
-    "\046\uffe7\050\210\001\002\000\006\040\224\046\223\001" +
-    "\002\000\004\050\010\001\002\000\006\040\uffe6\046\uffe6" +
-    "\001\002\000\006\040\uffe4\046\uffe4\001\002\000\006\013" +
-    "\030\050\210\001\002\000\004\043\225\001\002\000\020" +
-    "\004\037\013\030\014\035\016\027\017\230\043\041\050" +
-    "\040\001\002\000\020\004\037\013\030\014\035\016\027" +
-    "\017\241\043\041\050\040\001\002\000\016\004\037\014" +
-    "\035\016\027\017\234\043\041\050\010\001\002\000\014" +
-    "\020\054\021\051\037\050\050\010\051\052\001\002\000" +
-    "\034\024\064\025\056\026\061\027\065\030\057\031\071" +
-    "\032\066\034\062\035\072\036\063\041\060\045\232\047" +
-    "\067\001\002\000\004\044\233\001\002\000\006\006\uffe8" +
-    "\044\uffe8\001\002\000\014\020\054\021\051\037\050\050" +
-    "\010\051\052\001\002\000\034\024\064\025\056\026\061" +
-    "\027\065\030\057\031\071\032\066\034\062\035\072\036" +
-    "\063\041\060\045\236\047\067\001\002\000\004\044\237" +
-    "\001\002\000\006\006\uffe9\044\uffe9\001\002\000\016\004" +
-    "\037\014\035\016\027\017\245\043\041\050\010\001\002" +
-    "\000\014\020\054\021\051\037\050\050\010\051\052\001" +
-    "\002\000\034\024\064\025\056\026\061\027\065\030\057" +
-    "\031\071\032\066\034\062\035\072\036\063\041\060\045" +
-    "\243\047\067\001\002\000\004\044\244\001\002\000\006" +
-    "\006\uffea\044\uffea\001\002\000\014\020\054\021\051\037" +
-    "\050\050\010\051\052\001\002\000\034\024\064\025\056" +
-    "\026\061\027\065\030\057\031\071\032\066\034\062\035" +
-    "\072\036\063\041\060\045\247\047\067\001\002\000\004" +
-    "\044\250\001\002\000\006\006\uffeb\044\uffeb\001\002\000" +
-    "\006\040\uffe5\046\uffe5\001\002\000\006\002\ufff2\006\ufff2" +
-    "\001\002\000\006\006\uffec\044\uffec\001\002\000\012\006" +
-    "\213\013\030\044\260\050\210\001\002\000\006\006\213" +
-    "\044\257\001\002\000\006\002\ufff7\006\ufff7\001\002\000" +
+    "\001\002\000\004\037\105\001\002\000\016\020\060\021" +
+    "\055\037\054\040\110\050\010\051\056\001\002\000\036" +
+    "\024\070\025\062\026\065\027\071\030\063\031\075\032" +
+    "\073\034\066\035\076\036\067\040\uffd5\041\064\046\uffd5" +
+    "\047\072\001\002\000\006\040\112\046\111\001\002\000" +
+    "\042\024\uffc7\025\uffc7\026\uffc7\027\uffc7\030\uffc7\031\uffc7" +
+    "\032\uffc7\034\uffc7\035\uffc7\036\uffc7\040\uffc7\041\uffc7\042" +
+    "\uffc7\045\uffc7\046\uffc7\047\uffc7\001\002\000\014\020\060" +
+    "\021\055\037\054\050\010\051\056\001\002\000\042\024" +
+    "\uffc6\025\uffc6\026\uffc6\027\uffc6\030\uffc6\031\uffc6\032\uffc6" +
+    "\034\uffc6\035\uffc6\036\uffc6\040\uffc6\041\uffc6\042\uffc6\045" +
+    "\uffc6\046\uffc6\047\uffc6\001\002\000\036\024\070\025\062" +
+    "\026\065\027\071\030\063\031\075\032\073\034\066\035" +
+    "\076\036\067\040\uffd4\041\064\046\uffd4\047\072\001\002" +
+    "\000\042\024\uffca\025\uffca\026\uffca\027\uffca\030\uffca\031" +
+    "\uffca\032\uffca\034\uffca\035\uffca\036\uffca\040\uffca\041\064" +
+    "\042\uffca\045\uffca\046\uffca\047\072\001\002\000\042\024" +
+    "\uffcd\025\uffcd\026\065\027\071\030\uffcd\031\uffcd\032\uffcd" +
+    "\034\uffcd\035\uffcd\036\uffcd\040\uffcd\041\064\042\uffcd\045" +
+    "\uffcd\046\uffcd\047\072\001\002\000\042\024\070\025\062" +
+    "\026\065\027\071\030\uffd1\031\075\032\073\034\uffd1\035" +
+    "\uffd1\036\uffd1\040\uffd1\041\064\042\uffd1\045\uffd1\046\uffd1" +
+    "\047\072\001\002\000\042\024\070\025\062\026\065\027" +
+    "\071\030\uffd0\031\075\032\073\034\uffd0\035\uffd0\036\uffd0" +
+    "\040\uffd0\041\064\042\uffd0\045\uffd0\046\uffd0\047\072\001" +
+    "\002\000\042\024\uffcb\025\uffcb\026\uffcb\027\uffcb\030\uffcb" +
+    "\031\uffcb\032\uffcb\034\uffcb\035\uffcb\036\uffcb\040\uffcb\041" +
+    "\064\042\uffcb\045\uffcb\046\uffcb\047\072\001\002\000\034" +
+    "\024\070\025\062\026\065\027\071\030\063\031\075\032" +
+    "\073\034\066\035\076\036\067\041\064\042\122\047\072" +
+    "\001\002\000\042\024\uffc9\025\uffc9\026\uffc9\027\uffc9\030" +
+    "\uffc9\031\uffc9\032\uffc9\034\uffc9\035\uffc9\036\uffc9\040\uffc9" +
+    "\041\uffc9\042\uffc9\045\uffc9\046\uffc9\047\uffc9\001\002\000" +
+    "\042\024\070\025\062\026\065\027\071\030\uffcf\031\075" +
+    "\032\073\034\066\035\uffcf\036\067\040\uffcf\041\064\042" +
+    "\uffcf\045\uffcf\046\uffcf\047\072\001\002\000\042\024\uffcc" +
+    "\025\uffcc\026\065\027\071\030\uffcc\031\uffcc\032\uffcc\034" +
+    "\uffcc\035\uffcc\036\uffcc\040\uffcc\041\064\042\uffcc\045\uffcc" +
+    "\046\uffcc\047\072\001\002\000\004\037\132\001\002\000" +
+    "\004\041\127\001\002\000\014\020\060\021\055\037\054" +
+    "\050\010\051\056\001\002\000\034\024\070\025\062\026" +
+    "\065\027\071\030\063\031\075\032\073\034\066\035\076" +
+    "\036\067\041\064\042\131\047\072\001\002\000\042\024" +
+    "\uffc3\025\uffc3\026\uffc3\027\uffc3\030\uffc3\031\uffc3\032\uffc3" +
+    "\034\uffc3\035\uffc3\036\uffc3\040\uffc3\041\uffc3\042\uffc3\045" +
+    "\uffc3\046\uffc3\047\uffc3\001\002\000\004\040\133\001\002" +
+    "\000\042\024\uffc2\025\uffc2\026\uffc2\027\uffc2\030\uffc2\031" +
+    "\uffc2\032\uffc2\034\uffc2\035\uffc2\036\uffc2\040\uffc2\041\uffc2" +
+    "\042\uffc2\045\uffc2\046\uffc2\047\uffc2\001\002\000\034\024" +
+    "\070\025\062\026\065\027\071\030\063\031\075\032\073" +
+    "\034\066\035\076\036\067\040\135\041\064\047\072\001" +
+    "\002\000\042\024\uffc1\025\uffc1\026\uffc1\027\uffc1\030\uffc1" +
+    "\031\uffc1\032\uffc1\034\uffc1\035\uffc1\036\uffc1\040\uffc1\041" +
+    "\uffc1\042\uffc1\045\uffc1\046\uffc1\047\uffc1\001\002\000\014" +
+    "\020\060\021\055\037\054\050\010\051\056\001\002\000" +
+    "\034\024\070\025\062\026\065\027\071\030\063\031\075" +
+    "\032\073\034\066\035\076\036\067\040\140\041\064\047" +
+    "\072\001\002\000\016\003\037\004\040\014\035\016\030" +
+    "\043\042\050\010\001\002\000\004\015\142\001\002\000" +
+    "\016\003\037\004\040\014\035\016\030\043\042\050\010" +
+    "\001\002\000\024\003\uffdc\004\uffdc\014\uffdc\015\uffdc\016" +
+    "\uffdc\017\uffdc\043\uffdc\044\uffdc\050\uffdc\001\002\000\014" +
+    "\020\060\021\055\037\054\050\010\051\056\001\002\000" +
+    "\014\020\060\021\055\037\054\050\010\051\056\001\002" +
+    "\000\034\024\070\025\062\026\065\027\071\030\063\031" +
+    "\075\032\073\034\066\035\076\036\067\041\064\042\147" +
+    "\047\072\001\002\000\004\033\150\001\002\000\014\020" +
+    "\060\021\055\037\054\050\010\051\056\001\002\000\034" +
+    "\024\070\025\062\026\065\027\071\030\063\031\075\032" +
+    "\073\034\066\035\076\036\067\041\064\045\152\047\072" +
+    "\001\002\000\024\003\uffd6\004\uffd6\014\uffd6\015\uffd6\016" +
+    "\uffd6\017\uffd6\043\uffd6\044\uffd6\050\uffd6\001\002\000\034" +
+    "\024\070\025\062\026\065\027\071\030\063\031\075\032" +
+    "\073\034\066\035\076\036\067\041\064\045\154\047\072" +
+    "\001\002\000\024\003\uffd7\004\uffd7\014\uffd7\015\uffd7\016" +
+    "\uffd7\017\uffd7\043\uffd7\044\uffd7\050\uffd7\001\002\000\004" +
+    "\044\156\001\002\000\006\002\ufffc\006\ufffc\001\002\000" +
+    "\020\003\037\004\040\014\035\016\030\043\042\044\163" +
+    "\050\010\001\002\000\026\003\ufff0\004\ufff0\006\ufff0\013" +
+    "\ufff0\014\ufff0\016\ufff0\017\ufff0\043\ufff0\044\ufff0\050\ufff0" +
+    "\001\002\000\004\044\162\001\002\000\006\002\ufffd\006" +
+    "\ufffd\001\002\000\004\044\164\001\002\000\006\002\ufffe" +
+    "\006\ufffe\001\002\000\014\020\060\021\055\037\054\050" +
+    "\010\051\056\001\002\000\034\024\070\025\062\026\065" +
+    "\027\071\030\063\031\075\032\073\034\066\035\076\036" +
+    "\067\040\167\041\064\047\072\001\002\000\016\003\037" +
+    "\004\040\014\035\016\030\043\042\050\010\001\002\000" +
+    "\024\003\uffdb\004\uffdb\014\uffdb\015\uffdb\016\uffdb\017\uffdb" +
+    "\043\uffdb\044\uffdb\050\uffdb\001\002\000\004\042\172\001" +
+    "\002\000\006\003\uffbf\050\uffbf\001\002\000\004\045\201" +
+    "\001\002\000\006\033\175\045\176\001\002\000\014\020" +
+    "\060\021\055\037\054\050\010\051\056\001\002\000\026" +
+    "\003\uffef\004\uffef\006\uffef\013\uffef\014\uffef\016\uffef\017" +
+    "\uffef\043\uffef\044\uffef\050\uffef\001\002\000\034\024\070" +
+    "\025\062\026\065\027\071\030\063\031\075\032\073\034" +
+    "\066\035\076\036\067\041\064\045\200\047\072\001\002" +
+    "\000\026\003\uffee\004\uffee\006\uffee\013\uffee\014\uffee\016" +
+    "\uffee\017\uffee\043\uffee\044\uffee\050\uffee\001\002\000\026" +
+    "\003\uffed\004\uffed\006\uffed\013\uffed\014\uffed\016\uffed\017" +
+    "\uffed\043\uffed\044\uffed\050\uffed\001\002\000\006\002\uffff" +
+    "\006\206\001\002\000\006\002\ufff6\006\ufff6\001\002\000" +
+    "\006\002\ufff4\006\ufff4\001\002\000\006\002\ufff3\006\ufff3" +
+    "\001\002\000\004\012\207\001\002\000\004\050\010\001" +
+    "\002\000\006\005\212\043\211\001\002\000\012\006\221" +
+    "\013\027\044\263\050\216\001\002\000\004\050\010\001" +
+    "\002\000\004\043\214\001\002\000\006\013\027\050\216" +
+    "\001\002\000\010\006\221\013\027\050\216\001\002\000" +
+    "\006\003\uffbd\050\uffbd\001\002\000\006\006\221\044\257" +
+    "\001\002\000\006\006\uffec\044\uffec\001\002\000\010\003" +
+    "\223\013\027\050\216\001\002\000\004\050\010\001\002" +
+    "\000\004\044\224\001\002\000\006\006\uffe6\044\uffe6\001" +
+    "\002\000\004\037\226\001\002\000\012\013\027\040\uffe3" +
+    "\046\uffe3\050\216\001\002\000\006\040\234\046\233\001" +
+    "\002\000\004\050\010\001\002\000\006\040\uffe2\046\uffe2" +
+    "\001\002\000\006\040\uffe0\046\uffe0\001\002\000\006\013" +
+    "\027\050\216\001\002\000\004\043\235\001\002\000\022" +
+    "\003\037\004\040\013\027\014\035\016\030\017\241\043" +
+    "\042\050\041\001\002\000\004\044\255\001\002\000\022" +
+    "\003\037\004\040\013\027\014\035\016\030\017\241\043" +
+    "\042\050\041\001\002\000\020\003\037\004\040\014\035" +
+    "\016\030\017\241\043\042\050\010\001\002\000\016\003" +
+    "\242\020\060\021\055\037\054\050\010\051\056\001\002" +
+    "\000\004\045\245\001\002\000\034\024\070\025\062\026" +
+    "\065\027\071\030\063\031\075\032\073\034\066\035\076" +
+    "\036\067\041\064\045\244\047\072\001\002\000\004\044" +
+    "\uffe5\001\002\000\004\044\uffe4\001\002\000\004\044\247" +
+    "\001\002\000\006\006\uffe8\044\uffe8\001\002\000\004\044" +
+    "\254\001\002\000\020\003\037\004\040\014\035\016\030" +
+    "\017\241\043\042\050\010\001\002\000\004\044\253\001" +
+    "\002\000\006\006\uffea\044\uffea\001\002\000\006\006\uffe9" +
+    "\044\uffe9\001\002\000\006\006\uffe7\044\uffe7\001\002\000" +
+    "\006\040\uffe1\046\uffe1\001\002\000\006\002\ufff2\006\ufff2" +
+    "\001\002\000\006\006\uffeb\044\uffeb\001\002\000\012\006" +
+    "\221\013\027\044\265\050\216\001\002\000\006\006\221" +
+    "\044\264\001\002\000\006\002\ufff7\006\ufff7\001\002\000" +
     "\006\002\ufff8\006\ufff8\001\002\000\006\002\ufff9\006\ufff9" +
-    "\001\002\000\006\006\213\044\262\001\002\000\006\002" +
+    "\001\002\000\006\006\221\044\267\001\002\000\006\002" +
     "\ufffa\006\ufffa\001\002\000\006\002\ufff5\006\ufff5\001\002" +
     "\000\004\002\000\001\002" });
 
@@ -274,83 +280,84 @@ public class parser extends java_cup.runtime.lr_parser {
   /** <code>reduce_goto</code> table. */
   protected static final short[][] _reduce_table = 
     unpackFromStrings(new String[] {
-    "\000\262\000\006\002\003\003\004\001\001\000\002\001" +
-    "\001\000\012\004\173\005\174\006\175\007\176\001\001" +
+    "\000\267\000\006\002\003\003\004\001\001\000\002\001" +
+    "\001\000\012\004\201\005\202\006\203\007\204\001\001" +
     "\000\002\001\001\000\004\010\010\001\001\000\002\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\004" +
     "\010\022\001\001\000\002\001\001\000\002\001\001\000" +
-    "\016\010\032\011\025\012\030\013\033\014\031\015\035" +
-    "\001\001\000\004\010\166\001\001\000\002\001\001\000" +
-    "\002\001\001\000\014\010\032\011\025\013\153\014\152" +
-    "\015\035\001\001\000\006\010\032\015\045\001\001\000" +
+    "\016\010\033\011\025\012\030\013\032\014\031\015\035" +
+    "\001\001\000\004\010\173\001\001\000\002\001\001\000" +
+    "\002\001\001\000\014\010\033\011\025\013\157\014\156" +
+    "\015\035\001\001\000\006\010\033\015\050\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\002\001\001\000\002\001\001\000\010\010" +
-    "\032\014\043\015\035\001\001\000\002\001\001\000\002" +
-    "\001\001\000\006\010\032\015\045\001\001\000\002\001" +
-    "\001\000\002\001\001\000\006\010\054\022\052\001\001" +
-    "\000\006\010\054\022\127\001\001\000\004\010\121\001" +
-    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\006\010\054\022\117\001\001\000" +
-    "\006\010\054\022\116\001\001\000\006\010\054\022\114" +
-    "\001\001\000\006\010\054\022\113\001\001\000\006\010" +
-    "\054\022\112\001\001\000\006\010\054\022\111\001\001" +
-    "\000\006\010\054\022\110\001\001\000\006\010\054\022" +
-    "\107\001\001\000\006\010\054\022\106\001\001\000\004" +
-    "\010\076\001\001\000\002\001\001\000\006\010\054\022" +
-    "\073\001\001\000\006\010\054\022\072\001\001\000\002" +
-    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
-    "\001\000\002\001\001\000\010\010\054\022\100\023\101" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
-    "\001\000\006\010\054\022\105\001\001\000\002\001\001" +
+    "\001\000\010\010\033\014\044\015\035\001\001\000\002" +
+    "\001\001\000\002\001\001\000\006\010\033\015\050\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\006\010\060\022" +
+    "\056\001\001\000\006\010\060\022\133\001\001\000\004" +
+    "\010\124\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\006\010\060\022\123" +
+    "\001\001\000\006\010\060\022\122\001\001\000\006\010" +
+    "\060\022\120\001\001\000\006\010\060\022\117\001\001" +
+    "\000\006\010\060\022\116\001\001\000\006\010\060\022" +
+    "\115\001\001\000\006\010\060\022\114\001\001\000\006" +
+    "\010\060\022\113\001\001\000\004\010\103\001\001\000" +
+    "\006\010\060\022\101\001\001\000\002\001\001\000\006" +
+    "\010\060\022\077\001\001\000\006\010\060\022\076\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\010\010\060\022\105\023\106\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\006\010\060\022" +
+    "\112\001\001\000\002\001\001\000\002\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001\000\006\010\054\022" +
-    "\125\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\002\001\001\000\006\010\054\022\132\001" +
-    "\001\000\002\001\001\000\006\010\032\015\134\001\001" +
-    "\000\002\001\001\000\006\010\032\015\136\001\001\000" +
-    "\002\001\001\000\006\010\054\022\146\001\001\000\006" +
-    "\010\054\022\141\001\001\000\002\001\001\000\002\001" +
-    "\001\000\006\010\054\022\144\001\001\000\002\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\006\010\032\015\045" +
+    "\002\001\001\000\006\010\060\022\127\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\006\010\060" +
+    "\022\136\001\001\000\002\001\001\000\006\010\033\015" +
+    "\140\001\001\000\002\001\001\000\006\010\033\015\142" +
+    "\001\001\000\002\001\001\000\006\010\060\022\152\001" +
+    "\001\000\006\010\060\022\145\001\001\000\002\001\001" +
+    "\000\002\001\001\000\006\010\060\022\150\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\006\010" +
+    "\033\015\050\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\006\010\060\022\165\001\001\000\002\001\001\000\006" +
+    "\010\033\015\167\001\001\000\002\001\001\000\002\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\006\010\054\022\163\001\001\000" +
-    "\002\001\001\000\006\010\032\015\165\001\001\000\002" +
-    "\001\001\000\002\001\001\000\006\010\054\022\171\001" +
-    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\010\005\262\006\175\007\176\001\001\000\002\001" +
-    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\004\010\201\001\001\000\002\001\001\000\014\011" +
-    "\025\012\253\013\033\016\254\017\211\001\001\000\004" +
-    "\010\204\001\001\000\002\001\001\000\010\011\025\012" +
-    "\206\013\033\001\001\000\012\011\025\013\153\016\210" +
-    "\017\211\001\001\000\002\001\001\000\004\017\252\001" +
-    "\001\000\002\001\001\000\004\011\213\001\001\000\004" +
-    "\010\214\001\001\000\002\001\001\000\010\011\217\020" +
-    "\216\021\220\001\001\000\002\001\001\000\004\010\221" +
-    "\001\001\000\002\001\001\000\002\001\001\000\006\011" +
-    "\217\021\250\001\001\000\002\001\001\000\016\010\032" +
-    "\011\025\012\225\013\033\014\226\015\035\001\001\000" +
-    "\014\010\032\011\025\013\153\014\237\015\035\001\001" +
-    "\000\006\010\032\015\045\001\001\000\006\010\054\022" +
-    "\230\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\006\010\054\022\234\001\001\000\002\001" +
-    "\001\000\002\001\001\000\002\001\001\000\006\010\032" +
-    "\015\045\001\001\000\006\010\054\022\241\001\001\000" +
-    "\002\001\001\000\002\001\001\000\002\001\001\000\006" +
-    "\010\054\022\245\001\001\000\002\001\001\000\002\001" +
-    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\012\011\025\013\153\016\260\017" +
-    "\211\001\001\000\004\017\252\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001\000\004\017\252\001" +
+    "\000\006\010\060\022\176\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\010" +
+    "\005\267\006\203\007\204\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\004" +
+    "\010\207\001\001\000\002\001\001\000\014\011\025\012" +
+    "\260\013\032\016\261\017\217\001\001\000\004\010\212" +
+    "\001\001\000\002\001\001\000\010\011\025\012\214\013" +
+    "\032\001\001\000\012\011\025\013\157\016\216\017\217" +
+    "\001\001\000\002\001\001\000\004\017\257\001\001\000" +
+    "\002\001\001\000\004\011\221\001\001\000\004\010\224" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\010\011\227\020\226\021\230\001\001\000\002" +
+    "\001\001\000\004\010\231\001\001\000\002\001\001\000" +
+    "\002\001\001\000\006\011\227\021\255\001\001\000\002" +
+    "\001\001\000\020\010\033\011\025\012\236\013\032\014" +
+    "\237\015\035\024\235\001\001\000\002\001\001\000\016" +
+    "\010\033\011\025\013\157\014\250\015\035\024\247\001" +
+    "\001\000\010\010\033\015\050\024\245\001\001\000\006" +
+    "\010\060\022\242\001\001\000\002\001\001\000\002\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "" });
+    "\000\002\001\001\000\002\001\001\000\010\010\033\015" +
+    "\050\024\251\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\012\011\025\013\157" +
+    "\016\265\017\217\001\001\000\004\017\257\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\004" +
+    "\017\257\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001" });
 
   /** Access to <code>reduce_goto</code> table. */
   public short[][] reduce_table() {return _reduce_table;}
@@ -389,6 +396,28 @@ public class parser extends java_cup.runtime.lr_parser {
 
 
 
+    // F??brica de s??mbolos que asigna el rango de caracteres de cada nodo
+    private SymbolFactory fabricaSpans = new SpanSymbolFactory();
+
+    public SymbolFactory getSymbolFactory() {
+        return fabricaSpans;
+    }
+
+    // Errores de sintaxis de la pasada, incluyendo los que se recuperaron
+    private List<String> errores = new ArrayList<String>();
+
+    public List<String> getErrores() {
+        return errores;
+    }
+
+    public void syntax_error(Symbol actual) {
+        if (actual.left != -1)
+            errores.add("Syntax error at line " + actual.left);
+        else
+            errores.add("Syntax error at end of input");
+        super.syntax_error(actual);
+    }
+
     public void report_error(String message, Object info) {
         System.err.print(message);
         System.err.flush();
@@ -715,7 +744,8 @@ class CUP$parser$actions {
 		VarDecl vd = (VarDecl)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
 		
 			VarDeclList vdl = new VarDeclList(vdleft);
-			vdl.add(vd);
+			if (vd != null)
+				vdl.add(vd);
 			RESULT = vdl;
 		
               CUP$parser$result = parser.getSymbolFactory().newSymbol("VarDeclList",8, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -733,7 +763,8 @@ class CUP$parser$actions {
 		int vdright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		VarDecl vd = (VarDecl)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
 		
-			vdl.add(vd);
+			if (vd != null)
+				vdl.add(vd);
 			RESULT = vdl;
 		
               CUP$parser$result = parser.getSymbolFactory().newSymbol("VarDeclList",8, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -778,7 +809,18 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 20: // MethodDeclList ::= MethodDecl 
+          case 20: // VarDecl ::= Type error SEMICOLON 
+            {
+              VarDecl RESULT =null;
+		 
+              RESULT = null;
+        
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("VarDecl",9, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 21: // MethodDeclList ::= MethodDecl 
             {
               MethodDeclList RESULT =null;
 		int mdleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -786,7 +828,8 @@ class CUP$parser$actions {
 		MethodDecl md = (MethodDecl)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
 		 
             MethodDeclList mdl = new MethodDeclList(mdleft);
-            mdl.add(md);
+            if (md != null)
+                mdl.add(md);
             RESULT = mdl; 
         
               CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDeclList",12, ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -794,7 +837,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 21: // MethodDeclList ::= MethodDeclList MethodDecl 
+          case 22: // MethodDeclList ::= MethodDeclList MethodDecl 
             {
               MethodDeclList RESULT =null;
 		int mdlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -804,7 +847,8 @@ class CUP$parser$actions {
 		int mdright = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).right;
 		MethodDecl md = (MethodDecl)((java_cup.runtime.Symbol) CUP$parser$stack.peek()).value;
 		 
-            mdl.add(md);
+            if (md != null)
+                mdl.add(md);
             RESULT = mdl; 
         
               CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDeclList",12, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
@@ -812,111 +856,150 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 22: // MethodDecl ::= PUBLIC Type Identifier O_PAREN ParamList C_PAREN O_CBRACKET VarDeclList StatementList RETURN Expr SEMICOLON C_CBRACKET 
+          case 23: // MethodDecl ::= PUBLIC Type Identifier O_PAREN ParamList C_PAREN O_CBRACKET VarDeclList StatementList Return C_CBRACKET 
             {
               MethodDecl RESULT =null;
-		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-11)).left;
-		int tright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-11)).right;
-		Type t = (Type)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-11)).value;
-		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-10)).left;
-		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-10)).right;
-		Identifier id = (Identifier)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-10)).value;
-		int plleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).left;
-		int plright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).right;
-		ParamList pl = (ParamList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-8)).value;
-		int vdlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
-		int vdlright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).right;
-		VarDeclList vdl = (VarDeclList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-5)).value;
-		int slleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
-		int slright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).right;
-		StatementList sl = (StatementList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
-		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
-		int expright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		Expr exp = (Expr)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)).left;
+		int tright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)).right;
+		Type t = (Type)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-9)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).right;
+		Identifier id = (Identifier)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-8)).value;
+		int plleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).left;
+		int plright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).right;
+		ParamList pl = (ParamList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-6)).value;
+		int vdlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
+		int vdlright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).right;
+		VarDeclList vdl = (VarDeclList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-3)).value;
+		int slleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int slright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		StatementList sl = (StatementList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int expright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Expr exp = (Expr)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 
         RESULT = new MethodDecl(t, id, pl, vdl, sl, exp, tleft); 
     
-              CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDecl",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-12)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDecl",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-10)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 23: // MethodDecl ::= PUBLIC Type Identifier O_PAREN ParamList C_PAREN O_CBRACKET VarDeclList RETURN Expr SEMICOLON C_CBRACKET 
+          case 24: // MethodDecl ::= PUBLIC Type Identifier O_PAREN ParamList C_PAREN O_CBRACKET VarDeclList Return C_CBRACKET 
             {
               MethodDecl RESULT =null;
-		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-10)).left;
-		int tright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-10)).right;
-		Type t = (Type)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-10)).value;
-		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)).left;
-		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)).right;
-		Identifier id = (Identifier)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-9)).value;
-		int plleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).left;
-		int plright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).right;
-		ParamList pl = (ParamList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value;
-		int vdlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
-		int vdlright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).right;
-		VarDeclList vdl = (VarDeclList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
-		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
-		int expright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		Expr exp = (Expr)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).left;
+		int tright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).right;
+		Type t = (Type)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-8)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).right;
+		Identifier id = (Identifier)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value;
+		int plleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
+		int plright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).right;
+		ParamList pl = (ParamList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-5)).value;
+		int vdlleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int vdlright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		VarDeclList vdl = (VarDeclList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int expright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Expr exp = (Expr)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 
         RESULT = new MethodDecl(t, id, pl, vdl, new StatementList(tleft), exp, tleft); 
     
-              CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDecl",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-11)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDecl",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 24: // MethodDecl ::= PUBLIC Type Identifier O_PAREN ParamList C_PAREN O_CBRACKET StatementList RETURN Expr SEMICOLON C_CBRACKET 
+          case 25: // MethodDecl ::= PUBLIC Type Identifier O_PAREN ParamList C_PAREN O_CBRACKET StatementList Return C_CBRACKET 
             {
               MethodDecl RESULT =null;
-		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-10)).left;
-		int tright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-10)).right;
-		Type t = (Type)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-10)).value;
-		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)).left;
-		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)).right;
-		Identifier id = (Identifier)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-9)).value;
-		int plleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).left;
-		int plright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).right;
-		ParamList pl = (ParamList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value;
-		int slleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
-		int slright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).right;
-		StatementList sl = (StatementList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
-		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
-		int expright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		Expr exp = (Expr)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).left;
+		int tright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).right;
+		Type t = (Type)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-8)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).right;
+		Identifier id = (Identifier)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value;
+		int plleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
+		int plright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).right;
+		ParamList pl = (ParamList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-5)).value;
+		int slleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int slright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		StatementList sl = (StatementList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int expright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Expr exp = (Expr)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 
         RESULT = new MethodDecl(t, id, pl, new VarDeclList(tleft), sl, exp, tleft); 
     
-              CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDecl",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-11)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDecl",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 25: // MethodDecl ::= PUBLIC Type Identifier O_PAREN ParamList C_PAREN O_CBRACKET RETURN Expr SEMICOLON C_CBRACKET 
+          case 26: // MethodDecl ::= PUBLIC Type Identifier O_PAREN ParamList C_PAREN O_CBRACKET Return C_CBRACKET 
             {
               MethodDecl RESULT =null;
-		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)).left;
-		int tright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-9)).right;
-		Type t = (Type)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-9)).value;
-		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).left;
-		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)).right;
-		Identifier id = (Identifier)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-8)).value;
-		int plleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).left;
-		int plright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).right;
-		ParamList pl = (ParamList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-6)).value;
-		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
-		int expright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
-		Expr exp = (Expr)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).left;
+		int tright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-7)).right;
+		Type t = (Type)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-7)).value;
+		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).left;
+		int idright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).right;
+		Identifier id = (Identifier)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-6)).value;
+		int plleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
+		int plright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).right;
+		ParamList pl = (ParamList)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-4)).value;
+		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int expright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Expr exp = (Expr)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
 		 
         RESULT = new MethodDecl(t, id, pl, new VarDeclList(tleft), new StatementList(tleft), exp, tleft); 
     
-              CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDecl",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-10)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDecl",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-8)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
             }
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 26: // ParamList ::= 
+          case 27: // MethodDecl ::= PUBLIC error C_CBRACKET 
+            {
+              MethodDecl RESULT =null;
+		 
+        RESULT = null; 
+    
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("MethodDecl",13, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 28: // Return ::= RETURN Expr SEMICOLON 
+            {
+              Expr RESULT =null;
+		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int expright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Expr exp = (Expr)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 
+            RESULT = exp; 
+        
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Return",18, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 29: // Return ::= RETURN error SEMICOLON 
+            {
+              Expr RESULT =null;
+		int rleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int rright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object r = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		 
+            RESULT = new IntegerLiteral(0, rleft); 
+        
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Return",18, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 30: // ParamList ::= 
             {
               ParamList RESULT =null;
 		 
@@ -928,7 +1011,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 27: // ParamList ::= Param 
+          case 31: // ParamList ::= Param 
             {
               ParamList RESULT =null;
 		int pleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -944,7 +1027,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 28: // ParamList ::= ParamList COMMA Param 
+          case 32: // ParamList ::= ParamList COMMA Param 
             {
               ParamList RESULT =null;
 		int plleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -962,7 +1045,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 29: // Param ::= Type Identifier 
+          case 33: // Param ::= Type Identifier 
             {
               Param RESULT =null;
 		int tleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -979,7 +1062,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 30: // StatementList ::= Statement 
+          case 34: // StatementList ::= Statement 
             {
               StatementList RESULT =null;
 		int stleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -995,7 +1078,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 31: // StatementList ::= StatementList Statement 
+          case 35: // StatementList ::= StatementList Statement 
             {
               StatementList RESULT =null;
 		int slleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -1013,7 +1096,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 32: // Statement ::= O_CBRACKET StatementList C_CBRACKET 
+          case 36: // Statement ::= O_CBRACKET StatementList C_CBRACKET 
             {
               Statement RESULT =null;
 		int slleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -1027,7 +1110,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 33: // Statement ::= IF O_PAREN Expr C_PAREN Statement ELSE Statement 
+          case 37: // Statement ::= IF O_PAREN Expr C_PAREN Statement ELSE Statement 
             {
               Statement RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
@@ -1047,7 +1130,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 34: // Statement ::= WHILE O_PAREN Expr C_PAREN Statement 
+          case 38: // Statement ::= WHILE O_PAREN Expr C_PAREN Statement 
             {
               Statement RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1064,7 +1147,35 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 35: // Statement ::= PRINT O_PAREN Expr C_PAREN SEMICOLON 
+          case 39: // Statement ::= error SEMICOLON 
+            {
+              Statement RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).right;
+		Object e = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-1)).value;
+		 
+                  RESULT = new Block(new StatementList(eleft), eleft);
+            
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Statement",11, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 40: // Statement ::= O_CBRACKET error C_CBRACKET 
+            {
+              Statement RESULT =null;
+		int bleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
+		int bright = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).right;
+		Object b = (Object)((java_cup.runtime.Symbol) CUP$parser$stack.elementAt(CUP$parser$top-2)).value;
+		 
+                  RESULT = new Block(new StatementList(bleft), bleft);
+            
+              CUP$parser$result = parser.getSymbolFactory().newSymbol("Statement",11, ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)), ((java_cup.runtime.Symbol)CUP$parser$stack.peek()), RESULT);
+            }
+          return CUP$parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 41: // Statement ::= PRINT O_PAREN Expr C_PAREN SEMICOLON 
             {
               Statement RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1078,7 +1189,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 36: // Statement ::= Identifier EQ Expr SEMICOLON 
+          case 42: // Statement ::= Identifier EQ Expr SEMICOLON 
             {
               Statement RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
@@ -1095,7 +1206,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 37: // Statement ::= Identifier O_SBRACKET Expr C_SBRACKET EQ Expr SEMICOLON 
+          case 43: // Statement ::= Identifier O_SBRACKET Expr C_SBRACKET EQ Expr SEMICOLON 
             {
               Statement RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-6)).left;
@@ -1115,7 +1226,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 38: // ExprList ::= Expr 
+          case 44: // ExprList ::= Expr 
             {
               ExprList RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1131,7 +1242,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 39: // ExprList ::= ExprList COMMA Expr 
+          case 45: // ExprList ::= ExprList COMMA Expr 
             {
               ExprList RESULT =null;
 		int elleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1149,7 +1260,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 40: // Expr ::= Expr LT Expr 
+          case 46: // Expr ::= Expr LT Expr 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1166,7 +1277,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 41: // Expr ::= Expr GT Expr 
+          case 47: // Expr ::= Expr GT Expr 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1183,7 +1294,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 42: // Expr ::= Expr EQUAL Expr 
+          case 48: // Expr ::= Expr EQUAL Expr 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1200,7 +1311,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 43: // Expr ::= Expr NOTEQ Expr 
+          case 49: // Expr ::= Expr NOTEQ Expr 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1217,7 +1328,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 44: // Expr ::= Expr AND Expr 
+          case 50: // Expr ::= Expr AND Expr 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1234,7 +1345,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 45: // Expr ::= Expr OR Expr 
+          case 51: // Expr ::= Expr OR Expr 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1251,7 +1362,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 46: // Expr ::= Expr PLUS Expr 
+          case 52: // Expr ::= Expr PLUS Expr 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1268,7 +1379,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 47: // Expr ::= Expr MINUS Expr 
+          case 53: // Expr ::= Expr MINUS Expr 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1285,7 +1396,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 48: // Expr ::= Expr MULT Expr 
+          case 54: // Expr ::= Expr MULT Expr 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1302,7 +1413,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 49: // Expr ::= Expr DIV Expr 
+          case 55: // Expr ::= Expr DIV Expr 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1319,7 +1430,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 50: // Expr ::= Expr O_SBRACKET Expr C_SBRACKET 
+          case 56: // Expr ::= Expr O_SBRACKET Expr C_SBRACKET 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-3)).left;
@@ -1336,7 +1447,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 51: // Expr ::= Expr DOT LENGTH 
+          case 57: // Expr ::= Expr DOT LENGTH 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1350,7 +1461,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 52: // Expr ::= Expr DOT Identifier O_PAREN C_PAREN 
+          case 58: // Expr ::= Expr DOT Identifier O_PAREN C_PAREN 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-4)).left;
@@ -1367,7 +1478,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 53: // Expr ::= Expr DOT Identifier O_PAREN ExprList C_PAREN 
+          case 59: // Expr ::= Expr DOT Identifier O_PAREN ExprList C_PAREN 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-5)).left;
@@ -1387,7 +1498,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 54: // Expr ::= Identifier 
+          case 60: // Expr ::= Identifier 
             {
               Expr RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1401,7 +1512,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 55: // Expr ::= THIS 
+          case 61: // Expr ::= THIS 
             {
               Expr RESULT =null;
 		int argleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1415,7 +1526,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 56: // Expr ::= NEW INT O_SBRACKET Expr C_SBRACKET 
+          case 62: // Expr ::= NEW INT O_SBRACKET Expr C_SBRACKET 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -1429,7 +1540,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 57: // Expr ::= NEW Identifier O_PAREN C_PAREN 
+          case 63: // Expr ::= NEW Identifier O_PAREN C_PAREN 
             {
               Expr RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1443,7 +1554,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 58: // Expr ::= O_PAREN Expr C_PAREN 
+          case 64: // Expr ::= O_PAREN Expr C_PAREN 
             {
               Expr RESULT =null;
 		int expleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-1)).left;
@@ -1457,7 +1568,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 59: // Expr ::= INTEGER_LITERAL 
+          case 65: // Expr ::= INTEGER_LITERAL 
             {
               Expr RESULT =null;
 		int nleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1471,7 +1582,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 60: // Type ::= INT O_SBRACKET C_SBRACKET 
+          case 66: // Type ::= INT O_SBRACKET C_SBRACKET 
             {
               Type RESULT =null;
 		int itokenleft = ((java_cup.runtime.Symbol)CUP$parser$stack.elementAt(CUP$parser$top-2)).left;
@@ -1485,7 +1596,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 61: // Type ::= INT 
+          case 67: // Type ::= INT 
             {
               Type RESULT =null;
 		int itokenleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1499,7 +1610,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 62: // Type ::= IDENTIFIER 
+          case 68: // Type ::= IDENTIFIER 
             {
               Type RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;
@@ -1513,7 +1624,7 @@ class CUP$parser$actions {
           return CUP$parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 63: // Identifier ::= IDENTIFIER 
+          case 69: // Identifier ::= IDENTIFIER 
             {
               Identifier RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$parser$stack.peek()).left;